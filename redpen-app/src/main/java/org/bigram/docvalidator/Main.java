@@ -18,7 +18,6 @@
 package org.bigram.docvalidator;
 
 import org.bigram.docvalidator.config.Configuration;
-import org.bigram.docvalidator.model.DocumentCollection;
 import org.apache.commons.cli.BasicParser;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -32,6 +31,10 @@ import org.bigram.docvalidator.parser.Parser;
 import org.bigram.docvalidator.formatter.Formatter;
 import org.bigram.docvalidator.distributor.ResultDistributor;
 import org.bigram.docvalidator.distributor.ResultDistributorFactory;
+import org.bigram.docvalidator.metrics.DefaultValidationMetrics;
+
+import java.io.Closeable;
+import java.io.IOException;
 
 /**
  * Class containing main method called from command line.
@@ -59,11 +62,37 @@ public final class Main {
     options.addOption(OptionBuilder.create("c"));
 
     OptionBuilder.withLongOpt("result-format");
-    OptionBuilder.withDescription("output result format");
+    OptionBuilder.withDescription(
+        "output result format: plain, xml, json, ndjson or binary");
     OptionBuilder.hasArg();
     OptionBuilder.withArgName("RESULT FORMAT");
     options.addOption(OptionBuilder.create("r"));
 
+    OptionBuilder.withLongOpt("parser-threads");
+    OptionBuilder.withDescription("number of threads to parse input files");
+    OptionBuilder.hasArg();
+    OptionBuilder.withArgName("THREADS");
+    options.addOption(OptionBuilder.create());
+
+    OptionBuilder.withLongOpt("validator-threads");
+    OptionBuilder.withDescription("number of threads to validate documents");
+    OptionBuilder.hasArg();
+    OptionBuilder.withArgName("THREADS");
+    options.addOption(OptionBuilder.create());
+
+    OptionBuilder.withLongOpt("queue-size");
+    OptionBuilder.withDescription(
+        "number of parsed documents waiting for validation, effective only"
+            + " with more than one parser or validator thread");
+    OptionBuilder.hasArg();
+    OptionBuilder.withArgName("SIZE");
+    options.addOption(OptionBuilder.create());
+
+    OptionBuilder.withLongOpt("metrics");
+    OptionBuilder.withDescription(
+        "print the time spent in each validator to standard error");
+    options.addOption(OptionBuilder.create());
+
     options.addOption("v", "version", false,
         "print the version information and exit");
 
@@ -82,6 +111,10 @@ public final class Main {
     String[] inputFileNames = null;
     String configFileName = "";
     String resultFormat = "plain";
+    int parserThreads = 1;
+    int validatorThreads = 1;
+    int queueSize = DocumentPipeline.DEFAULT_QUEUE_SIZE;
+    DefaultValidationMetrics metrics = null;
     Parser.Type parserType;
     Formatter.Type outputFormat;
 
@@ -105,6 +138,25 @@ public final class Main {
     if (commandLine.hasOption("r")) {
       resultFormat = commandLine.getOptionValue("r");
     }
+    if (commandLine.hasOption("parser-threads")) {
+      parserThreads =
+          Integer.valueOf(commandLine.getOptionValue("parser-threads"));
+    }
+    if (commandLine.hasOption("validator-threads")) {
+      validatorThreads =
+          Integer.valueOf(commandLine.getOptionValue("validator-threads"));
+    }
+    if (commandLine.hasOption("queue-size")) {
+      queueSize = Integer.valueOf(commandLine.getOptionValue("queue-size"));
+    }
+    if (commandLine.hasOption("queue-size")
+        && parserThreads <= 1 && validatorThreads <= 1) {
+      LOG.warn("queue-size is ignored since the input files are parsed and"
+          + " validated one by one; set parser-threads or validator-threads");
+    }
+    if (commandLine.hasOption("metrics")) {
+      metrics = new DefaultValidationMetrics();
+    }
 
     ConfigurationLoader configLoader = new ConfigurationLoader();
     Configuration conf = configLoader.loadConfiguration(configFileName);
@@ -116,26 +168,61 @@ public final class Main {
     parserType = Parser.Type.valueOf(inputFormat.toUpperCase());
     outputFormat = Formatter.Type.valueOf(resultFormat.toUpperCase());
 
-    DocumentCollection documentCollection =
-        DocumentGenerator.generate(inputFileNames, conf, parserType);
-
-    if (documentCollection == null) {
-      LOG.error("Failed to create a DocumentCollection object");
-      System.exit(-1);
-    }
     ResultDistributor distributor =
-        ResultDistributorFactory.createDistributor(outputFormat, System.out);
+        ResultDistributorFactory.createDistributor(outputFormat, System.out,
+            true);
 
     DocumentValidator validator = new DocumentValidator.Builder()
         .setConfiguration(conf)
         .setResultDistributor(distributor)
+        .setMetrics(metrics)
         .build();
 
-    validator.check(documentCollection);
+    boolean checked = false;
+    try {
+      if (parserThreads > 1 || validatorThreads > 1) {
+        DocumentPipeline pipeline = new DocumentPipeline.Builder()
+            .setConfiguration(conf)
+            .setValidator(validator)
+            .setResultDistributor(distributor)
+            .setParserThreads(parserThreads)
+            .setValidatorThreads(validatorThreads)
+            .setQueueSize(queueSize)
+            .build();
+        pipeline.check(inputFileNames, parserType);
+      } else {
+        // NOTE: input files are parsed and validated one by one
+        // not to keep all the documents in memory
+        validator.check(inputFileNames, parserType);
+      }
+      checked = true;
+    } finally {
+      if (!checked) {
+        // NOTE: complete the output with the errors reported so far
+        distributor.flushFooter();
+      }
+      validator.close();
+      closeDistributor(distributor);
+    }
+
+    if (metrics != null) {
+      metrics.printSummary(System.err);
+    }
 
     System.exit(0);
   }
 
+  private static void closeDistributor(ResultDistributor distributor) {
+    // NOTE: an asynchronous distributor writes the queued results on close
+    if (distributor instanceof Closeable) {
+      try {
+        ((Closeable) distributor).close();
+      } catch (IOException e) {
+        LOG.error("Failed to close the result distributor", e);
+      }
+    }
+  }
+
   private static void printHelp(Options opt) {
     HelpFormatter formatter = new HelpFormatter();
     formatter.printHelp("ParseArgs", opt);
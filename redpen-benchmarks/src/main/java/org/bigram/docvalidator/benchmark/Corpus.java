@@ -0,0 +1,307 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.benchmark;
+
+import org.apache.commons.io.IOUtils;
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.bigram.docvalidator.config.CharacterTable;
+import org.bigram.docvalidator.config.CharacterTableLoader;
+import org.bigram.docvalidator.config.Configuration;
+import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.model.Document;
+import org.bigram.docvalidator.model.DocumentCollection;
+import org.bigram.docvalidator.model.ListBlock;
+import org.bigram.docvalidator.model.ListElement;
+import org.bigram.docvalidator.model.Paragraph;
+import org.bigram.docvalidator.model.Section;
+import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.parser.DocumentParserFactory;
+import org.bigram.docvalidator.parser.Parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generator of synthetic input for benchmarks.
+ *
+ * The generated documents consist of sections, paragraphs and lists in
+ * English ("en") or Japanese ("ja"), and are written in the syntax of the
+ * given parser type. The same seed generates the same document.
+ */
+final class Corpus {
+  /**
+   * Generate a document.
+   *
+   * @param language   "en" or "ja"
+   * @param format     syntax of the document
+   * @param paragraphs number of paragraphs
+   * @param seed       seed of the random number generator
+   * @return document text
+   */
+  static String generate(String language, Parser.Type format,
+      int paragraphs, long seed) {
+    Random random = new Random(seed);
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < paragraphs; i++) {
+      if (i % PARAGRAPHS_PER_SECTION == 0) {
+        appendHeader(builder, format, language, random);
+      }
+      for (int j = 0; j < SENTENCES_PER_PARAGRAPH; j++) {
+        builder.append(sentence(language, random));
+        // put some sentences across lines
+        builder.append(random.nextInt(3) == 0 ? "\n" : separator(language));
+      }
+      builder.append("\n\n");
+      if (i % PARAGRAPHS_PER_LIST == PARAGRAPHS_PER_LIST - 1
+          && format != Parser.Type.PLAIN) {
+        for (int j = 0; j < ITEMS_PER_LIST; j++) {
+          builder.append(format == Parser.Type.WIKI ? "- " : "* ");
+          builder.append(sentence(language, random)).append("\n");
+        }
+        builder.append("\n");
+      }
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Generate a sentence.
+   *
+   * @param language "en" or "ja"
+   * @param random   random number generator
+   * @return sentence
+   */
+  static String sentence(String language, Random random) {
+    StringBuilder builder = new StringBuilder();
+    if ("ja".equals(language)) {
+      int chunks = 3 + random.nextInt(6);
+      for (int i = 0; i < chunks; i++) {
+        int type = random.nextInt(4);
+        if (type == 0) {
+          builder.append(pick(KATAKANA_WORDS, random));
+        } else {
+          builder.append(pick(JAPANESE_WORDS, random));
+        }
+        builder.append(pick(JAPANESE_PARTICLES, random));
+        if (i > 0 && random.nextInt(5) == 0) {
+          builder.append("、");
+        }
+      }
+      builder.append(pick(JAPANESE_ENDINGS, random)).append("。");
+    } else {
+      int words = 6 + random.nextInt(15);
+      for (int i = 0; i < words; i++) {
+        String word = pick(ENGLISH_WORDS, random);
+        if (i == 0) {
+          builder.append(Character.toUpperCase(word.charAt(0)))
+              .append(word.substring(1));
+        } else {
+          builder.append(' ').append(word);
+        }
+        if (i > 0 && i < words - 1 && random.nextInt(8) == 0) {
+          builder.append(',');
+        }
+      }
+      builder.append('.');
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Generate a random Katakana word.
+   *
+   * @param random    random number generator
+   * @param minLength minimum length of the word
+   * @param maxLength maximum length of the word
+   * @return Katakana word
+   */
+  static String katakanaWord(Random random, int minLength, int maxLength) {
+    int length = minLength + random.nextInt(maxLength - minLength + 1);
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(KATAKANA.charAt(random.nextInt(KATAKANA.length())));
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Get the character table of the language.
+   *
+   * @param language "en" or "ja"
+   * @return character table
+   */
+  static CharacterTable characterTable(String language) {
+    return CharacterTableLoader.load(
+        IOUtils.toInputStream("<character-table></character-table>"),
+        language);
+  }
+
+  /**
+   * Generate documents and parse them.
+   *
+   * @param language   "en" or "ja"
+   * @param format     syntax of the documents
+   * @param documents  number of documents
+   * @param paragraphs number of paragraphs in a document
+   * @param validatorConfig validator settings
+   * @return parsed documents
+   * @throws DocumentValidatorException when failed to parse
+   */
+  static DocumentCollection parse(String language, Parser.Type format,
+      int documents, int paragraphs, ValidatorConfiguration validatorConfig)
+      throws DocumentValidatorException {
+    Configuration configuration =
+        new Configuration(validatorConfig, characterTable(language));
+    DocumentCollection.Builder builder = new DocumentCollection.Builder();
+    Parser parser =
+        DocumentParserFactory.generate(format, configuration, builder);
+    for (int i = 0; i < documents; i++) {
+      Document document = parser.generateDocument(
+          toStream(generate(language, format, paragraphs, i)));
+      document.setFileName("document" + i);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Get all the sections in the documents.
+   *
+   * @param documents documents
+   * @return sections
+   */
+  static List<Section> sections(DocumentCollection documents) {
+    List<Section> sections = new ArrayList<Section>();
+    for (Document document : documents) {
+      for (Section section : document) {
+        sections.add(section);
+      }
+    }
+    return sections;
+  }
+
+  /**
+   * Get all the sentences in the documents, that is, the sentences in
+   * headers, paragraphs and lists.
+   *
+   * @param documents documents
+   * @return sentences
+   */
+  static List<Sentence> sentences(DocumentCollection documents) {
+    List<Sentence> sentences = new ArrayList<Sentence>();
+    for (Section section : sections(documents)) {
+      sentences.addAll(section.getHeaderContents());
+      for (Paragraph paragraph : section.getParagraphs()) {
+        sentences.addAll(paragraph.getSentences());
+      }
+      for (ListBlock listBlock : section.getListBlocks()) {
+        for (ListElement listElement : listBlock.getListElements()) {
+          sentences.addAll(listElement.getSentences());
+        }
+      }
+    }
+    return sentences;
+  }
+
+  /**
+   * Encode a text in UTF-8.
+   *
+   * @param text text
+   * @return bytes of the text
+   */
+  static byte[] toBytes(String text) {
+    try {
+      return text.getBytes("UTF-8");
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static ByteArrayInputStream toStream(String text) {
+    return new ByteArrayInputStream(toBytes(text));
+  }
+
+  private static void appendHeader(StringBuilder builder, Parser.Type format,
+      String language, Random random) {
+    String header = sentence(language, random);
+    // headers do not end with a period
+    header = header.substring(0, header.length() - 1);
+    switch (format) {
+      case WIKI:
+        builder.append("h2. ").append(header).append("\n\n");
+        break;
+      case MARKDOWN:
+        builder.append("## ").append(header).append("\n\n");
+        break;
+      default:
+        break;
+    }
+  }
+
+  private static String separator(String language) {
+    return "ja".equals(language) ? "" : " ";
+  }
+
+  private static String pick(String[] words, Random random) {
+    return words[random.nextInt(words.length)];
+  }
+
+  private Corpus() {
+  }
+
+  private static final int PARAGRAPHS_PER_SECTION = 5;
+
+  private static final int PARAGRAPHS_PER_LIST = 3;
+
+  private static final int SENTENCES_PER_PARAGRAPH = 4;
+
+  private static final int ITEMS_PER_LIST = 3;
+
+  private static final String KATAKANA =
+      "アイウエオカキクケコサシスセソタチツテトナニヌネノ"
+          + "ハヒフヘホマミムメモヤユヨラリルレロワンーッャュョ";
+
+  private static final String[] ENGLISH_WORDS = {
+      "the", "a", "document", "validator", "is", "are", "checks", "input",
+      "sentence", "section", "paragraph", "list", "of", "to", "and", "with",
+      "error", "report", "user", "system", "it", "piece", "cake", "like",
+      "info", "simple", "tool", "for", "writing", "technical", "quickly",
+      "that", "this", "in", "on", "each", "every", "file", "configuration",
+  };
+
+  private static final String[] JAPANESE_WORDS = {
+      "文書", "検証", "入力", "文章", "段落", "節", "設定", "利用者",
+      "システム", "結果", "エラー", "表現", "技術", "記述", "確認",
+  };
+
+  private static final String[] KATAKANA_WORDS = {
+      "インデックス", "インデクス", "サーバー", "サーバ", "コンピュータ",
+      "コンピューター", "フレーズ", "アナライザ", "アナライザー", "ドキュメント",
+      "バリデーション", "パラメータ", "パラメーター", "インターフェース",
+  };
+
+  private static final String[] JAPANESE_PARTICLES = {
+      "は", "が", "を", "に", "で", "と", "の", "から", "まで",
+  };
+
+  private static final String[] JAPANESE_ENDINGS = {
+      "です", "ます", "しました", "できる", "ある", "した",
+  };
+}
@@ -0,0 +1,98 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.benchmark;
+
+import org.bigram.docvalidator.DocumentValidator;
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.bigram.docvalidator.config.Configuration;
+import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.distributor.FakeResultDistributor;
+import org.bigram.docvalidator.model.DocumentCollection;
+import org.bigram.docvalidator.parser.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of DocumentValidator running all the validators over a
+ * collection of documents, which measures the traversal of the document
+ * model together with the validators.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentValidatorBenchmark {
+
+  @Param({"en", "ja"})
+  public String language;
+
+  @Param({"20"})
+  public int documents;
+
+  @Param({"200"})
+  public int paragraphs;
+
+  @Param({"1", "4"})
+  public int parallelism;
+
+  @Setup
+  public void setup() throws DocumentValidatorException, IOException {
+    ValidatorConfiguration root = ValidatorSettings.createAll();
+    collection = Corpus.parse(language, Parser.Type.WIKI, documents,
+        paragraphs, root);
+    Configuration configuration =
+        new Configuration(root, Corpus.characterTable(language));
+    // the validators keep no state between the runs, so a validator and
+    // its fork-join pool are shared by all the iterations of a trial
+    validator = new DocumentValidator.Builder()
+        .setConfiguration(configuration)
+        .setResultDistributor(new FakeResultDistributor())
+        .setParallelism(parallelism)
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    validator.close();
+  }
+
+  @Benchmark
+  public void check(Blackhole blackhole) {
+    blackhole.consume(validator.check(collection));
+  }
+
+  private DocumentCollection collection;
+
+  private DocumentValidator validator;
+}
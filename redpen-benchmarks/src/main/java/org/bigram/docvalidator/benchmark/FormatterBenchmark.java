@@ -0,0 +1,131 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.benchmark;
+
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.distributor.ResultDistributor;
+import org.bigram.docvalidator.distributor.ResultDistributorFactory;
+import org.bigram.docvalidator.formatter.Formatter;
+import org.bigram.docvalidator.formatter.JSONFormatter;
+import org.bigram.docvalidator.formatter.PlainFormatter;
+import org.bigram.docvalidator.formatter.XMLFormatter;
+import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.parser.Parser;
+import org.bigram.docvalidator.validator.sentence.SentenceLengthValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the output of PlainFormatter, XMLFormatter and JSONFormatter,
+ * and of the distributors writing them into a stream.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatterBenchmark {
+
+  @Param({"PLAIN", "XML", "JSON"})
+  public String format;
+
+  @Param({"en", "ja"})
+  public String language;
+
+  @Param({"1000"})
+  public int errors;
+
+  @Setup
+  public void setup() throws DocumentValidatorException {
+    List<Sentence> sentences = Corpus.sentences(Corpus.parse(language,
+        Parser.Type.PLAIN, 1, errors / 4 + 1,
+        new ValidatorConfiguration("Validator")));
+    validationErrors = new ArrayList<ValidationError>();
+    for (int i = 0; i < errors; i++) {
+      Sentence sentence = sentences.get(i % sentences.size());
+      ValidationError error = new ValidationError(
+          SentenceLengthValidator.class, sentence, "SentenceLength",
+          sentence.getLength());
+      error.setFileName("document0");
+      validationErrors.add(error);
+    }
+    switch (Formatter.Type.valueOf(format)) {
+      case XML:
+        formatter = new XMLFormatter();
+        break;
+      case JSON:
+        formatter = new JSONFormatter();
+        break;
+      default:
+        formatter = new PlainFormatter();
+        break;
+    }
+  }
+
+  @Benchmark
+  public void format(Blackhole blackhole) {
+    blackhole.consume(formatter.header());
+    for (ValidationError error : validationErrors) {
+      blackhole.consume(formatter.convertError(error));
+    }
+    blackhole.consume(formatter.footer());
+  }
+
+  @Benchmark
+  public void distribute() {
+    ResultDistributor distributor = ResultDistributorFactory
+        .createDistributor(Formatter.Type.valueOf(format), NULL_STREAM);
+    distributor.flushHeader();
+    for (ValidationError error : validationErrors) {
+      distributor.flushResult(error);
+    }
+    distributor.flushFooter();
+  }
+
+  private static final OutputStream NULL_STREAM = new OutputStream() {
+    @Override
+    public void write(int b) {
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+    }
+  };
+
+  private List<ValidationError> validationErrors;
+
+  private Formatter formatter;
+}
@@ -0,0 +1,129 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.benchmark;
+
+import org.bigram.docvalidator.util.LevenshteinDistance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of LevenshteinDistance with Katakana word pairs similar to
+ * the ones compared in KatakanaSpellCheckValidator.
+ *
+ * fullMatrix is the kernel used before LevenshteinDistance reused its
+ * rows, and is kept as the baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevenshteinDistanceBenchmark {
+
+  @Setup
+  public void setup() {
+    Random random = new Random(SEED);
+    words = new String[WORD_SIZE];
+    for (int i = 0; i < WORD_SIZE; i++) {
+      words[i] = Corpus.katakanaWord(random, 4, 12);
+    }
+    queries = new String[QUERY_SIZE];
+    for (int i = 0; i < QUERY_SIZE; i++) {
+      queries[i] = Corpus.katakanaWord(random, 4, 12);
+    }
+    distance = new LevenshteinDistance();
+  }
+
+  @Benchmark
+  public void fullMatrix(Blackhole blackhole) {
+    for (String query : queries) {
+      for (String word : words) {
+        blackhole.consume(fullMatrixDistance(word, query));
+      }
+    }
+  }
+
+  @Benchmark
+  public void rollingRows(Blackhole blackhole) {
+    for (String query : queries) {
+      for (String word : words) {
+        blackhole.consume(distance.distance(word, query));
+      }
+    }
+  }
+
+  @Benchmark
+  public void bounded(Blackhole blackhole) {
+    for (String query : queries) {
+      // the threshold of KatakanaSpellCheckValidator
+      int maxDistance = Math.round(query.length() * 0.3f);
+      for (String word : words) {
+        blackhole.consume(distance.distance(word, query, maxDistance));
+      }
+    }
+  }
+
+  private static int fullMatrixDistance(CharSequence a, CharSequence b) {
+    final int lengthA = a.length();
+    final int lengthB = b.length();
+    int[][] matrix = new int[lengthA + 1][lengthB + 1];
+    for (int i = 0; i < lengthA + 1; i++) {
+      matrix[i][0] = i;
+    }
+    for (int j = 0; j < lengthB + 1; j++) {
+      matrix[0][j] = j;
+    }
+    for (int i = 1; i < lengthA + 1; i++) {
+      for (int j = 1; j < lengthB + 1; j++) {
+        if (a.charAt(i - 1) == b.charAt(j - 1)) {
+          matrix[i][j] = matrix[i - 1][j - 1];
+        } else {
+          matrix[i][j] = Math.min(Math.min(
+              matrix[i - 1][j] + 1, matrix[i][j - 1] + 1),
+              matrix[i - 1][j - 1] + 1);
+        }
+      }
+    }
+    return matrix[lengthA][lengthB];
+  }
+
+  private static final long SEED = 1L;
+
+  private static final int WORD_SIZE = 200;
+
+  private static final int QUERY_SIZE = 20;
+
+  private String[] words;
+
+  private String[] queries;
+
+  private LevenshteinDistance distance;
+}
@@ -0,0 +1,86 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.benchmark;
+
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.bigram.docvalidator.config.Configuration;
+import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.model.Document;
+import org.bigram.docvalidator.model.DocumentCollection;
+import org.bigram.docvalidator.parser.DocumentParserFactory;
+import org.bigram.docvalidator.parser.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of PlainTextParser, WikiParser and MarkdownParser.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+  @Param({"PLAIN", "WIKI", "MARKDOWN"})
+  public String format;
+
+  @Param({"en", "ja"})
+  public String language;
+
+  @Param({"200"})
+  public int paragraphs;
+
+  @Setup
+  public void setup() throws DocumentValidatorException {
+    Parser.Type type = Parser.Type.valueOf(format);
+    input = Corpus.toBytes(Corpus.generate(language, type, paragraphs, 1L));
+    Configuration configuration = new Configuration(
+        new ValidatorConfiguration("Validator"),
+        Corpus.characterTable(language));
+    documentBuilder = new DocumentCollection.Builder();
+    parser = DocumentParserFactory.generate(type, configuration,
+        documentBuilder);
+  }
+
+  @Benchmark
+  public Document parse() throws DocumentValidatorException {
+    // not to keep the parsed documents in the builder
+    documentBuilder.clear();
+    return parser.generateDocument(new ByteArrayInputStream(input));
+  }
+
+  private byte[] input;
+
+  private DocumentCollection.Builder documentBuilder;
+
+  private Parser parser;
+}
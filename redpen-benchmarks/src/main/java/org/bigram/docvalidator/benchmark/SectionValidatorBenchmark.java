@@ -0,0 +1,86 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.benchmark;
+
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.model.Section;
+import org.bigram.docvalidator.parser.Parser;
+import org.bigram.docvalidator.validator.ValidationContext;
+import org.bigram.docvalidator.validator.section.SectionValidator;
+import org.bigram.docvalidator.validator.section.SectionValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of each SectionValidator over the sections of a generated
+ * corpus.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SectionValidatorBenchmark {
+
+  @Param({"SectionLength", "MaxParagraphNumber", "ParagraphStartWith"})
+  public String validatorName;
+
+  @Param({"en", "ja"})
+  public String language;
+
+  @Param({"200"})
+  public int paragraphs;
+
+  @Setup
+  public void setup() throws DocumentValidatorException, IOException {
+    ValidatorConfiguration root = new ValidatorConfiguration("Validator");
+    sections = Corpus.sections(Corpus.parse(language, Parser.Type.WIKI,
+        1, paragraphs, root));
+    validator = SectionValidatorFactory.getInstance(
+        ValidatorSettings.create(validatorName, root),
+        Corpus.characterTable(language));
+  }
+
+  @Benchmark
+  public void validate(Blackhole blackhole) {
+    ValidationContext context = new ValidationContext();
+    for (Section section : sections) {
+      blackhole.consume(validator.validate(section, context));
+    }
+  }
+
+  private List<Section> sections;
+
+  private SectionValidator validator;
+}
@@ -0,0 +1,94 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.benchmark;
+
+import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.parser.Parser;
+import org.bigram.docvalidator.parser.SentenceExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of SentenceExtractor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SentenceExtractorBenchmark {
+
+  @Param({"en", "ja"})
+  public String language;
+
+  @Param({"200"})
+  public int paragraphs;
+
+  @Setup
+  public void setup() {
+    lines = Corpus.generate(language, Parser.Type.PLAIN, paragraphs, 1L)
+        .split("\n");
+    if ("ja".equals(language)) {
+      List<String> fullStops = new ArrayList<String>();
+      fullStops.add("。");
+      extractor = new SentenceExtractor(fullStops);
+    } else {
+      extractor = new SentenceExtractor();
+    }
+  }
+
+  @Benchmark
+  public void extract(Blackhole blackhole) {
+    List<Sentence> sentences = new ArrayList<Sentence>();
+    String remain = "";
+    for (String line : lines) {
+      remain = extractor.extract(remain + line, sentences);
+    }
+    blackhole.consume(sentences);
+    blackhole.consume(remain);
+  }
+
+  @Benchmark
+  public void extractWithoutLastSentence(Blackhole blackhole) {
+    List<Sentence> sentences = new ArrayList<Sentence>();
+    for (String line : lines) {
+      blackhole.consume(
+          extractor.extractWithoutLastSentence(line, sentences, 0));
+    }
+    blackhole.consume(sentences);
+  }
+
+  private String[] lines;
+
+  private SentenceExtractor extractor;
+}
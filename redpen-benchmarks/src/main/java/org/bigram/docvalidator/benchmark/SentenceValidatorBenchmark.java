@@ -0,0 +1,106 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.benchmark;
+
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.parser.Parser;
+import org.bigram.docvalidator.validator.ValidationContext;
+import org.bigram.docvalidator.validator.sentence.QuotationValidator;
+import org.bigram.docvalidator.validator.sentence.SentenceValidator;
+import org.bigram.docvalidator.validator.sentence.SentenceValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of each SentenceValidator over the sentences of a generated
+ * corpus.
+ *
+ * A validation context is created for each iteration, since some of the
+ * validators (e.g. KatakanaSpellCheck) keep the words of the previous
+ * sentences in the context.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SentenceValidatorBenchmark {
+
+  @Param({"SentenceLength", "InvalidExpression", "SpaceAfterPeriod",
+      "CommaNumber", "WordNumber", "SuggestExpression", "InvalidCharacter",
+      "SpaceWithSymbol", "KatakanaEndHyphen", "KatakanaSpellCheck",
+      "Quotation"})
+  public String validatorName;
+
+  @Param({"en", "ja"})
+  public String language;
+
+  @Param({"200"})
+  public int paragraphs;
+
+  @Setup
+  public void setup() throws DocumentValidatorException, IOException {
+    ValidatorConfiguration root = new ValidatorConfiguration("Validator");
+    sentences = Corpus.sentences(Corpus.parse(language, Parser.Type.PLAIN,
+        1, paragraphs, root));
+    if ("Quotation".equals(validatorName)) {
+      // QuotationValidator is not registered in SentenceValidatorFactory
+      validator = new QuotationValidator();
+    } else {
+      validator = SentenceValidatorFactory.getInstance(
+          ValidatorSettings.create(validatorName, root),
+          Corpus.characterTable(language));
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void createContext() {
+    context = new ValidationContext();
+  }
+
+  @Benchmark
+  public void validate(Blackhole blackhole) {
+    for (Sentence sentence : sentences) {
+      blackhole.consume(validator.validate(sentence, context));
+    }
+  }
+
+  private List<Sentence> sentences;
+
+  private SentenceValidator validator;
+
+  private ValidationContext context;
+}
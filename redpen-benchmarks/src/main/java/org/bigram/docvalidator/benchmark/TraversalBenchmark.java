@@ -0,0 +1,172 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.benchmark;
+
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.bigram.docvalidator.config.CharacterTable;
+import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.model.Document;
+import org.bigram.docvalidator.model.DocumentCollection;
+import org.bigram.docvalidator.model.ListBlock;
+import org.bigram.docvalidator.model.ListElement;
+import org.bigram.docvalidator.model.Paragraph;
+import org.bigram.docvalidator.model.Section;
+import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.parser.Parser;
+import org.bigram.docvalidator.validator.ValidationContext;
+import org.bigram.docvalidator.validator.section.SectionValidator;
+import org.bigram.docvalidator.validator.section.SectionValidatorFactory;
+import org.bigram.docvalidator.validator.sentence.SentenceValidator;
+import org.bigram.docvalidator.validator.sentence.SentenceValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the order in which the validators visit the document model.
+ *
+ * "separate" is the traversal DocumentValidator used to do: the sections
+ * are visited once for the section validators and once more for the
+ * sentence validators, and each list of sentences is passed through one
+ * validator after another. "fused" is the current traversal: each
+ * section is visited once, and each sentence is passed to all the
+ * sentence validators in turn.
+ *
+ * Run with "-prof perfnorm" on a host providing the perf command to see
+ * the cache misses per operation together with the time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraversalBenchmark {
+
+  @Param({"en", "ja"})
+  public String language;
+
+  @Param({"20", "200"})
+  public int documents;
+
+  @Param({"200"})
+  public int paragraphs;
+
+  @Setup
+  public void setup() throws DocumentValidatorException, IOException {
+    ValidatorConfiguration root = new ValidatorConfiguration("Validator");
+    collection = Corpus.parse(language, Parser.Type.WIKI, documents,
+        paragraphs, root);
+    CharacterTable characterTable = Corpus.characterTable(language);
+    sentenceValidators = new ArrayList<SentenceValidator>();
+    for (String name : ValidatorSettings.SENTENCE_VALIDATORS) {
+      sentenceValidators.add(SentenceValidatorFactory.getInstance(
+          ValidatorSettings.create(name, root), characterTable));
+    }
+    sectionValidators = new ArrayList<SectionValidator>();
+    for (String name : ValidatorSettings.SECTION_VALIDATORS) {
+      sectionValidators.add(SectionValidatorFactory.getInstance(
+          ValidatorSettings.create(name, root), characterTable));
+    }
+  }
+
+  @Benchmark
+  public void separate(Blackhole blackhole) {
+    for (Document document : collection) {
+      ValidationContext context = new ValidationContext();
+      for (Section section : document) {
+        for (SectionValidator validator : sectionValidators) {
+          blackhole.consume(validator.validate(section, context));
+        }
+      }
+      for (Section section : document) {
+        for (Paragraph paragraph : section.getParagraphs()) {
+          validateEachValidator(paragraph.getSentences(), context, blackhole);
+        }
+        validateEachValidator(section.getHeaderContents(), context,
+            blackhole);
+        for (ListBlock listBlock : section.getListBlocks()) {
+          for (ListElement listElement : listBlock.getListElements()) {
+            validateEachValidator(listElement.getSentences(), context,
+                blackhole);
+          }
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public void fused(Blackhole blackhole) {
+    for (Document document : collection) {
+      ValidationContext context = new ValidationContext();
+      for (Section section : document) {
+        for (SectionValidator validator : sectionValidators) {
+          blackhole.consume(validator.validate(section, context));
+        }
+        for (Paragraph paragraph : section.getParagraphs()) {
+          validateEachSentence(paragraph.getSentences(), context, blackhole);
+        }
+        validateEachSentence(section.getHeaderContents(), context, blackhole);
+        for (ListBlock listBlock : section.getListBlocks()) {
+          for (ListElement listElement : listBlock.getListElements()) {
+            validateEachSentence(listElement.getSentences(), context,
+                blackhole);
+          }
+        }
+      }
+    }
+  }
+
+  private void validateEachValidator(List<Sentence> sentences,
+      ValidationContext context, Blackhole blackhole) {
+    for (SentenceValidator validator : sentenceValidators) {
+      for (Sentence sentence : sentences) {
+        blackhole.consume(validator.validate(sentence, context));
+      }
+    }
+  }
+
+  private void validateEachSentence(List<Sentence> sentences,
+      ValidationContext context, Blackhole blackhole) {
+    for (Sentence sentence : sentences) {
+      for (SentenceValidator validator : sentenceValidators) {
+        blackhole.consume(validator.validate(sentence, context));
+      }
+    }
+  }
+
+  private DocumentCollection collection;
+
+  private List<SentenceValidator> sentenceValidators;
+
+  private List<SectionValidator> sectionValidators;
+}
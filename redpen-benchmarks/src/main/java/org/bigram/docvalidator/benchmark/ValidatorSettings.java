@@ -0,0 +1,128 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import org.bigram.docvalidator.config.ValidatorConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Settings of validators used in benchmarks.
+ */
+final class ValidatorSettings {
+  /**
+   * Names of the sentence validators.
+   */
+  static final String[] SENTENCE_VALIDATORS = {
+      "SentenceLength", "InvalidExpression", "SpaceAfterPeriod",
+      "CommaNumber", "WordNumber", "SuggestExpression", "InvalidCharacter",
+      "SpaceWithSymbol", "KatakanaEndHyphen", "KatakanaSpellCheck",
+  };
+
+  /**
+   * Names of the section validators.
+   */
+  static final String[] SECTION_VALIDATORS = {
+      "SectionLength", "MaxParagraphNumber", "ParagraphStartWith",
+  };
+
+  /**
+   * Create the settings of all the validators.
+   *
+   * @return root of the validator settings
+   * @throws IOException when failed to create dictionaries
+   */
+  static ValidatorConfiguration createAll() throws IOException {
+    ValidatorConfiguration root = new ValidatorConfiguration("Validator");
+    for (String name : SENTENCE_VALIDATORS) {
+      root.addChild(create(name, root));
+    }
+    for (String name : SECTION_VALIDATORS) {
+      root.addChild(create(name, root));
+    }
+    return root;
+  }
+
+  /**
+   * Create the settings of a validator.
+   *
+   * @param name   validator name
+   * @param parent parent settings
+   * @return validator settings
+   * @throws IOException when failed to create dictionaries
+   */
+  static ValidatorConfiguration create(String name,
+      ValidatorConfiguration parent) throws IOException {
+    ValidatorConfiguration config = new ValidatorConfiguration(name, parent);
+    if ("SentenceLength".equals(name)) {
+      config.addAttribute("max_length", "120");
+    } else if ("InvalidExpression".equals(name)) {
+      config.addAttribute("dictionary", createDictionary(false));
+    } else if ("CommaNumber".equals(name)) {
+      config.addAttribute("max_comma_num", "3");
+      config.addAttribute("max_length", "3");
+    } else if ("WordNumber".equals(name)) {
+      config.addAttribute("max_word_num", "20");
+    } else if ("SuggestExpression".equals(name)) {
+      config.addAttribute("invalid_word_file", createDictionary(true));
+    } else if ("SectionLength".equals(name)) {
+      config.addAttribute("max_char_num", "2000");
+    } else if ("MaxParagraphNumber".equals(name)) {
+      config.addAttribute("max_paragraph_num", "4");
+    } else if ("ParagraphStartWith".equals(name)) {
+      config.addAttribute("paragraph_start_with", " ");
+    }
+    return config;
+  }
+
+  /**
+   * Create a dictionary file containing random phrases and the phrases
+   * appearing in the generated corpus.
+   */
+  private static String createDictionary(boolean keyValue)
+      throws IOException {
+    Random random = new Random(1);
+    List<String> lines = new ArrayList<String>();
+    for (String phrase : MATCHED_PHRASES) {
+      lines.add(keyValue ? phrase + "\t" + phrase.toUpperCase() : phrase);
+    }
+    for (int i = 0; i < DICTIONARY_SIZE; i++) {
+      String phrase = Corpus.katakanaWord(random, 3, 8) + " "
+          + Corpus.katakanaWord(random, 3, 8);
+      lines.add(keyValue ? phrase + "\t" + phrase.toUpperCase() : phrase);
+    }
+    File file = File.createTempFile("redpen-benchmark", ".txt");
+    file.deleteOnExit();
+    FileUtils.writeLines(file, "UTF-8", lines);
+    return file.getAbsolutePath();
+  }
+
+  private ValidatorSettings() {
+  }
+
+  private static final int DICTIONARY_SIZE = 5000;
+
+  private static final String[] MATCHED_PHRASES = {
+      "piece of cake", "like", "info", "quickly", "システム", "利用者",
+  };
+}
@@ -0,0 +1,397 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator;
+
+import org.bigram.docvalidator.config.Configuration;
+import org.bigram.docvalidator.distributor.ResultDistributor;
+import org.bigram.docvalidator.metrics.ValidationMetrics;
+import org.bigram.docvalidator.model.Document;
+import org.bigram.docvalidator.model.DocumentCollection;
+import org.bigram.docvalidator.parser.DocumentParserFactory;
+import org.bigram.docvalidator.parser.Parser;
+import org.bigram.docvalidator.validator.ValidationContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pipeline to parse, validate and flush input files concurrently.
+ *
+ * Parser threads parse the input files and put the generated documents
+ * into a bounded queue, validator threads take the documents from the
+ * queue and validate them, and the calling thread flushes the errors to
+ * the ResultDistributor in the order of the input files.
+ *
+ * When the queue is full, parser threads wait until the validator threads
+ * take the documents. In addition, the number of documents which are
+ * parsed but not flushed yet is limited not to keep many documents in
+ * memory when a document takes long time to be validated.
+ *
+ * The documents of a check share a ValidationContext as in
+ * DocumentValidator. The validator threads apply only the stateless
+ * validators, and the calling thread applies the validators keeping
+ * states between sentences (e.g. KatakanaSpellCheck) before flushing each
+ * document. Therefore the stateful validators see the documents in the
+ * order of the input files, and the results do not depend on the number
+ * of threads.
+ */
+public final class DocumentPipeline {
+
+  private DocumentPipeline(Builder builder) {
+    this.configuration = builder.configuration;
+    this.validator = builder.validator;
+    this.distributor = builder.distributor;
+    this.parserThreads = builder.parserThreads;
+    this.validatorThreads = builder.validatorThreads;
+    this.queueSize = builder.queueSize;
+    if (builder.maxPendingDocuments > 0) {
+      this.maxPendingDocuments = builder.maxPendingDocuments;
+    } else {
+      this.maxPendingDocuments = queueSize + validatorThreads;
+    }
+  }
+
+  /**
+   * Parse and validate the input files, and flush the errors.
+   *
+   * @param inputFileNames input file names
+   * @param format         input file format
+   * @return the number of reported errors
+   * @throws DocumentValidatorException when failed to parse or validate
+   *                                    an input file
+   */
+  public int check(String[] inputFileNames, Parser.Type format)
+      throws DocumentValidatorException {
+    BlockingQueue<Item> documentQueue = new ArrayBlockingQueue<Item>(queueSize);
+    BlockingQueue<Item> resultQueue = new LinkedBlockingQueue<Item>();
+    Semaphore pendingDocuments = new Semaphore(maxPendingDocuments);
+    AtomicInteger nextInput = new AtomicInteger(0);
+    ValidationContext context = new ValidationContext();
+
+    ExecutorService executor =
+        Executors.newFixedThreadPool(parserThreads + validatorThreads);
+    for (int i = 0; i < parserThreads; i++) {
+      executor.execute(new ParserWorker(inputFileNames, format, nextInput,
+          pendingDocuments, documentQueue));
+    }
+    for (int i = 0; i < validatorThreads; i++) {
+      executor.execute(new ValidatorWorker(documentQueue, resultQueue,
+          context));
+    }
+
+    try {
+      return emit(inputFileNames.length, resultQueue, pendingDocuments);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DocumentValidatorException("Interrupted in validation", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private int emit(int inputSize, BlockingQueue<Item> resultQueue,
+      Semaphore pendingDocuments)
+      throws InterruptedException, DocumentValidatorException {
+    distributor.flushHeader();
+    Map<Integer, Item> waiting = new HashMap<Integer, Item>();
+    int errorCount = 0;
+    int next = 0;
+    while (next < inputSize) {
+      Item item = resultQueue.take();
+      waiting.put(item.index, item);
+      while (waiting.containsKey(next)) {
+        Item current = waiting.remove(next);
+        if (current.failure != null) {
+          throw current.failure;
+        }
+        List<ValidationError> errors;
+        try {
+          errors = validator.completeValidation(current.validation);
+        } catch (RuntimeException e) {
+          throw new DocumentValidatorException("Failed to validate "
+              + current.validation.getDocument().getFileName(), e);
+        }
+        for (ValidationError error : errors) {
+          distributor.flushResult(error);
+          errorCount++;
+        }
+        pendingDocuments.release();
+        next++;
+      }
+    }
+    distributor.flushFooter();
+    return errorCount;
+  }
+
+  /**
+   * Document or validation result with the index of the input file.
+   */
+  private static final class Item {
+    private Item(int inputIndex) {
+      this.index = inputIndex;
+    }
+
+    private final int index;
+
+    private Document document;
+
+    /**
+     * Validation to be completed with the stateful validators.
+     */
+    private DocumentValidator.DocumentTask validation;
+
+    private DocumentValidatorException failure;
+  }
+
+  /**
+   * Worker to parse the input files and put the documents into the queue.
+   */
+  private final class ParserWorker implements Runnable {
+    private ParserWorker(String[] fileNames, Parser.Type parserType,
+        AtomicInteger nextIndex, Semaphore pending,
+        BlockingQueue<Item> queue) {
+      this.inputFileNames = fileNames;
+      this.format = parserType;
+      this.nextInput = nextIndex;
+      this.pendingDocuments = pending;
+      this.documentQueue = queue;
+    }
+
+    @Override
+    public void run() {
+      DocumentCollection.Builder documentBuilder =
+          new DocumentCollection.Builder();
+      ValidationMetrics metrics = validator.getMetrics();
+      Parser parser = null;
+      try {
+        while (true) {
+          pendingDocuments.acquire();
+          int index = nextInput.getAndIncrement();
+          if (index >= inputFileNames.length) {
+            pendingDocuments.release();
+            return;
+          }
+          Item item = new Item(index);
+          try {
+            if (parser == null) {
+              parser = DocumentParserFactory.generate(format, configuration,
+                  documentBuilder);
+            }
+            long start = metrics == null ? 0 : System.nanoTime();
+            item.document = parser.generateDocument(inputFileNames[index]);
+            if (metrics != null) {
+              metrics.recordParse(format, System.nanoTime() - start);
+            }
+          } catch (DocumentValidatorException e) {
+            item.failure = e;
+          } catch (RuntimeException e) {
+            // NOTE: the item has to be queued not to block the emitter
+            item.failure = new DocumentValidatorException(
+                "Failed to parse " + inputFileNames[index], e);
+          }
+          // release the document from the builder of this worker
+          documentBuilder.clear();
+          documentQueue.put(item);
+        }
+      } catch (InterruptedException e) {
+        LOG.debug("Parser worker is interrupted");
+      }
+    }
+
+    private final String[] inputFileNames;
+
+    private final Parser.Type format;
+
+    private final AtomicInteger nextInput;
+
+    private final Semaphore pendingDocuments;
+
+    private final BlockingQueue<Item> documentQueue;
+  }
+
+  /**
+   * Worker to validate the documents taken from the queue.
+   */
+  private final class ValidatorWorker implements Runnable {
+    private ValidatorWorker(BlockingQueue<Item> documents,
+        BlockingQueue<Item> results, ValidationContext runContext) {
+      this.documentQueue = documents;
+      this.resultQueue = results;
+      this.context = runContext;
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (true) {
+          Item item = documentQueue.take();
+          if (item.failure == null) {
+            try {
+              item.validation =
+                  validator.startValidation(item.document, context);
+            } catch (RuntimeException e) {
+              item.failure = new DocumentValidatorException(
+                  "Failed to validate " + item.document.getFileName(), e);
+            }
+          }
+          item.document = null;
+          resultQueue.put(item);
+        }
+      } catch (InterruptedException e) {
+        LOG.debug("Validator worker is interrupted");
+      }
+    }
+
+    private final BlockingQueue<Item> documentQueue;
+
+    private final BlockingQueue<Item> resultQueue;
+
+    private final ValidationContext context;
+  }
+
+  /**
+   * Builder for DocumentPipeline.
+   */
+  public static class Builder {
+
+    private Configuration configuration;
+
+    private DocumentValidator validator;
+
+    private ResultDistributor distributor;
+
+    private int parserThreads = 1;
+
+    private int validatorThreads = 1;
+
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+
+    private int maxPendingDocuments = 0;
+
+    public Builder setConfiguration(Configuration configuration) {
+      this.configuration = configuration;
+      return this;
+    }
+
+    public Builder setValidator(DocumentValidator documentValidator) {
+      this.validator = documentValidator;
+      return this;
+    }
+
+    public Builder setResultDistributor(ResultDistributor resultDistributor) {
+      this.distributor = resultDistributor;
+      return this;
+    }
+
+    /**
+     * Set the number of threads to parse input files.
+     *
+     * @param threads number of parser threads
+     * @return builder
+     */
+    public Builder setParserThreads(int threads) {
+      this.parserThreads = threads;
+      return this;
+    }
+
+    /**
+     * Set the number of threads to validate documents.
+     *
+     * @param threads number of validator threads
+     * @return builder
+     */
+    public Builder setValidatorThreads(int threads) {
+      this.validatorThreads = threads;
+      return this;
+    }
+
+    /**
+     * Set the capacity of the queue between parser and validator threads.
+     *
+     * @param size queue capacity
+     * @return builder
+     */
+    public Builder setQueueSize(int size) {
+      this.queueSize = size;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of documents which are parsed but their
+     * errors are not flushed yet. Parser threads wait when the number of
+     * the documents reaches the limit. The default is the queue size plus
+     * the number of validator threads.
+     *
+     * @param max maximum number of pending documents
+     * @return builder
+     */
+    public Builder setMaxPendingDocuments(int max) {
+      this.maxPendingDocuments = max;
+      return this;
+    }
+
+    public DocumentPipeline build() throws DocumentValidatorException {
+      if (configuration == null) {
+        throw new DocumentValidatorException("Given configuration is null");
+      }
+      if (validator == null) {
+        throw new DocumentValidatorException("Given validator is null");
+      }
+      if (distributor == null) {
+        throw new DocumentValidatorException("Given distributor is null");
+      }
+      if (parserThreads < 1 || validatorThreads < 1 || queueSize < 1) {
+        throw new IllegalArgumentException(
+            "Thread numbers and queue size should be larger than 0");
+      }
+      return new DocumentPipeline(this);
+    }
+  }
+
+  /**
+   * Default capacity of the queue between parser and validator threads.
+   */
+  public static final int DEFAULT_QUEUE_SIZE = 16;
+
+  private final Configuration configuration;
+
+  private final DocumentValidator validator;
+
+  private final ResultDistributor distributor;
+
+  private final int parserThreads;
+
+  private final int validatorThreads;
+
+  private final int queueSize;
+
+  private final int maxPendingDocuments;
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(DocumentPipeline.class);
+}
@@ -21,6 +21,9 @@ import org.bigram.docvalidator.config.Configuration;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
 import org.bigram.docvalidator.distributor.DefaultResultDistributor;
 import org.bigram.docvalidator.distributor.ResultDistributor;
+import org.bigram.docvalidator.metrics.ValidationMetrics;
+import org.bigram.docvalidator.validator.StatefulValidator;
+import org.bigram.docvalidator.validator.ValidationContext;
 import org.bigram.docvalidator.validator.Validator;
 import org.bigram.docvalidator.validator.section.SectionValidator;
 import org.bigram.docvalidator.validator.section.SectionValidatorFactory;
@@ -37,23 +40,54 @@ import org.bigram.docvalidator.model.ListElement;
 import org.bigram.docvalidator.model.Paragraph;
 import org.bigram.docvalidator.model.Section;
 import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.parser.DocumentParserFactory;
+import org.bigram.docvalidator.parser.Parser;
 
+import java.io.Closeable;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Validate all input files using appended Validators.
+ *
+ * The validators are created once and shared by all the validation runs.
+ * The states kept by the validators between sentences are stored in a
+ * ValidationContext created for each run, so that an instance of
+ * DocumentValidator can validate documents from multiple threads. The
+ * documents checked in a run share a context; for instance,
+ * KatakanaSpellCheck compares the words with the ones in the previous
+ * input files.
+ *
+ * When the parallelism is larger than 1, the validator owns a fork-join
+ * pool, which is released by {@link #close()}.
  */
-public class DocumentValidator implements Validator {
+public class DocumentValidator implements Validator, Closeable {
 
   private DocumentValidator(Builder builder) throws DocumentValidatorException {
-    Configuration configuration = builder.configuration;
+    this.configuration = builder.configuration;
     this.distributor = builder.distributor;
+    this.parallelism = builder.parallelism;
+    this.metrics = builder.metrics;
+    this.cache = builder.cache;
+    if (parallelism > 1) {
+      this.pool = new ForkJoinPool(parallelism);
+    } else {
+      this.pool = null;
+    }
 
     validators = new ArrayList<Validator>();
     sectionValidators = new ArrayList<SectionValidator>();
     sentenceValidators = new ArrayList<SentenceValidator>();
+    sectionValidatorFingerprints = new ArrayList<String>();
+    sentenceValidatorFingerprints = new ArrayList<String>();
+    metricNames = new IdentityHashMap<Object, String>();
 
     loadValidators(configuration);
   }
@@ -68,20 +102,42 @@ public class DocumentValidator implements Validator {
     //TODO duplicate code...
     for (ValidatorConfiguration config : configuration
         .getSectionValidatorConfigs()) {
-      sectionValidators.add(SectionValidatorFactory
-          .getInstance(config, configuration.getCharacterTable()));
+      SectionValidator validator = SectionValidatorFactory
+          .getInstance(config, configuration.getCharacterTable());
+      sectionValidators.add(validator);
+      addMetricName(validator);
+      sectionValidatorFingerprints.add(ValidationResultCache.fingerprint(
+          config, configuration.getCharacterTable()));
     }
 
     for (ValidatorConfiguration config : configuration
         .getSentenceValidatorConfigs()) {
-      sentenceValidators.add(SentenceValidatorFactory
-          .getInstance(config, configuration.getCharacterTable()));
+      SentenceValidator validator = SentenceValidatorFactory
+          .getInstance(config, configuration.getCharacterTable());
+      sentenceValidators.add(validator);
+      addMetricName(validator);
+      sentenceValidatorFingerprints.add(ValidationResultCache.fingerprint(
+          config, configuration.getCharacterTable()));
     }
 
     //TODO execute document validator
     //TODO execute paragraph validator
   }
 
+  /**
+   * Name a validator in the metrics. The instances of the same class are
+   * distinguished by a number, so that two configurations of a validator
+   * are recorded separately.
+   */
+  private void addMetricName(Object validator) {
+    String className = validator.getClass().getSimpleName();
+    String name = className;
+    for (int i = 2; metricNames.containsValue(name); i++) {
+      name = className + "#" + i;
+    }
+    metricNames.put(validator, name);
+  }
+
   /**
    * Validate the input document collection.
    *
@@ -91,109 +147,255 @@ public class DocumentValidator implements Validator {
   public List<ValidationError> check(DocumentCollection documentCollection) {
     distributor.flushHeader();
     List<ValidationError> errors = new ArrayList<ValidationError>();
-    runDocumentValidators(documentCollection, errors);
-    runSectionValidators(documentCollection, errors);
-    runSentenceValidators(documentCollection, errors);
+    ValidationContext context = new ValidationContext();
+    if (pool != null) {
+      runValidatorsInParallel(documentCollection, context, errors);
+    } else {
+      runValidators(documentCollection, context, errors);
+    }
     distributor.flushFooter();
     return errors;
   }
 
-  private List<ValidationError> runDocumentValidators(
-      DocumentCollection documentCollection,
-      List<ValidationError> errors) {
-    for (Document document : documentCollection) {
-      errors = validateDocument(document);
-      for (ValidationError error : errors) {
-        error.setFileName(document.getFileName());
+  /**
+   * Parse and validate the input files one by one. Each file is parsed,
+   * validated and flushed to the ResultDistributor before the next file
+   * is parsed, and then released. Therefore the memory usage is bounded
+   * by the largest input document instead of the whole input files.
+   *
+   * @param inputFileNames input file names
+   * @param format         input file format
+   * @return the number of reported errors
+   * @throws DocumentValidatorException when failed to parse an input file
+   */
+  public int check(String[] inputFileNames, Parser.Type format)
+      throws DocumentValidatorException {
+    DocumentCollection.Builder documentBuilder =
+        new DocumentCollection.Builder();
+    Parser parser = DocumentParserFactory.generate(format,
+        configuration, documentBuilder);
+
+    distributor.flushHeader();
+    ValidationContext context = new ValidationContext();
+    int errorCount = 0;
+    for (String inputFileName : inputFileNames) {
+      Document document;
+      if (metrics == null) {
+        document = parser.generateDocument(inputFileName);
+      } else {
+        long start = System.nanoTime();
+        document = parser.generateDocument(inputFileName);
+        metrics.recordParse(format, System.nanoTime() - start);
+      }
+      for (ValidationError error : validate(document, context)) {
         distributor.flushResult(error);
+        errorCount++;
       }
+      // release the document already validated
+      documentBuilder.clear();
     }
-    return errors;
+    distributor.flushFooter();
+    return errorCount;
   }
 
-  private List<ValidationError> runSectionValidators(
-      DocumentCollection documentCollection,
-      List<ValidationError> errors) {
+  /**
+   * Run all the validators traversing each Document and Section once.
+   * The errors of a document are reported in the order of document
+   * validators, and for each section, section validators followed by
+   * sentence validators.
+   */
+  private void runValidators(DocumentCollection documentCollection,
+      ValidationContext context, List<ValidationError> errors) {
     for (Document document : documentCollection) {
-      for (Section section : document) {
-        List<ValidationError> newErrors = validateSection(section);
-        for (ValidationError error : newErrors) {
-          error.setFileName(document.getFileName());
-          distributor.flushResult(error);
-        }
-        errors.addAll(newErrors);
-      }
+      flushErrors(document, validate(document, context), errors);
     }
-    return errors;
   }
 
-  private List<ValidationError> runSentenceValidators(
-      DocumentCollection documentCollection,
+  private void runValidators(Document document, ValidationContext context,
       List<ValidationError> errors) {
-    for (Document document : documentCollection) {
-      for (Section section : document) {
-        List<ValidationError> newErrors =
-            applySentenceValidationsToSection(document, section);
-        errors.addAll(newErrors);
-      }
+    errors.addAll(validateDocument(document));
+    for (Section section : document) {
+      errors.addAll(validateSection(section, context));
+      errors.addAll(validateSentencesInSection(section, context));
     }
-    return errors;
   }
 
-  private List<ValidationError> applySentenceValidationsToSection(
-      Document document, Section section) {
-    List<ValidationError> newErrors = new ArrayList<ValidationError>();
-    // apply paragraphs
-    for (Paragraph paragraph : section.getParagraphs()) {
-      newErrors.addAll(validateParagraph(paragraph));
+  /**
+   * Run all the validators splitting the work per Document and Section
+   * over the fork-join pool. The errors are flushed from the calling
+   * thread in the same order as the sequential execution.
+   */
+  private void runValidatorsInParallel(DocumentCollection documentCollection,
+      ValidationContext context, List<ValidationError> errors) {
+    List<DocumentTask> tasks = new ArrayList<DocumentTask>();
+    for (Document document : documentCollection) {
+      tasks.add(new DocumentTask(document, context));
     }
+    pool.invoke(new DocumentCollectionTask(tasks));
 
-    // apply to section header
-    newErrors.addAll(validateSentences(section.getHeaderContents()));
-
-    // apply to lists
-    for (ListBlock listBlock : section.getListBlocks()) {
-      for (ListElement listElement : listBlock.getListElements()) {
-        newErrors.addAll(validateSentences(listElement.getSentences()));
-      }
+    for (DocumentTask task : tasks) {
+      flushErrors(task.document, completeValidation(task), errors);
     }
+  }
+
+  private void flushErrors(Document document,
+      List<ValidationError> newErrors, List<ValidationError> errors) {
     for (ValidationError error : newErrors) {
       error.setFileName(document.getFileName());
       distributor.flushResult(error);
     }
+    errors.addAll(newErrors);
+  }
+
+  private List<ValidationError> validateSentencesInSection(Section section,
+      ValidationContext context) {
+    List<ValidationError> newErrors = new ArrayList<ValidationError>();
+    validateSentences(sentencesOf(section), context, newErrors);
     return newErrors;
   }
 
+  /**
+   * Get the sentences of a section in the order the sentence validators
+   * are applied: paragraphs, section header and then lists.
+   */
+  private static List<Sentence> sentencesOf(Section section) {
+    List<Sentence> sentences = new ArrayList<Sentence>();
+    for (Paragraph paragraph : section.getParagraphs()) {
+      sentences.addAll(paragraph.getSentences());
+    }
+    sentences.addAll(section.getHeaderContents());
+    for (ListBlock listBlock : section.getListBlocks()) {
+      for (ListElement listElement : listBlock.getListElements()) {
+        sentences.addAll(listElement.getSentences());
+      }
+    }
+    return sentences;
+  }
+
   private List<ValidationError> validateDocument(Document document) {
     List<ValidationError> errors = new ArrayList<ValidationError>();
     for (Validator validator : validators) {
-      errors.addAll(validator.validate(document));
+      if (metrics == null) {
+        errors.addAll(validator.validate(document));
+      } else {
+        long start = System.nanoTime();
+        List<ValidationError> newErrors = validator.validate(document);
+        metrics.recordValidation(metricNames.get(validator),
+            System.nanoTime() - start, newErrors.size());
+        errors.addAll(newErrors);
+      }
     }
     return errors;
   }
 
-  private List<ValidationError> validateSection(Section section) {
+  /**
+   * Apply all the section validators to a section. When the result cache
+   * is set, the validators run only when the content of the section is not
+   * found in the cache.
+   */
+  private List<ValidationError> validateSection(Section section,
+      ValidationContext context) {
     List<ValidationError> errors = new ArrayList<ValidationError>();
-    for (SectionValidator sectionValidator : sectionValidators) {
-      errors.addAll(sectionValidator.validate(section));
+    String content = null;
+    if (cache != null && !sectionValidators.isEmpty()) {
+      content = ValidationResultCache.sectionContent(section);
+    }
+    for (int i = 0; i < sectionValidators.size(); i++) {
+      errors.addAll(applySectionValidator(i, section, content, context));
     }
     return errors;
   }
 
-  private List<ValidationError> validateParagraph(Paragraph paragraph) {
-    List<ValidationError> errors = new ArrayList<ValidationError>();
-    errors.addAll(validateSentences(paragraph.getSentences()));
-    return errors;
+  /**
+   * Apply a section validator to a section, or get its errors from the
+   * result cache when the content of the section is given.
+   */
+  private List<ValidationError> applySectionValidator(int index,
+      Section section, String content, ValidationContext context) {
+    SectionValidator sectionValidator = sectionValidators.get(index);
+    if (content == null) {
+      return runSectionValidator(sectionValidator, section, context);
+    }
+    String fingerprint = sectionValidatorFingerprints.get(index);
+    List<ValidationError> cachedErrors =
+        cache.getSectionErrors(fingerprint, content, section);
+    if (cachedErrors != null) {
+      return cachedErrors;
+    }
+    List<ValidationError> newErrors =
+        runSectionValidator(sectionValidator, section, context);
+    // results depending on the previous sections are not reusable
+    if (!context.isUsedBy(sectionValidator)) {
+      cache.putSectionErrors(fingerprint, content, section, newErrors);
+    }
+    return newErrors;
   }
 
-  private List<ValidationError> validateSentences(List<Sentence> sentences) {
-    List<ValidationError> errors = new ArrayList<ValidationError>();
-    for (SentenceValidator sentenceValidator : sentenceValidators) {
-      for (Sentence sentence : sentences) {
-        errors.addAll(sentenceValidator.validate(sentence));
+  private List<ValidationError> runSectionValidator(
+      SectionValidator sectionValidator, Section section,
+      ValidationContext context) {
+    if (metrics == null) {
+      return sectionValidator.validate(section, context);
+    }
+    long start = System.nanoTime();
+    List<ValidationError> newErrors =
+        sectionValidator.validate(section, context);
+    metrics.recordValidation(metricNames.get(sectionValidator),
+        System.nanoTime() - start, newErrors.size());
+    return newErrors;
+  }
+
+  /**
+   * Apply all the sentence validators to each sentence in turn, so that
+   * a sentence is visited only once. When the result cache is set, the
+   * validators run only for the sentences not found in the cache.
+   */
+  private void validateSentences(List<Sentence> sentences,
+      ValidationContext context, List<ValidationError> errors) {
+    for (Sentence sentence : sentences) {
+      for (int i = 0; i < sentenceValidators.size(); i++) {
+        errors.addAll(applySentenceValidator(i, sentence, context));
       }
     }
-    return errors;
+  }
+
+  /**
+   * Apply a sentence validator to a sentence, or get its errors from the
+   * result cache when the cache is set.
+   */
+  private List<ValidationError> applySentenceValidator(int index,
+      Sentence sentence, ValidationContext context) {
+    SentenceValidator sentenceValidator = sentenceValidators.get(index);
+    if (cache == null) {
+      return runSentenceValidator(sentenceValidator, sentence, context);
+    }
+    String fingerprint = sentenceValidatorFingerprints.get(index);
+    List<ValidationError> cachedErrors =
+        cache.getSentenceErrors(fingerprint, sentence);
+    if (cachedErrors != null) {
+      return cachedErrors;
+    }
+    List<ValidationError> newErrors =
+        runSentenceValidator(sentenceValidator, sentence, context);
+    // results depending on the previous sentences are not reusable
+    if (!context.isUsedBy(sentenceValidator)) {
+      cache.putSentenceErrors(fingerprint, sentence, newErrors);
+    }
+    return newErrors;
+  }
+
+  private List<ValidationError> runSentenceValidator(
+      SentenceValidator sentenceValidator, Sentence sentence,
+      ValidationContext context) {
+    if (metrics == null) {
+      return sentenceValidator.validate(sentence, context);
+    }
+    long start = System.nanoTime();
+    List<ValidationError> newErrors =
+        sentenceValidator.validate(sentence, context);
+    metrics.recordValidation(metricNames.get(sentenceValidator),
+        System.nanoTime() - start, newErrors.size());
+    return newErrors;
   }
 
   /**
@@ -206,6 +408,14 @@ public class DocumentValidator implements Validator {
     this.validators = new ArrayList<Validator>();
     sectionValidators = new ArrayList<SectionValidator>();
     sentenceValidators = new ArrayList<SentenceValidator>();
+    this.configuration = null;
+    this.parallelism = 1;
+    this.pool = null;
+    this.metrics = null;
+    this.cache = null;
+    sectionValidatorFingerprints = new ArrayList<String>();
+    sentenceValidatorFingerprints = new ArrayList<String>();
+    metricNames = new IdentityHashMap<Object, String>();
   }
 
   /**
@@ -215,15 +425,329 @@ public class DocumentValidator implements Validator {
    */
   protected void appendValidator(Validator validator) {
     this.validators.add(validator);
+    addMetricName(validator);
   }
 
+  /**
+   * Validate the input document without flushing the errors
+   * to the ResultDistributor.
+   *
+   * @param document input document
+   * @return list of validation errors of the document
+   */
   @Override
   public List<ValidationError> validate(Document document) {
-    return null;
+    return validate(document, new ValidationContext());
+  }
+
+  /**
+   * Validate the input document in a run, without flushing the errors
+   * to the ResultDistributor. The validators keeping states between
+   * sentences see the sentences of the documents validated with the
+   * same context before.
+   *
+   * @param document input document
+   * @param context  state of the validation run
+   * @return list of validation errors of the document
+   */
+  public List<ValidationError> validate(Document document,
+      ValidationContext context) {
+    if (pool != null) {
+      return completeValidation(startValidation(document, context));
+    }
+    List<ValidationError> errors = new ArrayList<ValidationError>();
+    runValidators(document, context, errors);
+    for (ValidationError error : errors) {
+      error.setFileName(document.getFileName());
+    }
+    return errors;
+  }
+
+  /**
+   * Apply the validators except the stateful ones to a document. Used
+   * with {@link #completeValidation(DocumentTask)} to validate documents
+   * concurrently while the stateful validators see the documents in the
+   * order of a run.
+   *
+   * @param document input document
+   * @param context  state of the validation run
+   * @return task holding the errors found so far
+   */
+  DocumentTask startValidation(Document document, ValidationContext context) {
+    DocumentTask task = new DocumentTask(document, context);
+    if (pool != null) {
+      pool.invoke(task);
+    } else {
+      task.runStatelessValidators();
+    }
+    return task;
+  }
+
+  /**
+   * Apply the stateful validators to a document given by
+   * {@link #startValidation(Document, ValidationContext)}. The documents
+   * of a run have to be completed one by one in the order of the run.
+   *
+   * @param task task returned by startValidation
+   * @return list of validation errors of the document
+   */
+  List<ValidationError> completeValidation(DocumentTask task) {
+    task.runStatefulValidators();
+    List<ValidationError> errors = new ArrayList<ValidationError>();
+    task.collectErrors(errors);
+    for (ValidationError error : errors) {
+      error.setFileName(task.document.getFileName());
+    }
+    return errors;
+  }
+
+  /**
+   * Validate the input document flushing the errors of each section to the
+   * given ResultDistributor as soon as the section is validated, so that
+   * the first errors are reported before the whole document is validated.
+   * The sections are validated in the calling thread in the order of the
+   * document. Header and footer are not flushed.
+   *
+   * @param document          input document
+   * @param resultDistributor distributor to flush the errors
+   * @return the number of flushed errors
+   */
+  public int validate(Document document, ResultDistributor resultDistributor) {
+    ValidationContext context = new ValidationContext();
+    int errorCount = flush(document, validateDocument(document),
+        resultDistributor);
+    for (Section section : document) {
+      errorCount += flush(document, validateSection(section, context),
+          resultDistributor);
+      errorCount += flush(document,
+          validateSentencesInSection(section, context), resultDistributor);
+    }
+    return errorCount;
+  }
+
+  private static int flush(Document document, List<ValidationError> errors,
+      ResultDistributor resultDistributor) {
+    for (ValidationError error : errors) {
+      error.setFileName(document.getFileName());
+      resultDistributor.flushResult(error);
+    }
+    return errors.size();
   }
 
   public void appendSectionValidator(SectionValidator validator) {
     sectionValidators.add(validator);
+    addMetricName(validator);
+    // the configuration of the given validator is unknown, so the
+    // validator gets a fingerprint which no other validator ever has
+    sectionValidatorFingerprints.add(validator.getClass().getName() + "@"
+        + APPENDED_VALIDATOR_COUNT.incrementAndGet());
+  }
+
+  /**
+   * Get the number of threads used to run the validators.
+   *
+   * @return parallelism level, 1 when the validators run sequentially
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Get the metrics recording the validators.
+   *
+   * @return metrics, or null when the metrics are disabled
+   */
+  public ValidationMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Get the cache of the validation results.
+   *
+   * @return cache, or null when the results are not cached
+   */
+  public ValidationResultCache getResultCache() {
+    return cache;
+  }
+
+  /**
+   * Release the threads used to run the validators in parallel. The
+   * validator must not be used after closed.
+   */
+  @Override
+  public void close() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  private static boolean isStateful(Object validator) {
+    return validator instanceof StatefulValidator;
+  }
+
+  /**
+   * Fork-join task to validate all the documents in a collection.
+   */
+  private final class DocumentCollectionTask extends RecursiveTask<Void> {
+    private DocumentCollectionTask(List<DocumentTask> documentTasks) {
+      this.documentTasks = documentTasks;
+    }
+
+    @Override
+    protected Void compute() {
+      invokeAll(documentTasks);
+      return null;
+    }
+
+    private final List<DocumentTask> documentTasks;
+  }
+
+  /**
+   * Fork-join task to validate a document. The sections of the
+   * document are validated as sub tasks with the stateless validators;
+   * the stateful validators are applied afterwards by
+   * {@link #runStatefulValidators()} in the order of the sections.
+   */
+  final class DocumentTask extends RecursiveTask<Void> {
+    private DocumentTask(Document targetDocument,
+        ValidationContext runContext) {
+      this.document = targetDocument;
+      this.context = runContext;
+      this.sectionTasks = new ArrayList<SectionTask>();
+    }
+
+    @Override
+    protected Void compute() {
+      for (Section section : document) {
+        sectionTasks.add(new SectionTask(section, context));
+      }
+      invokeAll(sectionTasks);
+      documentErrors = validateDocument(document);
+      return null;
+    }
+
+    /**
+     * Apply the stateless validators to the sections in the calling
+     * thread, used when the validator has no fork-join pool.
+     */
+    private void runStatelessValidators() {
+      for (Section section : document) {
+        SectionTask sectionTask = new SectionTask(section, context);
+        sectionTask.apply(false);
+        sectionTasks.add(sectionTask);
+      }
+      documentErrors = validateDocument(document);
+    }
+
+    /**
+     * Apply the stateful validators to the sections one by one. Called
+     * after the task is completed, from a single thread.
+     */
+    private void runStatefulValidators() {
+      for (SectionTask sectionTask : sectionTasks) {
+        sectionTask.apply(true);
+      }
+    }
+
+    Document getDocument() {
+      return document;
+    }
+
+    private void collectErrors(List<ValidationError> errors) {
+      errors.addAll(documentErrors);
+      for (SectionTask sectionTask : sectionTasks) {
+        sectionTask.collectErrors(errors);
+      }
+    }
+
+    private final Document document;
+
+    private final ValidationContext context;
+
+    private final List<SectionTask> sectionTasks;
+
+    private List<ValidationError> documentErrors;
+  }
+
+  /**
+   * Fork-join task to apply the stateless section and sentence validators
+   * to a section. The errors are kept per validator and sentence, so that
+   * the errors of the stateful validators applied later are collected in
+   * the same order as the sequential execution.
+   */
+  private final class SectionTask extends RecursiveTask<Void> {
+    private SectionTask(Section targetSection,
+        ValidationContext runContext) {
+      this.section = targetSection;
+      this.context = runContext;
+      this.sentences = sentencesOf(targetSection);
+      this.sectionErrors = new ArrayList<List<ValidationError>>(
+          Collections.<List<ValidationError>>nCopies(
+              sectionValidators.size(), null));
+      this.sentenceErrors = new ArrayList<List<ValidationError>>(
+          Collections.<List<ValidationError>>nCopies(
+              sentences.size() * sentenceValidators.size(), null));
+    }
+
+    @Override
+    protected Void compute() {
+      apply(false);
+      return null;
+    }
+
+    /**
+     * Apply either the stateless or the stateful validators to the section.
+     */
+    private void apply(boolean stateful) {
+      for (int i = 0; i < sectionValidators.size(); i++) {
+        if (isStateful(sectionValidators.get(i)) != stateful) {
+          continue;
+        }
+        if (cache != null && content == null) {
+          content = ValidationResultCache.sectionContent(section);
+        }
+        sectionErrors.set(i,
+            applySectionValidator(i, section, content, context));
+      }
+      int validatorCount = sentenceValidators.size();
+      for (int i = 0; i < validatorCount; i++) {
+        if (isStateful(sentenceValidators.get(i)) != stateful) {
+          continue;
+        }
+        for (int j = 0; j < sentences.size(); j++) {
+          sentenceErrors.set(j * validatorCount + i,
+              applySentenceValidator(i, sentences.get(j), context));
+        }
+      }
+    }
+
+    private void collectErrors(List<ValidationError> errors) {
+      for (List<ValidationError> validatorErrors : sectionErrors) {
+        errors.addAll(validatorErrors);
+      }
+      for (List<ValidationError> validatorErrors : sentenceErrors) {
+        errors.addAll(validatorErrors);
+      }
+    }
+
+    private final Section section;
+
+    private final ValidationContext context;
+
+    private final List<Sentence> sentences;
+
+    private String content;
+
+    /**
+     * Errors of each section validator.
+     */
+    private final List<List<ValidationError>> sectionErrors;
+
+    /**
+     * Errors of each sentence validator for each sentence, in the order
+     * of the sentences.
+     */
+    private final List<List<ValidationError>> sentenceErrors;
   }
 
   /**
@@ -233,10 +757,16 @@ public class DocumentValidator implements Validator {
 
     private Configuration configuration;
 
+    private int parallelism = DEFAULT_PARALLELISM;
+
     private ResultDistributor distributor = new DefaultResultDistributor(
         new PrintStream(System.out)
     );
 
+    private ValidationMetrics metrics = null;
+
+    private ValidationResultCache cache = null;
+
     public Builder setConfiguration(Configuration configuration) {
       this.configuration = configuration;
       return this;
@@ -247,6 +777,54 @@ public class DocumentValidator implements Validator {
       return this;
     }
 
+    /**
+     * Set the number of threads used to run the validators. When the
+     * parallelism is larger than 1, documents and sections are validated
+     * concurrently on a fork-join pool, and the order of the reported
+     * errors stays the same as the sequential execution.
+     *
+     * The validators keeping states between sentences
+     * (e.g. KatakanaSpellCheck) are marked as StatefulValidator, and they
+     * are applied to the sections in the order of the document.
+     * The pool is shut down when the DocumentValidator is closed.
+     *
+     * @param level number of threads
+     * @return builder
+     */
+    public Builder setParallelism(int level) {
+      if (level < 1) {
+        throw new IllegalArgumentException(
+            "parallelism should be larger than 0: " + level);
+      }
+      this.parallelism = level;
+      return this;
+    }
+
+    /**
+     * Set the metrics to record the invocations of validators and parsers.
+     * Nothing is measured when the metrics are not set.
+     *
+     * @param validationMetrics metrics
+     * @return builder
+     */
+    public Builder setMetrics(ValidationMetrics validationMetrics) {
+      this.metrics = validationMetrics;
+      return this;
+    }
+
+    /**
+     * Set the cache of the errors reported by sentence and section
+     * validators. When the cache is set, validating a document again
+     * runs the validators only for the changed sentences and sections.
+     *
+     * @param resultCache cache of the validation results
+     * @return builder
+     */
+    public Builder setResultCache(ValidationResultCache resultCache) {
+      this.cache = resultCache;
+      return this;
+    }
+
     public DocumentValidator build() throws DocumentValidatorException {
       return new DocumentValidator(this);
     }
@@ -260,6 +838,36 @@ public class DocumentValidator implements Validator {
 
   private ResultDistributor distributor;
 
+  private final Configuration configuration;
+
+  private final int parallelism;
+
+  private final ForkJoinPool pool;
+
+  private final ValidationMetrics metrics;
+
+  private final ValidationResultCache cache;
+
+  private final List<String> sectionValidatorFingerprints;
+
+  private final List<String> sentenceValidatorFingerprints;
+
+  /**
+   * Names of the validator instances recorded in the metrics.
+   */
+  private final Map<Object, String> metricNames;
+
+  /**
+   * Default parallelism level, validators run sequentially.
+   */
+  public static final int DEFAULT_PARALLELISM = 1;
+
+  /**
+   * Number of the validators appended to any DocumentValidator, used to
+   * make unique fingerprints in the result cache.
+   */
+  private static final AtomicLong APPENDED_VALIDATOR_COUNT = new AtomicLong();
+
   private static final Logger LOG =
       LoggerFactory.getLogger(DocumentValidator.class);
 }
@@ -0,0 +1,421 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator;
+
+import org.bigram.docvalidator.config.Configuration;
+import org.bigram.docvalidator.model.Document;
+import org.bigram.docvalidator.model.DocumentCollection;
+import org.bigram.docvalidator.model.Paragraph;
+import org.bigram.docvalidator.model.Section;
+import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.parser.DocumentParserFactory;
+import org.bigram.docvalidator.parser.Parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain text document edited by line-range patches and validated
+ * incrementally.
+ *
+ * The text is split into blocks by empty lines, and each block becomes a
+ * paragraph of the document in the same way as PlainTextParser. When a
+ * patch is applied, only the blocks overlapping the patched lines are
+ * parsed again, and the paragraphs of the other blocks are reused moving
+ * their sentences to the new lines. The document is then validated with
+ * the given DocumentValidator, which validates only the changed sentences
+ * when it has a ValidationResultCache.
+ *
+ * NOTE: unlike PlainTextParser, a sentence without a period at the end of
+ * a block is not joined with the next block.
+ *
+ * The methods are synchronized, so that a document can be edited from
+ * multiple threads.
+ */
+public final class EditableDocument {
+  /**
+   * Constructor. The given text is parsed and validated.
+   *
+   * @param documentValidator validator
+   * @param configuration     configuration used to parse the text
+   * @param text              initial text
+   * @throws DocumentValidatorException when failed to parse the text
+   */
+  public EditableDocument(DocumentValidator documentValidator,
+      Configuration configuration, String text)
+      throws DocumentValidatorException {
+    this.validator = documentValidator;
+    this.documentBuilder = new DocumentCollection.Builder();
+    this.parser = DocumentParserFactory.generate(Parser.Type.PLAIN,
+        configuration, documentBuilder);
+    this.lines = splitLines(text);
+    this.blocks = new ArrayList<Block>();
+    this.header = new ArrayList<Sentence>();
+    header.add(new Sentence("", 0));
+    this.errors = new ArrayList<ValidationError>();
+
+    int[] offsets = lineOffsets(lines);
+    for (int[] range : blockRanges(lines)) {
+      blocks.add(parseBlock(lines, offsets, range[0], range[1]));
+    }
+    validate();
+  }
+
+  /**
+   * Replace the lines in the given range with the given text, and validate
+   * the changed document.
+   *
+   * @param startLine first line to replace (0-origin)
+   * @param endLine   line after the last line to replace; the text is
+   *                  inserted before startLine when endLine equals startLine
+   * @param text      new text of the lines, each line terminated by a new
+   *                  line character except for the last line
+   * @return the errors added and removed by the patch
+   * @throws DocumentValidatorException when failed to parse the new text
+   */
+  public synchronized ErrorDiff applyPatch(int startLine, int endLine,
+      String text) throws DocumentValidatorException {
+    if (startLine < 0 || endLine < startLine || endLine > lines.size()) {
+      throw new IllegalArgumentException("Invalid line range: "
+          + startLine + "-" + endLine + " in " + lines.size() + " lines");
+    }
+    List<String> newLines = splitLines(text);
+    List<String> patched = new ArrayList<String>(lines.subList(0, startLine));
+    patched.addAll(newLines);
+    patched.addAll(lines.subList(endLine, lines.size()));
+    int patchEnd = startLine + newLines.size();
+    int delta = newLines.size() - (endLine - startLine);
+
+    Map<Integer, Block> oldBlocks = new HashMap<Integer, Block>();
+    for (Block block : blocks) {
+      oldBlocks.put(block.startLine, block);
+    }
+    int[] patchedOffsets = lineOffsets(patched);
+    List<int[]> ranges = blockRanges(patched);
+    List<Block> newBlocks = new ArrayList<Block>();
+    for (int[] range : ranges) {
+      Block reused = null;
+      if (range[1] <= startLine) {
+        reused = oldBlocks.get(range[0]);
+      } else if (range[0] >= patchEnd) {
+        reused = oldBlocks.get(range[0] - delta);
+      }
+      if (reused != null && reused.lineCount == range[1] - range[0]) {
+        newBlocks.add(reused);
+      } else {
+        newBlocks.add(parseBlock(patched, patchedOffsets, range[0],
+            range[1]));
+      }
+    }
+
+    // NOTE: the document is changed only after all the blocks are parsed,
+    // so that a failed patch leaves it unchanged
+    for (int i = 0; i < ranges.size(); i++) {
+      int start = ranges.get(i)[0];
+      newBlocks.get(i).moveTo(start, patchedOffsets[start]);
+    }
+    lines = patched;
+    blocks = newBlocks;
+
+    List<ValidationError> oldErrors = errors;
+    validate();
+    return new ErrorDiff(subtract(errors, oldErrors),
+        subtract(oldErrors, errors));
+  }
+
+  /**
+   * Get the current document model.
+   *
+   * @return document
+   */
+  public synchronized Document getDocument() {
+    return document;
+  }
+
+  /**
+   * Get the errors of the current document.
+   *
+   * @return errors
+   */
+  public synchronized List<ValidationError> getErrors() {
+    return new ArrayList<ValidationError>(errors);
+  }
+
+  /**
+   * Get the current text.
+   *
+   * @return text
+   */
+  public synchronized String getText() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < lines.size(); i++) {
+      if (i > 0) {
+        builder.append('\n');
+      }
+      builder.append(lines.get(i));
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Get the number of lines.
+   *
+   * @return number of lines
+   */
+  public synchronized int getLineCount() {
+    return lines.size();
+  }
+
+  private void validate() {
+    document = new Document();
+    document.setFileName("");
+    Section section = new Section(0, header);
+    for (Block block : blocks) {
+      section.appendParagraph(block.paragraph);
+    }
+    document.appendSection(section);
+    errors = validator.validate(document);
+  }
+
+  private Block parseBlock(List<String> textLines, int[] offsets, int start,
+      int end) throws DocumentValidatorException {
+    Paragraph paragraph = new Paragraph();
+    if (start < end) {
+      StringBuilder text = new StringBuilder();
+      for (int i = start; i < end; i++) {
+        text.append(textLines.get(i)).append('\n');
+      }
+      Document parsed;
+      try {
+        parsed = parser.generateDocument(
+            new ByteArrayInputStream(text.toString().getBytes("UTF-8")));
+      } catch (UnsupportedEncodingException e) {
+        throw new DocumentValidatorException(
+            "does not support UTF-8 encoding", e);
+      } finally {
+        documentBuilder.clear();
+      }
+      // NOTE: the locations of the parsed sentences are in the block
+      for (Paragraph parsedParagraph : parsed.getSection(0).getParagraphs()) {
+        for (Sentence sentence : parsedParagraph.getSentences()) {
+          sentence.position += start;
+          sentence.shiftSourceLocations(offsets[start], start);
+          paragraph.appendSentence(sentence);
+        }
+      }
+    }
+    return new Block(start, offsets[start], end - start, paragraph);
+  }
+
+  /**
+   * Split the lines into the ranges of blocks separated by empty lines.
+   * Each empty line separates two blocks, which can be empty.
+   */
+  private static List<int[]> blockRanges(List<String> textLines) {
+    List<int[]> ranges = new ArrayList<int[]>();
+    int start = 0;
+    for (int i = 0; i < textLines.size(); i++) {
+      if (textLines.get(i).equals("")) {
+        ranges.add(new int[]{start, i});
+        start = i + 1;
+      }
+    }
+    ranges.add(new int[]{start, textLines.size()});
+    return ranges;
+  }
+
+  /**
+   * Character offsets of the lines in the text, with the length of the
+   * text at the end.
+   */
+  private static int[] lineOffsets(List<String> textLines) {
+    int[] offsets = new int[textLines.size() + 1];
+    for (int i = 0; i < textLines.size(); i++) {
+      offsets[i + 1] = offsets[i] + textLines.get(i).length() + 1;
+    }
+    return offsets;
+  }
+
+  private static List<String> splitLines(String text) {
+    List<String> result = new ArrayList<String>();
+    if (text == null) {
+      return result;
+    }
+    int start = 0;
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) == '\n') {
+        result.add(text.substring(start, i));
+        start = i + 1;
+      }
+    }
+    if (start < text.length()) {
+      result.add(text.substring(start));
+    }
+    return result;
+  }
+
+  /**
+   * Errors in the first list which are not in the second list. Errors are
+   * compared by the validator, the message, the sentence instance and the
+   * position in the sentence, so that the errors of moved sentences are
+   * not reported again.
+   */
+  private static List<ValidationError> subtract(List<ValidationError> from,
+      List<ValidationError> other) {
+    Map<ErrorKey, Integer> counts = new HashMap<ErrorKey, Integer>();
+    for (ValidationError error : other) {
+      ErrorKey key = new ErrorKey(error);
+      Integer count = counts.get(key);
+      counts.put(key, count == null ? 1 : count + 1);
+    }
+    List<ValidationError> result = new ArrayList<ValidationError>();
+    for (ValidationError error : from) {
+      ErrorKey key = new ErrorKey(error);
+      Integer count = counts.get(key);
+      if (count == null || count == 0) {
+        result.add(error);
+      } else {
+        counts.put(key, count - 1);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Errors added and removed by a patch.
+   */
+  public static final class ErrorDiff {
+    private ErrorDiff(List<ValidationError> added,
+        List<ValidationError> removed) {
+      this.addedErrors = added;
+      this.removedErrors = removed;
+    }
+
+    /**
+     * Get the errors which are found after the patch.
+     *
+     * @return added errors with their new line numbers
+     */
+    public List<ValidationError> getAddedErrors() {
+      return addedErrors;
+    }
+
+    /**
+     * Get the errors which are resolved by the patch.
+     *
+     * @return removed errors with their line numbers before the patch
+     */
+    public List<ValidationError> getRemovedErrors() {
+      return removedErrors;
+    }
+
+    private final List<ValidationError> addedErrors;
+
+    private final List<ValidationError> removedErrors;
+  }
+
+  /**
+   * Lines between empty lines and the paragraph parsed from them.
+   */
+  private static final class Block {
+    private Block(int start, int offset, int count,
+        Paragraph parsedParagraph) {
+      this.startLine = start;
+      this.startOffset = offset;
+      this.lineCount = count;
+      this.paragraph = parsedParagraph;
+    }
+
+    private void moveTo(int newStartLine, int newStartOffset) {
+      int delta = newStartLine - startLine;
+      int offsetDelta = newStartOffset - startOffset;
+      if (delta == 0 && offsetDelta == 0) {
+        return;
+      }
+      for (Sentence sentence : paragraph.getSentences()) {
+        sentence.position += delta;
+        sentence.shiftSourceLocations(offsetDelta, delta);
+      }
+      startLine = newStartLine;
+      startOffset = newStartOffset;
+    }
+
+    private int startLine;
+
+    private int startOffset;
+
+    private final int lineCount;
+
+    private final Paragraph paragraph;
+  }
+
+  /**
+   * Identity of an error to compare the errors before and after a patch.
+   */
+  private static final class ErrorKey {
+    private ErrorKey(ValidationError validationError) {
+      this.error = validationError;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ErrorKey)) {
+        return false;
+      }
+      ValidationError other = ((ErrorKey) o).error;
+      return error.getSentence() == other.getSentence()
+          && error.getValidatorName().equals(other.getValidatorName())
+          && error.hasSameMessage(other)
+          && error.getStartPosition() == other.getStartPosition()
+          && error.getEndPosition() == other.getEndPosition();
+    }
+
+    @Override
+    public int hashCode() {
+      int result = System.identityHashCode(error.getSentence());
+      // NOTE: the message is not rendered to compute the hash
+      result = 31 * result + error.getValidatorName().hashCode();
+      return 31 * result + error.getStartPosition();
+    }
+
+    private final ValidationError error;
+  }
+
+  private final DocumentValidator validator;
+
+  private final DocumentCollection.Builder documentBuilder;
+
+  private final Parser parser;
+
+  private final List<Sentence> header;
+
+  private List<String> lines;
+
+  private List<Block> blocks;
+
+  private Document document;
+
+  private List<ValidationError> errors;
+}
@@ -0,0 +1,115 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator;
+
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+
+/**
+ * Templates of the error messages of validators.
+ *
+ * The templates are loaded from the resource bundle
+ * org.bigram.docvalidator.messages, where placeholders {0}, {1}, ... are
+ * replaced with the string values of the arguments. Translations can be
+ * added as the bundles of the locales.
+ */
+public final class ErrorMessages {
+  /**
+   * Render the message of the given key.
+   *
+   * @param key    key of the message template
+   * @param args   arguments put into the placeholders, can be null
+   * @param locale locale of the message
+   * @return message, or the key followed by the arguments when the
+   * template is not found
+   */
+  public static String format(String key, Object[] args, Locale locale) {
+    String template = getTemplate(key, locale);
+    if (template == null) {
+      StringBuilder builder = new StringBuilder(key);
+      if (args != null) {
+        for (Object arg : args) {
+          builder.append(' ').append(arg);
+        }
+      }
+      return builder.toString();
+    }
+    if (args == null || args.length == 0) {
+      return template;
+    }
+    StringBuilder builder = new StringBuilder(template.length() + 32);
+    int last = 0;
+    int open = template.indexOf('{');
+    while (open >= 0) {
+      int close = template.indexOf('}', open);
+      if (close < 0) {
+        break;
+      }
+      int index = parseIndex(template, open + 1, close);
+      if (index >= 0 && index < args.length) {
+        builder.append(template, last, open).append(args[index]);
+        last = close + 1;
+      }
+      open = template.indexOf('{', open + 1);
+    }
+    builder.append(template, last, template.length());
+    return builder.toString();
+  }
+
+  private static String getTemplate(String key, Locale locale) {
+    try {
+      ResourceBundle bundle = Locale.ROOT.equals(locale) ? ROOT_BUNDLE
+          : ResourceBundle.getBundle(BUNDLE_NAME, locale);
+      return bundle == null ? null : bundle.getString(key);
+    } catch (MissingResourceException e) {
+      return null;
+    }
+  }
+
+  private static int parseIndex(String template, int start, int end) {
+    if (start == end) {
+      return -1;
+    }
+    int index = 0;
+    for (int i = start; i < end; i++) {
+      char c = template.charAt(i);
+      if (c < '0' || '9' < c) {
+        return -1;
+      }
+      index = index * 10 + (c - '0');
+    }
+    return index;
+  }
+
+  private ErrorMessages() {
+    // for safe
+  }
+
+  private static final String BUNDLE_NAME = "org.bigram.docvalidator.messages";
+
+  private static final ResourceBundle ROOT_BUNDLE = loadRootBundle();
+
+  private static ResourceBundle loadRootBundle() {
+    try {
+      return ResourceBundle.getBundle(BUNDLE_NAME, Locale.ROOT);
+    } catch (MissingResourceException e) {
+      return null;
+    }
+  }
+}
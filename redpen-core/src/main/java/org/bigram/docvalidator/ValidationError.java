@@ -19,6 +19,9 @@ package org.bigram.docvalidator;
 
 import org.bigram.docvalidator.model.Sentence;
 
+import java.util.Arrays;
+import java.util.Locale;
+
 /**
  * Error to report invalid point from Validators.
  */
@@ -37,6 +40,8 @@ public class ValidationError {
     this.fileName = "";
     this.sentence = null;
     this.validatorName = validatorClass.getSimpleName();
+    this.startPosition = -1;
+    this.endPosition = -1;
   }
 
   /**
@@ -96,6 +101,44 @@ public class ValidationError {
     this.fileName = errorFileName;
   }
 
+  /**
+   * Constructor with a message rendered when it is requested. The message
+   * is the template of the key in ErrorMessages, with the arguments put
+   * into its placeholders. The arguments should be immutable, such as
+   * strings and numbers.
+   *
+   * @param validatorClass    validator class
+   * @param sentenceWithError sentence containing validation error
+   * @param messageKey        key of the message template
+   * @param messageArgs       arguments of the message
+   */
+  public ValidationError(Class validatorClass, Sentence sentenceWithError,
+                         String messageKey, Object... messageArgs) {
+    this(validatorClass, null, sentenceWithError);
+    this.messageKey = messageKey;
+    this.messageArgs = messageArgs;
+  }
+
+  /**
+   * Copy constructor, used to reuse the cached errors.
+   *
+   * @param error             error to copy
+   * @param sentenceWithError sentence containing validation error
+   * @param errorLineNumber   line number where the error occurs
+   */
+  ValidationError(ValidationError error, Sentence sentenceWithError,
+                  int errorLineNumber) {
+    this.lineNumber = errorLineNumber;
+    this.message = error.message;
+    this.messageKey = error.messageKey;
+    this.messageArgs = error.messageArgs;
+    this.fileName = error.fileName;
+    this.sentence = sentenceWithError;
+    this.validatorName = error.validatorName;
+    this.startPosition = error.startPosition;
+    this.endPosition = error.endPosition;
+  }
+
   /**
    * Get line number in which the error occurs.
    *
@@ -120,9 +163,27 @@ public class ValidationError {
    * @return error message
    */
   public String getMessage() {
+    if (message == null && messageKey != null) {
+      // NOTE: rendered once, the result is the same in any thread
+      message = ErrorMessages.format(messageKey, messageArgs, Locale.ROOT);
+    }
     return message;
   }
 
+  /**
+   * Get error message in the given locale.
+   *
+   * @param locale locale of the message
+   * @return error message, the same as getMessage when the error has no
+   * message key
+   */
+  public String getMessage(Locale locale) {
+    if (messageKey == null) {
+      return message;
+    }
+    return ErrorMessages.format(messageKey, messageArgs, locale);
+  }
+
   /**
    * Set error message.
    *
@@ -130,6 +191,40 @@ public class ValidationError {
    */
   public void setMessage(String errorMessage) {
     this.message = errorMessage;
+    this.messageKey = null;
+    this.messageArgs = null;
+  }
+
+  /**
+   * Get the key of the message template.
+   *
+   * @return message key, or null when the message is given as a string
+   */
+  public String getMessageKey() {
+    return messageKey;
+  }
+
+  /**
+   * Get the arguments of the message template.
+   *
+   * @return message arguments, or null when the message has no key
+   */
+  public Object[] getMessageArguments() {
+    return messageArgs;
+  }
+
+  /**
+   * Check whether the message of the error is the same as the other,
+   * without rendering them when both have message keys.
+   */
+  boolean hasSameMessage(ValidationError other) {
+    if (messageKey != null && other.messageKey != null) {
+      return messageKey.equals(other.messageKey)
+          && Arrays.equals(messageArgs, other.messageArgs);
+    }
+    String mine = getMessage();
+    String others = other.getMessage();
+    return mine == null ? others == null : mine.equals(others);
   }
 
   /**
@@ -168,6 +263,110 @@ public class ValidationError {
     this.sentence = sentenceWithError;
   }
 
+  /**
+   * Get the position where the invalid expression starts in the sentence.
+   *
+   * @return start position (inclusive), or -1 when the position is unknown
+   */
+  public int getStartPosition() {
+    return startPosition;
+  }
+
+  /**
+   * Get the position where the invalid expression ends in the sentence.
+   *
+   * @return end position (exclusive), or -1 when the position is unknown
+   */
+  public int getEndPosition() {
+    return endPosition;
+  }
+
+  /**
+   * Set the span of the invalid expression in the sentence.
+   *
+   * @param start start position (inclusive)
+   * @param end   end position (exclusive)
+   */
+  public void setPosition(int start, int end) {
+    this.startPosition = start;
+    this.endPosition = end;
+  }
+
+  /**
+   * Get the character offset in the document where the error starts.
+   * Errors without position cover the whole sentence.
+   *
+   * @return start offset (inclusive), or -1 when the location is unknown
+   */
+  public int getStartOffset() {
+    return sentence == null ? -1 : sentence.getSourceOffset(startIndex());
+  }
+
+  /**
+   * Get the character offset in the document where the error ends.
+   *
+   * @return end offset (exclusive), or -1 when the location is unknown
+   */
+  public int getEndOffset() {
+    if (sentence == null || endIndex() <= startIndex()) {
+      return getStartOffset();
+    }
+    int offset = sentence.getSourceOffset(endIndex() - 1);
+    return offset < 0 ? -1 : offset + 1;
+  }
+
+  /**
+   * Get the line number in which the error starts.
+   *
+   * @return line number, or -1 when the location is unknown
+   */
+  public int getStartLineNumber() {
+    return sentence == null ? -1
+        : sentence.getSourceLineNumber(startIndex());
+  }
+
+  /**
+   * Get the line number in which the error ends.
+   *
+   * @return line number, or -1 when the location is unknown
+   */
+  public int getEndLineNumber() {
+    if (sentence == null || endIndex() <= startIndex()) {
+      return getStartLineNumber();
+    }
+    return sentence.getSourceLineNumber(endIndex() - 1);
+  }
+
+  /**
+   * Get the column where the error starts in its start line.
+   *
+   * @return start column (inclusive), or -1 when the location is unknown
+   */
+  public int getStartColumn() {
+    return sentence == null ? -1 : sentence.getSourceColumn(startIndex());
+  }
+
+  /**
+   * Get the column where the error ends in its end line.
+   *
+   * @return end column (exclusive), or -1 when the location is unknown
+   */
+  public int getEndColumn() {
+    if (sentence == null || endIndex() <= startIndex()) {
+      return getStartColumn();
+    }
+    int column = sentence.getSourceColumn(endIndex() - 1);
+    return column < 0 ? -1 : column + 1;
+  }
+
+  private int startIndex() {
+    return startPosition < 0 ? 0 : startPosition;
+  }
+
+  private int endIndex() {
+    return endPosition < 0 ? sentence.getLength() : endPosition;
+  }
+
   /**
    * Get validator name.
    *
@@ -186,10 +385,12 @@ public class ValidationError {
   public String toString() {
     final StringBuilder sb = new StringBuilder("ValidationError{");
     sb.append("lineNumber=").append(lineNumber);
-    sb.append(", message='").append(message).append('\'');
+    sb.append(", message='").append(getMessage()).append('\'');
     sb.append(", fileName='").append(fileName).append('\'');
     sb.append(", sentence=").append(sentence);
     sb.append(", validatorName='").append(validatorName).append('\'');
+    sb.append(", startPosition=").append(startPosition);
+    sb.append(", endPosition=").append(endPosition);
     sb.append('}');
     return sb.toString();
   }
@@ -198,9 +399,17 @@ public class ValidationError {
 
   private String message;
 
+  private String messageKey;
+
+  private Object[] messageArgs;
+
   private String fileName;
 
   private Sentence sentence;
 
   private final String validatorName;
+
+  private int startPosition;
+
+  private int endPosition;
 }
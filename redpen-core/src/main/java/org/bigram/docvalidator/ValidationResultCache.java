@@ -0,0 +1,421 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator;
+
+import org.bigram.docvalidator.config.Character;
+import org.bigram.docvalidator.config.CharacterTable;
+import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.model.ListBlock;
+import org.bigram.docvalidator.model.ListElement;
+import org.bigram.docvalidator.model.Paragraph;
+import org.bigram.docvalidator.model.Section;
+import org.bigram.docvalidator.model.Sentence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Cache of the errors reported by sentence and section validators.
+ *
+ * The errors are stored with the content of the validated sentence or
+ * section and the fingerprint of the validator configuration as the key.
+ * When a document is validated again after a small edit, DocumentValidator
+ * runs the validators only for the sentences and sections whose content
+ * has changed, and copies the cached errors for the others rebinding them
+ * to the sentences of the new document.
+ *
+ * The cache keeps the entries used most recently up to the given number of
+ * entries. It is thread-safe and can be shared among DocumentValidators.
+ *
+ * NOTE: the fingerprint of a configuration does not cover the contents of
+ * the dictionary files the configuration refers to.
+ */
+public final class ValidationResultCache {
+  /**
+   * Constructor.
+   *
+   * @param maxEntries maximum number of cached results
+   */
+  public ValidationResultCache(final int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException(
+          "maxEntries should be larger than 0: " + maxEntries);
+    }
+    this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+        return size() > maxEntries;
+      }
+    };
+    this.hitCount = 0;
+    this.missCount = 0;
+  }
+
+  /**
+   * Create the fingerprint of a validator configuration. Validators created
+   * from configurations with the same fingerprint report the same errors.
+   *
+   * @param config         validator configuration
+   * @param characterTable character settings
+   * @return fingerprint of the configuration
+   */
+  public static String fingerprint(ValidatorConfiguration config,
+      CharacterTable characterTable) {
+    StringBuilder builder = new StringBuilder();
+    appendConfiguration(config, builder);
+    if (characterTable != null) {
+      Map<String, Character> characters =
+          new TreeMap<String, Character>(
+              characterTable.getCharacterDictionary());
+      for (Character character : characters.values()) {
+        builder.append('<').append(character.getName())
+            .append('=').append(character.getValue())
+            .append(character.getInvalidChars())
+            .append(character.isNeedBeforeSpace())
+            .append(character.isNeedAfterSpace()).append('>');
+      }
+    }
+    return builder.toString();
+  }
+
+  private static void appendConfiguration(ValidatorConfiguration config,
+      StringBuilder builder) {
+    builder.append(config.getConfigurationName()).append('{');
+    for (String name : new TreeSet<String>(config.getAttributes())) {
+      builder.append(name).append('=').append(config.getAttribute(name))
+          .append(';');
+    }
+    for (ValidatorConfiguration child : config.getChildren()) {
+      appendConfiguration(child, builder);
+    }
+    builder.append('}');
+  }
+
+  /**
+   * Get the cached errors of a sentence.
+   *
+   * @param fingerprint fingerprint of the validator
+   * @param sentence    sentence to validate
+   * @return copies of the cached errors bound to the sentence, or null when
+   * the errors are not cached
+   */
+  List<ValidationError> getSentenceErrors(String fingerprint,
+      Sentence sentence) {
+    // NOTE: the lookup reads the characters in place, without a copy
+    return get(new Key(fingerprint, sentence.getText(),
+        sentence.isFirstSentence), Collections.singletonList(sentence));
+  }
+
+  /**
+   * Store the errors of a sentence. The errors are not stored when they
+   * refer to the other sentences.
+   *
+   * @param fingerprint fingerprint of the validator
+   * @param sentence    validated sentence
+   * @param errors      errors reported by the validator
+   */
+  void putSentenceErrors(String fingerprint, Sentence sentence,
+      List<ValidationError> errors) {
+    // NOTE: a stored key owns its characters, the view can be changed
+    put(new Key(fingerprint, sentence.getText().toString(),
+        sentence.isFirstSentence), Collections.singletonList(sentence),
+        errors);
+  }
+
+  /**
+   * Get the cached errors of a section.
+   *
+   * @param fingerprint fingerprint of the validator
+   * @param content     content of the section created by sectionContent
+   * @param section     section to validate
+   * @return copies of the cached errors bound to the sentences of the
+   * section, or null when the errors are not cached
+   */
+  List<ValidationError> getSectionErrors(String fingerprint, String content,
+      Section section) {
+    return get(new Key(fingerprint, content, false), sentencesOf(section));
+  }
+
+  /**
+   * Store the errors of a section. The errors are not stored when they
+   * refer to sentences out of the section.
+   *
+   * @param fingerprint fingerprint of the validator
+   * @param content     content of the section created by sectionContent
+   * @param section     validated section
+   * @param errors      errors reported by the validator
+   */
+  void putSectionErrors(String fingerprint, String content, Section section,
+      List<ValidationError> errors) {
+    put(new Key(fingerprint, content, false), sentencesOf(section), errors);
+  }
+
+  /**
+   * Create the content of a section used as a key of the cache. The content
+   * covers the level, the header, the paragraphs and the lists of the
+   * section.
+   *
+   * @param section section
+   * @return content of the section
+   */
+  static String sectionContent(Section section) {
+    StringBuilder builder = new StringBuilder();
+    builder.append(section.getLevel());
+    appendSentences(section.getHeaderContents(), builder);
+    for (Paragraph paragraph : section.getParagraphs()) {
+      builder.append(PARAGRAPH_SEPARATOR);
+      appendSentences(paragraph.getSentences(), builder);
+    }
+    for (ListBlock listBlock : section.getListBlocks()) {
+      builder.append(LIST_SEPARATOR);
+      for (ListElement listElement : listBlock.getListElements()) {
+        builder.append(LIST_ELEMENT_SEPARATOR).append(listElement.getLevel());
+        appendSentences(listElement.getSentences(), builder);
+      }
+    }
+    return builder.toString();
+  }
+
+  private static void appendSentences(List<Sentence> sentences,
+      StringBuilder builder) {
+    for (Sentence sentence : sentences) {
+      builder.append(sentence.isFirstSentence ? FIRST_SENTENCE_SEPARATOR
+          : SENTENCE_SEPARATOR);
+      builder.append(sentence.getText());
+    }
+  }
+
+  /**
+   * Sentences of a section in the same order as sectionContent.
+   */
+  private static List<Sentence> sentencesOf(Section section) {
+    List<Sentence> sentences = new ArrayList<Sentence>();
+    sentences.addAll(section.getHeaderContents());
+    for (Paragraph paragraph : section.getParagraphs()) {
+      sentences.addAll(paragraph.getSentences());
+    }
+    for (ListBlock listBlock : section.getListBlocks()) {
+      for (ListElement listElement : listBlock.getListElements()) {
+        sentences.addAll(listElement.getSentences());
+      }
+    }
+    return sentences;
+  }
+
+  private List<ValidationError> get(Key key, List<Sentence> sentences) {
+    Entry entry;
+    synchronized (entries) {
+      entry = entries.get(key);
+      if (entry == null) {
+        missCount++;
+        return null;
+      }
+      hitCount++;
+    }
+    List<ValidationError> errors =
+        new ArrayList<ValidationError>(entry.errors.size());
+    for (int i = 0; i < entry.errors.size(); i++) {
+      Sentence sentence = sentences.get(entry.sentenceIndices[i]);
+      errors.add(new ValidationError(entry.errors.get(i), sentence,
+          sentence.position + entry.lineOffsets[i]));
+    }
+    return errors;
+  }
+
+  private void put(Key key, List<Sentence> sentences,
+      List<ValidationError> errors) {
+    Entry entry = new Entry(errors.size());
+    for (int i = 0; i < errors.size(); i++) {
+      ValidationError error = errors.get(i);
+      int index = indexOf(sentences, error.getSentence());
+      if (index < 0) {
+        // the error can not be rebound to the sentences of other documents
+        return;
+      }
+      Sentence sentence = sentences.get(index);
+      entry.sentenceIndices[i] = index;
+      entry.lineOffsets[i] = error.getLineNumber() - sentence.position;
+      entry.errors.add(new ValidationError(error, null,
+          error.getLineNumber()));
+    }
+    synchronized (entries) {
+      entries.put(key, entry);
+    }
+  }
+
+  private static int indexOf(List<Sentence> sentences, Sentence sentence) {
+    if (sentence == null) {
+      return -1;
+    }
+    for (int i = 0; i < sentences.size(); i++) {
+      if (sentences.get(i) == sentence) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Get the number of cached results.
+   *
+   * @return number of entries
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Get the number of lookups which found the cached errors.
+   *
+   * @return number of hits
+   */
+  public long getHitCount() {
+    synchronized (entries) {
+      return hitCount;
+    }
+  }
+
+  /**
+   * Get the number of lookups which did not find the cached errors.
+   *
+   * @return number of misses
+   */
+  public long getMissCount() {
+    synchronized (entries) {
+      return missCount;
+    }
+  }
+
+  /**
+   * Remove all the cached results.
+   */
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  /**
+   * Key of the cached errors.
+   */
+  private static final class Key {
+    private Key(String validatorFingerprint,
+        CharSequence validatedContent, boolean first) {
+      this.fingerprint = validatorFingerprint;
+      this.content = validatedContent;
+      this.isFirstSentence = first;
+      this.hash = (31 * validatorFingerprint.hashCode()
+          + hashOf(validatedContent)) * 2 + (first ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return hash == key.hash && isFirstSentence == key.isFirstSentence
+          && contentEquals(content, key.content)
+          && fingerprint.equals(key.fingerprint);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    /**
+     * Hash of the characters, equal to String#hashCode for any kind of
+     * character sequence.
+     */
+    private static int hashOf(CharSequence chars) {
+      if (chars instanceof String) {
+        return chars.hashCode();
+      }
+      int h = 0;
+      for (int i = 0; i < chars.length(); i++) {
+        h = 31 * h + chars.charAt(i);
+      }
+      return h;
+    }
+
+    private static boolean contentEquals(CharSequence a, CharSequence b) {
+      if (a.length() != b.length()) {
+        return false;
+      }
+      for (int i = 0; i < a.length(); i++) {
+        if (a.charAt(i) != b.charAt(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private final String fingerprint;
+
+    private final CharSequence content;
+
+    private final boolean isFirstSentence;
+
+    private final int hash;
+  }
+
+  /**
+   * Cached errors with the positions of their sentences in the validated
+   * sentence or section.
+   */
+  private static final class Entry {
+    private Entry(int size) {
+      this.errors = new ArrayList<ValidationError>(size);
+      this.sentenceIndices = new int[size];
+      this.lineOffsets = new int[size];
+    }
+
+    private final List<ValidationError> errors;
+
+    private final int[] sentenceIndices;
+
+    private final int[] lineOffsets;
+  }
+
+  private static final char SENTENCE_SEPARATOR = '\u0000';
+
+  private static final char FIRST_SENTENCE_SEPARATOR = '\u0001';
+
+  private static final char PARAGRAPH_SEPARATOR = '\u0002';
+
+  private static final char LIST_SEPARATOR = '\u0003';
+
+  private static final char LIST_ELEMENT_SEPARATOR = '\u0004';
+
+  private final LinkedHashMap<Key, Entry> entries;
+
+  private long hitCount;
+
+  private long missCount;
+}
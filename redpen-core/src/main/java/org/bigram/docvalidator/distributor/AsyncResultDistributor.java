@@ -0,0 +1,257 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.distributor;
+
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.formatter.Formatter;
+import org.bigram.docvalidator.formatter.PlainFormatter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * An implementation of ResultDistributor which writes the results into
+ * given output stream on a separate thread.
+ *
+ * The errors are formatted on the calling threads and handed to a writer
+ * thread through a bounded ring buffer. The writer thread writes them in
+ * large buffered chunks, and flushes the stream only in flushFooter, which
+ * returns when all the results are written. The writer thread is started
+ * with the first output and stopped by close.
+ */
+public class AsyncResultDistributor implements ResultDistributor, Closeable {
+  /**
+   * Constructor.
+   *
+   * @param os output stream
+   */
+  public AsyncResultDistributor(OutputStream os) {
+    this(os, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param os       output stream
+   * @param capacity number of the results waiting to be written, the
+   *                 calling threads wait when it is exceeded
+   */
+  public AsyncResultDistributor(OutputStream os, int capacity) {
+    super();
+    if (os == null) {
+      throw new IllegalArgumentException("argument OutputStream is null");
+    }
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.writer = new BufferedWriter(
+        new OutputStreamWriter(os, Charset.forName("UTF-8")), BUFFER_SIZE);
+    this.queue = new ArrayBlockingQueue<Object>(capacity);
+    this.myFormatter = new PlainFormatter();
+  }
+
+  /**
+   * Output given validation error.
+   *
+   * @param err validation error
+   */
+  @Override
+  public int flushResult(ValidationError err) {
+    if (err == null) {
+      throw new IllegalArgumentException("argument ValidationError is null");
+    }
+    checkFailure();
+    enqueue(myFormatter.convertError(err));
+    return 0;
+  }
+
+  @Override
+  public void flushHeader() {
+    String header = myFormatter.header();
+    if (header != null) {
+      enqueue(header);
+    }
+  }
+
+  @Override
+  public void flushFooter() {
+    String footer = myFormatter.footer();
+    if (footer != null) {
+      enqueue(footer);
+    }
+    flush(false);
+  }
+
+  @Override
+  public void setFormatter(Formatter formatter) {
+    if (formatter == null) {
+      throw new IllegalArgumentException("argument formatter is null");
+    }
+    this.myFormatter = formatter;
+  }
+
+  /**
+   * Write the pending results and stop the writer thread. The output
+   * stream is not closed.
+   */
+  @Override
+  public void close() {
+    flush(true);
+  }
+
+  private void flush(boolean stop) {
+    Flush flush = new Flush(stop);
+    synchronized (this) {
+      if (writerThread == null) {
+        // NOTE: nothing has been written since the last stop
+        checkFailure();
+        return;
+      }
+      put(flush);
+      if (stop) {
+        writerThread = null;
+      }
+    }
+    try {
+      flush.done.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while flushing results");
+    }
+    checkFailure();
+  }
+
+  private synchronized void enqueue(String line) {
+    if (writerThread == null) {
+      writerThread = new Thread(new WriterTask(), "result-writer");
+      writerThread.setDaemon(true);
+      writerThread.start();
+    }
+    put(line);
+  }
+
+  private void put(Object item) {
+    try {
+      queue.put(item);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while flushing results");
+    }
+  }
+
+  private void checkFailure() {
+    IOException e = failure;
+    if (e != null) {
+      throw new IllegalStateException(
+          "Failed to write results: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Task of the writer thread.
+   */
+  private final class WriterTask implements Runnable {
+    @Override
+    public void run() {
+      List<Object> batch = new ArrayList<Object>(BATCH_SIZE);
+      while (true) {
+        try {
+          batch.add(queue.take());
+        } catch (InterruptedException e) {
+          return;
+        }
+        queue.drainTo(batch, BATCH_SIZE - 1);
+        for (Object item : batch) {
+          if (item instanceof Flush) {
+            Flush flush = (Flush) item;
+            write(null);
+            flush.done.countDown();
+            if (flush.stop) {
+              return;
+            }
+          } else {
+            write((String) item);
+          }
+        }
+        batch.clear();
+      }
+    }
+
+    /**
+     * Write a line, or flush the stream when the line is null. Once
+     * failed, the results are dropped.
+     */
+    private void write(String line) {
+      if (failure != null) {
+        return;
+      }
+      try {
+        if (line == null) {
+          writer.flush();
+        } else {
+          writer.write(line);
+          writer.write(LINE_SEPARATOR);
+        }
+      } catch (IOException e) {
+        failure = e;
+      }
+    }
+  }
+
+  /**
+   * Marker to flush the stream, and to stop the writer thread.
+   */
+  private static final class Flush {
+    Flush(boolean stopWriter) {
+      this.stop = stopWriter;
+    }
+
+    private final boolean stop;
+
+    private final CountDownLatch done = new CountDownLatch(1);
+  }
+
+  private static final int DEFAULT_CAPACITY = 8192;
+
+  private static final int BATCH_SIZE = 1024;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final String LINE_SEPARATOR =
+      System.getProperty("line.separator");
+
+  private final Writer writer;
+
+  private final BlockingQueue<Object> queue;
+
+  private Formatter myFormatter;
+
+  private Thread writerThread;
+
+  private volatile IOException failure;
+}
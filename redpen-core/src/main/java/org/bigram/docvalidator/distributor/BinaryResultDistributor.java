@@ -0,0 +1,176 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.distributor;
+
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.formatter.Formatter;
+import org.bigram.docvalidator.model.Sentence;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.bigram.docvalidator.distributor.BinaryResultFormat.*;
+
+/**
+ * An implementation of ResultDistributor which writes the results in a
+ * compact binary format, read by BinaryResultReader.
+ *
+ * The errors are written as length-prefixed records. The validator names,
+ * file names and messages are written once in the string table of the
+ * run, and the errors refer to them by ids. The stream is flushed in
+ * flushFooter. Failures to write the stream are thrown as
+ * IllegalStateException.
+ */
+public class BinaryResultDistributor implements ResultDistributor {
+  /**
+   * Constructor.
+   *
+   * @param os output stream
+   */
+  public BinaryResultDistributor(OutputStream os) {
+    super();
+    if (os == null) {
+      throw new IllegalArgumentException("argument OutputStream is null");
+    }
+    this.out = new BufferedOutputStream(os, BUFFER_SIZE);
+    this.strings = new HashMap<String, Integer>();
+    this.encoder = new Encoder();
+  }
+
+  /**
+   * Output given validation error.
+   *
+   * @param err validation error
+   */
+  @Override
+  public synchronized int flushResult(ValidationError err) {
+    if (err == null) {
+      throw new IllegalArgumentException("argument ValidationError is null");
+    }
+    try {
+      if (!inRun) {
+        startRun();
+      }
+      int validator = stringId(err.getValidatorName());
+      int message = stringId(err.getMessage());
+      int file = stringId(err.getFileName());
+
+      encoder.writeVarint(validator);
+      encoder.writeVarint(message);
+      encoder.writeVarint(file);
+      encoder.writeSignedVarint(err.getLineNumber());
+      encoder.writeSignedVarint(err.getStartPosition());
+      encoder.writeSignedVarint(err.getEndPosition());
+      encoder.writeSignedVarint(err.getStartOffset());
+      encoder.writeSignedVarint(err.getEndOffset());
+      encoder.writeSignedVarint(err.getStartLineNumber());
+      encoder.writeSignedVarint(err.getStartColumn());
+      encoder.writeSignedVarint(err.getEndLineNumber());
+      encoder.writeSignedVarint(err.getEndColumn());
+      Sentence sentence = err.getSentence();
+      if (sentence == null) {
+        encoder.write(0);
+      } else {
+        encoder.write(1);
+        encoder.writeString(sentence.getContent());
+      }
+      encoder.writeRecord(ERROR, out);
+      errorCount++;
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to write the result", e);
+    }
+    return 0;
+  }
+
+  @Override
+  public synchronized void flushHeader() {
+    try {
+      startRun();
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to write the result", e);
+    }
+  }
+
+  @Override
+  public synchronized void flushFooter() {
+    try {
+      if (!inRun) {
+        startRun();
+      }
+      encoder.writeVarint(errorCount);
+      encoder.writeRecord(END, out);
+      out.flush();
+      inRun = false;
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to write the result", e);
+    }
+  }
+
+  /**
+   * Set formatter. Formatters are not supported since the errors are
+   * written in binary.
+   *
+   * @param formatter formatter
+   */
+  @Override
+  public void setFormatter(Formatter formatter) {
+    throw new IllegalArgumentException(
+        "BinaryResultDistributor does not support formatters");
+  }
+
+  private void startRun() throws IOException {
+    out.write(MAGIC);
+    out.write(VERSION);
+    strings.clear();
+    errorCount = 0;
+    inRun = true;
+  }
+
+  /**
+   * Get the id of a string, adding it to the table when it is new.
+   */
+  private int stringId(String value) throws IOException {
+    if (value == null) {
+      return 0;
+    }
+    Integer id = strings.get(value);
+    if (id == null) {
+      id = strings.size() + 1;
+      strings.put(value, id);
+      // NOTE: the encoder is empty here, the error is written after
+      encoder.writeString(value);
+      encoder.writeRecord(STRING, out);
+    }
+    return id;
+  }
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final OutputStream out;
+
+  private final Map<String, Integer> strings;
+
+  private final Encoder encoder;
+
+  private boolean inRun;
+
+  private int errorCount;
+}
@@ -0,0 +1,163 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.distributor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Constants and encoding of the binary result format, shared by
+ * BinaryResultDistributor and BinaryResultReader.
+ *
+ * A stream consists of runs. A run starts with the magic bytes and the
+ * version, followed by records. A record is a type byte, the length of
+ * its payload as a varint, and the payload, so readers can skip unknown
+ * records. A STRING record adds a string to the table of the run, whose
+ * ids start with 1 (0 is null). An ERROR record refers to the strings by
+ * their ids. An END record has the number of errors in the run, and
+ * closes the run. Since each run has its own table, the outputs of
+ * several runs can be concatenated to merge them.
+ */
+final class BinaryResultFormat {
+  static final byte[] MAGIC = {'R', 'P', 'E', 'R'};
+
+  static final int VERSION = 1;
+
+  static final int END = 0;
+
+  static final int STRING = 1;
+
+  static final int ERROR = 2;
+
+  static final Charset UTF8 = Charset.forName("UTF-8");
+
+  /**
+   * Buffer of a record payload.
+   */
+  static final class Encoder extends ByteArrayOutputStream {
+    /**
+     * Write a non-negative int in 7 bits groups, lower first.
+     */
+    void writeVarint(int value) {
+      while ((value & ~0x7F) != 0) {
+        write((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      write(value);
+    }
+
+    /**
+     * Write an int which is usually small, or -1 for unknown values.
+     */
+    void writeSignedVarint(int value) {
+      writeVarint((value << 1) ^ (value >> 31));
+    }
+
+    void writeString(String value) {
+      byte[] bytes = value.getBytes(UTF8);
+      writeVarint(bytes.length);
+      write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Write the buffer as a record, and clear it.
+     */
+    void writeRecord(int type, OutputStream os) throws IOException {
+      os.write(type);
+      int length = count;
+      // NOTE: the length is put after the payload in the buffer
+      writeVarint(length);
+      os.write(buf, length, count - length);
+      os.write(buf, 0, length);
+      reset();
+    }
+  }
+
+  /**
+   * Cursor on a record payload.
+   */
+  static final class Decoder {
+    void reset(byte[] payload, int payloadLength) {
+      this.bytes = payload;
+      this.position = 0;
+      this.length = payloadLength;
+    }
+
+    int readVarint() throws IOException {
+      int value = 0;
+      for (int shift = 0; shift < 32; shift += 7) {
+        int b = readByte();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IOException("Malformed varint in result stream");
+    }
+
+    int readSignedVarint() throws IOException {
+      int value = readVarint();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    String readString() throws IOException {
+      int size = readVarint();
+      if (size < 0 || length - position < size) {
+        throw new IOException("Truncated record in result stream");
+      }
+      String value = new String(bytes, position, size, UTF8);
+      position += size;
+      return value;
+    }
+
+    int readByte() throws IOException {
+      if (position >= length) {
+        throw new IOException("Truncated record in result stream");
+      }
+      return bytes[position++] & 0xFF;
+    }
+
+    private byte[] bytes;
+
+    private int position;
+
+    private int length;
+  }
+
+  /**
+   * Read a varint directly from a stream.
+   */
+  static int readVarint(DataInput in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint in result stream");
+  }
+
+  private BinaryResultFormat() {
+    // for safe
+  }
+}
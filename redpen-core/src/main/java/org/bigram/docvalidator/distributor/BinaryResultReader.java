@@ -0,0 +1,348 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.distributor;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.bigram.docvalidator.distributor.BinaryResultFormat.*;
+
+/**
+ * Reader of the results written by BinaryResultDistributor.
+ *
+ * The input can be the concatenated outputs of several runs. The strings
+ * in the records of a run are shared, so the records can be grouped by
+ * validator or file name without comparing the strings.
+ */
+public final class BinaryResultReader implements Closeable {
+  /**
+   * Constructor.
+   *
+   * @param is input stream
+   */
+  public BinaryResultReader(InputStream is) {
+    if (is == null) {
+      throw new IllegalArgumentException("argument InputStream is null");
+    }
+    this.in = new DataInputStream(new BufferedInputStream(is, BUFFER_SIZE));
+    this.strings = new ArrayList<String>();
+    this.decoder = new Decoder();
+    this.payload = new byte[INITIAL_PAYLOAD_SIZE];
+  }
+
+  /**
+   * Read the next error.
+   *
+   * @return the next error, or null at the end of the input
+   * @throws IOException when failed to read the input, or the input is
+   *                     broken
+   */
+  public Record read() throws IOException {
+    while (true) {
+      if (!inRun && !startRun()) {
+        return null;
+      }
+      int type = in.read();
+      if (type < 0) {
+        throw new EOFException("Unexpected end of result stream");
+      }
+      int length = readVarint(in);
+      if (length < 0) {
+        throw new IOException("Malformed record in result stream");
+      }
+      if (payload.length < length) {
+        payload = new byte[Math.max(length, payload.length * 2)];
+      }
+      in.readFully(payload, 0, length);
+      decoder.reset(payload, length);
+
+      switch (type) {
+        case STRING:
+          strings.add(decoder.readString());
+          break;
+        case ERROR:
+          errorCount++;
+          return readError();
+        case END:
+          if (decoder.readVarint() != errorCount) {
+            throw new IOException("Number of errors does not match");
+          }
+          inRun = false;
+          break;
+        default:
+          // NOTE: skip the records added by later versions
+          break;
+      }
+    }
+  }
+
+  /**
+   * Read all the remaining errors.
+   *
+   * @return errors
+   * @throws IOException when failed to read the input, or the input is
+   *                     broken
+   */
+  public List<Record> readAll() throws IOException {
+    List<Record> records = new ArrayList<Record>();
+    Record record;
+    while ((record = read()) != null) {
+      records.add(record);
+    }
+    return records;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  private boolean startRun() throws IOException {
+    int first = in.read();
+    if (first < 0) {
+      return false;
+    }
+    byte[] magic = new byte[MAGIC.length];
+    magic[0] = (byte) first;
+    in.readFully(magic, 1, magic.length - 1);
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (magic[i] != MAGIC[i]) {
+        throw new IOException("Not a binary result stream");
+      }
+    }
+    int version = in.readUnsignedByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported version of result stream: "
+          + version);
+    }
+    strings.clear();
+    strings.add(null);
+    errorCount = 0;
+    inRun = true;
+    return true;
+  }
+
+  private Record readError() throws IOException {
+    Record record = new Record();
+    record.validatorName = string(decoder.readVarint());
+    record.message = string(decoder.readVarint());
+    record.fileName = string(decoder.readVarint());
+    record.lineNumber = decoder.readSignedVarint();
+    record.startPosition = decoder.readSignedVarint();
+    record.endPosition = decoder.readSignedVarint();
+    record.startOffset = decoder.readSignedVarint();
+    record.endOffset = decoder.readSignedVarint();
+    record.startLineNumber = decoder.readSignedVarint();
+    record.startColumn = decoder.readSignedVarint();
+    record.endLineNumber = decoder.readSignedVarint();
+    record.endColumn = decoder.readSignedVarint();
+    if (decoder.readByte() != 0) {
+      record.sentence = decoder.readString();
+    }
+    return record;
+  }
+
+  private String string(int id) throws IOException {
+    if (id < 0 || strings.size() <= id) {
+      throw new IOException("Unknown string in result stream: " + id);
+    }
+    return strings.get(id);
+  }
+
+  /**
+   * Error read from the stream. The getters correspond to those of
+   * ValidationError.
+   */
+  public static final class Record {
+    private Record() {
+      super();
+    }
+
+    /**
+     * Get validator name.
+     *
+     * @return validator name
+     */
+    public String getValidatorName() {
+      return validatorName;
+    }
+
+    /**
+     * Get error message.
+     *
+     * @return error message
+     */
+    public String getMessage() {
+      return message;
+    }
+
+    /**
+     * Get file name.
+     *
+     * @return file name
+     */
+    public String getFileName() {
+      return fileName;
+    }
+
+    /**
+     * Get line number in which the error occurs.
+     *
+     * @return the number of line
+     */
+    public int getLineNumber() {
+      return lineNumber;
+    }
+
+    /**
+     * Get the sentence containing the error.
+     *
+     * @return sentence, or null when the error is not in a sentence
+     */
+    public String getSentence() {
+      return sentence;
+    }
+
+    /**
+     * Get the position where the error starts in the sentence.
+     *
+     * @return start position (inclusive), or -1 when unknown
+     */
+    public int getStartPosition() {
+      return startPosition;
+    }
+
+    /**
+     * Get the position where the error ends in the sentence.
+     *
+     * @return end position (exclusive), or -1 when unknown
+     */
+    public int getEndPosition() {
+      return endPosition;
+    }
+
+    /**
+     * Get the character offset in the document where the error starts.
+     *
+     * @return start offset (inclusive), or -1 when unknown
+     */
+    public int getStartOffset() {
+      return startOffset;
+    }
+
+    /**
+     * Get the character offset in the document where the error ends.
+     *
+     * @return end offset (exclusive), or -1 when unknown
+     */
+    public int getEndOffset() {
+      return endOffset;
+    }
+
+    /**
+     * Get the line number in which the error starts.
+     *
+     * @return line number, or -1 when unknown
+     */
+    public int getStartLineNumber() {
+      return startLineNumber;
+    }
+
+    /**
+     * Get the line number in which the error ends.
+     *
+     * @return line number, or -1 when unknown
+     */
+    public int getEndLineNumber() {
+      return endLineNumber;
+    }
+
+    /**
+     * Get the column where the error starts in its start line.
+     *
+     * @return start column (inclusive), or -1 when unknown
+     */
+    public int getStartColumn() {
+      return startColumn;
+    }
+
+    /**
+     * Get the column where the error ends in its end line.
+     *
+     * @return end column (exclusive), or -1 when unknown
+     */
+    public int getEndColumn() {
+      return endColumn;
+    }
+
+    @Override
+    public String toString() {
+      return "Record{validatorName='" + validatorName + "', message='"
+          + message + "', fileName='" + fileName + "', lineNumber="
+          + lineNumber + "}";
+    }
+
+    private String validatorName;
+
+    private String message;
+
+    private String fileName;
+
+    private int lineNumber;
+
+    private String sentence;
+
+    private int startPosition;
+
+    private int endPosition;
+
+    private int startOffset;
+
+    private int endOffset;
+
+    private int startLineNumber;
+
+    private int startColumn;
+
+    private int endLineNumber;
+
+    private int endColumn;
+  }
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final int INITIAL_PAYLOAD_SIZE = 1024;
+
+  private final DataInputStream in;
+
+  private final List<String> strings;
+
+  private final Decoder decoder;
+
+  private byte[] payload;
+
+  private boolean inRun;
+
+  private int errorCount;
+}
@@ -0,0 +1,150 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.distributor;
+
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.formatter.Formatter;
+import org.bigram.docvalidator.formatter.JSONFormatter;
+import org.bigram.docvalidator.util.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * An implementation of ResultDistributor which streams the results in
+ * JSON, either as an array of error objects or as newline-delimited JSON
+ * (one error object in a line).
+ *
+ * The errors are written with a single JsonWriter into a buffered stream
+ * without building intermediate objects. The stream is flushed in
+ * flushFooter, or after each error when autoFlush is set. Failures to
+ * write the stream are thrown as IllegalStateException.
+ */
+public class JSONResultDistributor implements ResultDistributor {
+  /**
+   * Constructor.
+   *
+   * @param os            output stream
+   * @param lineDelimited write newline-delimited JSON when true, an array
+   *                      otherwise
+   */
+  public JSONResultDistributor(OutputStream os, boolean lineDelimited) {
+    this(os, lineDelimited, false);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param os            output stream
+   * @param lineDelimited write newline-delimited JSON when true, an array
+   *                      otherwise
+   * @param autoFlush     flush the stream after each error when true
+   */
+  public JSONResultDistributor(OutputStream os, boolean lineDelimited,
+                               boolean autoFlush) {
+    super();
+    if (os == null) {
+      throw new IllegalArgumentException("argument OutputStream is null");
+    }
+    this.writer = new BufferedWriter(
+        new OutputStreamWriter(os, Charset.forName("UTF-8")), BUFFER_SIZE);
+    this.jsonWriter = new JsonWriter(writer);
+    this.lineDelimited = lineDelimited;
+    this.autoFlush = autoFlush;
+  }
+
+  /**
+   * Output given validation error.
+   *
+   * @param err validation error
+   */
+  @Override
+  public synchronized int flushResult(ValidationError err) {
+    if (err == null) {
+      throw new IllegalArgumentException("argument ValidationError is null");
+    }
+    try {
+      JSONFormatter.writeError(jsonWriter, err);
+      if (lineDelimited) {
+        writer.write('\n');
+      }
+      if (autoFlush) {
+        writer.flush();
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to write the result", e);
+    }
+    return 0;
+  }
+
+  @Override
+  public synchronized void flushHeader() {
+    if (lineDelimited) {
+      return;
+    }
+    try {
+      jsonWriter.beginArray();
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to write the result", e);
+    }
+  }
+
+  @Override
+  public synchronized void flushFooter() {
+    try {
+      if (!lineDelimited) {
+        jsonWriter.endArray();
+        writer.write('\n');
+      }
+      writer.flush();
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to write the result", e);
+    }
+  }
+
+  /**
+   * Set formatter. Only JSONFormatter is supported since the errors are
+   * written without formatter.
+   *
+   * @param formatter JSONFormatter
+   */
+  @Override
+  public void setFormatter(Formatter formatter) {
+    if (formatter == null) {
+      throw new IllegalArgumentException("argument formatter is null");
+    }
+    if (!(formatter instanceof JSONFormatter)) {
+      throw new IllegalArgumentException(
+          "JSONResultDistributor supports only JSONFormatter");
+    }
+  }
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Writer writer;
+
+  private final JsonWriter jsonWriter;
+
+  private final boolean lineDelimited;
+
+  private final boolean autoFlush;
+}
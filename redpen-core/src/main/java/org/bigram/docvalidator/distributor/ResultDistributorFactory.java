@@ -21,7 +21,6 @@ import java.io.OutputStream;
 
 import org.bigram.docvalidator.DocumentValidatorException;
 import org.bigram.docvalidator.formatter.PlainFormatter;
-import org.bigram.docvalidator.formatter.XMLFormatter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.bigram.docvalidator.formatter.Formatter;
@@ -39,6 +38,25 @@ public final class ResultDistributorFactory {
    */
   public static ResultDistributor createDistributor(Formatter.Type outputFormat,
                                                     OutputStream output) {
+    return createDistributor(outputFormat, output, false);
+  }
+
+  /**
+   * Create ResultDistributor object.
+   *
+   * The asynchronous mode applies only to the PLAIN format. The XML, JSON,
+   * NDJSON and BINARY formats are written by a single writer in the calling
+   * thread, and the flag is ignored for them.
+   *
+   * @param outputFormat syntax of output
+   * @param output       output stream
+   * @param asynchronous write the results on a separate thread when true,
+   *                     for the PLAIN format only
+   * @return ResultDistributor object when succeeded to create, null otherwise
+   */
+  public static ResultDistributor createDistributor(Formatter.Type outputFormat,
+                                                    OutputStream output,
+                                                    boolean asynchronous) {
     if (outputFormat == null) {
       LOG.error("Specified output format is null...");
       return null;
@@ -48,16 +66,32 @@ public final class ResultDistributorFactory {
       LOG.error("Output stream is null...");
       return null;
     }
-    ResultDistributor distributor = new DefaultResultDistributor(output);
 
     LOG.info("Creating Distributor...");
+    ResultDistributor distributor;
     try {
       switch (outputFormat) {
         case PLAIN:
+          if (asynchronous) {
+            distributor = new AsyncResultDistributor(output);
+          } else {
+            distributor = new DefaultResultDistributor(output);
+          }
           distributor.setFormatter(new PlainFormatter());
           break;
         case XML:
-          distributor.setFormatter(new XMLFormatter());
+          // NOTE: the structured formats are written by a single writer in
+          // both modes
+          distributor = new XMLResultDistributor(output);
+          break;
+        case JSON:
+          distributor = new JSONResultDistributor(output, false);
+          break;
+        case NDJSON:
+          distributor = new JSONResultDistributor(output, true);
+          break;
+        case BINARY:
+          distributor = new BinaryResultDistributor(output);
           break;
         default :
           LOG.error("No specified distributor...");
@@ -0,0 +1,127 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.distributor;
+
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.formatter.Formatter;
+import org.bigram.docvalidator.formatter.XMLFormatter;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * An implementation of ResultDistributor which streams the results in XML.
+ *
+ * All the errors of a run are written through a single XMLStreamWriter
+ * into a buffered stream, without building an intermediate document.
+ * The stream is flushed in flushFooter. The output is the same as that
+ * of DefaultResultDistributor with XMLFormatter.
+ */
+public class XMLResultDistributor implements ResultDistributor {
+  /**
+   * Constructor.
+   *
+   * @param os output stream
+   * @throws DocumentValidatorException when StAX is not available
+   */
+  public XMLResultDistributor(OutputStream os)
+      throws DocumentValidatorException {
+    super();
+    if (os == null) {
+      throw new IllegalArgumentException("argument OutputStream is null");
+    }
+    Writer writer = new BufferedWriter(
+        new OutputStreamWriter(os, Charset.forName("UTF-8")), BUFFER_SIZE);
+    try {
+      this.xmlWriter =
+          XMLFormatter.newOutputFactory().createXMLStreamWriter(writer);
+    } catch (XMLStreamException e) {
+      throw new DocumentValidatorException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Output given validation error.
+   *
+   * @param err validation error
+   */
+  @Override
+  public synchronized int flushResult(ValidationError err) {
+    if (err == null) {
+      throw new IllegalArgumentException("argument ValidationError is null");
+    }
+    try {
+      XMLFormatter.writeError(xmlWriter, err);
+      xmlWriter.writeCharacters(LINE_SEPARATOR);
+    } catch (XMLStreamException e) {
+      throw new IllegalStateException("Failed to write the result", e);
+    }
+    return 0;
+  }
+
+  @Override
+  public synchronized void flushHeader() {
+    try {
+      xmlWriter.writeStartElement(XMLFormatter.ROOT_ELEMENT);
+      xmlWriter.writeCharacters(LINE_SEPARATOR);
+    } catch (XMLStreamException e) {
+      throw new IllegalStateException("Failed to write the result", e);
+    }
+  }
+
+  @Override
+  public synchronized void flushFooter() {
+    try {
+      xmlWriter.writeEndElement();
+      xmlWriter.writeCharacters(LINE_SEPARATOR);
+      xmlWriter.flush();
+    } catch (XMLStreamException e) {
+      throw new IllegalStateException("Failed to write the result", e);
+    }
+  }
+
+  /**
+   * Set formatter. Only XMLFormatter is supported since the errors are
+   * written without formatter.
+   *
+   * @param formatter XMLFormatter
+   */
+  @Override
+  public void setFormatter(Formatter formatter) {
+    if (formatter == null) {
+      throw new IllegalArgumentException("argument formatter is null");
+    }
+    if (!(formatter instanceof XMLFormatter)) {
+      throw new IllegalArgumentException(
+          "XMLResultDistributor supports only XMLFormatter");
+    }
+  }
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final String LINE_SEPARATOR =
+      System.getProperty("line.separator");
+
+  private final XMLStreamWriter xmlWriter;
+}
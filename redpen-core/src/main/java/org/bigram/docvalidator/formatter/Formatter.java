@@ -52,6 +52,12 @@ public interface Formatter {
   enum Type {
     PLAIN,
 
-    XML
+    XML,
+
+    JSON,
+
+    NDJSON,
+
+    BINARY
   }
 }
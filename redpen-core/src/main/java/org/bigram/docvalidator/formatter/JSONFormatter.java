@@ -0,0 +1,88 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.formatter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.util.JsonWriter;
+
+/**
+ * JSON Output formatter, which converts an error into a JSON object in a
+ * line. The header and footer are null, so the output of the formatter is
+ * newline-delimited JSON. JSONResultDistributor writes the errors with
+ * the same method directly into a stream.
+ */
+public class JSONFormatter implements Formatter {
+
+  @Override
+  public String convertError(ValidationError error) {
+    StringWriter writer = new StringWriter();
+    try {
+      writeError(new JsonWriter(writer), error);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to convert an error", e);
+    }
+    return writer.toString();
+  }
+
+  /**
+   * Write an error as a JSON object with the sentence, message, validator,
+   * file name and line number of the error, and its location in the
+   * document when known.
+   *
+   * @param writer destination
+   * @param error  validation error
+   * @throws IOException when failed to write the error
+   */
+  public static void writeError(JsonWriter writer, ValidationError error)
+      throws IOException {
+    writer.beginObject();
+    if (error.getSentence() != null) {
+      writer.name("sentence").value(error.getSentence().getText());
+    }
+    writer.name("message").value(error.getMessage());
+    writer.name("validator").value(error.getValidatorName());
+    if (error.getFileName() != null && !error.getFileName().equals("")) {
+      writer.name("file").value(error.getFileName());
+    }
+    writer.name("lineNum").value(error.getLineNumber());
+    if (error.getStartOffset() >= 0 && error.getEndOffset() >= 0) {
+      writer.name("location").beginObject()
+          .name("startOffset").value(error.getStartOffset())
+          .name("endOffset").value(error.getEndOffset())
+          .name("startLine").value(error.getStartLineNumber())
+          .name("startColumn").value(error.getStartColumn())
+          .name("endLine").value(error.getEndLineNumber())
+          .name("endColumn").value(error.getEndColumn())
+          .endObject();
+    }
+    writer.endObject();
+  }
+
+  @Override
+  public String header() {
+    return null;
+  }
+
+  @Override
+  public String footer() {
+    return null;
+  }
+}
@@ -37,7 +37,7 @@ public class PlainFormatter implements Formatter {
     str.append(error.getLineNumber()).append(" (")
         .append(error.getMessage()).append(")]");
     if (error.getSentence() != null) {
-      str.append(" at line: ").append(error.getSentence().content);
+      str.append(" at line: ").append(error.getSentence().getContent());
     }
     return str.toString();
   }
@@ -19,27 +19,20 @@ package org.bigram.docvalidator.formatter;
 
 import java.io.StringWriter;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import javax.xml.stream.FactoryConfigurationError;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.bigram.docvalidator.DocumentValidatorException;
 import org.bigram.docvalidator.ValidationError;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Text;
 
 /**
  * XML Output formatter.
+ *
+ * The errors are written with StAX XMLStreamWriter, which escapes the
+ * texts while writing them. XMLResultDistributor writes all the errors
+ * of a run through a single XMLStreamWriter with the same method.
  */
 public class XMLFormatter implements Formatter {
 
@@ -50,104 +43,107 @@ public class XMLFormatter implements Formatter {
    */
   public XMLFormatter() throws DocumentValidatorException {
     super();
-    DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-    try {
-      this.db = dbf.newDocumentBuilder();
-    } catch (ParserConfigurationException e) {
-      throw new DocumentValidatorException(e.getMessage());
-    }
+    this.factories = new ThreadLocal<XMLOutputFactory>();
+    // create a factory here to report the configuration error early
+    factories.set(newOutputFactory());
   }
 
   @Override
   public String convertError(ValidationError error) {
-    // create dom
-    Document doc = db.newDocument();
-    Element errorElement = doc.createElement("error");
-    doc.appendChild(errorElement);
-
+    StringWriter writer = new StringWriter();
+    try {
+      XMLStreamWriter xmlWriter =
+          getOutputFactory().createXMLStreamWriter(writer);
+      writeError(xmlWriter, error);
+      xmlWriter.close();
+    } catch (XMLStreamException e) {
+      throw new IllegalStateException("Failed to convert an error", e);
+    }
+    return writer.toString();
+  }
 
-    Element validatorElement = doc.createElement("validator");
-    errorElement.appendChild(validatorElement);
-    Text validator = doc.createTextNode(error.getValidatorName());
-    validatorElement.appendChild(validator);
+  /**
+   * Write an error element.
+   *
+   * @param writer destination
+   * @param error  validation error
+   * @throws XMLStreamException when failed to write the error
+   */
+  public static void writeError(XMLStreamWriter writer, ValidationError error)
+      throws XMLStreamException {
+    writer.writeStartElement("error");
+    writeElement(writer, "validator", error.getValidatorName());
 
     if (error.getMessage() != null && !error.getMessage().equals("")) {
-      Element contentElement = doc.createElement("message");
-      errorElement.appendChild(contentElement);
-      Text content = doc.createTextNode(error.getMessage());
-      contentElement.appendChild(content);
+      writeElement(writer, "message", error.getMessage());
     }
 
     if (error.getFileName() != null && !error.getFileName().equals("")) {
-      Element fileNameElement = doc.createElement("file");
-      errorElement.appendChild(fileNameElement);
-      Text fileName = doc.createTextNode(error.getFileName());
-      fileNameElement.appendChild(fileName);
+      writeElement(writer, "file", error.getFileName());
     }
 
-    Element lineNumberElement = doc.createElement("lineNum");
-    errorElement.appendChild(lineNumberElement);
-    Text lineNum = doc.createTextNode(Integer.toString(error.getLineNumber()));
-    lineNumberElement.appendChild(lineNum);
-
-    if (error.getSentence() != null
-        && !error.getSentence().content.equals("")) {
-      Element sentencElement = doc.createElement("sentence");
-      errorElement.appendChild(sentencElement);
-      Text content = doc.createTextNode(error.getSentence().content);
-      sentencElement.appendChild(content);
-    }
+    writeElement(writer, "lineNum", Integer.toString(error.getLineNumber()));
 
-    // create a transformer
-    Transformer transformer = createTransformer();
-    if (transformer == null) {
-      throw new IllegalStateException("Failed to create XML Transformer");
+    if (error.getSentence() != null && error.getSentence().getLength() > 0) {
+      writeElement(writer, "sentence", error.getSentence().getContent());
     }
+    writer.writeEndElement();
+  }
 
-    // convert the result dom into a string
-    StringWriter writer = new StringWriter();
-    StreamResult result = new StreamResult(writer);
-    DOMSource source = new DOMSource(doc);
-    try {
-      transformer.transform(source, result);
-    } catch (TransformerException e) {
-      e.printStackTrace();
-    }
-    return writer.toString();
+  private static void writeElement(XMLStreamWriter writer, String name,
+      String text) throws XMLStreamException {
+    writer.writeStartElement(name);
+    writer.writeCharacters(text);
+    writer.writeEndElement();
   }
 
-  private Transformer createTransformer() {
-    TransformerFactory tf;
-    try {
-      tf = TransformerFactory.newInstance();
-    } catch (Throwable e) {
-      LOG.error(e.getMessage());
-      return null;
+  /**
+   * XMLOutputFactory is not guaranteed to be thread-safe, so each thread
+   * converting errors uses its own factory.
+   */
+  private XMLOutputFactory getOutputFactory() {
+    XMLOutputFactory factory = factories.get();
+    if (factory == null) {
+      try {
+        factory = newOutputFactory();
+      } catch (DocumentValidatorException e) {
+        throw new IllegalStateException("Failed to create XMLOutputFactory",
+            e);
+      }
+      factories.set(factory);
     }
+    return factory;
+  }
 
-    Transformer transformer;
+  /**
+   * Create a factory of XMLStreamWriter.
+   *
+   * @return XMLOutputFactory
+   * @throws DocumentValidatorException when StAX is not available
+   */
+  public static XMLOutputFactory newOutputFactory()
+      throws DocumentValidatorException {
     try {
-      transformer = tf.newTransformer();
-    } catch (TransformerConfigurationException e) {
-      LOG.error(e.getMessage());
-      return null;
+      return XMLOutputFactory.newInstance();
+    } catch (FactoryConfigurationError e) {
+      throw new DocumentValidatorException(e.getMessage(), e);
     }
-    transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-    return transformer;
   }
 
   @Override
   public String header() {
-    return "<validation-result>";
+    return "<" + ROOT_ELEMENT + ">";
   }
 
   @Override
   public String footer() {
-    return "</validation-result>";
+    return "</" + ROOT_ELEMENT + ">";
   }
 
-  private DocumentBuilder db;
+  /**
+   * Name of the element containing all the errors.
+   */
+  public static final String ROOT_ELEMENT = "validation-result";
 
-  private static final Logger LOG =
-      LoggerFactory.getLogger(XMLFormatter.class);
+  private final ThreadLocal<XMLOutputFactory> factories;
 }
@@ -0,0 +1,218 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.metrics;
+
+import org.bigram.docvalidator.parser.Parser;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ValidationMetrics aggregating the records per validator and per parser
+ * type in memory.
+ */
+public class DefaultValidationMetrics implements ValidationMetrics {
+  /**
+   * Constructor.
+   */
+  public DefaultValidationMetrics() {
+    this.validatorStatistics = new ConcurrentHashMap<String, Statistics>();
+    this.parserStatistics =
+        new ConcurrentHashMap<Parser.Type, Statistics>();
+  }
+
+  @Override
+  public void recordValidation(String validatorName, long elapsedNanos,
+      int errors) {
+    getStatistics(validatorStatistics, validatorName)
+        .add(elapsedNanos, errors);
+  }
+
+  @Override
+  public void recordParse(Parser.Type parserType, long elapsedNanos) {
+    getStatistics(parserStatistics, parserType).add(elapsedNanos, 0);
+  }
+
+  /**
+   * Get the statistics of the validators.
+   *
+   * @return map from validator names to the statistics
+   */
+  public Map<String, Statistics> getValidatorStatistics() {
+    return Collections.unmodifiableMap(validatorStatistics);
+  }
+
+  /**
+   * Get the statistics of the parsers.
+   *
+   * @return map from parser types to the statistics
+   */
+  public Map<Parser.Type, Statistics> getParserStatistics() {
+    return Collections.unmodifiableMap(parserStatistics);
+  }
+
+  /**
+   * Print the summary of the metrics. Validators are listed in
+   * descending order of the time spent.
+   *
+   * @param out output stream
+   */
+  public void printSummary(PrintStream out) {
+    out.println("Validator metrics:");
+    out.println(String.format("  %-32s %12s %12s %10s %14s",
+        "validator", "invocations", "time (ms)", "errors", "calls/sec"));
+    for (Map.Entry<String, Statistics> entry
+        : sortByTime(validatorStatistics).entrySet()) {
+      Statistics statistics = entry.getValue();
+      out.println(String.format("  %-32s %12d %12.3f %10d %14.1f",
+          entry.getKey(), statistics.getInvocations(),
+          statistics.getNanoTime() / NANOS_PER_MILLI,
+          statistics.getErrors(), statistics.getThroughput()));
+    }
+    out.println("Parser metrics:");
+    out.println(String.format("  %-32s %12s %12s",
+        "parser", "documents", "time (ms)"));
+    for (Map.Entry<Parser.Type, Statistics> entry
+        : sortByTime(parserStatistics).entrySet()) {
+      Statistics statistics = entry.getValue();
+      out.println(String.format("  %-32s %12d %12.3f",
+          entry.getKey(), statistics.getInvocations(),
+          statistics.getNanoTime() / NANOS_PER_MILLI));
+    }
+    out.flush();
+  }
+
+  private static <K> Statistics getStatistics(
+      ConcurrentMap<K, Statistics> statisticsMap, K key) {
+    Statistics statistics = statisticsMap.get(key);
+    if (statistics == null) {
+      Statistics newStatistics = new Statistics();
+      statistics = statisticsMap.putIfAbsent(key, newStatistics);
+      if (statistics == null) {
+        statistics = newStatistics;
+      }
+    }
+    return statistics;
+  }
+
+  private static <K> Map<K, Statistics> sortByTime(
+      Map<K, Statistics> statisticsMap) {
+    List<Map.Entry<K, Statistics>> entries =
+        new ArrayList<Map.Entry<K, Statistics>>(
+            statisticsMap.entrySet());
+    Collections.sort(entries,
+        new Comparator<Map.Entry<K, Statistics>>() {
+          @Override
+          public int compare(Map.Entry<K, Statistics> a,
+              Map.Entry<K, Statistics> b) {
+            long timeA = a.getValue().getNanoTime();
+            long timeB = b.getValue().getNanoTime();
+            return timeA < timeB ? 1 : (timeA > timeB ? -1 : 0);
+          }
+        });
+    Map<K, Statistics> sorted = new LinkedHashMap<K, Statistics>();
+    for (Map.Entry<K, Statistics> entry : entries) {
+      sorted.put(entry.getKey(), entry.getValue());
+    }
+    return sorted;
+  }
+
+  /**
+   * Aggregated records of a validator or a parser.
+   */
+  public static final class Statistics {
+    private Statistics() {
+      this.invocations = new AtomicLong();
+      this.nanoTime = new AtomicLong();
+      this.errors = new AtomicLong();
+    }
+
+    private void add(long elapsedNanos, int errorCount) {
+      invocations.incrementAndGet();
+      nanoTime.addAndGet(elapsedNanos);
+      if (errorCount > 0) {
+        errors.addAndGet(errorCount);
+      }
+    }
+
+    /**
+     * Get the number of invocations, that is, the number of sentences
+     * for sentence validators, sections for section validators, and
+     * documents for parsers.
+     *
+     * @return number of invocations
+     */
+    public long getInvocations() {
+      return invocations.get();
+    }
+
+    /**
+     * Get the cumulative time spent in the invocations.
+     *
+     * @return time in nanoseconds
+     */
+    public long getNanoTime() {
+      return nanoTime.get();
+    }
+
+    /**
+     * Get the number of reported errors.
+     *
+     * @return number of errors
+     */
+    public long getErrors() {
+      return errors.get();
+    }
+
+    /**
+     * Get the number of invocations per second, that is, sentences per
+     * second for sentence validators.
+     *
+     * @return invocations per second, 0 when nothing is recorded
+     */
+    public double getThroughput() {
+      long nanos = nanoTime.get();
+      if (nanos == 0) {
+        return 0;
+      }
+      return invocations.get() * NANOS_PER_SECOND / nanos;
+    }
+
+    private final AtomicLong invocations;
+
+    private final AtomicLong nanoTime;
+
+    private final AtomicLong errors;
+  }
+
+  private static final double NANOS_PER_SECOND = 1000000000.0;
+
+  private static final double NANOS_PER_MILLI = 1000000.0;
+
+  private final ConcurrentMap<String, Statistics> validatorStatistics;
+
+  private final ConcurrentMap<Parser.Type, Statistics> parserStatistics;
+}
@@ -0,0 +1,48 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.metrics;
+
+import org.bigram.docvalidator.parser.Parser;
+
+/**
+ * ValidationMetrics records the time spent in validators and parsers.
+ *
+ * Implementations should be thread-safe, since the validators can run
+ * on multiple threads.
+ */
+public interface ValidationMetrics {
+
+  /**
+   * Record an invocation of a validator.
+   *
+   * @param validatorName name of the validator instance, which is the
+   *                      class name followed by "#2", "#3", ... for the
+   *                      second and later instances of the same class
+   * @param elapsedNanos  time spent in the invocation in nanoseconds
+   * @param errors        number of errors reported in the invocation
+   */
+  void recordValidation(String validatorName, long elapsedNanos, int errors);
+
+  /**
+   * Record the parse of a document.
+   *
+   * @param parserType   type of the parser
+   * @param elapsedNanos time spent to parse the document in nanoseconds
+   */
+  void recordParse(Parser.Type parserType, long elapsedNanos);
+}
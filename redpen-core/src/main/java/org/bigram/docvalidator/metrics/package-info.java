@@ -0,0 +1,4 @@
+/**
+ * Metrics of validators and parsers and the implementations are provided.
+ */
+package org.bigram.docvalidator.metrics;
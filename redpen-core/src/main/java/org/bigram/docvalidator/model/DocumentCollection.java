@@ -97,6 +97,17 @@ public final class DocumentCollection implements Iterable<Document> {
       return collection;
     }
 
+    /**
+     * Remove all the documents added so far. This method is used to
+     * release the documents which are already processed when the input
+     * files are parsed and validated one by one.
+     * @return builder
+     */
+    public Builder clear() {
+      collection.documents.clear();
+      return this;
+    }
+
     /**
      * Return last Document object.
      * NOTE: This method is created to follow the Parser class api.
@@ -17,31 +17,248 @@
  */
 package org.bigram.docvalidator.model;
 
+import java.nio.CharBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Sentence block in a Document.
+ *
+ * A sentence is either created from its own string, or as a view on a
+ * range of a text shared by the sentences extracted from it. The content
+ * of a view is copied into a string only when it is requested by
+ * {@link #getContent()}; {@link #getText()} gives the characters without
+ * copying them.
  */
 public final class Sentence {
   /**
    * Constructor.
    *
-   * @param sentenceContent  content of sentence
+   * @param sentenceContent  content of sentence, must not be null
    * @param sentencePosition sentence position
+   * @throws NullPointerException if the content is null
    */
   public Sentence(String sentenceContent, int sentencePosition) {
-    super();
+    this(checkContent(sentenceContent), 0, sentenceContent.length(),
+        sentencePosition);
     this.content = sentenceContent;
+  }
+
+  /**
+   * Constructor of a sentence viewing a range of a text.
+   *
+   * @param text             text containing the sentence, the characters
+   *                         of the range must not be modified afterwards
+   * @param start            start position of the sentence in the text
+   *                         (inclusive)
+   * @param end              end position of the sentence in the text
+   *                         (exclusive)
+   * @param sentencePosition sentence position
+   */
+  public Sentence(CharSequence text, int start, int end,
+                  int sentencePosition) {
+    super();
+    if (start < 0 || end < start || text.length() < end) {
+      throw new IndexOutOfBoundsException(
+          "Invalid range [" + start + ", " + end + ") of a text of length "
+              + text.length());
+    }
+    this.text = text;
+    this.start = start;
+    this.end = end;
     this.position = sentencePosition;
     this.isFirstSentence = false;
     this.links = new ArrayList<String>();
   }
 
   /**
-   * Content of string.
+   * Get the content of the sentence.
+   *
+   * @return content of sentence
    */
-  public String content;
+  public String getContent() {
+    String result = content;
+    if (result == null) {
+      // NOTE: a race only creates equal strings, no need to synchronize
+      result = text.subSequence(start, end).toString();
+      content = result;
+    }
+    return result;
+  }
+
+  /**
+   * Set the content of the sentence.
+   *
+   * @param sentenceContent content of sentence, must not be null
+   * @throws NullPointerException if the content is null
+   */
+  public void setContent(String sentenceContent) {
+    this.text = checkContent(sentenceContent);
+    this.start = 0;
+    this.end = sentenceContent.length();
+    this.content = sentenceContent;
+    this.view = null;
+    // NOTE: the characters do not come from the document any more
+    this.locationCount = 0;
+  }
+
+  /**
+   * Append text to the content of the sentence. The locations of the
+   * current content are kept.
+   *
+   * @param appendedText text to append
+   */
+  public void appendContent(String appendedText) {
+    int locations = locationCount;
+    setContent(getContent() + appendedText);
+    this.locationCount = locations;
+  }
+
+  /**
+   * Record that the characters from the given index come from the given
+   * location of the document. The locations have to be added in ascending
+   * order of the index.
+   *
+   * @param index      index of the first character in the sentence
+   * @param offset     character offset of the first character in the
+   *                   document, -1 when the characters do not come from
+   *                   the document
+   * @param lineNumber line number of the first character
+   * @param column     column of the first character in the line
+   */
+  public void addSourceLocation(int index, int offset, int lineNumber,
+                                int column) {
+    if (locationCount > 0
+        && locations[(locationCount - 1) * LOCATION_SIZE] >= index) {
+      throw new IllegalArgumentException(
+          "Locations are not in ascending order: " + index);
+    }
+    if (locations == null) {
+      locations = new int[LOCATION_SIZE];
+    } else if (locations.length == locationCount * LOCATION_SIZE) {
+      locations = Arrays.copyOf(locations, locations.length * 2);
+    }
+    int base = locationCount * LOCATION_SIZE;
+    locations[base] = index;
+    locations[base + 1] = offset;
+    locations[base + 2] = lineNumber;
+    locations[base + 3] = column;
+    locationCount++;
+  }
+
+  /**
+   * Get the character offset in the document of a character.
+   *
+   * @param index index of the character in the sentence
+   * @return offset in the document, -1 when the location is unknown
+   */
+  public int getSourceOffset(int index) {
+    int base = findLocation(index);
+    return base < 0 ? -1 : locations[base + 1] + index - locations[base];
+  }
+
+  /**
+   * Get the line number in the document of a character.
+   *
+   * @param index index of the character in the sentence
+   * @return line number, -1 when the location is unknown
+   */
+  public int getSourceLineNumber(int index) {
+    int base = findLocation(index);
+    return base < 0 ? -1 : locations[base + 2];
+  }
+
+  /**
+   * Get the column in its line of a character.
+   *
+   * @param index index of the character in the sentence
+   * @return column, -1 when the location is unknown
+   */
+  public int getSourceColumn(int index) {
+    int base = findLocation(index);
+    return base < 0 ? -1 : locations[base + 3] + index - locations[base];
+  }
+
+  /**
+   * Move the known locations of the sentence in the document, used when
+   * the lines before the sentence are changed. The columns are kept.
+   *
+   * @param offsetDelta difference of the character offsets
+   * @param lineDelta   difference of the line numbers
+   */
+  public void shiftSourceLocations(int offsetDelta, int lineDelta) {
+    for (int i = 0; i < locationCount; i++) {
+      int base = i * LOCATION_SIZE;
+      if (locations[base + 1] >= 0) {
+        locations[base + 1] += offsetDelta;
+        locations[base + 2] += lineDelta;
+      }
+    }
+  }
+
+  private static String checkContent(String sentenceContent) {
+    if (sentenceContent == null) {
+      throw new NullPointerException("Content of a sentence is null");
+    }
+    return sentenceContent;
+  }
+
+  private int findLocation(int index) {
+    if (index < 0 || getLength() <= index) {
+      return -1;
+    }
+    // binary search of the last location starting at or before the index
+    int low = 0;
+    int high = locationCount - 1;
+    int found = -1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      if (locations[middle * LOCATION_SIZE] <= index) {
+        found = middle;
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    if (found < 0 || locations[found * LOCATION_SIZE + 1] < 0) {
+      return -1;
+    }
+    return found * LOCATION_SIZE;
+  }
+
+  /**
+   * Get the characters of the sentence without copying them. The same
+   * view is returned until the content is changed.
+   *
+   * @return characters of sentence
+   */
+  public CharSequence getText() {
+    CharSequence result = view;
+    if (result == null) {
+      // NOTE: a race only creates equal views, no need to synchronize
+      if (content != null) {
+        result = content;
+      } else if (text instanceof String && end - start == text.length()) {
+        result = text;
+      } else if (text instanceof String) {
+        result = new StringRange((String) text, start, end);
+      } else {
+        result = CharBuffer.wrap(text, start, end);
+      }
+      view = result;
+    }
+    return result;
+  }
+
+  /**
+   * Get the number of the characters of the sentence.
+   *
+   * @return length of sentence
+   */
+  public int getLength() {
+    return end - start;
+  }
 
   /**
    * Sentence position in a file.
@@ -59,4 +276,67 @@ public final class Sentence {
    */
   public final List<String> links;
 
+  /**
+   * View of a range of a string, faster to scan than a CharBuffer.
+   */
+  private static final class StringRange implements CharSequence {
+    private StringRange(String text, int start, int end) {
+      this.text = text;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || end - start <= index) {
+        throw new StringIndexOutOfBoundsException(index);
+      }
+      return text.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int subStart, int subEnd) {
+      if (subStart < 0 || subEnd < subStart || end - start < subEnd) {
+        throw new StringIndexOutOfBoundsException(
+            "Invalid range [" + subStart + ", " + subEnd + ")");
+      }
+      return text.substring(start + subStart, start + subEnd);
+    }
+
+    @Override
+    public String toString() {
+      return text.substring(start, end);
+    }
+
+    private final String text;
+
+    private final int start;
+
+    private final int end;
+  }
+
+  private CharSequence text;
+
+  private int start;
+
+  private int end;
+
+  private String content;
+
+  private CharSequence view;
+
+  /**
+   * Locations in the document of the parts of the sentence, as
+   * (index, offset, line number, column) records.
+   */
+  private int[] locations;
+
+  private int locationCount;
+
+  private static final int LOCATION_SIZE = 4;
 }
@@ -18,8 +18,6 @@
 package org.bigram.docvalidator.parser;
 
 import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
@@ -43,14 +41,30 @@ public abstract class BasicDocumentParser implements Parser {
   @Override
   public Document generateDocument(String fileName)
       throws DocumentValidatorException {
-    InputStream inputStream = this.loadStream(fileName);
-    Document document = this.generateDocument(inputStream);
+    Document document = this.generateDocument(textLoader.load(fileName));
     if (document != null) {
       document.setFileName(fileName);
     }
     return document;
   }
 
+  @Override
+  public Document generateDocument(InputStream inputStream)
+      throws DocumentValidatorException {
+    return this.generateDocument(createLineReader(inputStream));
+  }
+
+  /**
+   * Given the lines of the input, return Document instance.
+   *
+   * @param lineReader reader of the lines of the input, closed by the
+   *                   parser
+   * @return a generated file content
+   * @throws DocumentValidatorException if Parser failed to parse input.
+   */
+  protected abstract Document generateDocument(LineReader lineReader)
+      throws DocumentValidatorException;
+
   /**
    * Given configuration , return basic configuration settings.
    *
@@ -125,19 +139,16 @@ public abstract class BasicDocumentParser implements Parser {
     return br;
   }
 
-  protected final InputStream loadStream(String fileName)
+  /**
+   * create LineReader from InputStream is.
+   * @param is InputStream using to parse
+   * @return LineReader reading the lines of the stream
+   * @throws DocumentValidatorException if InputStream is not
+   * supported UTF-8 encoding
+   */
+  protected LineReader createLineReader(InputStream is)
       throws DocumentValidatorException {
-    InputStream inputStream;
-    if (fileName == null || fileName.equals("")) {
-      throw new DocumentValidatorException("input file was not specified.");
-    } else {
-      try {
-        inputStream = new FileInputStream(fileName);
-      } catch (FileNotFoundException e) {
-        throw new DocumentValidatorException("Input file is not found", e);
-      }
-    }
-    return inputStream;
+    return new StreamLineReader(createReader(is));
   }
 
   /**
@@ -153,6 +164,8 @@ public abstract class BasicDocumentParser implements Parser {
 
   private SentenceExtractor sentenceExtractor;
 
+  private final MappedTextLoader textLoader = new MappedTextLoader();
+
   private List<String> periods = new ArrayList<String>();
 
   private static final Logger LOG = LoggerFactory.getLogger(
@@ -0,0 +1,45 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reader of the lines of an input document.
+ *
+ * A line returned by a reader can be a view on a buffer of the reader,
+ * and is valid only until the next line is read. Parsers have to copy the
+ * characters they keep.
+ */
+public interface LineReader extends Closeable {
+  /**
+   * Read the next line, without the line terminator.
+   *
+   * @return next line, or null at the end of the input
+   * @throws IOException if the input can not be read
+   */
+  CharSequence readLine() throws IOException;
+
+  /**
+   * Get the character offset in the input where the last line read starts.
+   *
+   * @return offset of the first character of the last line
+   */
+  int getOffset();
+}
@@ -0,0 +1,233 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.parser;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.bigram.docvalidator.DocumentValidatorException;
+
+/**
+ * Loader of input files through memory mapping.
+ *
+ * A file is mapped into memory and decoded in bulk into a character
+ * buffer, which is reused for the next files. The starts of the lines are
+ * recorded while the characters are decoded, so the lines are read as
+ * views on the buffer without creating a string for each line.
+ *
+ * A loader is not thread safe, and the lines of a file are valid only
+ * until the next file is loaded.
+ */
+public final class MappedTextLoader {
+  /**
+   * Constructor to load UTF-8 files.
+   */
+  public MappedTextLoader() {
+    this(Charset.forName("UTF-8"));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param charset encoding of the files
+   */
+  public MappedTextLoader(Charset charset) {
+    // NOTE: same as InputStreamReader, invalid input is replaced
+    this.decoder = charset.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.text = CharBuffer.allocate(0);
+    this.lineStarts = new int[INITIAL_LINES];
+    this.lineCount = 0;
+  }
+
+  /**
+   * Load the given file.
+   *
+   * @param fileName input file name
+   * @return reader of the lines of the file
+   * @throws DocumentValidatorException if the file can not be loaded
+   */
+  public LineReader load(String fileName) throws DocumentValidatorException {
+    if (fileName == null || fileName.equals("")) {
+      throw new DocumentValidatorException("input file was not specified.");
+    }
+    FileInputStream inputStream;
+    try {
+      inputStream = new FileInputStream(fileName);
+    } catch (FileNotFoundException e) {
+      throw new DocumentValidatorException("Input file is not found", e);
+    }
+    try {
+      FileChannel channel = inputStream.getChannel();
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new DocumentValidatorException(
+            "Input file is too large: " + fileName);
+      }
+      decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+    } catch (IOException e) {
+      throw new DocumentValidatorException(
+          "Failed to read input file: " + fileName, e);
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
+    return new BufferLineReader();
+  }
+
+  private void decode(ByteBuffer input) {
+    int size = input.remaining();
+    // NOTE: the number of characters never exceeds the number of bytes in
+    // UTF-8, the buffer grows on demand for the other encodings
+    if (text.capacity() < size) {
+      text = CharBuffer.allocate(size);
+    }
+    text.clear();
+    lineStarts[0] = 0;
+    lineCount = 1;
+    decoder.reset();
+
+    int indexed = 0;
+    boolean endOfInput = false;
+    while (!endOfInput) {
+      int chunkEnd = Math.min(input.position() + DECODE_CHUNK, size);
+      endOfInput = chunkEnd == size;
+      limit(input, chunkEnd);
+      CoderResult result = decoder.decode(input, text, endOfInput);
+      while (result.isOverflow()) {
+        grow();
+        result = decoder.decode(input, text, endOfInput);
+      }
+      indexed = indexLines(indexed);
+    }
+    while (decoder.flush(text).isOverflow()) {
+      grow();
+    }
+    indexLines(indexed);
+    limit(text, text.position());
+  }
+
+  private int indexLines(int from) {
+    char[] chars = text.array();
+    int end = text.position();
+    for (int i = from; i < end; i++) {
+      char c = chars[i];
+      if (c == '\n' && i > 0 && chars[i - 1] == '\r') {
+        // NOTE: "\r\n" is one terminator, the line started by '\r' moves
+        lineStarts[lineCount - 1] = i + 1;
+      } else if (c == '\n' || c == '\r') {
+        if (lineCount == lineStarts.length) {
+          lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+        }
+        lineStarts[lineCount++] = i + 1;
+      }
+    }
+    return end;
+  }
+
+  private void grow() {
+    CharBuffer grown = CharBuffer.allocate(
+        Math.max(text.capacity() * 2, INITIAL_CHARACTERS));
+    limit(text, text.position());
+    text.rewind();
+    grown.put(text);
+    text = grown;
+  }
+
+  // NOTE: through Buffer, to run on the runtimes without the covariant
+  // return types of CharBuffer and ByteBuffer
+  private static void limit(Buffer buffer, int limit) {
+    buffer.limit(limit);
+  }
+
+  /**
+   * Reader of the lines of the loaded file, as views on the buffer.
+   */
+  private final class BufferLineReader implements LineReader {
+    BufferLineReader() {
+      this.line = text.duplicate();
+      this.nextLine = 0;
+      // NOTE: a terminator at the end of the file does not start a line
+      this.lines = lineStarts[lineCount - 1] == text.limit()
+          ? lineCount - 1 : lineCount;
+    }
+
+    @Override
+    public CharSequence readLine() {
+      if (nextLine >= lines) {
+        return null;
+      }
+      int start = lineStarts[nextLine];
+      int end = nextLine + 1 < lineCount
+          ? lineStarts[nextLine + 1] : text.limit();
+      nextLine++;
+      char[] chars = text.array();
+      if (end > start && chars[end - 1] == '\n') {
+        end--;
+      }
+      if (end > start && chars[end - 1] == '\r') {
+        end--;
+      }
+      Buffer view = line;
+      view.limit(end);
+      view.position(start);
+      return line;
+    }
+
+    @Override
+    public int getOffset() {
+      return nextLine == 0 ? 0 : lineStarts[nextLine - 1];
+    }
+
+    @Override
+    public void close() {
+      nextLine = lines;
+    }
+
+    private final CharBuffer line;
+
+    private final int lines;
+
+    private int nextLine;
+  }
+
+  private static final int DECODE_CHUNK = 64 * 1024;
+
+  private static final int INITIAL_CHARACTERS = 1024;
+
+  private static final int INITIAL_LINES = 1024;
+
+  private final CharsetDecoder decoder;
+
+  private CharBuffer text;
+
+  private int[] lineStarts;
+
+  private int lineCount;
+}
@@ -28,11 +28,11 @@ import org.pegdown.ast.RootNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.bigram.docvalidator.parser.markdown.ToFileContentSerializer;
+import org.bigram.docvalidator.util.LineIndex;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -52,25 +52,34 @@ public class MarkdownParser extends BasicDocumentParser {
   }
 
   @Override
-  public Document generateDocument(InputStream inputStream)
+  protected Document generateDocument(LineReader lineReader)
       throws DocumentValidatorException {
     builder.addDocument("");
 
     StringBuilder sb = new StringBuilder();
-    String line;
+    CharSequence line;
     int charCount = 0;
-    List<Integer> lineList = new ArrayList<Integer>();
-    BufferedReader br = null;
+    int[] lineStarts = new int[INITIAL_LINES];
+    int[] sourceLineStarts = new int[INITIAL_LINES];
+    int lineCount = 0;
 
     try {
-      br = createReader(inputStream);
-      while ((line = br.readLine()) != null) {
+      while ((line = lineReader.readLine()) != null) {
+        if (lineCount + 1 == lineStarts.length) {
+          lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+          sourceLineStarts =
+              Arrays.copyOf(sourceLineStarts, sourceLineStarts.length * 2);
+        }
+        lineStarts[lineCount] = charCount;
+        sourceLineStarts[lineCount] = lineReader.getOffset();
+        lineCount++;
         sb.append(line);
         sb.append("\n");
         // TODO surrogate pair ?
         charCount += line.length() + 1;
-        lineList.add(charCount);
       }
+      // NOTE: the start of the line after the text, for the index
+      lineStarts[lineCount] = charCount;
 
       List<Sentence> headers = new ArrayList<Sentence>();
       headers.add(new Sentence("", 0));
@@ -81,19 +90,24 @@ public class MarkdownParser extends BasicDocumentParser {
           pegDownProcessor.parseMarkdown(sb.toString().toCharArray());
       ToFileContentSerializer serializer =
           new ToFileContentSerializer(builder,
-              lineList, this.getSentenceExtractor());
+              new LineIndex(lineStarts, lineCount + 1),
+              lineCount == 0 ? null
+                  : new LineIndex(sourceLineStarts, lineCount),
+              this.getSentenceExtractor());
       serializer.toFileContent(rootNode);
     } catch (ParsingTimeoutException e) {
       throw new DocumentValidatorException("Failed to parse timeout");
     } catch (IOException e) {
       throw new DocumentValidatorException("Failed to read lines");
     } finally {
-      IOUtils.closeQuietly(br);
+      IOUtils.closeQuietly(lineReader);
     }
     return builder.getLastDocument();
   }
 
 
+  private static final int INITIAL_LINES = 256;
+
   private static final Logger LOG =
       LoggerFactory.getLogger(MarkdownParser.class);
 }
@@ -0,0 +1,116 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.parser;
+
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.bigram.docvalidator.config.Configuration;
+import org.bigram.docvalidator.model.Document;
+import org.bigram.docvalidator.model.DocumentCollection;
+
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Pool of initialized parsers for a configuration.
+ *
+ * Creating a parser is not cheap: the parser loads the end of sentence
+ * characters from the configuration, and MarkdownParser creates a
+ * PegDownProcessor which generates its grammar. Since the parsers are
+ * not thread-safe, the pool keeps the parsers for each thread, and a
+ * thread reuses its parsers for all the documents it parses.
+ *
+ * NOTE: the parsers are kept until the threads or the pool are garbage
+ * collected, so a pool should be used with a fixed set of threads (e.g.
+ * the worker threads of a server).
+ */
+public final class ParserPool {
+  /**
+   * Constructor.
+   *
+   * @param parserConfiguration configuration of the parsers
+   * @throws DocumentValidatorException when the configuration is null
+   */
+  public ParserPool(Configuration parserConfiguration)
+      throws DocumentValidatorException {
+    if (parserConfiguration == null) {
+      throw new DocumentValidatorException("Given configuration is null");
+    }
+    this.configuration = parserConfiguration;
+    this.parsers = new ThreadLocal<Map<Parser.Type, PooledParser>>() {
+      @Override
+      protected Map<Parser.Type, PooledParser> initialValue() {
+        return new EnumMap<Parser.Type, PooledParser>(Parser.Type.class);
+      }
+    };
+  }
+
+  /**
+   * Parse the input stream with the parser of the calling thread.
+   *
+   * @param type        parser type
+   * @param inputStream input
+   * @return parsed document
+   * @throws DocumentValidatorException when failed to parse the input
+   */
+  public Document parse(Parser.Type type, InputStream inputStream)
+      throws DocumentValidatorException {
+    PooledParser pooled = getParser(type);
+    try {
+      return pooled.parser.generateDocument(inputStream);
+    } finally {
+      // the parsed documents are not kept by the pool
+      pooled.builder.clear();
+    }
+  }
+
+  /**
+   * Get the parser of the calling thread, creating it at the first call.
+   */
+  PooledParser getParser(Parser.Type type) throws DocumentValidatorException {
+    Map<Parser.Type, PooledParser> threadParsers = parsers.get();
+    PooledParser pooled = threadParsers.get(type);
+    if (pooled == null) {
+      DocumentCollection.Builder builder = new DocumentCollection.Builder();
+      pooled = new PooledParser(
+          DocumentParserFactory.generate(type, configuration, builder),
+          builder);
+      threadParsers.put(type, pooled);
+    }
+    return pooled;
+  }
+
+  /**
+   * Parser with the builder it generates the documents with.
+   */
+  static final class PooledParser {
+    private PooledParser(Parser documentParser,
+        DocumentCollection.Builder documentBuilder) {
+      this.parser = documentParser;
+      this.builder = documentBuilder;
+    }
+
+    final Parser parser;
+
+    final DocumentCollection.Builder builder;
+  }
+
+  private final Configuration configuration;
+
+  private final ThreadLocal<Map<Parser.Type, PooledParser>> parsers;
+}
@@ -17,9 +17,7 @@
  */
 package org.bigram.docvalidator.parser;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -42,58 +40,55 @@ public final class PlainTextParser extends BasicDocumentParser {
     super();
   }
 
-  public Document generateDocument(InputStream is)
+  @Override
+  protected Document generateDocument(LineReader lineReader)
       throws DocumentValidatorException {
     builder.addDocument("");
-    BufferedReader br = null;
     List<Sentence> headers = new ArrayList<Sentence>();
     headers.add(new Sentence("", 0));
     builder.addSection(0, headers);
     builder.addParagraph();
     try {
-      br = createReader(is);
-      String remain = "";
-      String line;
+      SentenceBuffer remain = new SentenceBuffer();
+      TextLocations locations = new TextLocations();
+      CharSequence line;
       int lineNum = 0;
-      while ((line = br.readLine()) != null) {
+      while ((line = lineReader.readLine()) != null) {
         int periodPosition =
             this.getSentenceExtractor().getSentenceEndPosition(line);
-        if (line.equals("")) {
+        if (line.length() == 0) {
+          remain.flush(locations, builder);
           builder.addParagraph();
-        } else if (periodPosition == -1) {
-          remain = remain + line;
         } else {
-          remain =
-              this.extractSentences(lineNum, remain + line);
+          locations.add(remain.getBufferedLength(), lineReader.getOffset(),
+              lineNum, 0);
+          remain.append(line);
+          if (periodPosition != -1) {
+            this.extractSentences(lineNum, remain);
+          }
         }
         lineNum++;
       }
       if (remain.length() > 0) {
-        builder.addSentence(remain, lineNum);
+        remain.endSentence(remain.length(), lineNum);
       }
+      remain.flush(locations, builder);
     } catch (IOException e) {
       throw new DocumentValidatorException("Failed to parse", e);
     } finally {
-      IOUtils.closeQuietly(br);
+      IOUtils.closeQuietly(lineReader);
     }
 
     return builder.getLastDocument();
   }
 
-  private String extractSentences(int lineNum, String line) {
-    int periodPosition = getSentenceExtractor().getSentenceEndPosition(line);
-    if (periodPosition == -1) {
-      return line;
-    } else {
-      while (true) {
-        builder.addSentence(
-            line.substring(0, periodPosition + 1), lineNum);
-        line = line.substring(periodPosition + 1, line.length());
-        periodPosition = getSentenceExtractor().getSentenceEndPosition(line);
-        if (periodPosition == -1) {
-          return line;
-        }
-      }
+  private void extractSentences(int lineNum, SentenceBuffer remain) {
+    // the sentences are created when the paragraph ends, sharing a string
+    int start = 0;
+    for (int periodPosition
+        : getSentenceExtractor().getSentenceEndPositions(remain)) {
+      remain.endSentence(periodPosition + 1 - start, lineNum);
+      start = periodPosition + 1;
     }
   }
 
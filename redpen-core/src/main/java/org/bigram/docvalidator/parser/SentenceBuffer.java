@@ -0,0 +1,145 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.parser;
+
+import java.util.Arrays;
+
+import org.bigram.docvalidator.model.DocumentCollection;
+import org.bigram.docvalidator.model.Sentence;
+
+/**
+ * Buffered text of the sentences being parsed.
+ *
+ * The ends of the sentences are found line by line, but the sentences are
+ * created only when the buffer is flushed, for example at the end of a
+ * paragraph: all the sentences flushed together view one string instead of
+ * a string per line.
+ *
+ * As a character sequence, the buffer is the text after the end of the
+ * last sentence, which is not a complete sentence yet.
+ */
+final class SentenceBuffer implements CharSequence {
+  /**
+   * Constructor.
+   */
+  SentenceBuffer() {
+    this.text = new StringBuilder();
+    this.sentences = new int[INITIAL_CAPACITY * SENTENCE_SIZE];
+    this.count = 0;
+    this.head = 0;
+  }
+
+  /**
+   * Append a line to the buffered text.
+   *
+   * @param line line to append
+   */
+  void append(CharSequence line) {
+    text.append(line);
+  }
+
+  /**
+   * Get the number of the buffered characters, including the ones of the
+   * sentences not flushed yet. The indices of the locations of the buffered
+   * text are based on it.
+   *
+   * @return number of the buffered characters
+   */
+  int getBufferedLength() {
+    return text.length();
+  }
+
+  /**
+   * Record the end of the next sentence.
+   *
+   * @param end              end of the sentence (exclusive) in the text
+   *                         after the last sentence
+   * @param sentencePosition position of the sentence
+   */
+  void endSentence(int end, int sentencePosition) {
+    if (sentences.length == count * SENTENCE_SIZE) {
+      sentences = Arrays.copyOf(sentences, sentences.length * 2);
+    }
+    head += end;
+    sentences[count * SENTENCE_SIZE] = head;
+    sentences[count * SENTENCE_SIZE + 1] = sentencePosition;
+    count++;
+  }
+
+  /**
+   * Create the recorded sentences and remove them from the buffer.
+   *
+   * @param locations locations of the buffered text, the sentences are
+   *                  located with them
+   * @param builder   builder to add the sentences to, in order
+   */
+  void flush(TextLocations locations, DocumentCollection.Builder builder) {
+    if (count == 0) {
+      return;
+    }
+    String flushed = text.substring(0, head);
+    int start = 0;
+    for (int i = 0; i < count; i++) {
+      int end = sentences[i * SENTENCE_SIZE];
+      Sentence sentence = new Sentence(flushed, start, end,
+          sentences[i * SENTENCE_SIZE + 1]);
+      locations.locate(sentence, start, end);
+      builder.addSentence(sentence);
+      start = end;
+    }
+    locations.removeHead(head);
+    text.delete(0, head);
+    count = 0;
+    head = 0;
+  }
+
+  @Override
+  public int length() {
+    return text.length() - head;
+  }
+
+  @Override
+  public char charAt(int index) {
+    return text.charAt(head + index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return text.substring(head + start, head + end);
+  }
+
+  @Override
+  public String toString() {
+    return text.substring(head);
+  }
+
+  private final StringBuilder text;
+
+  /**
+   * Recorded sentences not flushed yet, as (end, position) records.
+   */
+  private int[] sentences;
+
+  private int count;
+
+  private int head;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private static final int SENTENCE_SIZE = 2;
+}
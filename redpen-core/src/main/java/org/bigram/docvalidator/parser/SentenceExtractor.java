@@ -19,12 +19,11 @@ package org.bigram.docvalidator.parser;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
 import org.bigram.docvalidator.model.Sentence;
 import org.bigram.docvalidator.symbol.AbstractSymbols;
 import org.bigram.docvalidator.symbol.DefaultSymbols;
-import org.bigram.docvalidator.util.StringUtils;
+import org.bigram.docvalidator.util.SentenceBoundaryScanner;
 
 /**
  * Utility Class to extract a Sentence list from given String.
@@ -39,8 +38,7 @@ public final class SentenceExtractor {
     fullStopList.add(symbols.get("FULL_STOP").getValue());
     fullStopList.add(symbols.get("QUESTION_MARK").getValue());
     fullStopList.add(symbols.get("EXCLAMATION_MARK").getValue());
-    this.fullStopPattern = Pattern.compile(
-        this.constructEndSentencePattern(fullStopList));
+    this.scanner = new SentenceBoundaryScanner(fullStopList);
   }
 
   /**
@@ -49,8 +47,7 @@ public final class SentenceExtractor {
    * @param fullStopList set of end of sentence characters
    */
   public SentenceExtractor(List<String> fullStopList) {
-    this.fullStopPattern = Pattern.compile(
-        this.constructEndSentencePattern(fullStopList));
+    this.scanner = new SentenceBoundaryScanner(fullStopList);
   }
 
   /**
@@ -61,24 +58,13 @@ public final class SentenceExtractor {
    * @return remaining line
    */
   public String extract(String line, List<Sentence> outputSentences) {
-    int periodPosition =
-        StringUtils.getSentenceEndPosition(line, fullStopPattern);
-    if (periodPosition == -1) {
-      return line;
-    } else {
-      while (true) {
-        Sentence sentence = new Sentence(line.substring(0,
-            periodPosition + 1), 0);
-        outputSentences.add(sentence);
-        line = line.substring(periodPosition + 1,
-            line.length());
-        periodPosition =
-            StringUtils.getSentenceEndPosition(line, fullStopPattern);
-        if (periodPosition == -1) {
-          return line;
-        }
-      }
+    int start = 0;
+    for (int periodPosition : scanner.getSentenceEndPositions(line)) {
+      outputSentences.add(
+          new Sentence(line, start, periodPosition + 1, 0));
+      start = periodPosition + 1;
     }
+    return line.substring(start);
   }
 
   /**
@@ -92,26 +78,16 @@ public final class SentenceExtractor {
   public String extractWithoutLastSentence(
       String line, List<Sentence> outputSentences,
       int position) {
-    int periodPosition =
-        StringUtils.getSentenceEndPosition(line, fullStopPattern);
-    if (periodPosition == -1) {
-      return line;
-    } else {
-      while (true) {
-        if (periodPosition == line.length() - 1) {
-          return line;
-        }
-        Sentence sentence =
-            new Sentence(line.substring(0, periodPosition + 1), position);
-        outputSentences.add(sentence);
-        line = line.substring(periodPosition + 1, line.length());
-        periodPosition =
-            StringUtils.getSentenceEndPosition(line, fullStopPattern);
-        if (periodPosition == -1) {
-          return line;
-        }
+    int start = 0;
+    for (int periodPosition : scanner.getSentenceEndPositions(line)) {
+      if (periodPosition == line.length() - 1) {
+        break;
       }
+      outputSentences.add(
+          new Sentence(line, start, periodPosition + 1, position));
+      start = periodPosition + 1;
     }
+    return line.substring(start);
   }
 
   /**
@@ -120,8 +96,19 @@ public final class SentenceExtractor {
    * @param str    input string
    * @return position of full stop when there is a full stop, -1 otherwise
    */
-  public int getSentenceEndPosition(String str) {
-    return StringUtils.getSentenceEndPosition(str, fullStopPattern);
+  public int getSentenceEndPosition(CharSequence str) {
+    return scanner.getSentenceEndPosition(str);
+  }
+
+  /**
+   * Given string, return the end positions of all the sentences.
+   *
+   * @param str input string
+   * @return positions of the full stops ending the sentences, in ascending
+   * order
+   */
+  public int[] getSentenceEndPositions(CharSequence str) {
+    return scanner.getSentenceEndPositions(str);
   }
 
   /**
@@ -164,5 +151,5 @@ public final class SentenceExtractor {
     return endChar;
   }
 
-  private Pattern fullStopPattern;
+  private final SentenceBoundaryScanner scanner;
 }
@@ -0,0 +1,111 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reader of the lines of a character stream, keeping track of the offsets
+ * of the lines. Lines are terminated by "\n", "\r" or "\r\n", the same as
+ * {@link java.io.BufferedReader#readLine()}.
+ */
+final class StreamLineReader implements LineReader {
+  /**
+   * Constructor.
+   *
+   * @param input character stream to read
+   */
+  StreamLineReader(Reader input) {
+    this.input = input;
+    this.buffer = new char[BUFFER_SIZE];
+    this.line = new StringBuilder();
+  }
+
+  @Override
+  public CharSequence readLine() throws IOException {
+    line.setLength(0);
+    lineOffset = offset;
+    while (position < limit || fill()) {
+      char c = buffer[position];
+      consume();
+      if (skipLineFeed) {
+        skipLineFeed = false;
+        if (c == '\n') {
+          // NOTE: the rest of "\r\n" ending the previous line
+          lineOffset = offset;
+          continue;
+        }
+      }
+      if (c == '\n') {
+        return line;
+      } else if (c == '\r') {
+        skipLineFeed = true;
+        return line;
+      }
+      line.append(c);
+    }
+    return line.length() > 0 ? line : null;
+  }
+
+  @Override
+  public int getOffset() {
+    return lineOffset;
+  }
+
+  @Override
+  public void close() throws IOException {
+    input.close();
+  }
+
+  private boolean fill() throws IOException {
+    int read = input.read(buffer, 0, buffer.length);
+    while (read == 0) {
+      read = input.read(buffer, 0, buffer.length);
+    }
+    if (read < 0) {
+      return false;
+    }
+    position = 0;
+    limit = read;
+    return true;
+  }
+
+  private void consume() {
+    position++;
+    offset++;
+  }
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Reader input;
+
+  private final char[] buffer;
+
+  private final StringBuilder line;
+
+  private int position;
+
+  private int limit;
+
+  private int offset;
+
+  private int lineOffset;
+
+  private boolean skipLineFeed;
+}
@@ -0,0 +1,139 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.parser;
+
+import java.util.Arrays;
+
+import org.bigram.docvalidator.model.Sentence;
+
+/**
+ * Locations in the document of the parts of a text buffered by a parser,
+ * such as the lines joined to build the sentences.
+ */
+final class TextLocations {
+  /**
+   * Constructor.
+   */
+  TextLocations() {
+    this.locations = new int[INITIAL_CAPACITY * LOCATION_SIZE];
+    this.count = 0;
+  }
+
+  /**
+   * Record that the characters from the given index of the buffered text
+   * come from the given location of the document.
+   *
+   * @param index      index in the buffered text
+   * @param offset     character offset in the document
+   * @param lineNumber line number in the document
+   * @param column     column in the line
+   */
+  void add(int index, int offset, int lineNumber, int column) {
+    if (count > 0 && locations[(count - 1) * LOCATION_SIZE] >= index) {
+      // NOTE: the previous part has no character left
+      count--;
+    }
+    if (locations.length == count * LOCATION_SIZE) {
+      locations = Arrays.copyOf(locations, locations.length * 2);
+    }
+    set(count++, index, offset, lineNumber, column);
+  }
+
+  /**
+   * Record the locations of a range of the buffered text to a sentence.
+   *
+   * @param sentence sentence made of the range
+   * @param start    start of the range (inclusive)
+   * @param end      end of the range (exclusive)
+   */
+  void locate(Sentence sentence, int start, int end) {
+    int first = find(start);
+    if (first < 0) {
+      return;
+    }
+    int base = first * LOCATION_SIZE;
+    int shift = start - locations[base];
+    sentence.addSourceLocation(0, locations[base + 1] + shift,
+        locations[base + 2], locations[base + 3] + shift);
+    for (int i = first + 1; i < count; i++) {
+      base = i * LOCATION_SIZE;
+      if (locations[base] >= end) {
+        break;
+      }
+      sentence.addSourceLocation(locations[base] - start,
+          locations[base + 1], locations[base + 2], locations[base + 3]);
+    }
+  }
+
+  /**
+   * Remove the first characters of the buffered text.
+   *
+   * @param length number of the removed characters
+   */
+  void removeHead(int length) {
+    int first = find(length);
+    if (first < 0) {
+      return;
+    }
+    int base = first * LOCATION_SIZE;
+    int shift = length - locations[base];
+    set(0, 0, locations[base + 1] + shift, locations[base + 2],
+        locations[base + 3] + shift);
+    for (int i = first + 1; i < count; i++) {
+      base = i * LOCATION_SIZE;
+      set(i - first, locations[base] - length, locations[base + 1],
+          locations[base + 2], locations[base + 3]);
+    }
+    count -= first;
+  }
+
+  /**
+   * Remove all the locations.
+   */
+  void clear() {
+    count = 0;
+  }
+
+  private int find(int index) {
+    int found = -1;
+    for (int i = 0; i < count; i++) {
+      if (locations[i * LOCATION_SIZE] > index) {
+        break;
+      }
+      found = i;
+    }
+    return found;
+  }
+
+  private void set(int position, int index, int offset, int lineNumber,
+                   int column) {
+    int base = position * LOCATION_SIZE;
+    locations[base] = index;
+    locations[base + 1] = offset;
+    locations[base + 2] = lineNumber;
+    locations[base + 3] = column;
+  }
+
+  private static final int LOCATION_SIZE = 4;
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  private int[] locations;
+
+  private int count;
+}
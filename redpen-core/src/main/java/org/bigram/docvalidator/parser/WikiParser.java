@@ -17,9 +17,7 @@
  */
 package org.bigram.docvalidator.parser;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
 
 import org.apache.commons.io.IOUtils;
 import org.bigram.docvalidator.DocumentValidatorException;
@@ -46,10 +44,10 @@ public final class WikiParser extends BasicDocumentParser {
     super();
   }
 
-  public Document generateDocument(InputStream is)
+  @Override
+  protected Document generateDocument(LineReader lineReader)
       throws DocumentValidatorException {
     builder.addDocument("");
-    BufferedReader br = null;
 
     // for sentences right below the beginning of document
     List<Sentence> headers = new ArrayList<Sentence>();
@@ -58,12 +56,12 @@ public final class WikiParser extends BasicDocumentParser {
 
     // begin parsing
     LinePattern prevPattern, currentPattern = LinePattern.VOID;
-    String line;
+    CharSequence line;
     int lineNum = 0;
     StringBuilder remain = new StringBuilder();
+    TextLocations locations = new TextLocations();
     try {
-      br = createReader(is);
-      while ((line = br.readLine()) != null) {
+      while ((line = lineReader.readLine()) != null) {
         prevPattern = currentPattern;
         List<String> head = new ArrayList<String>();
         if (currentPattern == LinePattern.COMMENT) {
@@ -83,12 +81,13 @@ public final class WikiParser extends BasicDocumentParser {
           if (!check(END_COMMENT_PATTERN, line, head)) { // skip comment
             currentPattern = LinePattern.COMMENT;
           }
-        } else if (line.equals("")) { // new paragraph content
+        } else if (line.length() == 0) { // new paragraph content
           builder.addParagraph();
         } else { // usual sentence.
           currentPattern = LinePattern.SENTENCE;
+          locations.add(remain.length(), lineReader.getOffset(), lineNum, 0);
           String remainStr = appendSentencesIntoSection(lineNum,
-              remain.append(line).toString());
+              remain.append(line).toString(), locations);
           remain.delete(0, remain.length());
           remain.append(remainStr);
         }
@@ -97,11 +96,11 @@ public final class WikiParser extends BasicDocumentParser {
     } catch (IOException e) {
       throw new DocumentValidatorException("Failed to parse input document: " + e.getMessage());
     } finally {
-      IOUtils.closeQuietly(br);
+      IOUtils.closeQuietly(lineReader);
     }
 
     if (remain.length() > 0) {
-      appendLastSentence(lineNum, remain.toString());
+      appendLastSentence(lineNum, remain.toString(), locations);
     }
     return builder.getLastDocument();
   }
@@ -112,7 +111,8 @@ public final class WikiParser extends BasicDocumentParser {
       builder.addListBlock();
     }
     List<Sentence> outputSentences = new ArrayList<Sentence>();
-    String remainSentence = obtainSentences(0, head.get(1), outputSentences);
+    String remainSentence =
+        obtainSentences(0, head.get(1), outputSentences, null);
     builder.addListElement(extractListLevel(head.get(0)),
         outputSentences);
     // NOTE: for list content without period
@@ -125,7 +125,7 @@ public final class WikiParser extends BasicDocumentParser {
     Integer level = Integer.valueOf(head.get(0));
     List<Sentence> outputSentences = new ArrayList<Sentence>();
     String remainHeader =
-        obtainSentences(lineNum, head.get(1), outputSentences);
+        obtainSentences(lineNum, head.get(1), outputSentences, null);
     // NOTE: for header without period
     if (remainHeader != null && remainHeader.length() > 0) {
       outputSentences.add(new Sentence(remainHeader, lineNum));
@@ -146,8 +146,10 @@ public final class WikiParser extends BasicDocumentParser {
     return currentSection;
   }
 
-  private void appendLastSentence(int lineNum, String remain) {
+  private void appendLastSentence(int lineNum, String remain,
+      TextLocations locations) {
     Sentence sentence = new Sentence(remain, lineNum);
+    locations.locate(sentence, 0, remain.length());
     parseSentence(sentence); // extract inline elements
     builder.addSentence(sentence);
   }
@@ -158,25 +160,32 @@ public final class WikiParser extends BasicDocumentParser {
   }
 
   private void removeTags(Sentence sentence) {
-    String content = sentence.content;
+    CharSequence content = sentence.getText();
+    boolean removed = false;
     for (Pattern inlinePattern : INLINE_PATTERNS) {
       Matcher m = inlinePattern.matcher(content);
-      content = m.replaceAll("$1");
+      if (m.find()) {
+        content = m.replaceAll("$1");
+        removed = true;
+      }
+    }
+    // NOTE: keep the locations of the sentences without tags
+    if (removed) {
+      sentence.setContent(content.toString());
     }
-    sentence.content = content;
   }
 
   private void extractLinks(Sentence sentence) {
     StringBuilder modContent = new StringBuilder();
     int start = 0;
-    Matcher m = LINK_PATTERN.matcher(sentence.content);
+    CharSequence content = sentence.getText();
+    Matcher m = LINK_PATTERN.matcher(content);
     while (m.find()) {
       String[] tagInternal = m.group(1).split("\\|");
       String tagURL = null;
       if (tagInternal.length == 1) {
         tagURL = tagInternal[0].trim();
-        modContent.append(sentence.content.substring(
-            start, m.start())).append(tagURL.trim());
+        modContent.append(content, start, m.start()).append(tagURL.trim());
       } else if (tagInternal.length == 0) {
         LOG.warn("Invalid link block: vacant block");
         tagURL = "";
@@ -188,7 +197,7 @@ public final class WikiParser extends BasicDocumentParser {
         }
         tagURL = tagInternal[1].trim();
         StringBuilder buffer = new StringBuilder();
-        buffer.append(sentence.content.substring(start, m.start()));
+        buffer.append(content, start, m.start());
         buffer.append(tagInternal[0].trim());
         modContent.append(buffer);
       }
@@ -197,9 +206,8 @@ public final class WikiParser extends BasicDocumentParser {
     }
 
     if (start > 0) {
-      modContent.append(sentence.content.substring(
-          start, sentence.content.length()));
-      sentence.content = modContent.toString();
+      modContent.append(content, start, content.length());
+      sentence.setContent(modContent.toString());
     }
   }
 
@@ -226,18 +234,27 @@ public final class WikiParser extends BasicDocumentParser {
   }
 
   private String obtainSentences(int lineNum, String line,
-      List<Sentence> outputSentences) {
+      List<Sentence> outputSentences, TextLocations locations) {
     String remain = getSentenceExtractor().extract(line, outputSentences);
+    int start = 0;
     for (Sentence sentence : outputSentences) {
+      if (locations != null) {
+        locations.locate(sentence, start, start + sentence.getLength());
+        start += sentence.getLength();
+      }
       sentence.position = lineNum;
       parseSentence(sentence); // extract inline elements
     }
+    if (locations != null) {
+      locations.removeHead(start);
+    }
     return remain;
   }
 
-  private String appendSentencesIntoSection(int lineNum, String line) {
+  private String appendSentencesIntoSection(int lineNum, String line,
+      TextLocations locations) {
   List<Sentence> outputSentences = new ArrayList<Sentence>();
-  String remain = obtainSentences(lineNum, line, outputSentences);
+  String remain = obtainSentences(lineNum, line, outputSentences, locations);
 
   for (Sentence sentence : outputSentences) {
     builder.addSentence(sentence);
@@ -245,7 +262,8 @@ public final class WikiParser extends BasicDocumentParser {
   return remain;
 }
 
-  private static boolean check(Pattern p, String target, List<String> head) {
+  private static boolean check(Pattern p, CharSequence target,
+      List<String> head) {
     Matcher m = p.matcher(target);
     if (m.matches()) {
       for (int i = 1; i <= m.groupCount(); i++) {
@@ -27,11 +27,17 @@ final class CandidateSentence {
 
   private String link;
 
+  private int offset;
+
+  private int column;
+
   CandidateSentence(int line,
                     String lineCharacter, String linkCharacter) {
     this.lineNum = line;
     this.sentence = lineCharacter;
     this.link = linkCharacter;
+    this.offset = -1;
+    this.column = -1;
   }
 
   public int getLineNum() {
@@ -46,6 +52,19 @@ final class CandidateSentence {
     return link;
   }
 
+  public int getOffset() {
+    return offset;
+  }
+
+  public int getColumn() {
+    return column;
+  }
+
+  public void setLocation(int sourceOffset, int sourceColumn) {
+    this.offset = sourceOffset;
+    this.column = sourceColumn;
+  }
+
   public void setLink(String url) {
     this.link = url;
   }
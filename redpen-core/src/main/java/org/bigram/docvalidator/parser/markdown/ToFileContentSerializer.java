@@ -19,6 +19,7 @@ package org.bigram.docvalidator.parser.markdown;
 import org.bigram.docvalidator.DocumentValidatorException;
 import org.bigram.docvalidator.model.*;
 import org.bigram.docvalidator.parser.SentenceExtractor;
+import org.bigram.docvalidator.util.LineIndex;
 import org.parboiled.common.StringUtils;
 import org.pegdown.Printer;
 import org.pegdown.ast.AbbreviationNode;
@@ -98,7 +99,9 @@ public class ToFileContentSerializer implements Visitor {
     }
   }
 
-  private List<Integer> lineList = null;
+  private final LineIndex lineIndex;
+
+  private final LineIndex sourceLineIndex;
 
   // TODO multi period character not supported
   private String period;
@@ -110,14 +113,17 @@ public class ToFileContentSerializer implements Visitor {
    * Constructor.
    *
    * @param docBuilder       DocumentBuilder
-   * @param listOfLineNumber the list of line number
+   * @param lines            index of the lines of the parsed markdown
+   * @param sourceLines      index of the lines of the input document, or
+   *                         null when the sentences are not located
    * @param extractor        utility object to extract a sentence list
    */
   public ToFileContentSerializer(DocumentCollection.Builder docBuilder,
-                                 List<Integer> listOfLineNumber,
+                                 LineIndex lines, LineIndex sourceLines,
                                  SentenceExtractor extractor) {
     this.builder = docBuilder;
-    this.lineList = listOfLineNumber;
+    this.lineIndex = lines;
+    this.sourceLineIndex = sourceLines;
     this.sentenceExtractor = extractor;
   }
 
@@ -151,24 +157,32 @@ public class ToFileContentSerializer implements Visitor {
     }
   }
 
-  private void addCandidateSentence(int lineNum, String text) {
-    addCandidateSentence(lineNum, text, null);
-  }
-
-  private void addCandidateSentence(int lineNum, String text, String link) {
-    candidateSentences.add(new CandidateSentence(lineNum, text, link));
+  private void addCandidateSentence(Node node, String text) {
+    addCandidateSentence(node, text, null);
   }
 
-  private int lineNumberFromStartIndex(int startIndex) {
-    int lineNum = 0;
-    // TODO test
-    for (int end : lineList) {
-      if (startIndex < end) {
-        break;
-      }
-      lineNum++;
+  private void addCandidateSentence(Node node, String text, String link) {
+    int lineNum = lineIndex.getLineNumber(node.getStartIndex());
+    int column = node.getStartIndex() - lineIndex.getLineStart(lineNum);
+    CandidateSentence candidate =
+        new CandidateSentence(lineNum, text, link);
+    if (sourceLineIndex != null && lineNum < sourceLineIndex.getLineCount()) {
+      candidate.setLocation(
+          sourceLineIndex.getLineStart(lineNum) + column, column);
+    }
+    candidateSentences.add(candidate);
+  }
+
+  private static void locate(Sentence sentence, int index,
+      CandidateSentence candidate, int candidateIndex) {
+    if (candidate.getOffset() >= 0) {
+      sentence.addSourceLocation(index,
+          candidate.getOffset() + candidateIndex, candidate.getLineNum(),
+          candidate.getColumn() + candidateIndex);
+    } else if (index > 0) {
+      // NOTE: the appended characters do not follow the previous ones
+      sentence.addSourceLocation(index, -1, -1, -1);
     }
-    return lineNum;
   }
 
   private Printer printer = new Printer();
@@ -189,18 +203,28 @@ public class ToFileContentSerializer implements Visitor {
     StringBuffer sentenceContent =
         new StringBuffer();
     for (CandidateSentence candidateSentence : candidateSentences) {
+      int extracted = newSentences.size();
       String remain =
           sentenceExtractor.extractWithoutLastSentence(
               candidateSentence.getSentence(),
               newSentences, candidateSentence.getLineNum());
+      int start = 0;
+      for (int i = extracted; i < newSentences.size(); i++) {
+        locate(newSentences.get(i), 0, candidateSentence, start);
+        start += newSentences.get(i).getLength();
+      }
 
       //TODO refactor StringUtils...
       if (StringUtils.isNotEmpty(remain)) {
         if (currentSentence != null) {
-          currentSentence.content += candidateSentence.getSentence();
+          int length = currentSentence.getLength();
+          currentSentence.appendContent(candidateSentence.getSentence());
+          locate(currentSentence, length, candidateSentence, 0);
         } else {
           currentSentence = new Sentence(remain,
               candidateSentence.getLineNum());
+          locate(currentSentence, 0, candidateSentence,
+              candidateSentence.getSentence().length() - remain.length());
           newSentences.add(currentSentence);
         }
         // FIXME validate: pegdown extract 1 candidate sentence to 1 link?
@@ -211,7 +235,7 @@ public class ToFileContentSerializer implements Visitor {
 
       // TODO ...
       if (sentenceExtractor.getSentenceEndPosition(
-          currentSentence.content) != -1) {
+          currentSentence.getText()) != -1) {
         currentSentence = null;
       }
 
@@ -274,8 +298,7 @@ public class ToFileContentSerializer implements Visitor {
   @Override
   public void visit(AutoLinkNode autoLinkNode) {
     // TODO GitHub Markdown Extension
-    addCandidateSentence(
-        lineNumberFromStartIndex(autoLinkNode.getStartIndex()),
+    addCandidateSentence(autoLinkNode,
         autoLinkNode.getText(), autoLinkNode.getText());
   }
 
@@ -286,8 +309,7 @@ public class ToFileContentSerializer implements Visitor {
 
   @Override
   public void visit(CodeNode codeNode) {
-    addCandidateSentence(lineNumberFromStartIndex(
-        codeNode.getStartIndex()), codeNode.getText());
+    addCandidateSentence(codeNode, codeNode.getText());
   }
 
   @Override
@@ -388,20 +410,16 @@ public class ToFileContentSerializer implements Visitor {
       case HRule:
         break;
       case Apostrophe:
-        addCandidateSentence(
-            lineNumberFromStartIndex(simpleNode.getStartIndex()), "'");
+        addCandidateSentence(simpleNode, "'");
         break;
       case Ellipsis:
-        addCandidateSentence(
-            lineNumberFromStartIndex(simpleNode.getStartIndex()), "...");
+        addCandidateSentence(simpleNode, "...");
         break;
       case Emdash:
-        addCandidateSentence(
-            lineNumberFromStartIndex(simpleNode.getStartIndex()), "–");
+        addCandidateSentence(simpleNode, "–");
         break;
       case Endash:
-        addCandidateSentence(
-            lineNumberFromStartIndex(simpleNode.getStartIndex()), "—");
+        addCandidateSentence(simpleNode, "—");
         break;
       default:
         LOG.warn("Illegal SimpleNode:[" + simpleNode.toString() + "]");
@@ -411,9 +429,7 @@ public class ToFileContentSerializer implements Visitor {
   @Override
   public void visit(SpecialTextNode specialTextNode) {
     // TODO to sentence
-    addCandidateSentence(
-        lineNumberFromStartIndex(
-            specialTextNode.getStartIndex()), specialTextNode.getText());
+    addCandidateSentence(specialTextNode, specialTextNode.getText());
   }
 
   @Override
@@ -431,9 +447,7 @@ public class ToFileContentSerializer implements Visitor {
   public void visit(TextNode textNode) {
     // to sentence, if sentence breaker appear
     // append remain sentence, if sentence breaker not appear
-    addCandidateSentence(
-        lineNumberFromStartIndex(
-            textNode.getStartIndex()), textNode.getText());
+    addCandidateSentence(textNode, textNode.getText());
     // for printChildrenToString
     printer.print(textNode.getText());
   }
@@ -0,0 +1,227 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Multi-pattern string matcher based on Aho-Corasick automaton.
+ *
+ * Given a set of patterns, the matcher finds all the patterns contained
+ * in a text scanning the text only once. The cost is linear to the length
+ * of the text and the number of matches, and does not depend on the
+ * number of the patterns.
+ *
+ * @see <a href=
+ * "http://en.wikipedia.org/wiki/Aho%E2%80%93Corasick_string_matching_algorithm"
+ * >Aho-Corasick string matching algorithm</a>
+ */
+public final class AhoCorasickMatcher {
+  /**
+   * Constructor.
+   *
+   * @param patterns patterns to find
+   */
+  public AhoCorasickMatcher(Collection<String> patterns) {
+    this.root = new Node();
+    this.size = 0;
+    this.containsEmptyPattern = false;
+    for (String pattern : patterns) {
+      addPattern(pattern);
+    }
+    buildFailureLinks();
+  }
+
+  /**
+   * Find all the occurrences of the patterns in the given text.
+   *
+   * @param text input text
+   * @return the occurrences of the patterns with their positions in the
+   * text, in the order of the positions where the patterns end
+   */
+  public List<Match> find(CharSequence text) {
+    List<Match> matches = new ArrayList<Match>();
+    if (containsEmptyPattern) {
+      matches.add(new Match("", 0));
+    }
+    Node state = root;
+    for (int i = 0; i < text.length(); i++) {
+      state = state.next(text.charAt(i), root);
+      for (String output : state.outputs) {
+        matches.add(new Match(output, i + 1 - output.length()));
+      }
+    }
+    return matches;
+  }
+
+  /**
+   * Get the number of patterns.
+   *
+   * @return the number of patterns
+   */
+  public int size() {
+    return size;
+  }
+
+  private void addPattern(String pattern) {
+    if (pattern == null) {
+      return;
+    }
+    if (pattern.length() == 0) {
+      // NOTE: an empty pattern is contained in any text
+      containsEmptyPattern = true;
+      size++;
+      return;
+    }
+    Node node = root;
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      Node child = node.children.get(c);
+      if (child == null) {
+        child = new Node();
+        node.children.put(c, child);
+      }
+      node = child;
+    }
+    if (node.pattern == null) {
+      node.pattern = pattern;
+      size++;
+    }
+  }
+
+  private void buildFailureLinks() {
+    Queue<Node> queue = new LinkedList<Node>();
+    root.fail = root;
+    for (Node child : root.children.values()) {
+      child.fail = root;
+      queue.add(child);
+    }
+    while (!queue.isEmpty()) {
+      Node node = queue.poll();
+      // the outputs of a node is its pattern and the outputs of the
+      // longest proper suffix which is a node in the automaton
+      if (node.pattern != null) {
+        node.outputs.add(node.pattern);
+      }
+      node.outputs.addAll(node.fail.outputs);
+
+      for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+        char c = entry.getKey();
+        Node child = entry.getValue();
+        Node fail = node.fail;
+        while (fail != root && !fail.children.containsKey(c)) {
+          fail = fail.fail;
+        }
+        Node candidate = fail.children.get(c);
+        if (candidate != null && candidate != child) {
+          child.fail = candidate;
+        } else {
+          child.fail = root;
+        }
+        queue.add(child);
+      }
+    }
+  }
+
+  /**
+   * Occurrence of a pattern in a text.
+   */
+  public static final class Match {
+    private Match(String matchedPattern, int start) {
+      this.pattern = matchedPattern;
+      this.startPosition = start;
+    }
+
+    /**
+     * Get the matched pattern.
+     *
+     * @return pattern
+     */
+    public String getPattern() {
+      return pattern;
+    }
+
+    /**
+     * Get the position where the pattern starts in the text.
+     *
+     * @return start position (inclusive)
+     */
+    public int getStartPosition() {
+      return startPosition;
+    }
+
+    /**
+     * Get the position where the pattern ends in the text.
+     *
+     * @return end position (exclusive)
+     */
+    public int getEndPosition() {
+      return startPosition + pattern.length();
+    }
+
+    @Override
+    public String toString() {
+      return "Match{pattern='" + pattern + "', startPosition="
+          + startPosition + "}";
+    }
+
+    private final String pattern;
+
+    private final int startPosition;
+  }
+
+  /**
+   * State of the automaton.
+   */
+  private static final class Node {
+    private Node next(char c, Node root) {
+      Node node = this;
+      while (true) {
+        Node child = node.children.get(c);
+        if (child != null) {
+          return child;
+        }
+        if (node == root) {
+          return root;
+        }
+        node = node.fail;
+      }
+    }
+
+    private final Map<Character, Node> children =
+        new HashMap<Character, Node>();
+
+    private final List<String> outputs = new ArrayList<String>();
+
+    private Node fail;
+
+    private String pattern;
+  }
+
+  private final Node root;
+
+  private int size;
+
+  private boolean containsEmptyPattern;
+}
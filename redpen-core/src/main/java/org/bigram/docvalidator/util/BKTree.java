@@ -0,0 +1,145 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BK-tree, a metric tree to search strings similar to a query string.
+ *
+ * Each child of a node is labeled with the Levenshtein distance between
+ * the child and the node. Because Levenshtein distance satisfies the
+ * triangle inequality, searching the strings within distance k from a
+ * query only needs to visit the children whose labels are in
+ * [d - k, d + k], where d is the distance between the query and the node.
+ * The tree uses the default (unit) edit costs, with which the distance
+ * is a metric.
+ *
+ * NOTE: BKTree is not thread-safe.
+ *
+ * @see http://en.wikipedia.org/wiki/BK-tree
+ */
+public final class BKTree {
+  /**
+   * Constructor.
+   */
+  public BKTree() {
+    this.root = null;
+    this.size = 0;
+    this.levenshtein = new LevenshteinDistance();
+  }
+
+  /**
+   * Add a string to the tree.
+   *
+   * @param word string to add
+   * @return true when the string is added, false when the tree already
+   * contains the string
+   */
+  public boolean add(String word) {
+    if (root == null) {
+      root = new Node(word);
+      size++;
+      return true;
+    }
+    Node node = root;
+    while (true) {
+      int distance = levenshtein.distance(node.word, word);
+      if (distance == 0 && node.word.equals(word)) {
+        return false;
+      }
+      Node child = node.children.get(distance);
+      if (child == null) {
+        node.children.put(distance, new Node(word));
+        node.maxLabel = Math.max(node.maxLabel, distance);
+        size++;
+        return true;
+      }
+      node = child;
+    }
+  }
+
+  /**
+   * Search the strings whose distances from the query are equal to or
+   * less than the given maximum distance.
+   *
+   * @param query       query string
+   * @param maxDistance maximum distance
+   * @return strings similar to the query
+   */
+  public List<String> search(String query, int maxDistance) {
+    List<String> results = new ArrayList<String>();
+    if (root == null) {
+      return results;
+    }
+    LinkedList<Node> candidates = new LinkedList<Node>();
+    candidates.add(root);
+    while (!candidates.isEmpty()) {
+      Node node = candidates.removeFirst();
+      // when the distance exceeds maxDistance + maxLabel, neither the node
+      // nor its children can be in the results
+      int distance = levenshtein.distance(node.word, query,
+          maxDistance + node.maxLabel);
+      if (distance <= maxDistance) {
+        results.add(node.word);
+      }
+      for (Map.Entry<Integer, Node> entry : node.children.entrySet()) {
+        int label = entry.getKey();
+        if (label >= distance - maxDistance
+            && label <= distance + maxDistance) {
+          candidates.add(entry.getValue());
+        }
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Get the number of strings in the tree.
+   *
+   * @return the number of strings
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Node of BK-tree.
+   */
+  private static final class Node {
+    private Node(String nodeWord) {
+      this.word = nodeWord;
+    }
+
+    private final String word;
+
+    private final Map<Integer, Node> children = new HashMap<Integer, Node>();
+
+    private int maxLabel = 0;
+  }
+
+  private Node root;
+
+  private int size;
+
+  private final LevenshteinDistance levenshtein;
+}
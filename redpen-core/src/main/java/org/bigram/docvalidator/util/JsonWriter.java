@@ -0,0 +1,298 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.util;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streaming writer of JSON texts.
+ *
+ * The values are written into the given writer as they are passed, with
+ * the strings escaped inline, so no object tree is built. The writer
+ * checks the nesting of the objects and arrays, and puts the separators.
+ * More than one value can be written at the top level, for example to
+ * write newline-delimited JSON, in which case the caller writes the
+ * delimiters into the underlying writer between the values.
+ */
+public final class JsonWriter implements Flushable {
+  /**
+   * Constructor.
+   *
+   * @param writer destination of JSON texts
+   */
+  public JsonWriter(Writer writer) {
+    if (writer == null) {
+      throw new IllegalArgumentException("argument Writer is null");
+    }
+    this.out = writer;
+    this.stack = new int[INITIAL_DEPTH];
+    this.depth = 1;
+    this.stack[0] = TOP_LEVEL;
+  }
+
+  /**
+   * Begin an object.
+   *
+   * @return this writer
+   * @throws IOException when failed to write
+   */
+  public JsonWriter beginObject() throws IOException {
+    beforeValue();
+    push(EMPTY_OBJECT);
+    out.write('{');
+    return this;
+  }
+
+  /**
+   * End the current object.
+   *
+   * @return this writer
+   * @throws IOException when failed to write
+   */
+  public JsonWriter endObject() throws IOException {
+    int context = peek();
+    if (context != EMPTY_OBJECT && context != NONEMPTY_OBJECT) {
+      throw new IllegalStateException("Not in an object");
+    }
+    depth--;
+    out.write('}');
+    return this;
+  }
+
+  /**
+   * Begin an array.
+   *
+   * @return this writer
+   * @throws IOException when failed to write
+   */
+  public JsonWriter beginArray() throws IOException {
+    beforeValue();
+    push(EMPTY_ARRAY);
+    out.write('[');
+    return this;
+  }
+
+  /**
+   * End the current array.
+   *
+   * @return this writer
+   * @throws IOException when failed to write
+   */
+  public JsonWriter endArray() throws IOException {
+    int context = peek();
+    if (context != EMPTY_ARRAY && context != NONEMPTY_ARRAY) {
+      throw new IllegalStateException("Not in an array");
+    }
+    depth--;
+    out.write(']');
+    return this;
+  }
+
+  /**
+   * Write the name of the next member of the current object.
+   *
+   * @param name member name
+   * @return this writer
+   * @throws IOException when failed to write
+   */
+  public JsonWriter name(String name) throws IOException {
+    if (name == null) {
+      throw new IllegalArgumentException("argument name is null");
+    }
+    int context = peek();
+    if (context == NONEMPTY_OBJECT) {
+      out.write(',');
+    } else if (context != EMPTY_OBJECT) {
+      throw new IllegalStateException("Not in an object");
+    }
+    stack[depth - 1] = DANGLING_NAME;
+    writeString(name);
+    out.write(':');
+    return this;
+  }
+
+  /**
+   * Write a string value.
+   *
+   * @param value string, or null
+   * @return this writer
+   * @throws IOException when failed to write
+   */
+  public JsonWriter value(CharSequence value) throws IOException {
+    if (value == null) {
+      return nullValue();
+    }
+    beforeValue();
+    writeString(value);
+    return this;
+  }
+
+  /**
+   * Write a number value.
+   *
+   * @param value number
+   * @return this writer
+   * @throws IOException when failed to write
+   */
+  public JsonWriter value(long value) throws IOException {
+    beforeValue();
+    out.write(Long.toString(value));
+    return this;
+  }
+
+  /**
+   * Write a boolean value.
+   *
+   * @param value boolean
+   * @return this writer
+   * @throws IOException when failed to write
+   */
+  public JsonWriter value(boolean value) throws IOException {
+    beforeValue();
+    out.write(value ? "true" : "false");
+    return this;
+  }
+
+  /**
+   * Write null.
+   *
+   * @return this writer
+   * @throws IOException when failed to write
+   */
+  public JsonWriter nullValue() throws IOException {
+    beforeValue();
+    out.write("null");
+    return this;
+  }
+
+  /**
+   * Flush the underlying writer.
+   *
+   * @throws IOException when failed to flush
+   */
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  private void beforeValue() throws IOException {
+    switch (peek()) {
+      case TOP_LEVEL:
+        break;
+      case EMPTY_ARRAY:
+        stack[depth - 1] = NONEMPTY_ARRAY;
+        break;
+      case NONEMPTY_ARRAY:
+        out.write(',');
+        break;
+      case DANGLING_NAME:
+        stack[depth - 1] = NONEMPTY_OBJECT;
+        break;
+      default:
+        throw new IllegalStateException("Name is expected in an object");
+    }
+  }
+
+  private int peek() {
+    return stack[depth - 1];
+  }
+
+  private void push(int context) {
+    if (depth == stack.length) {
+      int[] newStack = new int[depth * 2];
+      System.arraycopy(stack, 0, newStack, 0, depth);
+      stack = newStack;
+    }
+    stack[depth++] = context;
+  }
+
+  private void writeString(CharSequence value) throws IOException {
+    out.write('"');
+    int last = 0;
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      String replacement;
+      if (c < REPLACEMENTS.length) {
+        replacement = REPLACEMENTS[c];
+        if (replacement == null) {
+          continue;
+        }
+      } else if (c == LINE_SEPARATOR || c == PARAGRAPH_SEPARATOR) {
+        // NOTE: escaped to be embedded in JavaScript
+        replacement = c == LINE_SEPARATOR ? "\\u2028" : "\\u2029";
+      } else {
+        continue;
+      }
+      if (last < i) {
+        out.append(value, last, i);
+      }
+      out.write(replacement);
+      last = i + 1;
+    }
+    if (last < length) {
+      out.append(value, last, length);
+    }
+    out.write('"');
+  }
+
+  private static final int TOP_LEVEL = 0;
+
+  private static final int EMPTY_OBJECT = 1;
+
+  private static final int DANGLING_NAME = 2;
+
+  private static final int NONEMPTY_OBJECT = 3;
+
+  private static final int EMPTY_ARRAY = 4;
+
+  private static final int NONEMPTY_ARRAY = 5;
+
+  private static final int INITIAL_DEPTH = 8;
+
+  private static final char LINE_SEPARATOR = (char) 0x2028;
+
+  private static final char PARAGRAPH_SEPARATOR = (char) 0x2029;
+
+  /**
+   * Escape sequences of the characters to be escaped in strings, indexed
+   * by the characters.
+   */
+  private static final String[] REPLACEMENTS = new String[128];
+
+  static {
+    for (int i = 0; i < 0x20; i++) {
+      REPLACEMENTS[i] = String.format("\\u%04x", i);
+    }
+    REPLACEMENTS['"'] = "\\\"";
+    REPLACEMENTS['\\'] = "\\\\";
+    REPLACEMENTS['\t'] = "\\t";
+    REPLACEMENTS['\b'] = "\\b";
+    REPLACEMENTS['\n'] = "\\n";
+    REPLACEMENTS['\r'] = "\\r";
+    REPLACEMENTS['\f'] = "\\f";
+  }
+
+  private final Writer out;
+
+  private int[] stack;
+
+  private int depth;
+}
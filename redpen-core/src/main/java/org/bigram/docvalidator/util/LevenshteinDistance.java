@@ -23,7 +23,11 @@ package org.bigram.docvalidator.util;
  * For given two strings, provide the minimum number
  * of single-character edits (i.e. insertions, deletions
  * or substitutions). The default cost for each edit
- * is 1, and each value is configurable.
+ * is 1, and each value is configurable per instance.
+ *
+ * The distance is computed with two rows of the dynamic programming
+ * matrix, which are reused among the calls. Since the rows are kept in
+ * the instance, an instance should not be shared among threads.
  */
 public final class LevenshteinDistance {
   /**
@@ -41,115 +45,170 @@ public final class LevenshteinDistance {
    */
   public static final int DEFAULT_SUBSTITUTION_COST = 1;
 
-  private static int INSERTION_COST;
-  private static int DELETION_COST;
-  private static int SUBSTITUTION_COST;
-
-  static {
-    INSERTION_COST = DEFAULT_INSERTION_COST;
-    DELETION_COST = DEFAULT_DELETION_COST;
-    SUBSTITUTION_COST = DEFAULT_SUBSTITUTION_COST;
-  };
-
   /**
-   * Set the cost for "insertion".
-   * @param cost a cost for "insertion"
-   */
-  public static synchronized void setInsertionCost(int cost) {
-    INSERTION_COST = cost;
-  }
-
-  /**
-   * Set the cost for "deletion".
-   * @param cost a cost for "deletio"
-   */
-  public static synchronized void setDeletionCost(int cost) {
-    DELETION_COST = cost;
-  }
-
-  /**
-   * Set the cost for "substitution".
-   * @param cost a cost for "substitution"
-   */
-  public static synchronized void setSubstitutionCost(int cost) {
-    SUBSTITUTION_COST = cost;
-  }
-
-  /**
-   * Get the cost for "insertion".
-   * @return the cost for "insertion"
+   * Constructor with the default costs.
    */
-  public static int getInsertionCost() {
-    return INSERTION_COST;
+  public LevenshteinDistance() {
+    this(DEFAULT_INSERTION_COST, DEFAULT_DELETION_COST,
+        DEFAULT_SUBSTITUTION_COST);
   }
 
   /**
-   * Get the cost for "deletion".
-   * @return the cost for "deletion"
+   * Constructor.
+   *
+   * @param insertion    a cost for "insertion"
+   * @param deletion     a cost for "deletion"
+   * @param substitution a cost for "substitution"
    */
-  public static int getDeletionCost() {
-    return DELETION_COST;
+  public LevenshteinDistance(int insertion, int deletion, int substitution) {
+    if (insertion < 0 || deletion < 0 || substitution < 0) {
+      throw new IllegalArgumentException("Costs should not be negative");
+    }
+    this.insertionCost = insertion;
+    this.deletionCost = deletion;
+    this.substitutionCost = substitution;
+    this.previousRow = new int[INITIAL_ROW_SIZE];
+    this.currentRow = new int[INITIAL_ROW_SIZE];
   }
 
   /**
-   * Get the cost for "substitution".
-   * @return the cost for "substitution"
+   * Get the Levenshtein distance for given two strings with the default
+   * costs.
+   *
+   * @see http://en.wikipedia.org/wiki/Levenshtein_distance.
+   *
+   * @param a a string.
+   * @param b one another string.
+   * @return Levenshtein distance.
    */
-  public static int getSubstitutionCost() {
-    return SUBSTITUTION_COST;
+  public static int getDistance(CharSequence a, CharSequence b) {
+    return new LevenshteinDistance().distance(a, b);
   }
 
   /**
    * Get the Levenshtein distance for given two strings.
-   *
-   * @see http://en.wikipedia.org/wiki/Levenshtein_distance.
+   * A null string is regarded as an empty string.
    *
    * @param a a string.
    * @param b one another string.
    * @return Levenshtein distance.
    */
-  public static int getDistance(CharSequence a, CharSequence b) {
-    if (a == null && b == null) {
-      return 0;
-    }
-    if (a == null && b != null) {
-      return b.length() * INSERTION_COST;
+  public int distance(CharSequence a, CharSequence b) {
+    return distance(a, b, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Get the Levenshtein distance for given two strings when the distance
+   * is equal to or less than the given maximum distance. The computation
+   * stops as soon as the distance turns out to exceed the maximum.
+   * A null string is regarded as an empty string.
+   *
+   * @param a           a string.
+   * @param b           one another string.
+   * @param maxDistance maximum distance
+   * @return Levenshtein distance, or maxDistance + 1 when the distance is
+   * larger than maxDistance
+   */
+  public int distance(CharSequence a, CharSequence b, int maxDistance) {
+    if (a == null) {
+      a = "";
     }
-    if (a != null && b == null) {
-      return a.length() * INSERTION_COST;
+    if (b == null) {
+      b = "";
     }
-
     final int lengthA = a.length();
     final int lengthB = b.length();
-    int[][] distance = new int[lengthA + 1][lengthB + 1];
 
-    // Initialization
-    for (int i = 0; i < lengthA + 1; i++) {
-      distance[i][0] = i * DELETION_COST;
+    // the difference of the lengths needs insertions or deletions at least
+    long lowerBound = lengthA > lengthB
+        ? (long) (lengthA - lengthB) * deletionCost
+        : (long) (lengthB - lengthA) * insertionCost;
+    if (lowerBound > maxDistance) {
+      return exceeded(maxDistance);
     }
+
+    ensureRowSize(lengthB + 1);
+    int[] previous = previousRow;
+    int[] current = currentRow;
     for (int j = 0; j < lengthB + 1; j++) {
-      distance[0][j] = j * INSERTION_COST;
+      previous[j] = j * insertionCost;
     }
 
     for (int i = 1; i < lengthA + 1; i++) {
+      final char c = a.charAt(i - 1);
+      current[0] = i * deletionCost;
+      int rowMinimum = current[0];
       for (int j = 1; j < lengthB + 1; j++) {
-        if (a.charAt(i - 1) == b.charAt(j - 1)) {
-          distance[i][j] = distance[i - 1][j - 1];
+        if (c == b.charAt(j - 1)) {
+          current[j] = previous[j - 1];
         } else {
-          distance[i][j] = Math.min(Math.min(
-            distance[i - 1][j]     + DELETION_COST,
-            distance[i][j - 1]     + INSERTION_COST),
-            distance[i - 1][j - 1] + SUBSTITUTION_COST);
-       }
+          current[j] = Math.min(Math.min(
+              previous[j] + deletionCost,
+              current[j - 1] + insertionCost),
+              previous[j - 1] + substitutionCost);
+        }
+        if (current[j] < rowMinimum) {
+          rowMinimum = current[j];
+        }
       }
+      // every edit path passes through each row, and costs are not negative
+      if (rowMinimum > maxDistance) {
+        return exceeded(maxDistance);
+      }
+      int[] swap = previous;
+      previous = current;
+      current = swap;
     }
 
-    return distance[lengthA][lengthB];
+    int distance = previous[lengthB];
+    return distance > maxDistance ? exceeded(maxDistance) : distance;
   }
 
   /**
-   * Default Constructor.
+   * Get the cost for "insertion".
+   * @return the cost for "insertion"
+   */
+  public int getInsertionCost() {
+    return insertionCost;
+  }
+
+  /**
+   * Get the cost for "deletion".
+   * @return the cost for "deletion"
    */
-  private LevenshteinDistance() {
+  public int getDeletionCost() {
+    return deletionCost;
   }
+
+  /**
+   * Get the cost for "substitution".
+   * @return the cost for "substitution"
+   */
+  public int getSubstitutionCost() {
+    return substitutionCost;
+  }
+
+  private static int exceeded(int maxDistance) {
+    return maxDistance == Integer.MAX_VALUE ? maxDistance : maxDistance + 1;
+  }
+
+  private void ensureRowSize(int size) {
+    if (previousRow.length < size) {
+      int newSize = Math.max(size, previousRow.length * 2);
+      previousRow = new int[newSize];
+      currentRow = new int[newSize];
+    }
+  }
+
+  private static final int INITIAL_ROW_SIZE = 32;
+
+  private final int insertionCost;
+
+  private final int deletionCost;
+
+  private final int substitutionCost;
+
+  private int[] previousRow;
+
+  private int[] currentRow;
 }
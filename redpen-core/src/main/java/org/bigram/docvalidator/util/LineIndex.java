@@ -0,0 +1,97 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.util;
+
+import java.util.Arrays;
+
+/**
+ * Index of the starts of the lines of a text, to find the line containing
+ * a character offset by binary search.
+ */
+public final class LineIndex {
+  /**
+   * Constructor.
+   *
+   * @param lineStarts offsets where the lines start, in strictly ascending
+   *                   order and starting with 0, not copied
+   * @param lineCount  number of the lines
+   */
+  public LineIndex(int[] lineStarts, int lineCount) {
+    if (lineCount < 1 || lineStarts.length < lineCount
+        || lineStarts[0] != 0) {
+      throw new IllegalArgumentException("Invalid line starts");
+    }
+    this.lineStarts = lineStarts;
+    this.lineCount = lineCount;
+  }
+
+  /**
+   * Get the line containing the given offset.
+   *
+   * @param offset character offset in the text
+   * @return line number starting from 0, the last line for the offsets
+   * after the end of the text
+   */
+  public int getLineNumber(int offset) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("Negative offset: " + offset);
+    }
+    int index = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+    if (index < 0) {
+      // NOTE: the line starting just before the insertion point
+      return -index - 2;
+    }
+    return index;
+  }
+
+  /**
+   * Get the offset where the given line starts.
+   *
+   * @param lineNumber line number starting from 0
+   * @return offset of the first character of the line
+   */
+  public int getLineStart(int lineNumber) {
+    if (lineNumber < 0 || lineCount <= lineNumber) {
+      throw new IndexOutOfBoundsException("No line " + lineNumber);
+    }
+    return lineStarts[lineNumber];
+  }
+
+  /**
+   * Get the column of the given offset in its line.
+   *
+   * @param offset character offset in the text
+   * @return column starting from 0
+   */
+  public int getColumn(int offset) {
+    return offset - lineStarts[getLineNumber(offset)];
+  }
+
+  /**
+   * Get the number of the lines.
+   *
+   * @return number of the lines
+   */
+  public int getLineCount() {
+    return lineCount;
+  }
+
+  private final int[] lineStarts;
+
+  private final int lineCount;
+}
@@ -0,0 +1,205 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Scanner to detect the ends of the sentences in a line.
+ *
+ * The end characters are compiled into a lookup table indexed by the
+ * characters, and the line is scanned forward only once to find all the
+ * ends of sentences, without creating substrings. The rules are the same
+ * as {@link StringUtils#getSentenceEndPosition(String,
+ * java.util.regex.Pattern)}. Instances are immutable and can be shared by
+ * threads.
+ */
+public final class SentenceBoundaryScanner {
+  /**
+   * Constructor.
+   *
+   * @param endCharacters characters used in the end of sentences such as
+   *                      period
+   */
+  public SentenceBoundaryScanner(Collection<String> endCharacters) {
+    if (endCharacters == null || endCharacters.size() == 0) {
+      throw new IllegalArgumentException("No end character is specified");
+    }
+    List<String> longStopList = new ArrayList<String>();
+    for (String endCharacter : endCharacters) {
+      if (endCharacter == null || endCharacter.length() == 0) {
+        throw new IllegalArgumentException("Empty end character");
+      }
+      if (endCharacter.length() == 1) {
+        singleStops.set(endCharacter.charAt(0));
+      } else {
+        leadingStops.set(endCharacter.charAt(0));
+        longStopList.add(endCharacter);
+      }
+    }
+    this.longStops = longStopList.toArray(new String[longStopList.size()]);
+  }
+
+  /**
+   * Get the end position of the first sentence in the given line.
+   *
+   * @param line input line
+   * @return position of full stop when there is a full stop, -1 otherwise
+   */
+  public int getSentenceEndPosition(CharSequence line) {
+    return nextEnd(line, 0, new TableCursor(line));
+  }
+
+  /**
+   * Get the end positions of all the sentences in the given line.
+   *
+   * @param line input line
+   * @return positions of the full stops ending the sentences, in ascending
+   * order
+   */
+  public int[] getSentenceEndPositions(CharSequence line) {
+    FullStopCursor cursor = new TableCursor(line);
+    int[] ends = new int[INITIAL_CAPACITY];
+    int count = 0;
+    int end = nextEnd(line, 0, cursor);
+    while (end != -1) {
+      if (count == ends.length) {
+        ends = Arrays.copyOf(ends, count * 2);
+      }
+      ends[count++] = end;
+      end = nextEnd(line, end + 1, cursor);
+    }
+    return Arrays.copyOf(ends, count);
+  }
+
+  /**
+   * Find the end of the first sentence starting at the given offset.
+   *
+   * @param str    input string
+   * @param offset position where the sentence starts
+   * @param cursor full stops of the string, the offsets given to the
+   *               cursor must not decrease
+   * @return position of full stop when there is a full stop, -1 otherwise
+   */
+  static int nextEnd(CharSequence str, int offset, FullStopCursor cursor) {
+    int length = str.length();
+    while (true) {
+      int position = cursor.find(offset);
+      if (position == -1) {
+        return -1;
+      }
+      if (position == length - 1) {
+        // NOTE: period in end of sentence should be the end of the sentence
+        // even if there is NO tailing whitespace.
+        return position;
+      }
+      if (StringUtils.isBasicLatin(str.charAt(position))
+          && ' ' == str.charAt(position + 1)) {
+        return position;
+      }
+      int nextPosition = position + 1;
+      int matchPosition = cursor.find(nextPosition);
+      if (matchPosition > -1
+          && !StringUtils.isBasicLatin(str.charAt(matchPosition))
+          && matchPosition != nextPosition) {
+        // NOTE: Non Latin languages (especially Asian languages, periods do
+        // not have tailing spaces in the end of sentences)
+        return position;
+      }
+      // NOTE: period in succession is handled in the next iteration
+      offset = nextPosition;
+    }
+  }
+
+  private boolean isFullStop(CharSequence str, int position) {
+    char c = str.charAt(position);
+    if (singleStops.get(c)) {
+      return true;
+    }
+    if (leadingStops.get(c)) {
+      for (String stop : longStops) {
+        if (StringUtils.startsWith(str, position, stop)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Forward iterator on the full stops of a string.
+   */
+  abstract static class FullStopCursor {
+    /**
+     * Get the first full stop at or after the given position.
+     *
+     * @param from start position, not less than the previous one
+     * @return position of the full stop, -1 when there is no more full stop
+     */
+    final int find(int from) {
+      if (found >= from || found == -1) {
+        return found;
+      }
+      found = scan(from);
+      return found;
+    }
+
+    /**
+     * Scan the string for the first full stop at or after the given
+     * position.
+     *
+     * @param from start position
+     * @return position of the full stop, -1 when there is no more full stop
+     */
+    abstract int scan(int from);
+
+    private int found = NOT_SCANNED;
+  }
+
+  private final class TableCursor extends FullStopCursor {
+    TableCursor(CharSequence str) {
+      this.str = str;
+    }
+
+    @Override
+    int scan(int from) {
+      for (int i = from; i < str.length(); i++) {
+        if (isFullStop(str, i)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private final CharSequence str;
+  }
+
+  private static final int NOT_SCANNED = -2;
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  private final BitSet singleStops = new BitSet();
+
+  private final BitSet leadingStops = new BitSet();
+
+  private final String[] longStops;
+}
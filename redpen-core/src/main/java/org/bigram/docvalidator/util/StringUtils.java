@@ -30,72 +30,75 @@ public final class StringUtils {
    * @param str    input string
    * @param pattern pattern of end of sentence
    * @return position of full stop when there is a full stop, -1 otherwise
+   * @see SentenceBoundaryScanner
    */
   public static int getSentenceEndPosition(String str, Pattern pattern) {
-    return getEndPosition(str, pattern, 0);
+    final Matcher matcher = pattern.matcher(str);
+    return SentenceBoundaryScanner.nextEnd(str, 0,
+        new SentenceBoundaryScanner.FullStopCursor() {
+          @Override
+          int scan(int from) {
+            return matcher.find(from) ? matcher.start() : -1;
+          }
+        });
   }
 
-  private static int getEndPosition(String str, Pattern pattern, int offset) {
-    int position = -1;
-    Matcher matcher = pattern.matcher(str);
-    if (matcher.find(offset)) {
-      position = matcher.start();
+  /**
+   * Get the position of the first occurrence of a string in a text, as
+   * {@link String#indexOf(String, int)} does, without copying the text.
+   *
+   * @param str       text to search
+   * @param target    string to find
+   * @param fromIndex position to start the search from
+   * @return position of the string, -1 when it is not found
+   */
+  public static int indexOf(CharSequence str, String target, int fromIndex) {
+    if (str instanceof String) {
+      return ((String) str).indexOf(target, fromIndex);
     }
-
-    if (checkPosition(position, str)) {
-      if ((isBasicLatin(str.charAt(position))
-          && ' ' == str.charAt(position + 1))) {
-        return position;
-      }
-      return handleSuccessivePeriods(str, pattern, position);
+    int from = Math.max(fromIndex, 0);
+    if (target.length() == 0) {
+      return Math.min(from, str.length());
     }
-
-    if (position == str.length() - 1) {
-      // NOTE: period in end of sentence should be the end of the sentence
-      // even if there is NO tailing whitespace.
-      return position;
+    char first = target.charAt(0);
+    int last = str.length() - target.length();
+    for (int i = from; i <= last; i++) {
+      if (str.charAt(i) == first && startsWith(str, i, target)) {
+        return i;
+      }
     }
     return -1;
   }
 
-  private static int handleSuccessivePeriods(String str,
-                                             Pattern pattern, int position) {
-    int nextPosition = position + 1;
-    Matcher matcher = pattern.matcher(str);
-    int matchPosition = -1;
-    if (matcher.find(nextPosition)) {
-      matchPosition = matcher.start();
-    }
-
-    if (matchPosition > -1 && (!isBasicLatin(str.charAt(matchPosition)))
-        && matchPosition != nextPosition) {
-      // NOTE: Non Latin languages (especially Asian languages, periods do not
-      // have tailing spaces in the end of sentences)
-      return position;
+  /**
+   * Check if a text contains a string at a position.
+   *
+   * @param str      text to check
+   * @param position position of the string in the text
+   * @param prefix   string to check
+   * @return true when the string is at the position
+   */
+  public static boolean startsWith(CharSequence str, int position,
+                                   String prefix) {
+    if (position < 0 || position + prefix.length() > str.length()) {
+      return false;
     }
-
-    if (matchPosition == nextPosition) {
-      // NOTE: handling of period in succession
-      if ((position + 1) == str.length() - 1) {
-        return nextPosition;
-      } else {
-        return getEndPosition(str, pattern, nextPosition);
+    for (int i = 0; i < prefix.length(); i++) {
+      if (str.charAt(position + i) != prefix.charAt(i)) {
+        return false;
       }
-    } else {
-      return getEndPosition(str, pattern, nextPosition);
     }
-  }
-
-  private static boolean checkPosition(int position, String str) {
-    return -1 < position && position < str.length() - 1;
+    return true;
   }
 
   public static boolean isKatakana(char c) {
-    return java.lang.Character.UnicodeBlock.of(c) == java.lang.Character.UnicodeBlock.KATAKANA;
+    // range of Character.UnicodeBlock.KATAKANA
+    return '\u30A0' <= c && c <= '\u30FF';
   }
 
   public static boolean isBasicLatin(char c) {
-    return java.lang.Character.UnicodeBlock.of(c) == java.lang.Character.UnicodeBlock.BASIC_LATIN;
+    // range of Character.UnicodeBlock.BASIC_LATIN
+    return c <= '\u007F';
   }
 
   private StringUtils() {
@@ -0,0 +1,31 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.validator;
+
+/**
+ * Marker of the sentence and section validators keeping states between
+ * sentences or sections in the ValidationContext.
+ *
+ * The results of such a validator depend on the order of the validated
+ * sentences. When the sections are validated in parallel, DocumentValidator
+ * applies the stateful validators one section after another in the order
+ * of the document, so that they report the same errors as the sequential
+ * execution.
+ */
+public interface StatefulValidator {
+}
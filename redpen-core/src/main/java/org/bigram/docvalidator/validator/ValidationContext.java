@@ -0,0 +1,92 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.validator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Mutable state of a validation run.
+ *
+ * Validators are created once per configuration and shared among runs
+ * and threads, therefore they must not modify their own fields while
+ * validating. A validator which needs to remember something between
+ * sentences or sections (e.g. the words appearing in the previous
+ * sentences) keeps it in the context of the run instead.
+ *
+ * DocumentValidator creates a context for each run, which is shared by
+ * all the documents checked in the run, and for each document validated
+ * alone (e.g. the documents sent to the server). The states are
+ * stored with the validator instances as the keys, so a validator does
+ * not see the states of the other validators. The results of a validator
+ * which has accessed its state depend on the previous sentences, and are
+ * not stored in the ValidationResultCache.
+ */
+public final class ValidationContext {
+  /**
+   * Constructor.
+   */
+  public ValidationContext() {
+    this.states = new ConcurrentHashMap<Object, Object>();
+    this.users = new ConcurrentHashMap<Object, Boolean>();
+  }
+
+  /**
+   * Get the state of the given validator in this run.
+   *
+   * @param validator validator owning the state
+   * @param <T>       type of the state
+   * @return the state, or null when the validator has no state yet
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T getState(Object validator) {
+    users.put(validator, Boolean.TRUE);
+    return (T) states.get(validator);
+  }
+
+  /**
+   * Set the state of the given validator unless the validator already has
+   * a state in this run.
+   *
+   * @param validator validator owning the state
+   * @param state     initial state
+   * @param <T>       type of the state
+   * @return the state of the validator, which is the given state when the
+   * validator had no state
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T putStateIfAbsent(Object validator, T state) {
+    users.put(validator, Boolean.TRUE);
+    T current = (T) states.putIfAbsent(validator, state);
+    return current != null ? current : state;
+  }
+
+  /**
+   * Check whether the given validator has accessed its state in this run.
+   *
+   * @param validator validator
+   * @return true when the validator has got or set its state
+   */
+  public boolean isUsedBy(Object validator) {
+    return users.containsKey(validator);
+  }
+
+  private final ConcurrentMap<Object, Object> states;
+
+  private final ConcurrentMap<Object, Boolean> users;
+}
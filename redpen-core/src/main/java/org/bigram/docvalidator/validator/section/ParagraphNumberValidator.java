@@ -24,6 +24,7 @@ import org.bigram.docvalidator.model.Section;
 import org.bigram.docvalidator.config.CharacterTable;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 /**
  * Validate paragraph number. If a section has paragraphs more than specified,
@@ -47,14 +48,14 @@ public class ParagraphNumberValidator extends AbstractSectionValidator {
   }
 
   @Override
-  public List<ValidationError> validate(Section section) {
+  public List<ValidationError> validate(Section section,
+      ValidationContext context) {
     List<ValidationError> validationErrors = new ArrayList<ValidationError>();
     int paragraphNumber = section.getNumberOfParagraphs();
     if (maxParagraphs < paragraphNumber) {
       validationErrors.add(new ValidationError(
-          this.getClass(),
-          "The number of the paragraphs exceeds the maximum "
-              + String.valueOf(paragraphNumber), section.getHeaderContent(0)));
+          this.getClass(), section.getHeaderContent(0), "ParagraphNumber",
+          paragraphNumber));
       return validationErrors;
     }
     return validationErrors;
@@ -23,11 +23,13 @@ import java.util.ArrayList;
 import org.bigram.docvalidator.config.CharacterTable;
 import org.bigram.docvalidator.model.Section;
 import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.bigram.docvalidator.model.Paragraph;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 /**
  * Validate whether paragraph start as specified.
@@ -54,18 +56,18 @@ public class ParagraphStartWithValidator extends AbstractSectionValidator {
   }
 
   @Override
-  public List<ValidationError> validate(Section section) {
+  public List<ValidationError> validate(Section section,
+      ValidationContext context) {
     List<ValidationError> validationErrors = new ArrayList<ValidationError>();
     for (Paragraph currentParagraph : section.getParagraphs()) {
       if (currentParagraph.getNumberOfSentences() == 0) {
         continue;
       }
       Sentence firstSentence = currentParagraph.getSentence(0);
-      if (firstSentence.content.indexOf(this.beginningOfParagraph) != 0) {
+      if (!StringUtils.startsWith(firstSentence.getText(), 0,
+          this.beginningOfParagraph)) {
         validationErrors.add(new ValidationError(
-            this.getClass(),
-            "Found invalid beginning of paragraph: \"",
-            firstSentence));
+            this.getClass(), firstSentence, "ParagraphStartWith"));
       }
     }
 
@@ -25,6 +25,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.bigram.docvalidator.model.Paragraph;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -47,21 +48,19 @@ public class SectionLengthValidator extends AbstractSectionValidator {
   }
 
   @Override
-  public List<ValidationError> validate(Section section) {
+  public List<ValidationError> validate(Section section,
+      ValidationContext context) {
     List<ValidationError> validationErrors = new ArrayList<ValidationError>();
     int sectionCharNumber = 0;
 
     for (Paragraph currentParagraph : section.getParagraphs()) {
       for (Sentence sentence : currentParagraph.getSentences()) {
-        sectionCharNumber += sentence.content.length();
+        sectionCharNumber += sentence.getLength();
       }
       if (sectionCharNumber > maxSectionCharNumber) {
         ValidationError error = new ValidationError(
-          this.getClass(),
-          "The number of the character exceeds the maximum \""
-            + String.valueOf(sectionCharNumber) + "\".",
-          section.getHeaderContent(0)
-        );
+          this.getClass(), section.getHeaderContent(0), "SectionLength",
+          sectionCharNumber);
         validationErrors.add(error);
       }
     }
@@ -19,6 +19,7 @@ package org.bigram.docvalidator.validator.section;
 
 import org.bigram.docvalidator.model.Section;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 import java.util.List;
 
@@ -27,6 +28,17 @@ import java.util.List;
  */
 public interface SectionValidator {
 
-  List<ValidationError> validate(Section section);
+  /**
+   * Check input section and returns the invalid points.
+   *
+   * A validator instance is shared among threads, so implementations must
+   * not modify their fields in this method. States kept between sections
+   * should be stored in the given context.
+   *
+   * @param section input
+   * @param context state of the current validation run
+   * @return list of invalid points
+   */
+  List<ValidationError> validate(Section section, ValidationContext context);
 
 }
@@ -24,9 +24,11 @@ import java.util.List;
 import org.bigram.docvalidator.DocumentValidatorException;
 import org.bigram.docvalidator.config.CharacterTable;
 import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
 
 /**
@@ -57,21 +59,19 @@ public class CommaNumberValidator implements SentenceValidator {
     initialize(config, characterTable);
   }
 
-  public List<ValidationError> validate(Sentence line) {
+  public List<ValidationError> validate(Sentence line,
+      ValidationContext context) {
     List<ValidationError> result = new ArrayList<ValidationError>();
-    String content = line.content;
+    CharSequence content = line.getText();
     int commaCount =  0;
-    int position = 0;
-    while (position != -1) {
-      position = content.indexOf(this.comma);
+    int position = -1;
+    do {
+      position = StringUtils.indexOf(content, this.comma, position + 1);
       commaCount++;
-      content = content.substring(position + 1, content.length());
-    }
+    } while (position != -1);
     if (maxCommaNum < commaCount) {
       result.add(new ValidationError(
-          this.getClass(),
-          "The number of comma is exceeds the maximum \""
-          + String.valueOf(commaCount) + "\".", line));
+          this.getClass(), line, "CommaNumber", commaCount));
     }
     return result;
   }
@@ -23,7 +23,9 @@ import java.util.Set;
 
 import org.bigram.docvalidator.DocumentValidatorException;
 import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.util.StringUtils;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 import org.bigram.docvalidator.config.CharacterTable;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
 
@@ -40,7 +42,8 @@ public class InvalidCharacterValidator implements SentenceValidator {
   public InvalidCharacterValidator() {
   }
 
-  public List<ValidationError> validate(Sentence sentence) {
+  public List<ValidationError> validate(Sentence sentence,
+      ValidationContext context) {
     List<ValidationError> errors = new ArrayList<ValidationError>();
     Set<String> names = characterTable.getNames();
     for (String name : names) {
@@ -63,15 +66,13 @@ public class InvalidCharacterValidator implements SentenceValidator {
   }
 
   private ValidationError validateCharacter(Sentence sentence, String name) {
-    String sentenceStr = sentence.content;
+    CharSequence sentenceStr = sentence.getText();
     org.bigram.docvalidator.config.Character character = characterTable.getCharacter(name);
     List<String> invalidCharsList = character.getInvalidChars();
     for (String invalidChar : invalidCharsList) {
-      if (sentenceStr.contains(invalidChar)) {
+      if (StringUtils.indexOf(sentenceStr, invalidChar, 0) >= 0) {
         return new ValidationError(
-            this.getClass(),
-            "Invalid symbol found: \"" + invalidChar + "\"",
-            sentence);
+            this.getClass(), sentence, "InvalidCharacter", invalidChar);
       }
     }
     return null;
@@ -20,11 +20,13 @@ package org.bigram.docvalidator.validator.sentence;
 import org.bigram.docvalidator.DocumentValidatorException;
 import org.bigram.docvalidator.config.CharacterTable;
 import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.util.AhoCorasickMatcher;
 import org.bigram.docvalidator.util.FileLoader;
 import org.bigram.docvalidator.util.WordListExtractor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
 
 import java.util.ArrayList;
@@ -40,28 +42,42 @@ public class InvalidExpressionValidator implements SentenceValidator {
    * Constructor.
    */
   public InvalidExpressionValidator() {
-    invalidExpressions = new HashSet<String>();
+    setInvalidExpressions(new HashSet<String>());
   }
 
   public InvalidExpressionValidator(ValidatorConfiguration config,
                                     CharacterTable characterTable)
       throws DocumentValidatorException {
+    setInvalidExpressions(new HashSet<String>());
     initialize(config);
   }
 
-  public List<ValidationError> validate(Sentence line) {
+  public List<ValidationError> validate(Sentence line,
+      ValidationContext context) {
     List<ValidationError> result = new ArrayList<ValidationError>();
-    String str = line.content;
-    for (String w : invalidExpressions) {
-      if (str.contains(w)) {
-        result.add(new ValidationError(
-            this.getClass(),
-            "Found invalid expression: \"" + w + "\"", line));
+    Set<String> reported = new HashSet<String>();
+    for (AhoCorasickMatcher.Match match : matcher.find(line.getText())) {
+      String w = match.getPattern();
+      if (!reported.add(w)) {
+        continue;
       }
+      ValidationError error = new ValidationError(
+          this.getClass(), line, "InvalidExpression", w);
+      error.setPosition(match.getStartPosition(), match.getEndPosition());
+      result.add(error);
     }
     return result;
   }
 
+  /**
+   * Set invalid expressions and compile them into the matcher.
+   *
+   * @param expressions invalid expressions
+   */
+  protected void setInvalidExpressions(Set<String> expressions) {
+    this.matcher = new AhoCorasickMatcher(expressions);
+  }
+
   private boolean initialize(ValidatorConfiguration conf)
       throws DocumentValidatorException {
     String confFile = conf.getAttribute("dictionary");
@@ -75,11 +91,11 @@ public class InvalidExpressionValidator implements SentenceValidator {
     if (loader.loadFile(confFile) != 0) {
       return false;
     }
-    invalidExpressions = extractor.get();
+    setInvalidExpressions(extractor.get());
     return true;
   }
 
-  private Set<String> invalidExpressions;
+  private AhoCorasickMatcher matcher;
 
   private static final Logger LOG =
       LoggerFactory.getLogger(InvalidExpressionValidator.class);
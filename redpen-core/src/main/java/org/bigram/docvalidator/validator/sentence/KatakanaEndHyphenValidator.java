@@ -25,6 +25,7 @@ import org.bigram.docvalidator.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -68,12 +69,14 @@ public class KatakanaEndHyphenValidator implements SentenceValidator {
     initialize(config, characterTable);
   }
 
-  public List<ValidationError> validate(Sentence sentence) {
+  public List<ValidationError> validate(Sentence sentence,
+      ValidationContext context) {
     List<ValidationError> errors = new ArrayList<ValidationError>();
     List<ValidationError> result;
     StringBuffer katakana = new StringBuffer("");
-    for (int i = 0; i < sentence.content.length(); i++) {
-      char c = sentence.content.charAt(i);
+    CharSequence text = sentence.getText();
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
       if (StringUtils.isKatakana(c) && c != KATAKANA_MIDDLE_DOT) {
         katakana.append(c);
       } else {
@@ -96,9 +99,8 @@ public class KatakanaEndHyphenValidator implements SentenceValidator {
     List<ValidationError> errors = new ArrayList<ValidationError>();
     if (isKatakanaEndHyphen(katakana)) {
       errors.add(new ValidationError(
-          this.getClass(),
-          "Invalid Katakana end hypen found \"" + katakana.toString() + "\"",
-          sentence));
+          this.getClass(), sentence, "KatakanaEndHyphen",
+          katakana.toString()));
     }
     return errors;
   }
@@ -25,9 +25,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.bigram.docvalidator.model.Sentence;
 import org.bigram.docvalidator.config.CharacterTable;
+import org.bigram.docvalidator.util.BKTree;
 import org.bigram.docvalidator.util.StringUtils;
-import org.bigram.docvalidator.util.LevenshteinDistance;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.StatefulValidator;
+import org.bigram.docvalidator.validator.ValidationContext;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
 import org.bigram.docvalidator.DocumentValidatorException;
 
@@ -50,8 +52,13 @@ import org.bigram.docvalidator.DocumentValidatorException;
  * length of Katakana word. And if the length of a Katakana
  * word is smaller than the threshold, we do not detect
  * the similarity.
+ *
+ * The Katakana words found in the previous sentences are kept in the
+ * given ValidationContext, so that a validator instance can be shared
+ * among the validation runs.
  */
-public class KatakanaSpellCheckValidator implements SentenceValidator {
+public class KatakanaSpellCheckValidator
+    implements SentenceValidator, StatefulValidator {
   /**
    * The default similarity ratio between the length and the distance.
    */
@@ -61,65 +68,66 @@ public class KatakanaSpellCheckValidator implements SentenceValidator {
    * to ignore.
    */
   private static final int MAX_IGNORE_KATAKANA_LENGTH = 3;
-  /**
-   * Katakana word dic with line number.
-   */
-  private HashMap<String, Integer> dic = new HashMap<String, Integer>();
-
   public KatakanaSpellCheckValidator(ValidatorConfiguration config,
                                      CharacterTable characterTable)
       throws DocumentValidatorException {
     initialize(config, characterTable);
   }
 
-  public List<ValidationError> validate(Sentence sentence) {
+  public List<ValidationError> validate(Sentence sentence,
+      ValidationContext context) {
+    KatakanaDictionary dictionary = context.getState(this);
+    if (dictionary == null) {
+      dictionary = context.putStateIfAbsent(this, new KatakanaDictionary());
+    }
     List<ValidationError> errors = new ArrayList<ValidationError>();
     List<ValidationError> result;
     StringBuilder katakana = new StringBuilder("");
-    for (int i = 0; i < sentence.content.length(); i++) {
-      char c = sentence.content.charAt(i);
+    CharSequence text = sentence.getText();
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
       if (StringUtils.isKatakana(c)) {
         katakana.append(c);
       } else {
-        result = this.checkKatakanaSpell(sentence, katakana.toString());
+        result = checkKatakanaSpell(dictionary, sentence,
+            katakana.toString());
         if (result != null) {
           errors.addAll(result);
         }
         katakana.delete(0, katakana.length());
       }
     }
-    result = checkKatakanaSpell(sentence, katakana.toString());
+    result = checkKatakanaSpell(dictionary, sentence, katakana.toString());
     if (result != null) {
       errors.addAll(result);
     }
     return errors;
   }
 
-  private List<ValidationError> checkKatakanaSpell(Sentence sentence,
-      String katakana) {
+  private List<ValidationError> checkKatakanaSpell(
+      KatakanaDictionary dictionary, Sentence sentence, String katakana) {
     if (katakana.length() <= MAX_IGNORE_KATAKANA_LENGTH) {
       return null;
     }
-    if (dic.containsKey(katakana)) {
-      return null;
-    }
     final int minLsDistance =
       Math.round(katakana.length() * SIMILARITY_RATIO);
-    boolean found = false;
     List<ValidationError> errors = new ArrayList<ValidationError>();
-    for (String key : dic.keySet()) {
-      if (LevenshteinDistance.getDistance(key, katakana) <= minLsDistance) {
+    // NOTE: a context given to DocumentValidator can be shared by threads
+    synchronized (dictionary) {
+      if (dictionary.dic.containsKey(katakana)) {
+        return null;
+      }
+      boolean found = false;
+      for (String key : dictionary.index.search(katakana, minLsDistance)) {
         found = true;
         errors.add(new ValidationError(
-            this.getClass(),
-          "Found a Katakana word: \"" + katakana + "\""
-          + ", which is similar to \"" + key + "\""
-          + " at postion " + dic.get(key).toString() + ".",
-          sentence));
+            this.getClass(), sentence, "KatakanaSpellCheck",
+            katakana, key, dictionary.dic.get(key)));
+      }
+      if (!found) {
+        dictionary.dic.put(katakana, sentence.position);
+        dictionary.index.add(katakana);
       }
-    }
-    if (!found) {
-      dic.put(katakana, sentence.position);
     }
     return errors;
   }
@@ -137,6 +145,21 @@ public class KatakanaSpellCheckValidator implements SentenceValidator {
     return true;
   }
 
+  /**
+   * Katakana words found in a validation run.
+   */
+  private static final class KatakanaDictionary {
+    /**
+     * Katakana word dic with line number.
+     */
+    private final HashMap<String, Integer> dic =
+        new HashMap<String, Integer>();
+    /**
+     * Index of the Katakana words in dic to search similar words.
+     */
+    private final BKTree index = new BKTree();
+  }
+
   private static Logger LOG =
       LoggerFactory.getLogger(KatakanaSpellCheckValidator.class);
 }
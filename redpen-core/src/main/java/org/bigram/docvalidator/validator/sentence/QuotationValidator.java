@@ -23,7 +23,9 @@ import java.util.List;
 import org.bigram.docvalidator.DocumentValidatorException;
 import org.bigram.docvalidator.config.CharacterTable;
 import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.util.StringUtils;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
 import org.bigram.docvalidator.symbol.DefaultSymbols;
 import org.bigram.docvalidator.config.Character;
@@ -84,7 +86,8 @@ public class QuotationValidator implements SentenceValidator {
   }
 
   @Override
-  public List<ValidationError> validate(Sentence sentence) {
+  public List<ValidationError> validate(Sentence sentence,
+      ValidationContext context) {
     List<ValidationError> errors = new ArrayList<ValidationError>();
     // validate single quotation
     List<ValidationError> result = this.checkQuotation(sentence,
@@ -143,7 +146,7 @@ public class QuotationValidator implements SentenceValidator {
   private List<ValidationError> checkQuotation(Sentence sentence,
       Character leftQuotation,
       Character rightQuotation) {
-    String sentenceString = sentence.content;
+    CharSequence sentenceString = sentence.getText();
     List<ValidationError> errors = new ArrayList<ValidationError>();
     int leftPosition = 0;
     int rightPosition = 0;
@@ -165,19 +168,15 @@ public class QuotationValidator implements SentenceValidator {
       // validate if left and right quote pair exists
       if (leftPosition >= 0 && rightPosition < 0) {
         errors.add(new ValidationError(
-            this.getClass(),
-            "Right Quotation mark does not exist."
-            + String.valueOf(sentence.content.length()),
-            sentence));
+            this.getClass(), sentence, "Quotation.RightMissing",
+            sentence.getLength()));
         break;
       }
 
       if (leftPosition < 0 && rightPosition >= 0) {
         errors.add(new ValidationError(
-            this.getClass(),
-            "left Quotation mark does not exist."
-            + String.valueOf(sentence.content.length()),
-            sentence));
+            this.getClass(), sentence, "Quotation.LeftMissing",
+            sentence.getLength()));
         break;
       }
 
@@ -192,25 +191,19 @@ public class QuotationValidator implements SentenceValidator {
 
       if (nextLeftPosition < rightPosition && nextLeftPosition > 0) {
         errors.add(new ValidationError(
-            this.getClass(),
-            "Twice Right Quotation marks in succession.",
-            sentence));
+            this.getClass(), sentence, "Quotation.TwiceRight"));
       }
 
       if (nextRightPosition < leftPosition && nextRightPosition > 0) {
         errors.add(new ValidationError(
-            this.getClass(),
-            "Twice Left Quotation marks in succession.",
-            sentence));
+            this.getClass(), sentence, "Quotation.TwiceLeft"));
       }
 
       // validate if quotes have white spaces
       if (leftPosition > 0 && leftQuotation.isNeedBeforeSpace()
           && (sentenceString.charAt(leftPosition - 1) != ' ')) {
         errors.add(new ValidationError(
-            this.getClass(),
-            "Left quotation does not have space.",
-            sentence));
+            this.getClass(), sentence, "Quotation.LeftSpace"));
       }
 
       if (rightPosition > 0 && rightPosition < sentenceString.length() - 1
@@ -218,20 +211,19 @@ public class QuotationValidator implements SentenceValidator {
           && (sentenceString.charAt(rightPosition + 1) != ' '
           && sentenceString.charAt(rightPosition + 1) != this.period)) {
         errors.add(new ValidationError(
-            this.getClass(),
-            "Right quotation does not have space",
-            sentence));
+            this.getClass(), sentence, "Quotation.RightSpace"));
       }
     }
     return errors;
   }
 
-  private int getQuotePosition(String sentenceStr, String quote,
+  private int getQuotePosition(CharSequence sentenceStr, String quote,
       int startPosition) {
     int quoteCandidatePosition = startPosition;
     boolean isFound;
     while (startPosition > -1) {
-      quoteCandidatePosition = sentenceStr.indexOf(quote, startPosition);
+      quoteCandidatePosition =
+          StringUtils.indexOf(sentenceStr, quote, startPosition);
       isFound = detectIsFound(sentenceStr, quoteCandidatePosition);
       if (isFound) {
         return quoteCandidatePosition;
@@ -244,13 +236,14 @@ public class QuotationValidator implements SentenceValidator {
     return quoteCandidatePosition;
   }
 
-  private boolean detectIsFound(String sentenceStr, final int startPosition) {
+  private boolean detectIsFound(CharSequence sentenceStr, final int startPosition) {
     if (startPosition < 0) {
       return false;
     }
 
     for (String exceptionSuffix : exceptionSuffixes) {
-      if (sentenceStr.startsWith(exceptionSuffix, startPosition + 1)) {
+      if (StringUtils.startsWith(sentenceStr, startPosition + 1,
+          exceptionSuffix)) {
         return false;
       }
     }
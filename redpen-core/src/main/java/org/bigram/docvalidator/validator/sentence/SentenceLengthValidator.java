@@ -23,6 +23,7 @@ import org.bigram.docvalidator.model.Sentence;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
 
 import java.util.ArrayList;
@@ -49,14 +50,12 @@ public class SentenceLengthValidator implements SentenceValidator {
     this.maxLength = DEFAULT_MAX_LENGTH;
   }
 
-  public List<ValidationError> validate(Sentence line) {
+  public List<ValidationError> validate(Sentence line,
+      ValidationContext context) {
     List<ValidationError> result = new ArrayList<ValidationError>();
-    if (line.content.length() > maxLength) {
+    if (line.getLength() > maxLength) {
       result.add(new ValidationError(
-          this.getClass(),
-          "The length of the line exceeds the maximum "
-              + String.valueOf(line.content.length()) + ".",
-              line));
+          this.getClass(), line, "SentenceLength", line.getLength()));
     }
     return result;
   }
@@ -19,6 +19,7 @@ package org.bigram.docvalidator.validator.sentence;
 
 import org.bigram.docvalidator.model.Sentence;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 import java.util.List;
 
@@ -28,8 +29,14 @@ import java.util.List;
 public interface SentenceValidator {
   /**
    * Check input sentences and returns the invalid points.
+   *
+   * A validator instance is shared among threads, so implementations must
+   * not modify their fields in this method. States kept between sentences
+   * should be stored in the given context.
+   *
    * @param sentence input
+   * @param context  state of the current validation run
    * @return list of invalid points
    */
-  List<ValidationError> validate(Sentence sentence);
+  List<ValidationError> validate(Sentence sentence, ValidationContext context);
 }
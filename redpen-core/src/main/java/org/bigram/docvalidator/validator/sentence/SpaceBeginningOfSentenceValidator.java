@@ -19,6 +19,7 @@ package org.bigram.docvalidator.validator.sentence;
 
 import org.bigram.docvalidator.DocumentValidatorException;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 import org.bigram.docvalidator.config.CharacterTable;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
 import org.bigram.docvalidator.model.Sentence;
@@ -40,15 +41,14 @@ public class SpaceBeginningOfSentenceValidator implements SentenceValidator {
       throws DocumentValidatorException {
   }
 
-  public List<ValidationError> validate(Sentence sentence) {
+  public List<ValidationError> validate(Sentence sentence,
+      ValidationContext context) {
     List<ValidationError> result = new ArrayList<ValidationError>();
-    String content = sentence.content;
+    CharSequence content = sentence.getText();
     if (!sentence.isFirstSentence && content.length() > 0
-        && !String.valueOf(content.charAt(0)).equals(" ")) {
+        && content.charAt(0) != ' ') {
       result.add(new ValidationError(
-          this.getClass(),
-          "Space not exist the beginning of sentence.",
-          sentence));
+          this.getClass(), sentence, "SpaceBeginningOfSentence"));
     }
     return result;
   }
@@ -23,12 +23,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.bigram.docvalidator.DocumentValidatorException;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.util.AhoCorasickMatcher;
 import org.bigram.docvalidator.util.FileLoader;
 import org.bigram.docvalidator.util.KeyValueDictionaryExtractor;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -41,28 +44,31 @@ public class SuggestExpressionValidator implements SentenceValidator {
 
   public SuggestExpressionValidator() {
     super();
-    synonyms = new HashMap<String, String>();
+    setSynonyms(new HashMap<String, String>());
   }
 
   public SuggestExpressionValidator(ValidatorConfiguration config,
                                     CharacterTable characterTable)
       throws DocumentValidatorException {
+    setSynonyms(new HashMap<String, String>());
     initialize(config);
   }
 
-  public List<ValidationError> validate(Sentence line) {
+  public List<ValidationError> validate(Sentence line,
+      ValidationContext context) {
     List<ValidationError> result = new ArrayList<ValidationError>();
-    String str = line.content;
-    Set<String> invalidWords = synonyms.keySet();
-    for (String w : invalidWords) {
-      if (str.contains(w)) {
-        result.add(new ValidationError(
-            this.getClass(),
-            "Found invalid word, \"" + w + "\". "
-                + "Use the synonym of the word \""
-                + synonyms.get(w) + "\" instead.", line
-        ));
+    Set<String> reported = new HashSet<String>();
+    for (AhoCorasickMatcher.Match match : matcher.find(line.getText())) {
+      String w = match.getPattern();
+      // report each invalid word once at the first occurrence
+      if (!reported.add(w)) {
+        continue;
       }
+      ValidationError error = new ValidationError(
+          this.getClass(), line, "SuggestExpression", w, synonyms.get(w)
+      );
+      error.setPosition(match.getStartPosition(), match.getEndPosition());
+      result.add(error);
     }
     return result;
   }
@@ -81,16 +87,19 @@ public class SuggestExpressionValidator implements SentenceValidator {
     if (loader.loadFile(confFile) != 0) {
       return false;
     }
-    synonyms = extractor.get();
+    setSynonyms(extractor.get());
     return true;
   }
 
   protected void setSynonyms(Map<String, String> synonymMap) {
     this.synonyms = synonymMap;
+    this.matcher = new AhoCorasickMatcher(synonymMap.keySet());
   }
 
   private static final Logger LOG =
       LoggerFactory.getLogger(SuggestExpressionValidator.class);
 
   private Map<String, String> synonyms;
+
+  private AhoCorasickMatcher matcher;
 }
@@ -18,8 +18,10 @@
 package org.bigram.docvalidator.validator.sentence;
 
 import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.util.StringUtils;
 import org.bigram.docvalidator.DocumentValidatorException;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 import org.bigram.docvalidator.config.CharacterTable;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
 
@@ -42,7 +44,8 @@ public class SymbolWithSpaceValidator implements SentenceValidator {
     initialize(characterTable);
   }
 
-  public List<ValidationError> validate(Sentence sentence) {
+  public List<ValidationError> validate(Sentence sentence,
+      ValidationContext context) {
     List<ValidationError> errors = new ArrayList<ValidationError>();
     Set<String> names = characterTable.getNames();
     for (String name : names) {
@@ -65,29 +68,26 @@ public class SymbolWithSpaceValidator implements SentenceValidator {
   }
 
   private ValidationError validateCharacter(Sentence sentence, String name) {
-    String sentenceStr = sentence.content;
+    CharSequence sentenceStr = sentence.getText();
     org.bigram.docvalidator.config.Character character = characterTable.getCharacter(name);
     if (!character.isNeedAfterSpace() && !character.isNeedBeforeSpace()) {
         return null;
     }
 
     String target = character.getValue();
-    int position = sentenceStr.indexOf(target);
+    int position = StringUtils.indexOf(sentenceStr, target, 0);
     if (position != -1) {
       if (position > 0 && character.isNeedBeforeSpace()
           && !java.lang.Character.isWhitespace(sentenceStr.charAt(position - 1))) {
         return new ValidationError(
-            this.getClass(),
-            "Need white space before symbol (" +  character.getName()
-            + "): " + sentenceStr.charAt(position) + ".",
-            sentence);
+            this.getClass(), sentence, "SymbolWithSpace.Before",
+            character.getName(), sentenceStr.charAt(position));
       } else if (position < sentenceStr.length() - 1
           && character.isNeedAfterSpace()
           && !java.lang.Character.isWhitespace(sentenceStr.charAt(position + 1))) {
         return new ValidationError(
-            this.getClass(),
-            "Need white space after symbol (" + character.getName()
-            + "): " + sentenceStr.charAt(position), sentence);
+            this.getClass(), sentence, "SymbolWithSpace.After",
+            character.getName(), sentenceStr.charAt(position));
       }
     }
     return null;
@@ -23,6 +23,7 @@ import org.bigram.docvalidator.model.Sentence;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
 
 import java.util.ArrayList;
@@ -49,17 +50,13 @@ public class WordNumberValidator implements SentenceValidator {
     initialize(config);
   }
 
-  public List<ValidationError> validate(Sentence sentence) {
+  public List<ValidationError> validate(Sentence sentence,
+      ValidationContext context) {
     List<ValidationError> result = new ArrayList<ValidationError>();
-    String content = sentence.content;
-    String[] wordList = content.split(" ");
-    int wordNum = wordList.length;
+    int wordNum = countWords(sentence.getText());
     if (wordNum > maxWordNumber) {
       result.add(new ValidationError(
-          this.getClass(),
-          "The number of the words exceeds the maximum "
-              + String.valueOf(wordNum), sentence
-      ));
+          this.getClass(), sentence, "WordNumber", wordNum));
     }
     return result;
   }
@@ -77,6 +74,30 @@ public class WordNumberValidator implements SentenceValidator {
     return true;
   }
 
+  /**
+   * Count the words as the length of the result of split(" ") on the
+   * text, which drops the trailing empty words.
+   */
+  private static int countWords(CharSequence text) {
+    int end = text.length();
+    if (end == 0) {
+      return 1;
+    }
+    while (end > 0 && text.charAt(end - 1) == ' ') {
+      end--;
+    }
+    if (end == 0) {
+      return 0;
+    }
+    int words = 1;
+    for (int i = 0; i < end; i++) {
+      if (text.charAt(i) == ' ') {
+        words++;
+      }
+    }
+    return words;
+  }
+
   private static final Logger LOG =
       LoggerFactory.getLogger(WordNumberValidator.class);
 
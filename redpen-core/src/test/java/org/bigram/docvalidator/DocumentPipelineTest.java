@@ -0,0 +1,211 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.ReaderInputStream;
+import org.bigram.docvalidator.config.Configuration;
+import org.bigram.docvalidator.config.ValidationConfigurationLoader;
+import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.distributor.FakeResultDistributor;
+import org.bigram.docvalidator.parser.Parser;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class DocumentPipelineTest {
+
+  @Test
+  public void testCheckKeepsInputOrder()
+      throws DocumentValidatorException, IOException {
+    String[] inputFileNames = createInputFiles(20);
+    Configuration configuration = createConfiguration();
+    RecordingResultDistributor distributor = new RecordingResultDistributor();
+    DocumentValidator validator = new DocumentValidator.Builder()
+        .setConfiguration(configuration)
+        .setResultDistributor(new FakeResultDistributor())
+        .build();
+
+    DocumentPipeline pipeline = new DocumentPipeline.Builder()
+        .setConfiguration(configuration)
+        .setValidator(validator)
+        .setResultDistributor(distributor)
+        .setParserThreads(3)
+        .setValidatorThreads(4)
+        .setQueueSize(2)
+        .build();
+    int errorCount = pipeline.check(inputFileNames, Parser.Type.PLAIN);
+
+    assertEquals(40, errorCount);
+    assertEquals(40, distributor.errors.size());
+    for (int i = 0; i < distributor.errors.size(); i++) {
+      assertEquals(inputFileNames[i / 2],
+          distributor.errors.get(i).getFileName());
+    }
+    assertEquals(1, distributor.headers);
+    assertEquals(1, distributor.footers);
+  }
+
+  @Test
+  public void testStatefulValidatorsSeeInputFilesInOrder()
+      throws DocumentValidatorException, IOException {
+    String[] inputFileNames = new String[20];
+    for (int i = 0; i < inputFileNames.length; i++) {
+      File file = File.createTempFile("redpen-test", ".txt");
+      file.deleteOnExit();
+      FileUtils.writeStringToFile(file,
+          i == 0 ? "あのインデクス。" : "そのインデックス。", "UTF-8");
+      inputFileNames[i] = file.getAbsolutePath();
+    }
+    ValidatorConfiguration validatorConfig =
+        ValidationConfigurationLoader.loadConfiguration(
+            new ReaderInputStream(new StringReader(
+                "<?xml version=\"1.0\"?>\n" +
+                    "<component name=\"Validator\">" +
+                    "  <component name=\"KatakanaSpellCheck\"/>\n" +
+                    "</component>"
+            ))
+        );
+    Configuration configuration = new Configuration(validatorConfig);
+    RecordingResultDistributor expected = new RecordingResultDistributor();
+    DocumentValidator validator = new DocumentValidator.Builder()
+        .setConfiguration(configuration)
+        .setResultDistributor(expected)
+        .build();
+    validator.check(inputFileNames, Parser.Type.PLAIN);
+    // the word of the first file is compared in the following files
+    assertEquals(19, expected.errors.size());
+
+    RecordingResultDistributor distributor = new RecordingResultDistributor();
+    DocumentPipeline pipeline = new DocumentPipeline.Builder()
+        .setConfiguration(configuration)
+        .setValidator(validator)
+        .setResultDistributor(distributor)
+        .setParserThreads(3)
+        .setValidatorThreads(4)
+        .build();
+    pipeline.check(inputFileNames, Parser.Type.PLAIN);
+
+    assertEquals(expected.errors.size(), distributor.errors.size());
+    for (int i = 0; i < expected.errors.size(); i++) {
+      assertEquals(expected.errors.get(i).getFileName(),
+          distributor.errors.get(i).getFileName());
+    }
+  }
+
+  @Test(expected = DocumentValidatorException.class, timeout = 10000)
+  public void testCheckWithFailingParser()
+      throws DocumentValidatorException, IOException {
+    String[] inputFileNames = createInputFiles(3);
+    Configuration configuration = createConfiguration();
+    DocumentValidator validator = new DocumentValidator.Builder()
+        .setConfiguration(configuration)
+        .setResultDistributor(new FakeResultDistributor())
+        .build();
+
+    // NOTE: the parser factory throws NullPointerException for null type
+    DocumentPipeline pipeline = new DocumentPipeline.Builder()
+        .setConfiguration(configuration)
+        .setValidator(validator)
+        .setResultDistributor(new RecordingResultDistributor())
+        .setParserThreads(2)
+        .setValidatorThreads(2)
+        .build();
+    pipeline.check(inputFileNames, null);
+  }
+
+  @Test(expected = DocumentValidatorException.class)
+  public void testCheckNotExistingFile()
+      throws DocumentValidatorException, IOException {
+    String[] inputFileNames = createInputFiles(3);
+    inputFileNames[1] = "not_existing_file.txt";
+    Configuration configuration = createConfiguration();
+    DocumentValidator validator = new DocumentValidator.Builder()
+        .setConfiguration(configuration)
+        .setResultDistributor(new FakeResultDistributor())
+        .build();
+
+    DocumentPipeline pipeline = new DocumentPipeline.Builder()
+        .setConfiguration(configuration)
+        .setValidator(validator)
+        .setResultDistributor(new FakeResultDistributor())
+        .setParserThreads(2)
+        .setValidatorThreads(2)
+        .build();
+    pipeline.check(inputFileNames, Parser.Type.PLAIN);
+  }
+
+  private String[] createInputFiles(int size) throws IOException {
+    String[] inputFileNames = new String[size];
+    for (int i = 0; i < size; i++) {
+      File file = File.createTempFile("redpen-test", ".txt");
+      file.deleteOnExit();
+      FileUtils.writeStringToFile(file,
+          "it is a piece of a cake. that is also a piece of a cake.", "UTF-8");
+      inputFileNames[i] = file.getAbsolutePath();
+    }
+    return inputFileNames;
+  }
+
+  private Configuration createConfiguration() {
+    ValidatorConfiguration validatorConfig =
+        ValidationConfigurationLoader.loadConfiguration(
+            new ReaderInputStream(new StringReader(
+                "<?xml version=\"1.0\"?>\n" +
+                    "<component name=\"Validator\">" +
+                    "  <component name=\"SentenceLength\">\n" +
+                    "    <property name=\"max_length\" value=\"5\"/>\n" +
+                    "  </component>" +
+                    "</component>"
+            ))
+        );
+    return new Configuration(validatorConfig);
+  }
+
+  private static class RecordingResultDistributor
+      extends FakeResultDistributor {
+    @Override
+    public int flushResult(ValidationError err) {
+      errors.add(err);
+      return 0;
+    }
+
+    @Override
+    public void flushHeader() {
+      headers++;
+    }
+
+    @Override
+    public void flushFooter() {
+      footers++;
+    }
+
+    private final List<ValidationError> errors =
+        new ArrayList<ValidationError>();
+
+    private int headers = 0;
+
+    private int footers = 0;
+  }
+}
@@ -17,17 +17,27 @@
  */
 package org.bigram.docvalidator;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.input.ReaderInputStream;
 import org.bigram.docvalidator.distributor.FakeResultDistributor;
+import org.bigram.docvalidator.metrics.DefaultValidationMetrics;
 import org.junit.Test;
 import org.bigram.docvalidator.config.Configuration;
 import org.bigram.docvalidator.config.ValidationConfigurationLoader;
 import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.model.Document;
 import org.bigram.docvalidator.model.DocumentCollection;
+import org.bigram.docvalidator.model.Section;
 import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.parser.Parser;
+import org.bigram.docvalidator.validator.ValidationContext;
+import org.bigram.docvalidator.validator.section.SectionValidator;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -186,8 +196,451 @@ public class DocumentValidatorTest {
 
   }
 
+  @Test
+  public void testParallelCheckKeepsErrorOrder()
+      throws DocumentValidatorException {
+    DocumentCollection.Builder builder = new DocumentCollection.Builder();
+    for (int i = 0; i < 10; i++) {
+      builder.addDocument("tested file " + i)
+          .addSection(0, new ArrayList<Sentence>())
+          .addSectionHeader("this is it " + i)
+          .addParagraph()
+          .addSentence("it is a piece of a cake.", 0)
+          .addSentence("that is also a piece of a cake.", 1)
+          .addSection(1, new ArrayList<Sentence>())
+          .addSectionHeader("that is it " + i)
+          .addListBlock()
+          .addListElement(0, "this is a list.");
+    }
+    DocumentCollection documents = builder.build();
+
+    List<ValidationError> expected =
+        getValidaorWithSentenceValidator().check(documents);
+    List<ValidationError> errors = getValidaorWithSentenceValidator(4)
+        .check(documents);
+
+    assertEquals(50, expected.size());
+    assertEquals(expected.size(), errors.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getFileName(), errors.get(i).getFileName());
+      assertEquals(expected.get(i).getSentence(), errors.get(i).getSentence());
+    }
+  }
+
+  @Test
+  public void testValidateFlushesErrorsSectionBySection()
+      throws DocumentValidatorException {
+    Document document = new DocumentCollection.Builder()
+        .addDocument("tested file")
+        .addSection(0, new ArrayList<Sentence>())
+        .addParagraph()
+        .addSentence("it is a piece of a cake.", 0)
+        .addSection(1, new ArrayList<Sentence>())
+        .addParagraph()
+        .addSentence("that is also a piece of a cake.", 1)
+        .build().getFile(0);
+    final List<ValidationError> flushed = new ArrayList<ValidationError>();
+    FakeResultDistributor distributor = new FakeResultDistributor() {
+      @Override
+      public int flushResult(ValidationError err) {
+        flushed.add(err);
+        return 0;
+      }
+    };
+    // the number of the errors flushed when each section is validated
+    final List<Integer> flushedBeforeSections = new ArrayList<Integer>();
+    DocumentValidator validator = getValidaorWithSentenceValidator();
+    validator.appendSectionValidator(new SectionValidator() {
+      @Override
+      public List<ValidationError> validate(Section section,
+          ValidationContext context) {
+        flushedBeforeSections.add(flushed.size());
+        return new ArrayList<ValidationError>();
+      }
+    });
+
+    assertEquals(2, validator.validate(document, distributor));
+    assertEquals(2, flushedBeforeSections.size());
+    assertEquals(0, flushedBeforeSections.get(0).intValue());
+    // the error of the first section is written before the second section
+    assertEquals(1, flushedBeforeSections.get(1).intValue());
+    assertEquals("tested file", flushed.get(0).getFileName());
+  }
+
+  @Test
+  public void testParallelCheckAppliesStatefulValidatorsInOrder()
+      throws DocumentValidatorException {
+    DocumentCollection.Builder builder = new DocumentCollection.Builder()
+        .addDocument("tested file");
+    for (int i = 0; i < 20; i++) {
+      builder.addSection(0, new ArrayList<Sentence>())
+          .addParagraph()
+          .addSentence(i % 2 == 0 ? "あのインデクス" : "このインデックス", 0);
+    }
+    DocumentCollection documents = builder.build();
+    ValidatorConfiguration validatorConfig =
+        ValidationConfigurationLoader.loadConfiguration(
+            new ReaderInputStream(new StringReader(
+                "<?xml version=\"1.0\"?>\n" +
+                    "<component name=\"Validator\">" +
+                    "  <component name=\"KatakanaSpellCheck\"/>\n" +
+                    "  <component name=\"SentenceLength\">\n" +
+                    "    <property name=\"max_length\" value=\"7\"/>\n" +
+                    "  </component>" +
+                    "</component>"
+            ))
+        );
+    Configuration configuration = new Configuration(validatorConfig);
+
+    List<ValidationError> expected = new DocumentValidator.Builder()
+        .setConfiguration(configuration)
+        .setResultDistributor(new FakeResultDistributor())
+        .build().check(documents);
+    // the first word is not reported since no similar word precedes it
+    assertEquals(20, expected.size());
+    assertEquals("このインデックス", expected.get(0).getSentence().getContent());
+
+    DocumentValidator validator = new DocumentValidator.Builder()
+        .setConfiguration(configuration)
+        .setResultDistributor(new FakeResultDistributor())
+        .setParallelism(4)
+        .build();
+    try {
+      for (int i = 0; i < 10; i++) {
+        List<ValidationError> errors = validator.check(documents);
+        assertEquals(expected.size(), errors.size());
+        for (int j = 0; j < expected.size(); j++) {
+          assertEquals(expected.get(j).getSentence(),
+              errors.get(j).getSentence());
+          assertEquals(expected.get(j).getValidatorName(),
+              errors.get(j).getValidatorName());
+        }
+      }
+    } finally {
+      validator.close();
+    }
+  }
+
+  @Test
+  public void testSentenceValidatorStatesArePerRun()
+      throws DocumentValidatorException {
+    DocumentCollection documents = new DocumentCollection.Builder()
+        .addDocument("first file")
+        .addSection(0, new ArrayList<Sentence>())
+        .addParagraph()
+        .addSentence("あのインデクス", 0)
+        .addDocument("second file")
+        .addSection(0, new ArrayList<Sentence>())
+        .addParagraph()
+        .addSentence("そのインデックス", 0)
+        .build();
+    ValidatorConfiguration validatorConfig =
+        ValidationConfigurationLoader.loadConfiguration(
+            new ReaderInputStream(new StringReader(
+                "<?xml version=\"1.0\"?>\n" +
+                    "<component name=\"Validator\">" +
+                    "  <component name=\"KatakanaSpellCheck\"/>\n" +
+                    "</component>"
+            ))
+        );
+    DocumentValidator validator = new DocumentValidator.Builder()
+        .setConfiguration(new Configuration(validatorConfig))
+        .setResultDistributor(new FakeResultDistributor())
+        .build();
+
+    // the word of the first file is compared in the second file
+    List<ValidationError> errors = validator.check(documents);
+    assertEquals(1, errors.size());
+    assertEquals("second file", errors.get(0).getFileName());
+    // the words are not kept after the run
+    assertEquals(1, validator.check(documents).size());
+    // a document validated alone does not see the other documents
+    assertEquals(0, validator.validate(documents.getFile(1)).size());
+  }
+
+  @Test
+  public void testValidateFromMultipleThreads() throws Exception {
+    final DocumentValidator validator = getValidaorWithSentenceValidator();
+    final DocumentCollection documents = new DocumentCollection.Builder()
+        .addDocument("tested file")
+        .addSection(0, new ArrayList<Sentence>())
+        .addParagraph()
+        .addSentence("it is a piece of a cake.", 0)
+        .addSentence("that is also a piece of a cake.", 1)
+        .build();
+    final Document document = documents.getFile(0);
+    final List<Integer> results =
+        Collections.synchronizedList(new ArrayList<Integer>());
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 8; i++) {
+      threads.add(new Thread() {
+        @Override
+        public void run() {
+          for (int j = 0; j < 100; j++) {
+            results.add(validator.validate(document).size());
+          }
+        }
+      });
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(800, results.size());
+    for (Integer result : results) {
+      assertEquals(2, result.intValue());
+    }
+  }
+
+  @Test
+  public void testResultCacheValidatesOnlyChangedSentences()
+      throws DocumentValidatorException {
+    ValidationResultCache cache = new ValidationResultCache(100);
+    DefaultValidationMetrics metrics = new DefaultValidationMetrics();
+    ValidatorConfiguration validatorConfig =
+        ValidationConfigurationLoader.loadConfiguration(
+            new ReaderInputStream(new StringReader(
+                "<?xml version=\"1.0\"?>\n" +
+                    "<component name=\"Validator\">" +
+                    "  <component name=\"SentenceLength\">\n" +
+                    "    <property name=\"max_length\" value=\"5\"/>\n" +
+                    "  </component>" +
+                    "  <component name=\"KatakanaSpellCheck\"/>\n" +
+                    "</component>"
+            ))
+        );
+    DocumentValidator validator = new DocumentValidator.Builder()
+        .setConfiguration(new Configuration(validatorConfig))
+        .setResultDistributor(new FakeResultDistributor())
+        .setMetrics(metrics)
+        .setResultCache(cache)
+        .build();
+
+    List<ValidationError> errors = validator.validate(
+        createDocument(1, "it is a piece of a cake."));
+    assertEquals(2, errors.size());
+    assertEquals(2, metrics.getValidatorStatistics()
+        .get("SentenceLengthValidator").getInvocations());
+
+    // the first sentence is moved to the next line and the second changed
+    errors = validator.validate(createDocument(2, "it is a piece of a pie."));
+    assertEquals(2, errors.size());
+    assertEquals(3, metrics.getValidatorStatistics()
+        .get("SentenceLengthValidator").getInvocations());
+    assertEquals(1, cache.getHitCount());
+    assertEquals("it is a piece of a pie.",
+        errors.get(1).getSentence().getContent());
+    assertEquals(2, errors.get(0).getLineNumber());
+    assertEquals("tested file", errors.get(0).getFileName());
+
+    // KatakanaSpellCheck depends on the previous sentences
+    assertEquals(4, metrics.getValidatorStatistics()
+        .get("KatakanaSpellCheckValidator").getInvocations());
+  }
+
+  @Test
+  public void testAppendedValidatorsDoNotShareCachedResults()
+      throws DocumentValidatorException {
+    ValidationResultCache cache = new ValidationResultCache(100);
+    Document document = createDocument(1, "it is a piece of a cake.");
+    for (int i = 1; i <= 3; i++) {
+      DocumentValidator validator = new DocumentValidator.Builder()
+          .setConfiguration(new Configuration(
+              new ValidatorConfiguration("Validator")))
+          .setResultDistributor(new FakeResultDistributor())
+          .setResultCache(cache)
+          .build();
+      validator.appendSectionValidator(new ErrorCountValidator(i));
+      assertEquals(i, validator.validate(document).size());
+    }
+    assertEquals(0, cache.getHitCount());
+  }
+
+  /**
+   * Section validator reporting the given number of errors.
+   */
+  private static final class ErrorCountValidator implements SectionValidator {
+    private ErrorCountValidator(int count) {
+      this.errorCount = count;
+    }
+
+    @Override
+    public List<ValidationError> validate(Section section,
+        ValidationContext context) {
+      List<ValidationError> errors = new ArrayList<ValidationError>();
+      for (int i = 0; i < errorCount; i++) {
+        errors.add(new ValidationError(getClass(), "error " + i));
+      }
+      return errors;
+    }
+
+    private final int errorCount;
+  }
+
+  private Document createDocument(int firstLine, String secondSentence) {
+    return new DocumentCollection.Builder()
+        .addDocument("tested file")
+        .addSection(0, new ArrayList<Sentence>())
+        .addParagraph()
+        .addSentence("that is also a piece of a cake.", firstLine)
+        .addSentence(secondSentence, 3)
+        .build().getFile(0);
+  }
+
+  @Test
+  public void testValidateWithDistributor() throws DocumentValidatorException {
+    DocumentCollection documents = new DocumentCollection.Builder()
+        .addDocument("tested file")
+        .addSection(0, new ArrayList<Sentence>())
+        .addParagraph()
+        .addSentence("it is a piece of a cake.", 0)
+        .addSection(1, new ArrayList<Sentence>())
+        .addParagraph()
+        .addSentence("that is also a piece of a cake.", 1)
+        .build();
+    final List<ValidationError> flushed = new ArrayList<ValidationError>();
+    FakeResultDistributor distributor = new FakeResultDistributor() {
+      @Override
+      public int flushResult(ValidationError err) {
+        flushed.add(err);
+        return 0;
+      }
+    };
+
+    int errorCount = getValidaorWithSentenceValidator()
+        .validate(documents.getFile(0), distributor);
+    assertEquals(2, errorCount);
+    assertEquals(2, flushed.size());
+    assertEquals("it is a piece of a cake.",
+        flushed.get(0).getSentence().getContent());
+    assertEquals("tested file", flushed.get(1).getFileName());
+  }
+
+  @Test
+  public void testCheckInputFilesOneByOne()
+      throws DocumentValidatorException, IOException {
+    String[] inputFileNames = new String[3];
+    for (int i = 0; i < inputFileNames.length; i++) {
+      File file = File.createTempFile("redpen-test", ".txt");
+      file.deleteOnExit();
+      FileUtils.writeStringToFile(file,
+          "it is a piece of a cake. that is also a piece of a cake.", "UTF-8");
+      inputFileNames[i] = file.getAbsolutePath();
+    }
+
+    DocumentValidator validator = getValidaorWithSentenceValidator();
+    int errorCount = validator.check(inputFileNames, Parser.Type.PLAIN);
+
+    assertEquals(6, errorCount);
+  }
+
+  @Test
+  public void testMetrics() throws DocumentValidatorException, IOException {
+    String[] inputFileNames = new String[2];
+    for (int i = 0; i < inputFileNames.length; i++) {
+      File file = File.createTempFile("redpen-test", ".txt");
+      file.deleteOnExit();
+      FileUtils.writeStringToFile(file,
+          "it is a piece of a cake. that is also a piece of a cake. ok.",
+          "UTF-8");
+      inputFileNames[i] = file.getAbsolutePath();
+    }
+
+    DefaultValidationMetrics metrics = new DefaultValidationMetrics();
+    ValidatorConfiguration validatorConfig =
+        ValidationConfigurationLoader.loadConfiguration(
+            new ReaderInputStream(new StringReader(
+                "<?xml version=\"1.0\"?>\n" +
+                    "<component name=\"Validator\">" +
+                    "  <component name=\"SentenceLength\">\n" +
+                    "    <property name=\"max_length\" value=\"5\"/>\n" +
+                    "  </component>" +
+                    "  <component name=\"SectionLength\">\n" +
+                    "    <property name=\"max_char_num\" value=\"500\"/>\n" +
+                    "  </component>" +
+                    "</component>"
+            ))
+        );
+    DocumentValidator validator = new DocumentValidator.Builder()
+        .setConfiguration(new Configuration(validatorConfig))
+        .setResultDistributor(new FakeResultDistributor())
+        .setMetrics(metrics)
+        .build();
+    assertEquals(4, validator.check(inputFileNames, Parser.Type.PLAIN));
+
+    DefaultValidationMetrics.Statistics sentenceLength =
+        metrics.getValidatorStatistics().get("SentenceLengthValidator");
+    // 3 sentences in the paragraph and an empty header in each file
+    assertEquals(8, sentenceLength.getInvocations());
+    assertEquals(4, sentenceLength.getErrors());
+    DefaultValidationMetrics.Statistics sectionLength =
+        metrics.getValidatorStatistics().get("SectionLengthValidator");
+    assertEquals(2, sectionLength.getInvocations());
+    assertEquals(0, sectionLength.getErrors());
+    assertEquals(2, metrics.getParserStatistics().get(Parser.Type.PLAIN)
+        .getInvocations());
+  }
+
+  @Test
+  public void testMetricsOfValidatorsOfSameClass()
+      throws DocumentValidatorException {
+    DocumentCollection documents = new DocumentCollection.Builder()
+        .addDocument("tested file")
+        .addSection(0, new ArrayList<Sentence>())
+        .addParagraph()
+        .addSentence("it is a piece of a cake.", 0)
+        .addSentence("ok.", 1)
+        .build();
+    DefaultValidationMetrics metrics = new DefaultValidationMetrics();
+    ValidatorConfiguration validatorConfig =
+        ValidationConfigurationLoader.loadConfiguration(
+            new ReaderInputStream(new StringReader(
+                "<?xml version=\"1.0\"?>\n" +
+                    "<component name=\"Validator\">" +
+                    "  <component name=\"SentenceLength\">\n" +
+                    "    <property name=\"max_length\" value=\"5\"/>\n" +
+                    "  </component>" +
+                    "  <component name=\"SentenceLength\">\n" +
+                    "    <property name=\"max_length\" value=\"2\"/>\n" +
+                    "  </component>" +
+                    "</component>"
+            ))
+        );
+    DocumentValidator validator = new DocumentValidator.Builder()
+        .setConfiguration(new Configuration(validatorConfig))
+        .setResultDistributor(new FakeResultDistributor())
+        .setMetrics(metrics)
+        .build();
+    assertEquals(3, validator.check(documents).size());
+
+    // the instances are recorded separately
+    assertEquals(1, metrics.getValidatorStatistics()
+        .get("SentenceLengthValidator").getErrors());
+    assertEquals(2, metrics.getValidatorStatistics()
+        .get("SentenceLengthValidator#2").getErrors());
+  }
+
+  @Test
+  public void testMetricsDisabledByDefault()
+      throws DocumentValidatorException {
+    assertEquals(null, getValidaorWithSentenceValidator().getMetrics());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidParallelism() throws DocumentValidatorException {
+    getValidaorWithSentenceValidator(0);
+  }
+
   private DocumentValidator getValidaorWithSentenceValidator() throws
       DocumentValidatorException {
+    return getValidaorWithSentenceValidator(1);
+  }
+
+  private DocumentValidator getValidaorWithSentenceValidator(int parallelism)
+      throws DocumentValidatorException {
     ValidatorConfiguration validatorConfig =
         ValidationConfigurationLoader.loadConfiguration(
             new ReaderInputStream(new StringReader(
@@ -203,6 +656,7 @@ public class DocumentValidatorTest {
     return new DocumentValidator.Builder()
         .setConfiguration(configuration)
         .setResultDistributor(new FakeResultDistributor())
+        .setParallelism(parallelism)
         .build();
   }
 
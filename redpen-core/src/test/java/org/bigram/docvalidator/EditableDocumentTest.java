@@ -0,0 +1,159 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator;
+
+import org.apache.commons.io.input.ReaderInputStream;
+import org.bigram.docvalidator.config.Configuration;
+import org.bigram.docvalidator.config.ValidationConfigurationLoader;
+import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.distributor.FakeResultDistributor;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class EditableDocumentTest {
+  @Test
+  public void testInitialErrors() throws DocumentValidatorException {
+    EditableDocument document = createDocument(
+        "it is a piece of a cake.\nshort.\n\nthat is also a piece of a cake.");
+    assertEquals(4, document.getLineCount());
+    assertEquals(2, document.getDocument().getSection(0)
+        .getNumberOfParagraphs());
+    List<ValidationError> errors = document.getErrors();
+    assertEquals(2, errors.size());
+    assertEquals(0, errors.get(0).getLineNumber());
+    assertEquals(3, errors.get(1).getLineNumber());
+  }
+
+  @Test
+  public void testPatchReportsChangedErrorsOnly()
+      throws DocumentValidatorException {
+    EditableDocument document = createDocument(
+        "it is a piece of a cake.\n\nthat is also a piece of a cake.");
+
+    EditableDocument.ErrorDiff diff =
+        document.applyPatch(2, 3, "that is a piece of a pie.\n");
+    assertEquals(1, diff.getAddedErrors().size());
+    assertEquals("that is a piece of a pie.",
+        diff.getAddedErrors().get(0).getSentence().getContent());
+    assertEquals(1, diff.getRemovedErrors().size());
+    assertEquals("that is also a piece of a cake.",
+        diff.getRemovedErrors().get(0).getSentence().getContent());
+    assertEquals(2, document.getErrors().size());
+
+    diff = document.applyPatch(2, 3, "ok.");
+    assertEquals(0, diff.getAddedErrors().size());
+    assertEquals(1, diff.getRemovedErrors().size());
+    assertEquals("it is a piece of a cake.\n\nok.", document.getText());
+  }
+
+  @Test
+  public void testInsertedLinesMoveFollowingErrors()
+      throws DocumentValidatorException {
+    EditableDocument document = createDocument(
+        "it is a piece of a cake.\n\nthat is also a piece of a cake.");
+
+    EditableDocument.ErrorDiff diff = document.applyPatch(0, 0, "ok.\n\n");
+    assertEquals(0, diff.getAddedErrors().size());
+    assertEquals(0, diff.getRemovedErrors().size());
+    List<ValidationError> errors = document.getErrors();
+    assertEquals(2, errors.size());
+    assertEquals(2, errors.get(0).getLineNumber());
+    assertEquals(4, errors.get(1).getLineNumber());
+    assertEquals(3, document.getDocument().getSection(0)
+        .getNumberOfParagraphs());
+  }
+
+  @Test
+  public void testLocationsOfErrorsInLaterBlocks()
+      throws DocumentValidatorException {
+    // offsets of the lines: 0, 25, 26
+    EditableDocument document = createDocument(
+        "it is a piece of a cake.\n\nthat is also a piece of a cake.");
+    ValidationError error = document.getErrors().get(1);
+    assertEquals(2, error.getStartLineNumber());
+    assertEquals(26, error.getStartOffset());
+    assertEquals(0, error.getStartColumn());
+    assertEquals(57, error.getEndOffset());
+
+    // the blocks move 2 lines and 5 characters below
+    document.applyPatch(0, 0, "ok.\n\n");
+    error = document.getErrors().get(1);
+    assertEquals("that is also a piece of a cake.",
+        error.getSentence().getContent());
+    assertEquals(4, error.getStartLineNumber());
+    assertEquals(31, error.getStartOffset());
+    assertEquals(0, error.getStartColumn());
+    error = document.getErrors().get(0);
+    assertEquals(2, error.getStartLineNumber());
+    assertEquals(5, error.getStartOffset());
+  }
+
+  @Test
+  public void testPatchedDocumentEqualsNewDocument()
+      throws DocumentValidatorException {
+    EditableDocument document = createDocument(
+        "it is a piece of a cake.\nok.\n\nthat is also a piece of a cake.\n"
+            + "\nthis is the last line of the document.");
+    document.applyPatch(1, 3, "this line is joined with the next block.\n");
+    document.applyPatch(4, 4, "\nnew block.\n");
+    document.applyPatch(0, 1, "");
+
+    EditableDocument expected = createDocument(document.getText());
+    List<ValidationError> errors = document.getErrors();
+    List<ValidationError> expectedErrors = expected.getErrors();
+    assertEquals(expectedErrors.size(), errors.size());
+    for (int i = 0; i < errors.size(); i++) {
+      assertEquals(expectedErrors.get(i).getLineNumber(),
+          errors.get(i).getLineNumber());
+      assertEquals(expectedErrors.get(i).getSentence().getContent(),
+          errors.get(i).getSentence().getContent());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRange() throws DocumentValidatorException {
+    createDocument("it is a piece of a cake.").applyPatch(0, 2, "");
+  }
+
+  private EditableDocument createDocument(String text)
+      throws DocumentValidatorException {
+    ValidatorConfiguration validatorConfig =
+        ValidationConfigurationLoader.loadConfiguration(
+            new ReaderInputStream(new StringReader(
+                "<?xml version=\"1.0\"?>\n" +
+                    "<component name=\"Validator\">" +
+                    "  <component name=\"SentenceLength\">\n" +
+                    "    <property name=\"max_length\" value=\"15\"/>\n" +
+                    "  </component>" +
+                    "</component>"
+            ))
+        );
+    Configuration configuration = new Configuration(validatorConfig);
+    DocumentValidator validator = new DocumentValidator.Builder()
+        .setConfiguration(configuration)
+        .setResultDistributor(new FakeResultDistributor())
+        .setResultCache(new ValidationResultCache(100))
+        .build();
+    return new EditableDocument(validator, configuration, text);
+  }
+}
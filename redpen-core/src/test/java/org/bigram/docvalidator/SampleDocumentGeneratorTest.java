@@ -37,7 +37,7 @@ public class SampleDocumentGeneratorTest {
     assertEquals(1, doc.getFile(0).getSection(0).getParagraph(0)
         .getNumberOfSentences());
     assertEquals("Gekioko pun pun maru means very very angry.", doc.getFile(0).getSection(0)
-        .getParagraph(0).getSentence(0).content);
+        .getParagraph(0).getSentence(0).getContent());
   }
 
   @Test
@@ -50,12 +50,12 @@ public class SampleDocumentGeneratorTest {
     assertNotNull(doc);
     assertEquals(1, doc.size());
     assertEquals(2, doc.getFile(0).getNumberOfSections());
-    assertEquals("About Gekioko.", doc.getFile(0).getSection(1).getHeaderContent(0).content);
+    assertEquals("About Gekioko.", doc.getFile(0).getSection(1).getHeaderContent(0).getContent());
     assertEquals(1, doc.getFile(0).getSection(1).getNumberOfParagraphs());
     assertEquals(1, doc.getFile(0).getSection(1).getParagraph(0)
         .getNumberOfSentences());
     assertEquals("Gekioko pun pun maru means very very angry.", doc.getFile(0).getSection(1)
-        .getParagraph(0).getSentence(0).content);
+        .getParagraph(0).getSentence(0).getContent());
   }
 
   @Test
@@ -68,12 +68,12 @@ public class SampleDocumentGeneratorTest {
     assertNotNull(doc);
     assertEquals(1, doc.size());
     assertEquals(2, doc.getFile(0).getNumberOfSections());
-    assertEquals("About Gekioko.", doc.getFile(0).getSection(1).getHeaderContent(0).content);
+    assertEquals("About Gekioko.", doc.getFile(0).getSection(1).getHeaderContent(0).getContent());
     assertEquals(1, doc.getFile(0).getSection(1).getNumberOfParagraphs());
     assertEquals(1, doc.getFile(0).getSection(1).getParagraph(0)
         .getNumberOfSentences());
     assertEquals("Gekioko pun pun maru means very very angry.", doc.getFile(0).getSection(1)
-        .getParagraph(0).getSentence(0).content);
+        .getParagraph(0).getSentence(0).getContent());
   }
 
   @Test(expected=NullPointerException.class)
@@ -0,0 +1,78 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator;
+
+import static org.junit.Assert.*;
+
+import java.util.Locale;
+
+import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.validator.sentence.SentenceLengthValidator;
+import org.junit.Test;
+
+public class ValidationErrorTest {
+  @Test
+  public void testRenderMessageTemplate() {
+    ValidationError error = new ValidationError(SentenceLengthValidator.class,
+        new Sentence("foobar", 0), "SentenceLength", 1234);
+    assertEquals("SentenceLength", error.getMessageKey());
+    assertArrayEquals(new Object[]{1234}, error.getMessageArguments());
+    assertEquals("The length of the line exceeds the maximum 1234.",
+        error.getMessage());
+    assertSame(error.getMessage(), error.getMessage());
+  }
+
+  @Test
+  public void testRenderMessageInLocale() {
+    ValidationError error = new ValidationError(SentenceLengthValidator.class,
+        new Sentence("foobar", 0), "SymbolWithSpace.After", "COMMA", ',');
+    assertEquals("Need white space after symbol (COMMA): ,",
+        error.getMessage(Locale.JAPANESE));
+  }
+
+  @Test
+  public void testRenderUnknownKey() {
+    ValidationError error = new ValidationError(SentenceLengthValidator.class,
+        new Sentence("foobar", 0), "NoSuchMessage", "a", 1);
+    assertEquals("NoSuchMessage a 1", error.getMessage());
+  }
+
+  @Test
+  public void testSetMessage() {
+    ValidationError error = new ValidationError(SentenceLengthValidator.class,
+        new Sentence("foobar", 0), "SentenceLength", 6);
+    error.setMessage("replaced");
+    assertEquals("replaced", error.getMessage());
+    assertNull(error.getMessageKey());
+    assertNull(error.getMessageArguments());
+  }
+
+  @Test
+  public void testCompareMessages() {
+    Sentence sentence = new Sentence("foobar", 0);
+    ValidationError error = new ValidationError(SentenceLengthValidator.class,
+        sentence, "SentenceLength", 6);
+    assertTrue(error.hasSameMessage(new ValidationError(
+        SentenceLengthValidator.class, sentence, "SentenceLength", 6)));
+    assertFalse(error.hasSameMessage(new ValidationError(
+        SentenceLengthValidator.class, sentence, "SentenceLength", 7)));
+    assertTrue(error.hasSameMessage(new ValidationError(
+        SentenceLengthValidator.class,
+        "The length of the line exceeds the maximum 6.", sentence)));
+  }
+}
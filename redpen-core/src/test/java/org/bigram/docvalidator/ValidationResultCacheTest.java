@@ -0,0 +1,171 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator;
+
+import org.bigram.docvalidator.config.CharacterTable;
+import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.model.Paragraph;
+import org.bigram.docvalidator.model.Section;
+import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.validator.sentence.SentenceLengthValidator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ValidationResultCacheTest {
+  @Test
+  public void testSentenceErrorsAreReboundToNewSentence() {
+    ValidationResultCache cache = new ValidationResultCache(10);
+    Sentence original = new Sentence("this is a pen.", 3);
+    List<ValidationError> errors = new ArrayList<ValidationError>();
+    ValidationError error = new ValidationError(
+        SentenceLengthValidator.class, "too long", original);
+    error.setPosition(5, 7);
+    errors.add(error);
+    cache.putSentenceErrors("SentenceLength", original, errors);
+
+    Sentence moved = new Sentence("this is a pen.", 10);
+    List<ValidationError> cached = cache.getSentenceErrors("SentenceLength",
+        moved);
+    assertEquals(1, cached.size());
+    assertSame(moved, cached.get(0).getSentence());
+    assertEquals(10, cached.get(0).getLineNumber());
+    assertEquals("too long", cached.get(0).getMessage());
+    assertEquals("SentenceLength", cached.get(0).getValidatorName());
+    assertEquals(5, cached.get(0).getStartPosition());
+    assertEquals(7, cached.get(0).getEndPosition());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  public void testDifferentContentOrValidator() {
+    ValidationResultCache cache = new ValidationResultCache(10);
+    Sentence sentence = new Sentence("this is a pen.", 0);
+    cache.putSentenceErrors("SentenceLength", sentence,
+        new ArrayList<ValidationError>());
+
+    assertEquals(0, cache.getSentenceErrors("SentenceLength",
+        new Sentence("this is a pen.", 1)).size());
+    assertNull(cache.getSentenceErrors("SentenceLength",
+        new Sentence("this is a dog.", 0)));
+    assertNull(cache.getSentenceErrors("CommaNumber", sentence));
+    Sentence first = new Sentence("this is a pen.", 0);
+    first.isFirstSentence = true;
+    assertNull(cache.getSentenceErrors("SentenceLength", first));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(3, cache.getMissCount());
+  }
+
+  @Test
+  public void testErrorsOfOtherSentencesAreNotCached() {
+    ValidationResultCache cache = new ValidationResultCache(10);
+    Sentence sentence = new Sentence("this is a pen.", 0);
+    List<ValidationError> errors = new ArrayList<ValidationError>();
+    errors.add(new ValidationError(SentenceLengthValidator.class, "error",
+        new Sentence("that is a pen.", 1)));
+    cache.putSentenceErrors("SentenceLength", sentence, errors);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEntryIsEvicted() {
+    ValidationResultCache cache = new ValidationResultCache(2);
+    List<ValidationError> noErrors = new ArrayList<ValidationError>();
+    Sentence first = new Sentence("first.", 0);
+    Sentence second = new Sentence("second.", 0);
+    Sentence third = new Sentence("third.", 0);
+    cache.putSentenceErrors("SentenceLength", first, noErrors);
+    cache.putSentenceErrors("SentenceLength", second, noErrors);
+    // use the first sentence to keep it
+    cache.getSentenceErrors("SentenceLength", first);
+    cache.putSentenceErrors("SentenceLength", third, noErrors);
+
+    assertEquals(2, cache.size());
+    assertNull(cache.getSentenceErrors("SentenceLength", second));
+    assertEquals(0,
+        cache.getSentenceErrors("SentenceLength", first).size());
+    assertEquals(0,
+        cache.getSentenceErrors("SentenceLength", third).size());
+  }
+
+  @Test
+  public void testSectionErrors() {
+    ValidationResultCache cache = new ValidationResultCache(10);
+    Section section = createSection(0);
+    List<ValidationError> errors = new ArrayList<ValidationError>();
+    errors.add(new ValidationError(SentenceLengthValidator.class, "error",
+        section.getParagraph(0).getSentence(1)));
+    cache.putSectionErrors("SectionLength",
+        ValidationResultCache.sectionContent(section), section, errors);
+
+    Section moved = createSection(5);
+    List<ValidationError> cached = cache.getSectionErrors("SectionLength",
+        ValidationResultCache.sectionContent(moved), moved);
+    assertEquals(1, cached.size());
+    assertSame(moved.getParagraph(0).getSentence(1),
+        cached.get(0).getSentence());
+    assertEquals(7, cached.get(0).getLineNumber());
+  }
+
+  @Test
+  public void testSectionContent() {
+    Section section = createSection(0);
+    Section changed = createSection(0);
+    changed.getParagraph(0).getSentence(1).setContent("that is a dog.");
+    assertEquals(ValidationResultCache.sectionContent(createSection(3)),
+        ValidationResultCache.sectionContent(section));
+    assertFalse(ValidationResultCache.sectionContent(section).equals(
+        ValidationResultCache.sectionContent(changed)));
+  }
+
+  @Test
+  public void testFingerprint() {
+    ValidatorConfiguration config = new ValidatorConfiguration("SentenceLength");
+    config.addAttribute("max_length", "10");
+    ValidatorConfiguration same = new ValidatorConfiguration("SentenceLength");
+    same.addAttribute("max_length", "10");
+    ValidatorConfiguration other = new ValidatorConfiguration("SentenceLength");
+    other.addAttribute("max_length", "20");
+    CharacterTable characterTable = new CharacterTable();
+
+    assertEquals(ValidationResultCache.fingerprint(config, characterTable),
+        ValidationResultCache.fingerprint(same, characterTable));
+    assertFalse(ValidationResultCache.fingerprint(config, characterTable)
+        .equals(ValidationResultCache.fingerprint(other, characterTable)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new ValidationResultCache(0);
+  }
+
+  private Section createSection(int lineOffset) {
+    Section section = new Section(0, "header");
+    Paragraph paragraph = new Paragraph();
+    paragraph.appendSentence("this is a pen.", lineOffset + 1);
+    paragraph.appendSentence("that is a pen.", lineOffset + 2);
+    section.appendParagraph(paragraph);
+    return section;
+  }
+}
@@ -0,0 +1,112 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.distributor;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.formatter.XMLFormatter;
+import org.junit.Test;
+
+public class AsyncResultDistributorTest {
+  @Test
+  public void testFlushErrorsOnFooter() throws UnsupportedEncodingException {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    AsyncResultDistributor distributor = new AsyncResultDistributor(os, 4);
+    distributor.flushHeader();
+    for (int i = 0; i < 100; i++) {
+      distributor.flushResult(
+          new ValidationError(this.getClass(), "error" + i, i));
+    }
+    distributor.flushFooter();
+    String[] lines = new String(os.toByteArray(), "UTF-8").split("\r?\n");
+    assertEquals(100, lines.length);
+    for (int i = 0; i < 100; i++) {
+      assertTrue(lines[i].contains("error" + i));
+    }
+    distributor.close();
+  }
+
+  @Test
+  public void testFlushHeaderAndFooter() throws Exception {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    AsyncResultDistributor distributor = new AsyncResultDistributor(os);
+    distributor.setFormatter(new XMLFormatter());
+    distributor.flushHeader();
+    distributor.flushResult(new ValidationError(this.getClass(), "foobar"));
+    distributor.flushFooter();
+    String result = new String(os.toByteArray(), "UTF-8").trim();
+    assertTrue(result.startsWith("<validation-result>"));
+    assertTrue(result.contains("foobar"));
+    assertTrue(result.endsWith("</validation-result>"));
+    distributor.close();
+  }
+
+  @Test
+  public void testWriteAfterClose() throws Exception {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    AsyncResultDistributor distributor = new AsyncResultDistributor(os);
+    distributor.flushResult(new ValidationError(this.getClass(), "first"));
+    distributor.close();
+    distributor.flushResult(new ValidationError(this.getClass(), "second"));
+    distributor.flushFooter();
+    String result = new String(os.toByteArray(), "UTF-8");
+    assertTrue(result.contains("first"));
+    assertTrue(result.contains("second"));
+    distributor.close();
+  }
+
+  @Test
+  public void testFlushFooterWithoutResults() {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    AsyncResultDistributor distributor = new AsyncResultDistributor(os);
+    distributor.flushHeader();
+    distributor.flushFooter();
+    assertEquals(0, os.size());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testWriteFailure() {
+    OutputStream os = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("broken");
+      }
+    };
+    AsyncResultDistributor distributor = new AsyncResultDistributor(os);
+    distributor.flushResult(new ValidationError(this.getClass(), "foobar"));
+    distributor.flushFooter();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFlushNullError() {
+    AsyncResultDistributor distributor =
+        new AsyncResultDistributor(new ByteArrayOutputStream());
+    distributor.flushResult(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateWithNullStream() {
+    new AsyncResultDistributor(null);
+  }
+}
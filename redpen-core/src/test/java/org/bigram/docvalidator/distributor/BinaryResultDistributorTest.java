@@ -0,0 +1,155 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.distributor;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.formatter.PlainFormatter;
+import org.bigram.docvalidator.model.Sentence;
+import org.junit.Test;
+
+public class BinaryResultDistributorTest {
+  @Test
+  public void testReadErrors() throws IOException {
+    Sentence sentence = new Sentence("これは日本語の文です。", 3);
+    sentence.addSourceLocation(0, 100, 3, 5);
+    ValidationError located =
+        new ValidationError(this.getClass(), "日本語", sentence, "foo.md");
+    located.setPosition(3, 6);
+    byte[] bytes = write(located,
+        new ValidationError(this.getClass(), "no sentence"));
+
+    BinaryResultReader reader =
+        new BinaryResultReader(new ByteArrayInputStream(bytes));
+    List<BinaryResultReader.Record> records = reader.readAll();
+    reader.close();
+    assertEquals(2, records.size());
+
+    BinaryResultReader.Record first = records.get(0);
+    assertEquals("BinaryResultDistributorTest", first.getValidatorName());
+    assertEquals("日本語", first.getMessage());
+    assertEquals("foo.md", first.getFileName());
+    assertEquals(3, first.getLineNumber());
+    assertEquals("これは日本語の文です。", first.getSentence());
+    assertEquals(3, first.getStartPosition());
+    assertEquals(6, first.getEndPosition());
+    assertEquals(103, first.getStartOffset());
+    assertEquals(106, first.getEndOffset());
+    assertEquals(3, first.getStartLineNumber());
+    assertEquals(8, first.getStartColumn());
+    assertEquals(3, first.getEndLineNumber());
+    assertEquals(11, first.getEndColumn());
+
+    BinaryResultReader.Record second = records.get(1);
+    assertEquals("no sentence", second.getMessage());
+    assertEquals("", second.getFileName());
+    assertNull(second.getSentence());
+    assertEquals(-1, second.getLineNumber());
+    assertEquals(-1, second.getStartOffset());
+    assertEquals(-1, second.getEndColumn());
+  }
+
+  @Test
+  public void testShareStrings() throws IOException {
+    ValidationError[] errors = new ValidationError[100];
+    for (int i = 0; i < errors.length; i++) {
+      errors[i] = new ValidationError(this.getClass(),
+          "The length of the line exceeds the maximum", i, "document.md");
+    }
+    byte[] bytes = write(errors);
+    // NOTE: the strings are written only once
+    assertTrue(bytes.length < 100 * 20);
+
+    List<BinaryResultReader.Record> records =
+        new BinaryResultReader(new ByteArrayInputStream(bytes)).readAll();
+    assertEquals(100, records.size());
+    for (int i = 0; i < records.size(); i++) {
+      assertEquals(i, records.get(i).getLineNumber());
+      assertSame(records.get(0).getMessage(), records.get(i).getMessage());
+      assertSame(records.get(0).getFileName(), records.get(i).getFileName());
+    }
+  }
+
+  @Test
+  public void testReadConcatenatedRuns() throws IOException {
+    byte[] first = write(new ValidationError(this.getClass(), "a", 1, "x"));
+    byte[] second = write(new ValidationError(this.getClass(), "b", 2, "y"),
+        new ValidationError(this.getClass(), "a", 3, "x"));
+    byte[] bytes = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, bytes, first.length, second.length);
+
+    List<BinaryResultReader.Record> records =
+        new BinaryResultReader(new ByteArrayInputStream(bytes)).readAll();
+    assertEquals(3, records.size());
+    assertEquals("a", records.get(0).getMessage());
+    assertEquals("x", records.get(0).getFileName());
+    assertEquals("b", records.get(1).getMessage());
+    assertEquals("y", records.get(1).getFileName());
+    assertEquals("a", records.get(2).getMessage());
+    assertEquals(3, records.get(2).getLineNumber());
+  }
+
+  @Test
+  public void testWriteWithoutHeader() throws IOException {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    BinaryResultDistributor distributor = new BinaryResultDistributor(os);
+    distributor.flushResult(new ValidationError(this.getClass(), "foo"));
+    distributor.flushFooter();
+    List<BinaryResultReader.Record> records = new BinaryResultReader(
+        new ByteArrayInputStream(os.toByteArray())).readAll();
+    assertEquals(1, records.size());
+  }
+
+  @Test(expected = EOFException.class)
+  public void testReadTruncatedStream() throws IOException {
+    byte[] bytes = write(new ValidationError(this.getClass(), "foo"));
+    new BinaryResultReader(new ByteArrayInputStream(
+        Arrays.copyOf(bytes, bytes.length - 2))).readAll();
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadTextStream() throws IOException {
+    new BinaryResultReader(new ByteArrayInputStream(
+        "<validation-result>".getBytes("UTF-8"))).readAll();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetFormatter() {
+    new BinaryResultDistributor(new ByteArrayOutputStream())
+        .setFormatter(new PlainFormatter());
+  }
+
+  private byte[] write(ValidationError... errors) {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    BinaryResultDistributor distributor = new BinaryResultDistributor(os);
+    distributor.flushHeader();
+    for (ValidationError error : errors) {
+      distributor.flushResult(error);
+    }
+    distributor.flushFooter();
+    return os.toByteArray();
+  }
+}
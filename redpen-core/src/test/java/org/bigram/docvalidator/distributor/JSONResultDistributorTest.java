@@ -0,0 +1,113 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.distributor;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.formatter.JSONFormatter;
+import org.bigram.docvalidator.formatter.PlainFormatter;
+import org.bigram.docvalidator.model.Sentence;
+import org.junit.Test;
+
+public class JSONResultDistributorTest {
+  @Test
+  public void testWriteArray() throws Exception {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    JSONResultDistributor distributor = new JSONResultDistributor(os, false);
+    distributor.flushHeader();
+    distributor.flushResult(new ValidationError(this.getClass(),
+        "error \"1\"", new Sentence("This is a sentence.", 2), "foo.md"));
+    distributor.flushResult(new ValidationError(this.getClass(), "error 2"));
+    distributor.flushFooter();
+
+    assertEquals("[{\"sentence\":\"This is a sentence.\","
+        + "\"message\":\"error \\\"1\\\"\","
+        + "\"validator\":\"JSONResultDistributorTest\","
+        + "\"file\":\"foo.md\",\"lineNum\":2},"
+        + "{\"message\":\"error 2\","
+        + "\"validator\":\"JSONResultDistributorTest\",\"lineNum\":-1}]\n",
+        new String(os.toByteArray(), "UTF-8"));
+  }
+
+  @Test
+  public void testWriteEmptyArray() throws Exception {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    JSONResultDistributor distributor = new JSONResultDistributor(os, false);
+    distributor.flushHeader();
+    distributor.flushFooter();
+    assertEquals("[]\n", new String(os.toByteArray(), "UTF-8"));
+  }
+
+  @Test
+  public void testWriteLines() throws Exception {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    JSONResultDistributor distributor = new JSONResultDistributor(os, true);
+    distributor.flushHeader();
+    for (int i = 0; i < 3; i++) {
+      distributor.flushResult(
+          new ValidationError(this.getClass(), "error " + i, i));
+    }
+    distributor.flushFooter();
+
+    String[] lines = new String(os.toByteArray(), "UTF-8").split("\n");
+    assertEquals(3, lines.length);
+    for (int i = 0; i < 3; i++) {
+      assertEquals("{\"message\":\"error " + i + "\","
+          + "\"validator\":\"JSONResultDistributorTest\","
+          + "\"lineNum\":" + i + "}", lines[i]);
+    }
+  }
+
+  @Test
+  public void testSameObjectAsJSONFormatter() throws Exception {
+    ValidationError error = new ValidationError(this.getClass(),
+        "Fatal Error", new Sentence("This is a sentence", 0), "foobar.md");
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    JSONResultDistributor distributor = new JSONResultDistributor(os, true);
+    distributor.setFormatter(new JSONFormatter());
+    distributor.flushResult(error);
+    distributor.flushFooter();
+    assertEquals(new JSONFormatter().convertError(error) + "\n",
+        new String(os.toByteArray(), "UTF-8"));
+  }
+
+  @Test
+  public void testWriteLocation() throws Exception {
+    Sentence sentence = new Sentence("foo bar", 1);
+    sentence.addSourceLocation(0, 10, 1, 2);
+    ValidationError error =
+        new ValidationError(this.getClass(), "bar", sentence);
+    error.setPosition(4, 7);
+    assertEquals("{\"sentence\":\"foo bar\",\"message\":\"bar\","
+        + "\"validator\":\"JSONResultDistributorTest\",\"lineNum\":1,"
+        + "\"location\":{\"startOffset\":14,\"endOffset\":17,"
+        + "\"startLine\":1,\"startColumn\":6,"
+        + "\"endLine\":1,\"endColumn\":9}}",
+        new JSONFormatter().convertError(error));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetPlainFormatter() {
+    JSONResultDistributor distributor =
+        new JSONResultDistributor(new ByteArrayOutputStream(), false);
+    distributor.setFormatter(new PlainFormatter());
+  }
+}
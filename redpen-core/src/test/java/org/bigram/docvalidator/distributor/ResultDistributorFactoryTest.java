@@ -40,6 +40,13 @@ public class ResultDistributorFactoryTest {
     assertNotNull(distributor);
   }
 
+  @Test
+  public void testCreateAsyncDistributor() {
+    ResultDistributor distributor = ResultDistributorFactory.createDistributor(
+        Formatter.Type.PLAIN, System.out, true);
+    assertTrue(distributor instanceof AsyncResultDistributor);
+  }
+
   @Test
   public void testNullDistributor() {
     ResultDistributor distributor = ResultDistributorFactory.createDistributor(null, null);
@@ -0,0 +1,92 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.distributor;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.formatter.PlainFormatter;
+import org.bigram.docvalidator.formatter.XMLFormatter;
+import org.bigram.docvalidator.model.Sentence;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+public class XMLResultDistributorTest {
+  @Test
+  public void testStreamErrors() throws Exception {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    XMLResultDistributor distributor = new XMLResultDistributor(os);
+    distributor.flushHeader();
+    for (int i = 0; i < 3; i++) {
+      distributor.flushResult(new ValidationError(this.getClass(),
+          "error <" + i + ">", new Sentence("a & b", i), "foo.md"));
+    }
+    distributor.flushFooter();
+
+    Document document = DocumentBuilderFactory.newInstance()
+        .newDocumentBuilder()
+        .parse(new ByteArrayInputStream(os.toByteArray()));
+    assertEquals("validation-result",
+        document.getDocumentElement().getTagName());
+    assertEquals(3, document.getElementsByTagName("error").getLength());
+    assertEquals("error <2>",
+        document.getElementsByTagName("message").item(2).getTextContent());
+    assertEquals("a & b",
+        document.getElementsByTagName("sentence").item(0).getTextContent());
+    assertEquals("1",
+        document.getElementsByTagName("lineNum").item(1).getTextContent());
+  }
+
+  @Test
+  public void testSameOutputAsXMLFormatter() throws Exception {
+    ValidationError error = new ValidationError(this.getClass(),
+        "Fatal Error", new Sentence("This is a sentence", 0), "foobar.md");
+    XMLFormatter formatter = new XMLFormatter();
+    String separator = System.getProperty("line.separator");
+    String expected = formatter.header() + separator
+        + formatter.convertError(error) + separator
+        + formatter.footer() + separator;
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    XMLResultDistributor distributor = new XMLResultDistributor(os);
+    distributor.setFormatter(formatter);
+    distributor.flushHeader();
+    distributor.flushResult(error);
+    distributor.flushFooter();
+    assertEquals(expected, new String(os.toByteArray(), "UTF-8"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetPlainFormatter() throws Exception {
+    XMLResultDistributor distributor =
+        new XMLResultDistributor(new ByteArrayOutputStream());
+    distributor.setFormatter(new PlainFormatter());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFlushNullError() throws Exception {
+    XMLResultDistributor distributor =
+        new XMLResultDistributor(new ByteArrayOutputStream());
+    distributor.flushResult(null);
+  }
+}
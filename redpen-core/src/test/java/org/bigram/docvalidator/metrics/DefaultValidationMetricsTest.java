@@ -0,0 +1,82 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.metrics;
+
+import org.bigram.docvalidator.parser.Parser;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DefaultValidationMetricsTest {
+  @Test
+  public void testRecordValidation() {
+    DefaultValidationMetrics metrics = new DefaultValidationMetrics();
+    metrics.recordValidation("SentenceLengthValidator", 1000, 1);
+    metrics.recordValidation("SentenceLengthValidator", 3000, 0);
+    metrics.recordValidation("SectionLengthValidator", 500, 2);
+
+    DefaultValidationMetrics.Statistics statistics =
+        metrics.getValidatorStatistics().get("SentenceLengthValidator");
+    assertEquals(2, statistics.getInvocations());
+    assertEquals(4000, statistics.getNanoTime());
+    assertEquals(1, statistics.getErrors());
+    assertEquals(500000.0, statistics.getThroughput(), 0.001);
+    assertEquals(2, metrics.getValidatorStatistics()
+        .get("SectionLengthValidator").getErrors());
+  }
+
+  @Test
+  public void testRecordParse() {
+    DefaultValidationMetrics metrics = new DefaultValidationMetrics();
+    metrics.recordParse(Parser.Type.WIKI, 100);
+    metrics.recordParse(Parser.Type.WIKI, 200);
+    assertEquals(2,
+        metrics.getParserStatistics().get(Parser.Type.WIKI).getInvocations());
+    assertEquals(300,
+        metrics.getParserStatistics().get(Parser.Type.WIKI).getNanoTime());
+    assertEquals(null, metrics.getParserStatistics().get(Parser.Type.PLAIN));
+  }
+
+  @Test
+  public void testPrintSummary() {
+    DefaultValidationMetrics metrics = new DefaultValidationMetrics();
+    metrics.recordValidation("SentenceLengthValidator", 1000, 1);
+    metrics.recordValidation("SectionLengthValidator", 5000, 0);
+    metrics.recordParse(Parser.Type.MARKDOWN, 100);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    metrics.printSummary(new PrintStream(output));
+    String summary = output.toString();
+    assertTrue(summary.contains("MARKDOWN"));
+    // sorted by the time spent
+    assertTrue(summary.indexOf("SectionLengthValidator")
+        < summary.indexOf("SentenceLengthValidator"));
+  }
+
+  @Test
+  public void testThroughputWithoutRecords() {
+    DefaultValidationMetrics metrics = new DefaultValidationMetrics();
+    metrics.recordParse(Parser.Type.PLAIN, 0);
+    assertEquals(0.0,
+        metrics.getParserStatistics().get(Parser.Type.PLAIN).getThroughput(),
+        0.001);
+  }
+}
@@ -18,13 +18,13 @@ public class DocumentCollectionTest {
     assertEquals(1, doc.getFile(0).getNumberOfSections());
     assertEquals(0, doc.getFile(0).getSection(0).getLevel());
     assertEquals("Foobar", doc.getFile(0).getFileName());
-    assertEquals("baz", doc.getFile(0).getSection(0).getHeaderContent(0).content);
+    assertEquals("baz", doc.getFile(0).getSection(0).getHeaderContent(0).getContent());
     assertEquals(1, doc.getFile(0).getSection(0).getNumberOfParagraphs());
     assertEquals(2, doc.getFile(0).getSection(0).getParagraph(0).getNumberOfSentences());
-    assertEquals("sentence0", doc.getFile(0).getSection(0).getParagraph(0).getSentence(0).content);
+    assertEquals("sentence0", doc.getFile(0).getSection(0).getParagraph(0).getSentence(0).getContent());
     assertEquals(true, doc.getFile(0).getSection(0).getParagraph(0).getSentence(0).isFirstSentence);
     assertEquals(0, doc.getFile(0).getSection(0).getParagraph(0).getSentence(0).position);
-    assertEquals("sentence1", doc.getFile(0).getSection(0).getParagraph(0).getSentence(1).content);
+    assertEquals("sentence1", doc.getFile(0).getSection(0).getParagraph(0).getSentence(1).getContent());
     assertEquals(false, doc.getFile(0).getSection(0).getParagraph(0).getSentence(1).isFirstSentence);
     assertEquals(1, doc.getFile(0).getSection(0).getParagraph(0).getSentence(1).position);
   }
@@ -59,28 +59,28 @@ public class DocumentCollectionTest {
     // first document
     assertEquals(1, doc.getFile(0).getNumberOfSections());
     assertEquals("doc1", doc.getFile(0).getFileName());
-    assertEquals("sec1", doc.getFile(0).getSection(0).getHeaderContent(0).content);
+    assertEquals("sec1", doc.getFile(0).getSection(0).getHeaderContent(0).getContent());
     assertEquals(0, doc.getFile(0).getSection(0).getLevel());
     assertEquals(1, doc.getFile(0).getSection(0).getNumberOfParagraphs());
     assertEquals(2, doc.getFile(0).getSection(0).getParagraph(0).getNumberOfSentences());
-    assertEquals("sentence00", doc.getFile(0).getSection(0).getParagraph(0).getSentence(0).content);
+    assertEquals("sentence00", doc.getFile(0).getSection(0).getParagraph(0).getSentence(0).getContent());
     assertEquals(true, doc.getFile(0).getSection(0).getParagraph(0).getSentence(0).isFirstSentence);
     assertEquals(0, doc.getFile(0).getSection(0).getParagraph(0).getSentence(0).position);
-    assertEquals("sentence01", doc.getFile(0).getSection(0).getParagraph(0).getSentence(1).content);
+    assertEquals("sentence01", doc.getFile(0).getSection(0).getParagraph(0).getSentence(1).getContent());
     assertEquals(false, doc.getFile(0).getSection(0).getParagraph(0).getSentence(1).isFirstSentence);
     assertEquals(1, doc.getFile(0).getSection(0).getParagraph(0).getSentence(1).position);
 
     // second document
     assertEquals(1, doc.getFile(1).getNumberOfSections());
     assertEquals("doc2", doc.getFile(1).getFileName());
-    assertEquals("sec2", doc.getFile(1).getSection(0).getHeaderContent(0).content);
+    assertEquals("sec2", doc.getFile(1).getSection(0).getHeaderContent(0).getContent());
     assertEquals(0, doc.getFile(1).getSection(0).getLevel());
     assertEquals(1, doc.getFile(1).getSection(0).getNumberOfParagraphs());
     assertEquals(2, doc.getFile(1).getSection(0).getParagraph(0).getNumberOfSentences());
-    assertEquals("sentence10", doc.getFile(1).getSection(0).getParagraph(0).getSentence(0).content);
+    assertEquals("sentence10", doc.getFile(1).getSection(0).getParagraph(0).getSentence(0).getContent());
     assertEquals(true, doc.getFile(1).getSection(0).getParagraph(0).getSentence(0).isFirstSentence);
     assertEquals(0, doc.getFile(1).getSection(0).getParagraph(0).getSentence(0).position);
-    assertEquals("sentence11", doc.getFile(1).getSection(0).getParagraph(0).getSentence(1).content);
+    assertEquals("sentence11", doc.getFile(1).getSection(0).getParagraph(0).getSentence(1).getContent());
     assertEquals(false, doc.getFile(1).getSection(0).getParagraph(0).getSentence(1).isFirstSentence);
     assertEquals(1, doc.getFile(1).getSection(0).getParagraph(0).getSentence(1).position);
   }
@@ -103,22 +103,22 @@ public class DocumentCollectionTest {
     assertEquals(1, doc.getFile(0).getNumberOfSections());
     assertEquals(0, doc.getFile(0).getSection(0).getLevel());
     assertEquals("Foobar", doc.getFile(0).getFileName());
-    assertEquals("baz", doc.getFile(0).getSection(0).getHeaderContent(0).content);
+    assertEquals("baz", doc.getFile(0).getSection(0).getHeaderContent(0).getContent());
     assertEquals(1, doc.getFile(0).getSection(0).getNumberOfParagraphs());
-    assertEquals("sentence0", doc.getFile(0).getSection(0).getParagraph(0).getSentence(0).content);
+    assertEquals("sentence0", doc.getFile(0).getSection(0).getParagraph(0).getSentence(0).getContent());
     assertEquals(true, doc.getFile(0).getSection(0).getParagraph(0).getSentence(0).isFirstSentence);
     assertEquals(0, doc.getFile(0).getSection(0).getParagraph(0).getSentence(0).position);
-    assertEquals("sentence1", doc.getFile(0).getSection(0).getParagraph(0).getSentence(1).content);
+    assertEquals("sentence1", doc.getFile(0).getSection(0).getParagraph(0).getSentence(1).getContent());
     assertEquals(false, doc.getFile(0).getSection(0).getParagraph(0).getSentence(1).isFirstSentence);
     assertEquals(1, doc.getFile(0).getSection(0).getParagraph(0).getSentence(1).position);
     assertEquals(1, doc.getFile(0).getSection(0).getNumberOfLists());
     assertEquals(3, doc.getFile(0).getSection(0).getListBlock(0).getNumberOfListElements());
     assertEquals(0, doc.getFile(0).getSection(0).getListBlock(0).getListElement(0).getLevel());
-    assertEquals("list0", doc.getFile(0).getSection(0).getListBlock(0).getListElement(0).getSentence(0).content);
+    assertEquals("list0", doc.getFile(0).getSection(0).getListBlock(0).getListElement(0).getSentence(0).getContent());
     assertEquals(0, doc.getFile(0).getSection(0).getListBlock(0).getListElement(1).getLevel());
-    assertEquals("list1", doc.getFile(0).getSection(0).getListBlock(0).getListElement(1).getSentence(0).content);
+    assertEquals("list1", doc.getFile(0).getSection(0).getListBlock(0).getListElement(1).getSentence(0).getContent());
     assertEquals(1, doc.getFile(0).getSection(0).getListBlock(0).getListElement(2).getLevel());
-    assertEquals("list2", doc.getFile(0).getSection(0).getListBlock(0).getListElement(2).getSentence(0).content);
+    assertEquals("list2", doc.getFile(0).getSection(0).getListBlock(0).getListElement(2).getSentence(0).getContent());
   }
 
   @Test(expected = IllegalStateException.class)
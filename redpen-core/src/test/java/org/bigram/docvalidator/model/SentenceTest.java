@@ -0,0 +1,66 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class SentenceTest {
+  @Test
+  public void testSentenceViewingText() {
+    String text = "this is a pen. that is a pencil.";
+    Sentence sentence = new Sentence(text, 15, text.length(), 3);
+    assertEquals(17, sentence.getLength());
+    assertEquals("that is a pencil.", sentence.getText().toString());
+    assertEquals('t', sentence.getText().charAt(0));
+    assertEquals("that is a pencil.", sentence.getContent());
+    assertSame(sentence.getContent(), sentence.getContent());
+    assertEquals(3, sentence.position);
+  }
+
+  @Test
+  public void testSetContent() {
+    Sentence sentence = new Sentence("this is a pen. that is", 0, 14, 0);
+    sentence.setContent("this is a dog.");
+    assertEquals(14, sentence.getLength());
+    assertEquals("this is a dog.", sentence.getText().toString());
+    assertEquals("this is a dog.", sentence.getContent());
+  }
+
+  @Test
+  public void testTextViewIsReused() {
+    String text = "this is a pen. that is a pencil.";
+    Sentence sentence = new Sentence(text, 15, text.length(), 0);
+    assertSame(sentence.getText(), sentence.getText());
+    assertSame(text, new Sentence(text, 0).getText());
+    sentence.setContent("this is a dog.");
+    assertEquals("this is a dog.", sentence.getText().toString());
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testNullContent() {
+    new Sentence(null, 0);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testInvalidRange() {
+    new Sentence("this is a pen.", 3, 20, 0);
+  }
+}
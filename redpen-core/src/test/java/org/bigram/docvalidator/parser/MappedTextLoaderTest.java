@@ -0,0 +1,107 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.parser;
+
+import org.apache.commons.io.FileUtils;
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class MappedTextLoaderTest {
+  @Test
+  public void testLoadLines() throws Exception {
+    MappedTextLoader loader = new MappedTextLoader();
+    assertLines(loader, "this is a pen.\nthat is a pencil.");
+    assertLines(loader, "this is a pen.\r\nthat is a pencil.\r\n");
+    assertLines(loader, "this is a pen.\rthat is a pencil.\r");
+    assertLines(loader, "\n\r\n\r\r\nこれはペンです。\n\n");
+    assertLines(loader, "");
+    assertLines(loader, "\n");
+  }
+
+  @Test
+  public void testLoadLargeFile() throws Exception {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      // NOTE: multi-byte characters cross the boundaries of the chunks
+      text.append("これは").append(i).append("番目の文です。\r\n");
+    }
+    assertLines(new MappedTextLoader(), text.toString());
+  }
+
+  @Test
+  public void testLoadSmallerFileAfterLargerFile() throws Exception {
+    MappedTextLoader loader = new MappedTextLoader();
+    assertLines(loader, "this is a pen.\nthat is a pencil.\nok.");
+    assertLines(loader, "ok.");
+  }
+
+  @Test
+  public void testOffsets() throws Exception {
+    File file = File.createTempFile("redpen-test", ".txt");
+    file.deleteOnExit();
+    FileUtils.writeStringToFile(file, "ab\r\ncde\n\rf", "UTF-8");
+    LineReader reader = new MappedTextLoader().load(file.getAbsolutePath());
+    List<Integer> offsets = new ArrayList<Integer>();
+    while (reader.readLine() != null) {
+      offsets.add(reader.getOffset());
+    }
+    assertEquals("[0, 4, 8, 9]", offsets.toString());
+  }
+
+  @Test(expected = DocumentValidatorException.class)
+  public void testLoadMissingFile() throws Exception {
+    new MappedTextLoader().load("no/such/file.txt");
+  }
+
+  @Test(expected = DocumentValidatorException.class)
+  public void testLoadWithoutFileName() throws Exception {
+    new MappedTextLoader().load("");
+  }
+
+  private static void assertLines(MappedTextLoader loader, String text)
+      throws IOException, DocumentValidatorException {
+    File file = File.createTempFile("redpen-test", ".txt");
+    file.deleteOnExit();
+    FileUtils.writeStringToFile(file, text, "UTF-8");
+
+    List<String> expected = new ArrayList<String>();
+    BufferedReader reader = new BufferedReader(new StringReader(text));
+    String expectedLine;
+    while ((expectedLine = reader.readLine()) != null) {
+      expected.add(expectedLine);
+    }
+
+    List<String> actual = new ArrayList<String>();
+    LineReader lineReader = loader.load(file.getAbsolutePath());
+    CharSequence line;
+    while ((line = lineReader.readLine()) != null) {
+      actual.add(line.toString());
+    }
+    lineReader.close();
+    assertEquals(expected, actual);
+  }
+}
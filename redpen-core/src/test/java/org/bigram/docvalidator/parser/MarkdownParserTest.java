@@ -17,6 +17,8 @@
  */
 package org.bigram.docvalidator.parser;
 
+import org.bigram.docvalidator.model.Paragraph;
+import org.bigram.docvalidator.model.Sentence;
 import org.apache.commons.io.IOUtils;
 import org.bigram.docvalidator.model.*;
 import org.junit.Before;
@@ -83,7 +85,7 @@ public class MarkdownParserTest {
     // first section
     final Section firstSection = doc.getSection(0);
     assertEquals(1, firstSection.getHeaderContentsListSize());
-    assertEquals("", firstSection.getHeaderContent(0).content);
+    assertEquals("", firstSection.getHeaderContent(0).getContent());
     assertEquals(0, firstSection.getNumberOfLists());
     assertEquals(0, firstSection.getNumberOfParagraphs());
     assertEquals(1, firstSection.getNumberOfSubsections());
@@ -91,7 +93,7 @@ public class MarkdownParserTest {
     // 2nd section
     final Section secondSection = doc.getSection(1);
     assertEquals(1, secondSection.getHeaderContentsListSize());
-    assertEquals("About Gekioko.", secondSection.getHeaderContent(0).content);
+    assertEquals("About Gekioko.", secondSection.getHeaderContent(0).getContent());
     assertEquals(0, secondSection.getHeaderContent(0).position);
     assertEquals(0, secondSection.getNumberOfLists());
     assertEquals(2, secondSection.getNumberOfParagraphs());
@@ -111,7 +113,7 @@ public class MarkdownParserTest {
     assertEquals(2, lastSection.getNumberOfParagraphs());
     assertEquals(1, lastSection.getHeaderContentsListSize());
     assertEquals(0, lastSection.getNumberOfSubsections());
-    assertEquals("About Gunma.", lastSection.getHeaderContent(0).content);
+    assertEquals("About Gunma.", lastSection.getHeaderContent(0).getContent());
     assertEquals(secondSection, lastSection.getParentSection());
 
     // validate paragraph in last section
@@ -137,15 +139,15 @@ public class MarkdownParserTest {
     sampleText += "- Odakyu\n";
     Document doc = createFileContent(sampleText);
     assertEquals(5, doc.getSection(0).getListBlock(0).getNumberOfListElements());
-    assertEquals("Tokyu", doc.getSection(0).getListBlock(0).getListElement(0).getSentence(0).content);
+    assertEquals("Tokyu", doc.getSection(0).getListBlock(0).getListElement(0).getSentence(0).getContent());
     assertEquals(1, doc.getSection(0).getListBlock(0).getListElement(0).getLevel());
-    assertEquals("Toyoko Line", doc.getSection(0).getListBlock(0).getListElement(1).getSentence(0).content);
+    assertEquals("Toyoko Line", doc.getSection(0).getListBlock(0).getListElement(1).getSentence(0).getContent());
     assertEquals(2, doc.getSection(0).getListBlock(0).getListElement(1).getLevel());
-    assertEquals("Denentoshi Line", doc.getSection(0).getListBlock(0).getListElement(2).getSentence(0).content);
+    assertEquals("Denentoshi Line", doc.getSection(0).getListBlock(0).getListElement(2).getSentence(0).getContent());
     assertEquals(2, doc.getSection(0).getListBlock(0).getListElement(2).getLevel());
-    assertEquals("Keio", doc.getSection(0).getListBlock(0).getListElement(3).getSentence(0).content);
+    assertEquals("Keio", doc.getSection(0).getListBlock(0).getListElement(3).getSentence(0).getContent());
     assertEquals(1, doc.getSection(0).getListBlock(0).getListElement(3).getLevel());
-    assertEquals("Odakyu", doc.getSection(0).getListBlock(0).getListElement(4).getSentence(0).content);
+    assertEquals("Odakyu", doc.getSection(0).getListBlock(0).getListElement(4).getSentence(0).getContent());
     assertEquals(1, doc.getSection(0).getListBlock(0).getListElement(4).getLevel());
   }
 
@@ -160,7 +162,7 @@ public class MarkdownParserTest {
     Paragraph firstParagraph = firstSections.getParagraph(0);
     assertEquals(3, firstParagraph.getNumberOfSentences());
     for (int i = 0; i < expectedResult.length; i++) {
-      assertEquals(expectedResult[i], firstParagraph.getSentence(i).content);
+      assertEquals(expectedResult[i], firstParagraph.getSentence(i).getContent());
     }
   }
 
@@ -171,9 +173,9 @@ public class MarkdownParserTest {
     Section firstSections = doc.getSection(0);
     Paragraph firstParagraph = firstSections.getParagraph(0);
     assertEquals(3, firstParagraph.getNumberOfSentences());
-    assertEquals("Is Tokyu a good railway company?", doc.getSection(0).getParagraph(0).getSentence(0).content);
-    assertEquals(" The company is reliable.", doc.getSection(0).getParagraph(0).getSentence(1).content);
-    assertEquals(" In addition it is rich!", doc.getSection(0).getParagraph(0).getSentence(2).content);
+    assertEquals("Is Tokyu a good railway company?", doc.getSection(0).getParagraph(0).getSentence(0).getContent());
+    assertEquals(" The company is reliable.", doc.getSection(0).getParagraph(0).getSentence(1).getContent());
+    assertEquals(" In addition it is rich!", doc.getSection(0).getParagraph(0).getSentence(2).getContent());
   }
 
   @Test
@@ -237,7 +239,7 @@ public class MarkdownParserTest {
     // PegDown Parser is related to visit(RefLinkNode) method
     assertEquals("http://google.com", firstParagraph.getSentence(0).links.get(0));
     assertEquals("this is not a [pen], but also this is not Google either.",
-        firstParagraph.getSentence(0).content);
+        firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -251,7 +253,7 @@ public class MarkdownParserTest {
     assertEquals(1, firstParagraph.getSentence(0).links.size());
     assertEquals("http://google.com", firstParagraph.getSentence(0).links.get(0));
     assertEquals("the url is not Google.",
-        firstParagraph.getSentence(0).content);
+        firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -265,7 +267,7 @@ public class MarkdownParserTest {
     assertEquals(1, firstParagraph.getSentence(0).links.size());
     assertEquals("http://google.com", firstParagraph.getSentence(0).links.get(0));
     assertEquals("url of google is http://google.com.",
-        firstParagraph.getSentence(0).content);
+        firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -274,7 +276,7 @@ public class MarkdownParserTest {
     Document doc = createFileContent(sampleText);
     Section firstSections = doc.getSection(0);
     Paragraph firstParagraph = firstSections.getParagraph(0);
-    assertEquals("This is a good day.", firstParagraph.getSentence(0).content);
+    assertEquals("This is a good day.", firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -283,7 +285,7 @@ public class MarkdownParserTest {
     Document doc = createFileContent(sampleText);
     Section firstSections = doc.getSection(0);
     Paragraph firstParagraph = firstSections.getParagraph(0);
-    assertEquals("This is a good day.", firstParagraph.getSentence(0).content);
+    assertEquals("This is a good day.", firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -292,7 +294,7 @@ public class MarkdownParserTest {
     Document doc = createFileContent(sampleText);
     Section firstSections = doc.getSection(0);
     Paragraph firstParagraph = firstSections.getParagraph(0);
-    assertEquals("This is a good day.", firstParagraph.getSentence(0).content);
+    assertEquals("This is a good day.", firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -301,7 +303,7 @@ public class MarkdownParserTest {
     Document doc = createFileContent(sampleText);
     Section firstSections = doc.getSection(0);
     Paragraph firstParagraph = firstSections.getParagraph(0);
-    assertEquals("This is a good day.", firstParagraph.getSentence(0).content);
+    assertEquals("This is a good day.", firstParagraph.getSentence(0).getContent());
   }
 
 
@@ -316,8 +318,8 @@ public class MarkdownParserTest {
     Document doc = createFileContent(sampleText);
     Section lastSection = doc.getSection(doc.getNumberOfSections() - 1);
     assertEquals(2, lastSection.getHeaderContentsListSize());
-    assertEquals("About Gunma.", lastSection.getHeaderContent(0).content);
-    assertEquals(" About Saitama.", lastSection.getHeaderContent(1).content);
+    assertEquals("About Gunma.", lastSection.getHeaderContent(0).getContent());
+    assertEquals(" About Saitama.", lastSection.getHeaderContent(1).getContent());
   }
 
   @Test
@@ -331,7 +333,7 @@ public class MarkdownParserTest {
     Document doc = createFileContent(sampleText);
     Section lastSection = doc.getSection(doc.getNumberOfSections() - 1);
     assertEquals(1, lastSection.getHeaderContentsListSize());
-    assertEquals("About Gunma", lastSection.getHeaderContent(0).content);
+    assertEquals("About Gunma", lastSection.getHeaderContent(0).getContent());
   }
 
   @Test
@@ -348,11 +350,11 @@ public class MarkdownParserTest {
     assertEquals(2, listBlock.getNumberOfListElements());
     assertEquals(1, listBlock.getListElement(0).getNumberOfSentences());
     assertEquals("Gunma is located at west of Saitama.",
-        listBlock.getListElement(0).getSentence(0).content);
+        listBlock.getListElement(0).getSentence(0).getContent());
     assertEquals("The word also have posive meaning.",
-        listBlock.getListElement(1).getSentence(0).content);
+        listBlock.getListElement(1).getSentence(0).getContent());
     assertEquals(" Hower it is a bit wired.",
-        listBlock.getListElement(1).getSentence(1).content);
+        listBlock.getListElement(1).getSentence(1).getContent());
   }
 
   @Test
@@ -368,7 +370,7 @@ public class MarkdownParserTest {
     assertEquals(1, listBlock.getNumberOfListElements());
     assertEquals(1, listBlock.getListElement(0).getNumberOfSentences());
     assertEquals("Gunma is located at west of Saitama",
-        listBlock.getListElement(0).getSentence(0).content);
+        listBlock.getListElement(0).getSentence(0).getContent());
   }
 
   @Test
@@ -476,6 +478,21 @@ public class MarkdownParserTest {
     return parser;
   }
 
+  @Test
+  public void testSentenceLocations() {
+    Document doc = createFileContent(
+        "# About Gunma\r\n\r\nThis is a pen. That is a cat.\r\n");
+    Paragraph paragraph = doc.getLastSection().getParagraph(0);
+    Sentence first = paragraph.getSentence(0);
+    assertEquals("This is a pen.", first.getContent());
+    assertEquals(17, first.getSourceOffset(0));
+    assertEquals(2, first.getSourceLineNumber(0));
+    assertEquals(0, first.getSourceColumn(0));
+    Sentence second = paragraph.getSentence(1);
+    assertEquals(31, second.getSourceOffset(0));
+    assertEquals(14, second.getSourceColumn(0));
+  }
+
   private Document createFileContent(String inputDocumentString,
                                         String configurationString,
                                         String characterTableString)
@@ -0,0 +1,94 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.parser;
+
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.bigram.docvalidator.config.Configuration;
+import org.bigram.docvalidator.config.ValidatorConfiguration;
+import org.bigram.docvalidator.model.Document;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ParserPoolTest {
+  @Test
+  public void testParse() throws Exception {
+    ParserPool pool = createPool();
+    Document first = pool.parse(Parser.Type.PLAIN,
+        toStream("this is a pen. that is a pen."));
+    Document second = pool.parse(Parser.Type.PLAIN,
+        toStream("it is a piece of a cake."));
+
+    assertNotSame(first, second);
+    assertEquals(2, first.getSection(0).getParagraph(0)
+        .getNumberOfSentences());
+    assertEquals("it is a piece of a cake.", second.getSection(0)
+        .getParagraph(0).getSentence(0).getContent());
+  }
+
+  @Test
+  public void testParsersAreReusedInThread() throws Exception {
+    ParserPool pool = createPool();
+    assertSame(pool.getParser(Parser.Type.MARKDOWN).parser,
+        pool.getParser(Parser.Type.MARKDOWN).parser);
+    assertNotSame(pool.getParser(Parser.Type.PLAIN).parser,
+        pool.getParser(Parser.Type.MARKDOWN).parser);
+  }
+
+  @Test
+  public void testParsersAreConfinedToThread() throws Exception {
+    final ParserPool pool = createPool();
+    final AtomicReference<Parser> otherParser = new AtomicReference<Parser>();
+    Thread thread = new Thread() {
+      @Override
+      public void run() {
+        try {
+          otherParser.set(pool.getParser(Parser.Type.WIKI).parser);
+        } catch (DocumentValidatorException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    };
+    thread.start();
+    thread.join();
+
+    assertNotSame(otherParser.get(), pool.getParser(Parser.Type.WIKI).parser);
+  }
+
+  @Test(expected = DocumentValidatorException.class)
+  public void testNullConfiguration() throws DocumentValidatorException {
+    new ParserPool(null);
+  }
+
+  private ParserPool createPool() throws DocumentValidatorException {
+    return new ParserPool(
+        new Configuration(new ValidatorConfiguration("Validator")));
+  }
+
+  private InputStream toStream(String text)
+      throws UnsupportedEncodingException {
+    return new ByteArrayInputStream(text.getBytes("UTF-8"));
+  }
+}
@@ -17,6 +17,8 @@
  */
 package org.bigram.docvalidator.parser;
 
+import org.bigram.docvalidator.model.Sentence;
+import org.bigram.docvalidator.ValidationError;
 import org.apache.commons.io.IOUtils;
 import org.bigram.docvalidator.model.DocumentCollection;
 import org.junit.Before;
@@ -41,6 +43,38 @@ public class PlainTextParserTest {
 
   private Parser parser = null;
 
+  @Test
+  public void testSentenceLocations() {
+    Document doc = generateDocument("This is a pen. That\r\nis a cat.\r\n");
+    Paragraph paragraph = doc.getLastSection().getParagraph(0);
+    Sentence first = paragraph.getSentence(0);
+    assertEquals(0, first.getSourceOffset(0));
+    assertEquals(0, first.getSourceLineNumber(0));
+
+    Sentence second = paragraph.getSentence(1);
+    assertEquals(" Thatis a cat.", second.getContent());
+    assertEquals(14, second.getSourceOffset(0));
+    assertEquals(14, second.getSourceColumn(0));
+    assertEquals(0, second.getSourceLineNumber(0));
+    assertEquals(21, second.getSourceOffset(5));
+    assertEquals(0, second.getSourceColumn(5));
+    assertEquals(1, second.getSourceLineNumber(5));
+
+    ValidationError error = new ValidationError(getClass(), "", second);
+    assertEquals(14, error.getStartOffset());
+    assertEquals(30, error.getEndOffset());
+    assertEquals(0, error.getStartLineNumber());
+    assertEquals(1, error.getEndLineNumber());
+    assertEquals(9, error.getEndColumn());
+
+    error.setPosition(5, 7);
+    assertEquals(21, error.getStartOffset());
+    assertEquals(23, error.getEndOffset());
+    assertEquals(1, error.getStartLineNumber());
+    assertEquals(0, error.getStartColumn());
+    assertEquals(2, error.getEndColumn());
+  }
+
     private List<Paragraph> extractParagraphs(Section section) {
     List<Paragraph> paragraphs = new ArrayList<Paragraph>();
       for (Paragraph paragraph1 : section.getParagraphs()) {
@@ -146,10 +180,29 @@ public class PlainTextParserTest {
     assertEquals(5 ,calcLineNum(section));
     Paragraph paragraph = paragraphs.get(paragraphs.size()-1);
     for (int i=0; i<expectedResult.length; i++) {
-      assertEquals(expectedResult[i], paragraph.getSentence(i).content);
+      assertEquals(expectedResult[i], paragraph.getSentence(i).getContent());
     }
     assertEquals(0, section.getHeaderContent(0).position);
-    assertEquals("", section.getHeaderContent(0).content);
+    assertEquals("", section.getHeaderContent(0).getContent());
+  }
+
+  @Test
+  public void testGenerateDocumentWithSentencesBeyondBufferChunk() {
+    // the sentences continue over the lines and outgrow the buffer array
+    StringBuilder sampleText = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sampleText.append(i == 0 ? "" : " ").append("Sentence number ")
+          .append(i).append(" starts here\nand ends here.");
+    }
+    Document doc = generateDocument(sampleText.toString());
+    Paragraph paragraph = extractParagraphs(doc.getLastSection()).get(0);
+    assertEquals(1000, paragraph.getNumberOfSentences());
+    for (int i = 0; i < 1000; i++) {
+      String prefix = i == 0 ? "" : " ";
+      assertEquals(prefix + "Sentence number " + i
+          + " starts hereand ends here.",
+          paragraph.getSentence(i).getContent());
+    }
   }
 
   @Test
@@ -165,10 +218,10 @@ public class PlainTextParserTest {
     assertEquals(3 ,calcLineNum(section));
     Paragraph paragraph = paragraphs.get(paragraphs.size()-1);
     for (int i=0; i<expectedResult.length; i++) {
-      assertEquals(expectedResult[i], paragraph.getSentence(i).content);
+      assertEquals(expectedResult[i], paragraph.getSentence(i).getContent());
     }
     assertEquals(0, section.getHeaderContent(0).position);
-    assertEquals("", section.getHeaderContent(0).content);
+    assertEquals("", section.getHeaderContent(0).getContent());
   }
 
   @Test
@@ -35,7 +35,7 @@ public class SentenceExtractorTest {
     String remain = extractor.extract("this is a pen.",
         outputSentences);
     assertEquals(1, outputSentences.size());
-    assertEquals("this is a pen.", outputSentences.get(0).content);
+    assertEquals("this is a pen.", outputSentences.get(0).getContent());
     assertEquals("", remain);
   }
 
@@ -46,8 +46,8 @@ public class SentenceExtractorTest {
     String remain = extractor.extract("this is a pen. that is a paper.",
         outputSentences);
     assertEquals(2, outputSentences.size());
-    assertEquals("this is a pen.", outputSentences.get(0).content);
-    assertEquals(" that is a paper.", outputSentences.get(1).content);
+    assertEquals("this is a pen.", outputSentences.get(0).getContent());
+    assertEquals(" that is a paper.", outputSentences.get(1).getContent());
     assertEquals("", remain);
   }
 
@@ -58,8 +58,8 @@ public class SentenceExtractorTest {
     String remain = extractor.extract("is this a pen? that is a paper.",
         outputSentences);
     assertEquals(2, outputSentences.size());
-    assertEquals("is this a pen?", outputSentences.get(0).content);
-    assertEquals(" that is a paper.", outputSentences.get(1).content);
+    assertEquals("is this a pen?", outputSentences.get(0).getContent());
+    assertEquals(" that is a paper.", outputSentences.get(1).getContent());
     assertEquals("", remain);
   }
 
@@ -70,7 +70,7 @@ public class SentenceExtractorTest {
     String remain = extractor.extract("this is a pen. that is a paper",
         outputSentences);
     assertEquals(1, outputSentences.size());
-    assertEquals("this is a pen.",outputSentences.get(0).content);
+    assertEquals("this is a pen.",outputSentences.get(0).getContent());
     assertEquals(" that is a paper", remain); // NOTE: second sentence start with white space.
   }
 
@@ -84,8 +84,8 @@ public class SentenceExtractorTest {
     String remain = extractor.extract("これは埼玉ですか？いいえ群馬です。",
         outputSentences);
     assertEquals(2, outputSentences.size());
-    assertEquals("これは埼玉ですか？", outputSentences.get(0).content);
-    assertEquals("いいえ群馬です。", outputSentences.get(1).content);
+    assertEquals("これは埼玉ですか？", outputSentences.get(0).getContent());
+    assertEquals("いいえ群馬です。", outputSentences.get(1).getContent());
     assertEquals("", remain);
   }
 
@@ -99,8 +99,8 @@ public class SentenceExtractorTest {
     String remain = extractor.extract("これは埼玉ですか？ いいえ群馬です。",
         outputSentences);
     assertEquals(2, outputSentences.size());
-    assertEquals("これは埼玉ですか？", outputSentences.get(0).content);
-    assertEquals(" いいえ群馬です。", outputSentences.get(1).content);
+    assertEquals("これは埼玉ですか？", outputSentences.get(0).getContent());
+    assertEquals(" いいえ群馬です。", outputSentences.get(1).getContent());
     assertEquals("", remain);
   }
 
@@ -0,0 +1,67 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.parser;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class StreamLineReaderTest {
+  @Test
+  public void testReadLines() throws IOException {
+    assertLines("this is a pen.\nthat is a pencil.");
+    assertLines("this is a pen.\r\nthat is a pencil.\r\n");
+    assertLines("this is a pen.\rthat is a pencil.\r");
+    assertLines("\n\r\n\r\r\nこれはペンです。\n\n");
+    assertLines("");
+  }
+
+  @Test
+  public void testOffsets() throws IOException {
+    LineReader reader =
+        new StreamLineReader(new StringReader("ab\r\ncde\n\rf"));
+    List<Integer> offsets = new ArrayList<Integer>();
+    while (reader.readLine() != null) {
+      offsets.add(reader.getOffset());
+    }
+    assertEquals("[0, 4, 8, 9]", offsets.toString());
+  }
+
+  private static void assertLines(String text) throws IOException {
+    List<String> expected = new ArrayList<String>();
+    BufferedReader reader = new BufferedReader(new StringReader(text));
+    String expectedLine;
+    while ((expectedLine = reader.readLine()) != null) {
+      expected.add(expectedLine);
+    }
+
+    List<String> actual = new ArrayList<String>();
+    LineReader lineReader = new StreamLineReader(new StringReader(text));
+    CharSequence line;
+    while ((line = lineReader.readLine()) != null) {
+      actual.add(line.toString());
+    }
+    assertEquals(expected, actual);
+  }
+}
@@ -17,6 +17,8 @@
  */
 package org.bigram.docvalidator.parser;
 
+import org.bigram.docvalidator.model.Paragraph;
+import org.bigram.docvalidator.model.Sentence;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
@@ -66,7 +68,7 @@ public class WikiParserTest {
     // first section
     final Section firstSection = doc.getSection(0);
     assertEquals(1, firstSection.getHeaderContentsListSize());
-    assertEquals("", firstSection.getHeaderContent(0).content);
+    assertEquals("", firstSection.getHeaderContent(0).getContent());
     assertEquals(0, firstSection.getNumberOfLists());
     assertEquals(0, firstSection.getNumberOfParagraphs());
     assertEquals(1, firstSection.getNumberOfSubsections());
@@ -74,7 +76,7 @@ public class WikiParserTest {
     // 2nd section
     final Section secondSection = doc.getSection(1);
     assertEquals(1, secondSection.getHeaderContentsListSize());
-    assertEquals("About Gekioko.", secondSection.getHeaderContent(0).content);
+    assertEquals("About Gekioko.", secondSection.getHeaderContent(0).getContent());
     assertEquals(0, secondSection.getNumberOfLists());
     assertEquals(2, secondSection.getNumberOfParagraphs());
     assertEquals(1, secondSection.getNumberOfSubsections());
@@ -92,7 +94,7 @@ public class WikiParserTest {
     assertEquals(2,lastSection.getNumberOfParagraphs());
     assertEquals(1, lastSection.getHeaderContentsListSize());
     assertEquals(0, lastSection.getNumberOfSubsections());
-    assertEquals("About Gunma.", lastSection.getHeaderContent(0).content);
+    assertEquals("About Gunma.", lastSection.getHeaderContent(0).getContent());
     assertEquals(secondSection, lastSection.getParentSection());
 
     // validate paragraph in last section
@@ -115,15 +117,15 @@ public class WikiParserTest {
     sampleText += "- Odakyu\n";
     Document doc = createFileContent(sampleText);
     assertEquals(5, doc.getSection(0).getListBlock(0).getNumberOfListElements());
-    assertEquals("Tokyu", doc.getSection(0).getListBlock(0).getListElement(0).getSentence(0).content);
+    assertEquals("Tokyu", doc.getSection(0).getListBlock(0).getListElement(0).getSentence(0).getContent());
     assertEquals(1, doc.getSection(0).getListBlock(0).getListElement(0).getLevel());
-    assertEquals("Toyoko Line", doc.getSection(0).getListBlock(0).getListElement(1).getSentence(0).content);
+    assertEquals("Toyoko Line", doc.getSection(0).getListBlock(0).getListElement(1).getSentence(0).getContent());
     assertEquals(2, doc.getSection(0).getListBlock(0).getListElement(1).getLevel());
-    assertEquals("Denentoshi Line", doc.getSection(0).getListBlock(0).getListElement(2).getSentence(0).content);
+    assertEquals("Denentoshi Line", doc.getSection(0).getListBlock(0).getListElement(2).getSentence(0).getContent());
     assertEquals(2, doc.getSection(0).getListBlock(0).getListElement(2).getLevel());
-    assertEquals("Keio", doc.getSection(0).getListBlock(0).getListElement(3).getSentence(0).content);
+    assertEquals("Keio", doc.getSection(0).getListBlock(0).getListElement(3).getSentence(0).getContent());
     assertEquals(1, doc.getSection(0).getListBlock(0).getListElement(3).getLevel());
-    assertEquals("Odakyu", doc.getSection(0).getListBlock(0).getListElement(4).getSentence(0).content);
+    assertEquals("Odakyu", doc.getSection(0).getListBlock(0).getListElement(4).getSentence(0).getContent());
     assertEquals(1, doc.getSection(0).getListBlock(0).getListElement(4).getLevel());
   }
 
@@ -138,15 +140,15 @@ public class WikiParserTest {
     sampleText += "# Odakyu\n";
     Document doc = createFileContent(sampleText);
     assertEquals(5, doc.getSection(0).getListBlock(0).getNumberOfListElements());
-    assertEquals("Tokyu", doc.getSection(0).getListBlock(0).getListElement(0).getSentence(0).content);
+    assertEquals("Tokyu", doc.getSection(0).getListBlock(0).getListElement(0).getSentence(0).getContent());
     assertEquals(1, doc.getSection(0).getListBlock(0).getListElement(0).getLevel());
-    assertEquals("Toyoko Line", doc.getSection(0).getListBlock(0).getListElement(1).getSentence(0).content);
+    assertEquals("Toyoko Line", doc.getSection(0).getListBlock(0).getListElement(1).getSentence(0).getContent());
     assertEquals(2, doc.getSection(0).getListBlock(0).getListElement(1).getLevel());
-    assertEquals("Denentoshi Line", doc.getSection(0).getListBlock(0).getListElement(2).getSentence(0).content);
+    assertEquals("Denentoshi Line", doc.getSection(0).getListBlock(0).getListElement(2).getSentence(0).getContent());
     assertEquals(2, doc.getSection(0).getListBlock(0).getListElement(2).getLevel());
-    assertEquals("Keio", doc.getSection(0).getListBlock(0).getListElement(3).getSentence(0).content);
+    assertEquals("Keio", doc.getSection(0).getListBlock(0).getListElement(3).getSentence(0).getContent());
     assertEquals(1, doc.getSection(0).getListBlock(0).getListElement(3).getLevel());
-    assertEquals("Odakyu", doc.getSection(0).getListBlock(0).getListElement(4).getSentence(0).content);
+    assertEquals("Odakyu", doc.getSection(0).getListBlock(0).getListElement(4).getSentence(0).getContent());
     assertEquals(1, doc.getSection(0).getListBlock(0).getListElement(4).getLevel());
   }
 
@@ -273,7 +275,7 @@ public class WikiParserTest {
     Paragraph firstParagraph = firstSections.getParagraph(0);
     assertEquals(3, firstParagraph.getNumberOfSentences());
     for (int i=0; i<expectedResult.length; i++) {
-      assertEquals(expectedResult[i], firstParagraph.getSentence(i).content);
+      assertEquals(expectedResult[i], firstParagraph.getSentence(i).getContent());
     }
   }
 
@@ -294,9 +296,9 @@ public class WikiParserTest {
     Section firstSections = doc.getSection(0);
     Paragraph firstParagraph = firstSections.getParagraph(0);
     assertEquals(3, firstParagraph.getNumberOfSentences());
-    assertEquals("Is Tokyu a good railway company?", doc.getSection(0).getParagraph(0).getSentence(0).content);
-    assertEquals(" The company is reliable.", doc.getSection(0).getParagraph(0).getSentence(1).content);
-    assertEquals(" In addition it is rich!", doc.getSection(0).getParagraph(0).getSentence(2).content);
+    assertEquals("Is Tokyu a good railway company?", doc.getSection(0).getParagraph(0).getSentence(0).getContent());
+    assertEquals(" The company is reliable.", doc.getSection(0).getParagraph(0).getSentence(1).getContent());
+    assertEquals(" In addition it is rich!", doc.getSection(0).getParagraph(0).getSentence(2).getContent());
   }
 
   @Test
@@ -349,7 +351,7 @@ public class WikiParserTest {
     assertEquals("pen", firstParagraph.getSentence(0).links.get(0));
     assertEquals("http://google.com", firstParagraph.getSentence(0).links.get(1));
     assertEquals("this is not a pen, but also this is not Google either.",
-        firstParagraph.getSentence(0).content);
+        firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -362,7 +364,7 @@ public class WikiParserTest {
     assertEquals(1, firstParagraph.getSentence(0).links.size());
     assertEquals("http://google.com", firstParagraph.getSentence(0).links.get(0));
     assertEquals("the url is not Google.",
-        firstParagraph.getSentence(0).content);
+        firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -375,7 +377,7 @@ public class WikiParserTest {
     assertEquals(1, firstParagraph.getSentence(0).links.size());
     assertEquals("http://google.com", firstParagraph.getSentence(0).links.get(0));
     assertEquals("url of google is http://google.com.",
-        firstParagraph.getSentence(0).content);
+        firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -387,7 +389,7 @@ public class WikiParserTest {
     assertEquals(1, firstParagraph.getNumberOfSentences());
     assertEquals(0, firstParagraph.getSentence(0).links.size());
     assertEquals("url of google is [[http://google.com.",
-        firstParagraph.getSentence(0).content);
+        firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -400,7 +402,7 @@ public class WikiParserTest {
     assertEquals(1, firstParagraph.getSentence(0).links.size());
     assertEquals("http://google.com", firstParagraph.getSentence(0).links.get(0));
     assertEquals("this is not a pen, but also this is not Google either.",
-        firstParagraph.getSentence(0).content);
+        firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -413,7 +415,7 @@ public class WikiParserTest {
     assertEquals(1, firstParagraph.getSentence(0).links.size());
     assertEquals("", firstParagraph.getSentence(0).links.get(0));
     assertEquals("this is not a pen, but also this is not  Google either.",
-        firstParagraph.getSentence(0).content);
+        firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -422,7 +424,7 @@ public class WikiParserTest {
     Document doc = createFileContent(sampleText);
     Section firstSections = doc.getSection(0);
     Paragraph firstParagraph = firstSections.getParagraph(0);
-    assertEquals("This is a good day.", firstParagraph.getSentence(0).content);
+    assertEquals("This is a good day.", firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -431,7 +433,7 @@ public class WikiParserTest {
     Document doc = createFileContent(sampleText);
     Section firstSections = doc.getSection(0);
     Paragraph firstParagraph = firstSections.getParagraph(0);
-    assertEquals("This is a good day.", firstParagraph.getSentence(0).content);
+    assertEquals("This is a good day.", firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -440,7 +442,7 @@ public class WikiParserTest {
     Document doc = createFileContent(sampleText);
     Section firstSections = doc.getSection(0);
     Paragraph firstParagraph = firstSections.getParagraph(0);
-    assertEquals("This is a good day.", firstParagraph.getSentence(0).content);
+    assertEquals("This is a good day.", firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -449,7 +451,7 @@ public class WikiParserTest {
     Document doc = createFileContent(sampleText);
     Section firstSections = doc.getSection(0);
     Paragraph firstParagraph = firstSections.getParagraph(0);
-    assertEquals("This is a good day.", firstParagraph.getSentence(0).content);
+    assertEquals("This is a good day.", firstParagraph.getSentence(0).getContent());
   }
 
   @Test
@@ -463,8 +465,8 @@ public class WikiParserTest {
     Document doc = createFileContent(sampleText);
     Section lastSection = doc.getSection(doc.getNumberOfSections()-1);
     assertEquals(2, lastSection.getHeaderContentsListSize());
-    assertEquals("About Gunma.", lastSection.getHeaderContent(0).content);
-    assertEquals(" About Saitama.", lastSection.getHeaderContent(1).content);
+    assertEquals("About Gunma.", lastSection.getHeaderContent(0).getContent());
+    assertEquals(" About Saitama.", lastSection.getHeaderContent(1).getContent());
   }
 
   @Test
@@ -478,7 +480,7 @@ public class WikiParserTest {
     Document doc = createFileContent(sampleText);
     Section lastSection = doc.getSection(doc.getNumberOfSections()-1);
     assertEquals(1, lastSection.getHeaderContentsListSize());
-    assertEquals("About Gunma", lastSection.getHeaderContent(0).content);
+    assertEquals("About Gunma", lastSection.getHeaderContent(0).getContent());
   }
 
   @Test
@@ -495,11 +497,11 @@ public class WikiParserTest {
     assertEquals(2, listBlock.getNumberOfListElements());
     assertEquals(1, listBlock.getListElement(0).getNumberOfSentences());
     assertEquals("Gunma is located at west of Saitama.",
-        listBlock.getListElement(0).getSentence(0).content);
+        listBlock.getListElement(0).getSentence(0).getContent());
     assertEquals("The word also have posive meaning.",
-        listBlock.getListElement(1).getSentence(0).content);
+        listBlock.getListElement(1).getSentence(0).getContent());
     assertEquals(" Hower it is a bit wired.",
-        listBlock.getListElement(1).getSentence(1).content);
+        listBlock.getListElement(1).getSentence(1).getContent());
   }
 
   @Test
@@ -515,7 +517,7 @@ public class WikiParserTest {
     assertEquals(1, listBlock.getNumberOfListElements());
     assertEquals(1, listBlock.getListElement(0).getNumberOfSentences());
     assertEquals("Gunma is located at west of Saitama",
-        listBlock.getListElement(0).getSentence(0).content);
+        listBlock.getListElement(0).getSentence(0).getContent());
   }
 
   @Test
@@ -590,6 +592,20 @@ public class WikiParserTest {
     return parser;
   }
 
+  @Test
+  public void testSentenceLocations() {
+    Document doc = createFileContent(
+        "h1. About Gunma.\nThis is a pen.\nThat is a **cat**.\n");
+    Paragraph paragraph = doc.getLastSection().getParagraph(0);
+    Sentence first = paragraph.getSentence(0);
+    assertEquals(17, first.getSourceOffset(0));
+    assertEquals(1, first.getSourceLineNumber(0));
+    assertEquals(0, first.getSourceColumn(0));
+    // NOTE: the characters of a sentence without tags do not come from
+    // the document any more
+    assertEquals(-1, paragraph.getSentence(1).getSourceOffset(0));
+  }
+
   private Document createFileContent(String inputDocumentString,
       String configurationString,
       String characterTableString) throws DocumentValidatorException {
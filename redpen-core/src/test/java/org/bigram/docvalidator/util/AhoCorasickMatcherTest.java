@@ -0,0 +1,128 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AhoCorasickMatcherTest {
+  @Test
+  public void testMatch() {
+    AhoCorasickMatcher matcher = new AhoCorasickMatcher(
+        Arrays.asList("he", "she", "his", "hers"));
+    Set<String> matched = patternsFound(matcher, "ushers");
+    assertEquals(Arrays.asList("she", "he", "hers"),
+        new ArrayList<String>(matched));
+  }
+
+  @Test
+  public void testMatchReportsPatternOnce() {
+    AhoCorasickMatcher matcher = new AhoCorasickMatcher(
+        Arrays.asList("cake", "piece"));
+    Set<String> matched =
+        patternsFound(matcher, "a piece of cake and a piece of cake.");
+    assertEquals(Arrays.asList("piece", "cake"),
+        new ArrayList<String>(matched));
+  }
+
+  @Test
+  public void testMatchWithFailureTransitions() {
+    AhoCorasickMatcher matcher = new AhoCorasickMatcher(
+        Arrays.asList("abcd", "bcx", "c"));
+    Set<String> matched = patternsFound(matcher, "abcx");
+    assertEquals(Arrays.asList("c", "bcx"), new ArrayList<String>(matched));
+  }
+
+  @Test
+  public void testMatchJapanese() {
+    AhoCorasickMatcher matcher = new AhoCorasickMatcher(
+        Arrays.asList("おはよう", "よう", "こんにちは"));
+    Set<String> matched = patternsFound(matcher, "おはようございます");
+    assertEquals(Arrays.asList("おはよう", "よう"),
+        new ArrayList<String>(matched));
+  }
+
+  @Test
+  public void testSameResultAsContains() {
+    List<String> patterns = Arrays.asList("a", "ab", "bab", "bc", "bca",
+        "c", "caa", "aaa", "abcab");
+    AhoCorasickMatcher matcher = new AhoCorasickMatcher(patterns);
+    String text = "abccabaabcabbcaaab";
+    Set<String> matched = patternsFound(matcher, text);
+    for (String pattern : patterns) {
+      assertEquals(text.contains(pattern), matched.contains(pattern));
+    }
+  }
+
+  @Test
+  public void testFind() {
+    AhoCorasickMatcher matcher = new AhoCorasickMatcher(
+        Arrays.asList("cake", "piece", "a piece"));
+    List<AhoCorasickMatcher.Match> matches =
+        matcher.find("a piece of cake and a piece of cake.");
+    assertEquals(6, matches.size());
+    assertEquals("a piece", matches.get(0).getPattern());
+    assertEquals(0, matches.get(0).getStartPosition());
+    assertEquals(7, matches.get(0).getEndPosition());
+    assertEquals("piece", matches.get(1).getPattern());
+    assertEquals(2, matches.get(1).getStartPosition());
+    assertEquals("cake", matches.get(2).getPattern());
+    assertEquals(11, matches.get(2).getStartPosition());
+    assertEquals(15, matches.get(2).getEndPosition());
+    assertEquals("cake", matches.get(5).getPattern());
+    assertEquals(31, matches.get(5).getStartPosition());
+  }
+
+  @Test
+  public void testEmptyPattern() {
+    AhoCorasickMatcher matcher = new AhoCorasickMatcher(
+        Arrays.asList("", "foo"));
+    assertEquals(2, matcher.size());
+    assertTrue(patternsFound(matcher, "").contains(""));
+    assertEquals(1, patternsFound(matcher, "bar").size());
+  }
+
+  @Test
+  public void testNoPatterns() {
+    AhoCorasickMatcher matcher =
+        new AhoCorasickMatcher(new ArrayList<String>());
+    assertEquals(0, matcher.size());
+    assertEquals(0, patternsFound(matcher, "it is a piece of cake.").size());
+  }
+
+  /**
+   * Distinct patterns found in the text, in the order of their first end
+   * positions.
+   */
+  private static Set<String> patternsFound(AhoCorasickMatcher matcher,
+      String text) {
+    Set<String> found = new LinkedHashSet<String>();
+    for (AhoCorasickMatcher.Match match : matcher.find(text)) {
+      found.add(match.getPattern());
+    }
+    return found;
+  }
+}
@@ -0,0 +1,90 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BKTreeTest {
+  @Test
+  public void testSearch() {
+    BKTree tree = new BKTree();
+    tree.add("インデックス");
+    tree.add("フレーズ・アナライズ");
+    tree.add("ドキュメント");
+    List<String> results = tree.search("インデクス", 1);
+    assertEquals(1, results.size());
+    assertEquals("インデックス", results.get(0));
+    assertEquals(0, tree.search("ドキュメンテーション", 2).size());
+  }
+
+  @Test
+  public void testAddDuplicatedWord() {
+    BKTree tree = new BKTree();
+    assertTrue(tree.add("apple"));
+    assertTrue(tree.add("apply"));
+    assertFalse(tree.add("apple"));
+    assertEquals(2, tree.size());
+  }
+
+  @Test
+  public void testSearchEmptyTree() {
+    BKTree tree = new BKTree();
+    assertEquals(0, tree.search("apple", 3).size());
+  }
+
+  @Test
+  public void testSameResultAsLinearSearch() {
+    Random random = new Random(1);
+    String alphabet = "アイウエオカキクケコー";
+    List<String> words = new ArrayList<String>();
+    BKTree tree = new BKTree();
+    for (int i = 0; i < 500; i++) {
+      StringBuilder word = new StringBuilder();
+      int length = 3 + random.nextInt(6);
+      for (int j = 0; j < length; j++) {
+        word.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      if (tree.add(word.toString())) {
+        words.add(word.toString());
+      }
+    }
+    for (String query : words.subList(0, 50)) {
+      for (int k = 0; k <= 3; k++) {
+        Set<String> expected = new HashSet<String>();
+        for (String word : words) {
+          if (LevenshteinDistance.getDistance(word, query) <= k) {
+            expected.add(word);
+          }
+        }
+        List<String> actual = tree.search(query, k);
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, new HashSet<String>(actual));
+      }
+    }
+  }
+}
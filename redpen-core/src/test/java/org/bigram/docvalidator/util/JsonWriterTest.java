@@ -0,0 +1,77 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.util;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class JsonWriterTest {
+  @Test
+  public void testWriteObject() throws IOException {
+    StringWriter out = new StringWriter();
+    JsonWriter writer = new JsonWriter(out);
+    writer.beginObject()
+        .name("name").value("redpen")
+        .name("count").value(3)
+        .name("valid").value(false)
+        .name("none").nullValue()
+        .name("list").beginArray().value(1).value("two").beginObject()
+        .endObject().endArray()
+        .endObject();
+    assertEquals("{\"name\":\"redpen\",\"count\":3,\"valid\":false,"
+        + "\"none\":null,\"list\":[1,\"two\",{}]}", out.toString());
+  }
+
+  @Test
+  public void testEscapeString() throws IOException {
+    StringWriter out = new StringWriter();
+    new JsonWriter(out).value("a\"b\\c\nd\te\u0001f ");
+    assertEquals("\"a\\\"b\\\\c\\nd\\te\\u0001f\\u2028\"", out.toString());
+  }
+
+  @Test
+  public void testWriteNonAsciiString() throws IOException {
+    StringWriter out = new StringWriter();
+    new JsonWriter(out).value("これは日本語の文です。");
+    assertEquals("\"これは日本語の文です。\"", out.toString());
+  }
+
+  @Test
+  public void testWriteTopLevelValues() throws IOException {
+    StringWriter out = new StringWriter();
+    JsonWriter writer = new JsonWriter(out);
+    writer.beginObject().endObject();
+    out.write('\n');
+    writer.beginObject().endObject();
+    assertEquals("{}\n{}", out.toString());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testValueWithoutName() throws IOException {
+    new JsonWriter(new StringWriter()).beginObject().value("foo");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testUnbalancedEnd() throws IOException {
+    new JsonWriter(new StringWriter()).beginArray().endObject();
+  }
+}
@@ -19,30 +19,32 @@ package org.bigram.docvalidator.util;
 
 import static org.junit.Assert.*;
 
+import java.util.Random;
+
 import org.bigram.docvalidator.util.LevenshteinDistance;
 import org.junit.Test;
 
 public class LevenshteinDistanceTest {
 
   @Test
-  public void testSetGetInsertionCost() {
-    LevenshteinDistance.setInsertionCost(5);
-    assertEquals(5, LevenshteinDistance.getInsertionCost());
-    resetCost();
+  public void testGetCosts() {
+    LevenshteinDistance distance = new LevenshteinDistance(5, 7, 9);
+    assertEquals(5, distance.getInsertionCost());
+    assertEquals(7, distance.getDeletionCost());
+    assertEquals(9, distance.getSubstitutionCost());
   }
 
   @Test
-  public void testSetGetDeletionCost() {
-    LevenshteinDistance.setDeletionCost(7);
-    assertEquals(7, LevenshteinDistance.getDeletionCost());
-    resetCost();
+  public void testDefaultCosts() {
+    LevenshteinDistance distance = new LevenshteinDistance();
+    assertEquals(1, distance.getInsertionCost());
+    assertEquals(1, distance.getDeletionCost());
+    assertEquals(1, distance.getSubstitutionCost());
   }
 
-  @Test
-  public void testSetGetSubstitutionCost() {
-    LevenshteinDistance.setSubstitutionCost(9);
-    assertEquals(9, LevenshteinDistance.getSubstitutionCost());
-    resetCost();
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeCost() {
+    new LevenshteinDistance(1, -1, 1);
   }
 
   @Test
@@ -85,23 +87,20 @@ public class LevenshteinDistanceTest {
     String a;
     String b;
 
-    LevenshteinDistance.setInsertionCost(TARGET_COST);
-    LevenshteinDistance.setDeletionCost(ALTERNATE_COST);
-    LevenshteinDistance.setSubstitutionCost(ALTERNATE_COST);
+    LevenshteinDistance distance = new LevenshteinDistance(
+        TARGET_COST, ALTERNATE_COST, ALTERNATE_COST);
 
     a = new String ("ab");
     b = new String ("abc");
-    assertEquals(TARGET_COST, LevenshteinDistance.getDistance(a, b));
+    assertEquals(TARGET_COST, distance.distance(a, b));
 
     a = new String ("bc");
     b = new String ("abc");
-    assertEquals(TARGET_COST, LevenshteinDistance.getDistance(a, b));
+    assertEquals(TARGET_COST, distance.distance(a, b));
 
     a = new String ("ac");
     b = new String ("abc");
-    assertEquals(TARGET_COST, LevenshteinDistance.getDistance(a, b));
-
-    resetCost();
+    assertEquals(TARGET_COST, distance.distance(a, b));
   }
 
   @Test
@@ -109,23 +108,20 @@ public class LevenshteinDistanceTest {
     String a;
     String b;
 
-    LevenshteinDistance.setInsertionCost(ALTERNATE_COST);
-    LevenshteinDistance.setDeletionCost(TARGET_COST);
-    LevenshteinDistance.setSubstitutionCost(ALTERNATE_COST);
+    LevenshteinDistance distance = new LevenshteinDistance(
+        ALTERNATE_COST, TARGET_COST, ALTERNATE_COST);
 
     a = new String ("abc");
     b = new String ("ab");
-    assertEquals(TARGET_COST, LevenshteinDistance.getDistance(a, b));
+    assertEquals(TARGET_COST, distance.distance(a, b));
 
     a = new String ("abc");
     b = new String ("bc");
-    assertEquals(TARGET_COST, LevenshteinDistance.getDistance(a, b));
+    assertEquals(TARGET_COST, distance.distance(a, b));
 
     a = new String ("abc");
     b = new String ("ac");
-    assertEquals(TARGET_COST, LevenshteinDistance.getDistance(a, b));
-
-    resetCost();
+    assertEquals(TARGET_COST, distance.distance(a, b));
   }
 
   @Test
@@ -133,23 +129,20 @@ public class LevenshteinDistanceTest {
     String a;
     String b;
 
-    LevenshteinDistance.setInsertionCost(ALTERNATE_COST);
-    LevenshteinDistance.setDeletionCost(ALTERNATE_COST);
-    LevenshteinDistance.setSubstitutionCost(TARGET_COST);
+    LevenshteinDistance distance = new LevenshteinDistance(
+        ALTERNATE_COST, ALTERNATE_COST, TARGET_COST);
 
     a = new String ("abc");
     b = new String ("xbc");
-    assertEquals(TARGET_COST, LevenshteinDistance.getDistance(a, b));
+    assertEquals(TARGET_COST, distance.distance(a, b));
 
     a = new String ("abc");
     b = new String ("axc");
-    assertEquals(TARGET_COST, LevenshteinDistance.getDistance(a, b));
+    assertEquals(TARGET_COST, distance.distance(a, b));
 
     a = new String ("abc");
     b = new String ("abx");
-    assertEquals(TARGET_COST, LevenshteinDistance.getDistance(a, b));
-
-    resetCost();
+    assertEquals(TARGET_COST, distance.distance(a, b));
   }
 
   @Test
@@ -160,17 +153,60 @@ public class LevenshteinDistanceTest {
     cost = 3;
     assertEquals(cost, LevenshteinDistance.getDistance(a, b));
     cost = 5;
-    LevenshteinDistance.setInsertionCost(1);
-    LevenshteinDistance.setDeletionCost(1);
-    LevenshteinDistance.setSubstitutionCost(2);
-    assertEquals(cost, LevenshteinDistance.getDistance(a, b));
-    resetCost();
+    LevenshteinDistance distance = new LevenshteinDistance(1, 1, 2);
+    assertEquals(cost, distance.distance(a, b));
+  }
+
+  @Test
+  public void testBoundedDistance() {
+    LevenshteinDistance distance = new LevenshteinDistance();
+    assertEquals(3, distance.distance("kitten", "sitting", 3));
+    assertEquals(3, distance.distance("kitten", "sitting", 10));
+    assertEquals(3, distance.distance("kitten", "sitting", 2));
+    assertEquals(1, distance.distance("kitten", "sitting", 0));
+    // exceeded by the difference of the lengths
+    assertEquals(2, distance.distance("a", "abcdef", 1));
+    assertEquals(0, distance.distance("インデックス", "インデックス", 0));
+  }
+
+  @Test
+  public void testRowsAreReused() {
+    LevenshteinDistance distance = new LevenshteinDistance();
+    StringBuilder longText = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      longText.append("abc");
+    }
+    assertEquals(300, distance.distance("", longText));
+    assertEquals(3, distance.distance("kitten", "sitting"));
+    assertEquals(1, distance.distance(longText, longText + "d"));
+  }
+
+  @Test
+  public void testBoundedDistanceSameAsUnbounded() {
+    Random random = new Random(1);
+    LevenshteinDistance distance = new LevenshteinDistance(1, 2, 3);
+    for (int n = 0; n < 500; n++) {
+      String a = randomString(random);
+      String b = randomString(random);
+      int expected = distance.distance(a, b);
+      for (int max = 0; max < 10; max++) {
+        int bounded = distance.distance(a, b, max);
+        if (expected <= max) {
+          assertEquals(expected, bounded);
+        } else {
+          assertEquals(max + 1, bounded);
+        }
+      }
+    }
   }
 
-  public void resetCost() {
-    LevenshteinDistance.setInsertionCost(1);
-    LevenshteinDistance.setDeletionCost(1);
-    LevenshteinDistance.setSubstitutionCost(1);
+  private static String randomString(Random random) {
+    StringBuilder builder = new StringBuilder();
+    int length = random.nextInt(8);
+    for (int i = 0; i < length; i++) {
+      builder.append((char) ('a' + random.nextInt(3)));
+    }
+    return builder.toString();
   }
 
   private static final int TARGET_COST = 1;
@@ -0,0 +1,57 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LineIndexTest {
+  @Test
+  public void testGetLineNumber() {
+    // "ab\ncde\n\nf"
+    LineIndex index = new LineIndex(new int[]{0, 3, 7, 8, 0}, 4);
+    assertEquals(0, index.getLineNumber(0));
+    assertEquals(0, index.getLineNumber(2));
+    assertEquals(1, index.getLineNumber(3));
+    assertEquals(1, index.getLineNumber(6));
+    assertEquals(2, index.getLineNumber(7));
+    assertEquals(3, index.getLineNumber(8));
+    assertEquals(3, index.getLineNumber(100));
+  }
+
+  @Test
+  public void testGetColumn() {
+    LineIndex index = new LineIndex(new int[]{0, 3, 7, 8}, 4);
+    assertEquals(2, index.getColumn(2));
+    assertEquals(0, index.getColumn(3));
+    assertEquals(3, index.getColumn(6));
+    assertEquals(7, index.getLineStart(2));
+    assertEquals(4, index.getLineCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLinesNotStartingFromZero() {
+    new LineIndex(new int[]{1, 3}, 2);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetStartOfMissingLine() {
+    new LineIndex(new int[]{0, 3}, 2).getLineStart(2);
+  }
+}
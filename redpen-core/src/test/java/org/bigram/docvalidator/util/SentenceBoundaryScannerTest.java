@@ -0,0 +1,116 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SentenceBoundaryScannerTest {
+  @Test
+  public void testEndPosition() {
+    SentenceBoundaryScanner scanner =
+        new SentenceBoundaryScanner(Arrays.asList("."));
+    assertEquals(13, scanner.getSentenceEndPosition("this is a pen."));
+    assertEquals(15,
+        scanner.getSentenceEndPosition("this is a pen... But that is."));
+    assertEquals(-1, scanner.getSentenceEndPosition("this is a pen"));
+    assertEquals(-1, scanner.getSentenceEndPosition(""));
+  }
+
+  @Test
+  public void testEndPositions() {
+    SentenceBoundaryScanner scanner =
+        new SentenceBoundaryScanner(Arrays.asList(".", "?"));
+    assertArrayEquals(new int[]{13, 24},
+        scanner.getSentenceEndPositions("is this a pen? yes it is. no"));
+    assertArrayEquals(new int[]{},
+        scanner.getSentenceEndPositions("is this a pen"));
+  }
+
+  @Test
+  public void testEndPositionsInJapanese() {
+    SentenceBoundaryScanner scanner =
+        new SentenceBoundaryScanner(Arrays.asList("。", "？"));
+    assertArrayEquals(new int[]{8, 16},
+        scanner.getSentenceEndPositions("これは群馬ですか？いいえ埼玉です。"));
+    assertArrayEquals(new int[]{5, 11},
+        scanner.getSentenceEndPositions("これは。。。ペンですか。"));
+  }
+
+  @Test
+  public void testEndCharacterWithMultipleCharacters() {
+    SentenceBoundaryScanner scanner =
+        new SentenceBoundaryScanner(Arrays.asList("。」", "？"));
+    assertArrayEquals(new int[]{2, 7},
+        scanner.getSentenceEndPositions("はい。」いいえ？"));
+    assertArrayEquals(new int[]{6},
+        scanner.getSentenceEndPositions("はい。いいえ？"));
+  }
+
+  @Test
+  public void testEndPositionsAreSameAsSuccessiveSearches() {
+    List<String> stops = Arrays.asList(".", "?", "。");
+    SentenceBoundaryScanner scanner = new SentenceBoundaryScanner(stops);
+    char[] alphabet = {'a', ' ', '.', '?', '。', 'ア'};
+    Random random = new Random(1L);
+    for (int i = 0; i < 1000; i++) {
+      StringBuilder line = new StringBuilder();
+      int length = random.nextInt(20);
+      for (int j = 0; j < length; j++) {
+        line.append(alphabet[random.nextInt(alphabet.length)]);
+      }
+      String str = line.toString();
+      assertArrayEquals(str, successiveSearches(scanner, str),
+          scanner.getSentenceEndPositions(str));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoEndCharacter() {
+    new SentenceBoundaryScanner(new ArrayList<String>());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyEndCharacter() {
+    new SentenceBoundaryScanner(Arrays.asList(".", ""));
+  }
+
+  private static int[] successiveSearches(SentenceBoundaryScanner scanner,
+                                          String str) {
+    List<Integer> ends = new ArrayList<Integer>();
+    int start = 0;
+    int end = scanner.getSentenceEndPosition(str);
+    while (end != -1) {
+      ends.add(start + end);
+      start += end + 1;
+      end = scanner.getSentenceEndPosition(str.substring(start));
+    }
+    int[] result = new int[ends.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = ends.get(i);
+    }
+    return result;
+  }
+}
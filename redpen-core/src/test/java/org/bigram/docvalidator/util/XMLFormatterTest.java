@@ -101,6 +101,21 @@ public class XMLFormatterTest {
         document.getElementsByTagName("validator").item(0).getTextContent());
   }
 
+  @Test
+  public void testConvertValidationErrorWithMarkup() {
+    ValidationError error = new ValidationError(
+        this.getClass(), "Found \"<b>\" & \"</b>\"",
+        new Sentence("a <b>bold</b> & sentence", 1));
+    XMLFormatter formatter = createXMLFormatter();
+    String resultString = formatter.convertError(error);
+    Document document = extractDocument(resultString);
+    assertEquals("Found \"<b>\" & \"</b>\"",
+        document.getElementsByTagName("message").item(0).getTextContent());
+    assertEquals("a <b>bold</b> & sentence",
+        document.getElementsByTagName("sentence").item(0).getTextContent());
+    assertEquals(0, document.getElementsByTagName("b").getLength());
+  }
+
   private Document extractDocument(String resultString) {
     DocumentBuilder docBuilder = null;
     try {
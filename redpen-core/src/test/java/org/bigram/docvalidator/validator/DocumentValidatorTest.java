@@ -54,7 +54,8 @@ class ValidatorForTest extends AbstractSectionValidator {
   }
 
   @Override
-  public List<ValidationError> validate(Section section) {
+  public List<ValidationError> validate(Section section,
+      ValidationContext context) {
 
     for (Paragraph paragraph : section.getParagraphs()) {
       sentenceNum += paragraph.getNumberOfSentences();
@@ -74,7 +75,8 @@ class ValidatorThrowExceptionInCheck extends AbstractSectionValidator {
   }
 
   @Override
-  public List<ValidationError> validate(Section section) {
+  public List<ValidationError> validate(Section section,
+      ValidationContext context) {
     throw new RuntimeException("Error occurs");
   }
 }
@@ -84,7 +86,8 @@ class ValidatorReturnsNull extends AbstractSectionValidator {
   }
 
   @Override
-  public List<ValidationError> validate(Section section) {
+  public List<ValidationError> validate(Section section,
+      ValidationContext context) {
     return new ArrayList<ValidationError>();
   }
 }
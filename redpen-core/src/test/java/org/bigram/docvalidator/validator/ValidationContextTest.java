@@ -0,0 +1,59 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.validator;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ValidationContextTest {
+  @Test
+  public void testGetStateWithoutState() {
+    ValidationContext context = new ValidationContext();
+    assertNull(context.getState(this));
+  }
+
+  @Test
+  public void testPutStateIfAbsent() {
+    ValidationContext context = new ValidationContext();
+    List<String> state = new ArrayList<String>();
+    assertSame(state, context.putStateIfAbsent(this, state));
+    assertSame(state, context.getState(this));
+
+    // the first state is kept
+    assertSame(state,
+        context.putStateIfAbsent(this, new ArrayList<String>()));
+  }
+
+  @Test
+  public void testStatesOfDifferentValidators() {
+    ValidationContext context = new ValidationContext();
+    Object first = new Object();
+    Object second = new Object();
+    context.putStateIfAbsent(first, "first");
+    context.putStateIfAbsent(second, "second");
+    assertEquals("first", context.getState(first));
+    assertEquals("second", context.getState(second));
+    assertNull(new ValidationContext().getState(first));
+  }
+}
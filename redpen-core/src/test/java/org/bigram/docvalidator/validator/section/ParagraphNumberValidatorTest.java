@@ -24,6 +24,7 @@ import org.bigram.docvalidator.model.Document;
 import org.bigram.docvalidator.model.Paragraph;
 import org.bigram.docvalidator.model.Section;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 import java.util.List;
 
@@ -48,7 +49,8 @@ public class ParagraphNumberValidatorTest {
     section.appendParagraph(new Paragraph());
     section.appendParagraph(new Paragraph());
 
-    List<ValidationError> errors = validator.validate(section);
+    List<ValidationError> errors =
+        validator.validate(section, new ValidationContext());
     assertEquals(1, errors.size());
   }
 
@@ -61,7 +63,8 @@ public class ParagraphNumberValidatorTest {
     Document document = new Document();
     document.appendSection(section);
 
-    List<ValidationError> errors = validator.validate(section);
+    List<ValidationError> errors =
+        validator.validate(section, new ValidationContext());
     assertEquals(0, errors.size());
   }
 
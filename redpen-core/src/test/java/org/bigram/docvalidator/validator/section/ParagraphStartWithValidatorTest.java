@@ -22,6 +22,7 @@ import org.junit.Test;
 import org.bigram.docvalidator.model.Paragraph;
 import org.bigram.docvalidator.model.Section;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 import java.util.List;
 
@@ -36,7 +37,8 @@ public class ParagraphStartWithValidatorTest {
     Paragraph paragraph = new Paragraph();
     paragraph.appendSentence("it like a piece of a cake.", 0);
     section.appendParagraph(paragraph);
-    List<ValidationError> errors = validator.validate(section);
+    List<ValidationError> errors =
+        validator.validate(section, new ValidationContext());
     assertEquals(1, errors.size());
   }
 
@@ -47,7 +49,8 @@ public class ParagraphStartWithValidatorTest {
     Paragraph paragraph = new Paragraph();
     paragraph.appendSentence(" it like a piece of a cake.", 0);
     section.appendParagraph(paragraph);
-    List<ValidationError> errors = validator.validate(section);
+    List<ValidationError> errors =
+        validator.validate(section, new ValidationContext());
     assertEquals(0, errors.size());
   }
 
@@ -57,7 +60,8 @@ public class ParagraphStartWithValidatorTest {
     Section section = new Section(0);
     Paragraph paragraph = new Paragraph();
     section.appendParagraph(paragraph);
-    List<ValidationError> errors = validator.validate(section);
+    List<ValidationError> errors =
+        validator.validate(section, new ValidationContext());
     assertEquals(0, errors.size());
   }
 }
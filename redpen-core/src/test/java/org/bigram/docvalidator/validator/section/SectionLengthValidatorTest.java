@@ -23,6 +23,7 @@ import org.junit.Test;
 import org.bigram.docvalidator.model.Paragraph;
 import org.bigram.docvalidator.model.Section;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 import java.util.List;
 
@@ -44,7 +45,8 @@ public class SectionLengthValidatorTest {
     Paragraph paragraph = new Paragraph();
     paragraph.appendSentence("it like a piece of a cake.", 0);
     section.appendParagraph(paragraph);
-    List<ValidationError> errors = validator.validate(section);
+    List<ValidationError> errors =
+        validator.validate(section, new ValidationContext());
     assertEquals(1, errors.size());
   }
 }
@@ -25,6 +25,7 @@ import org.bigram.docvalidator.validator.sentence.CommaNumberValidator;
 import org.junit.Test;
 import org.bigram.docvalidator.model.Sentence;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 public class CommaNumberValidatorTest {
 
@@ -33,10 +34,11 @@ public class CommaNumberValidatorTest {
     CommaNumberValidator commaNumberValidator = new CommaNumberValidator();
     String content = "is it true, not true, but it should be ture, right, or not right.";
     Sentence str = new Sentence(content, 0);
-    List<ValidationError> errors = commaNumberValidator.validate(str);
+    List<ValidationError> errors =
+        commaNumberValidator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
-    assertEquals(content, errors.get(0).getSentence().content);
+    assertEquals(content, errors.get(0).getSentence().getContent());
   }
 
   @Test
@@ -44,7 +46,8 @@ public class CommaNumberValidatorTest {
     CommaNumberValidator commaNumberValidator = new CommaNumberValidator();
     String content = "is it true.";
     Sentence str = new Sentence(content, 0);
-    List<ValidationError> errors = commaNumberValidator.validate(str);
+    List<ValidationError> errors =
+        commaNumberValidator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -54,7 +57,8 @@ public class CommaNumberValidatorTest {
     CommaNumberValidator commaNumberValidator = new CommaNumberValidator();
     String content = "";
     Sentence str = new Sentence(content, 0);
-    List<ValidationError> errors = commaNumberValidator.validate(str);
+    List<ValidationError> errors =
+        commaNumberValidator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -28,6 +28,7 @@ import org.bigram.docvalidator.model.Sentence;
 import org.bigram.docvalidator.config.CharacterTable;
 import org.bigram.docvalidator.config.CharacterTableLoader;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 class InvalidCharacterValidatorForTest extends InvalidCharacterValidator {
   void loadCharacterTable (CharacterTable characterTable) {
@@ -48,7 +49,8 @@ public class InvalidCharacterValidatorTest {
     CharacterTable characterTable = CharacterTableLoader.load(stream);
     validator.loadCharacterTable(characterTable);
     Sentence str = new Sentence("わたしはカラオケが大好き！",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(1, errors.size());
   }
 
@@ -64,7 +66,8 @@ public class InvalidCharacterValidatorTest {
     CharacterTable characterTable = CharacterTableLoader.load(stream);
     validator.loadCharacterTable(characterTable);
     Sentence str = new Sentence("I like karaoke!",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(0, errors.size());
   }
 
@@ -81,7 +84,8 @@ public class InvalidCharacterValidatorTest {
     CharacterTable characterTable = CharacterTableLoader.load(stream);
     validator.loadCharacterTable(characterTable);
     Sentence str = new Sentence("わたしは、カラオケが好き！",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(2, errors.size());
   }
 
@@ -0,0 +1,88 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.validator.sentence;
+
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
+import org.bigram.docvalidator.model.Sentence;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+class InvalidExpressionValidatorForTest extends InvalidExpressionValidator {
+  void loadInvalidExpressions() {
+    Set<String> expressions = new HashSet<String>();
+    expressions.add("piece of a cake");
+    expressions.add("cake");
+    expressions.add("you know");
+    this.setInvalidExpressions(expressions);
+  }
+}
+
+public class InvalidExpressionValidatorTest {
+  @Test
+  public void testInvalidExpression() {
+    InvalidExpressionValidatorForTest validator =
+        new InvalidExpressionValidatorForTest();
+    validator.loadInvalidExpressions();
+    Sentence str = new Sentence("you know, it is a piece of a cake.", 0);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
+    assertNotNull(errors);
+    assertEquals(3, errors.size());
+    assertEquals("Found invalid expression: \"you know\"",
+        errors.get(0).getMessage());
+  }
+
+  @Test
+  public void testInvalidExpressionReportedOnce() {
+    InvalidExpressionValidatorForTest validator =
+        new InvalidExpressionValidatorForTest();
+    validator.loadInvalidExpressions();
+    Sentence str = new Sentence("a cake and a cake.", 0);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
+    assertEquals(1, errors.size());
+  }
+
+  @Test
+  public void testWithoutInvalidExpression() {
+    InvalidExpressionValidatorForTest validator =
+        new InvalidExpressionValidatorForTest();
+    validator.loadInvalidExpressions();
+    Sentence str = new Sentence("it is a piece of pie.", 0);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
+    assertEquals(0, errors.size());
+  }
+
+  @Test
+  public void testZeroLengthSentence() {
+    InvalidExpressionValidatorForTest validator =
+        new InvalidExpressionValidatorForTest();
+    validator.loadInvalidExpressions();
+    List<ValidationError> errors =
+        validator.validate(new Sentence("", 0), new ValidationContext());
+    assertEquals(0, errors.size());
+  }
+}
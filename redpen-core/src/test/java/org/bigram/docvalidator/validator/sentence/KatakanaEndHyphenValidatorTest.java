@@ -25,6 +25,7 @@ import org.bigram.docvalidator.validator.sentence.KatakanaEndHyphenValidator;
 import org.junit.Test;
 import org.bigram.docvalidator.model.Sentence;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 public class KatakanaEndHyphenValidatorTest {
   @Test
@@ -32,7 +33,8 @@ public class KatakanaEndHyphenValidatorTest {
     KatakanaEndHyphenValidator validator
       = new KatakanaEndHyphenValidator();
     Sentence str = new Sentence("", 0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(str.toString(), 0, errors.size());
   }
 
@@ -41,7 +43,8 @@ public class KatakanaEndHyphenValidatorTest {
     KatakanaEndHyphenValidator validator
       = new KatakanaEndHyphenValidator();
     Sentence str = new Sentence("あ", 0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(str.toString(), 0, errors.size());
   }
 
@@ -50,7 +53,8 @@ public class KatakanaEndHyphenValidatorTest {
     KatakanaEndHyphenValidator validator
       = new KatakanaEndHyphenValidator();
     Sentence str = new Sentence("ア", 0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(str.toString(), 0, errors.size());
   }
 
@@ -59,7 +63,8 @@ public class KatakanaEndHyphenValidatorTest {
     KatakanaEndHyphenValidator validator
       = new KatakanaEndHyphenValidator();
     Sentence str = new Sentence("ドア", 0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(str.toString(), 0, errors.size());
   }
 
@@ -68,7 +73,8 @@ public class KatakanaEndHyphenValidatorTest {
     KatakanaEndHyphenValidator validator
       = new KatakanaEndHyphenValidator();
     Sentence str = new Sentence("ミラー", 0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(str.toString(), 0, errors.size());
   }
 
@@ -77,7 +83,8 @@ public class KatakanaEndHyphenValidatorTest {
     KatakanaEndHyphenValidator validator
       = new KatakanaEndHyphenValidator();
     Sentence str = new Sentence("コーヒー", 0); // This is an error.
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(str.toString(), 1, errors.size());
   }
 
@@ -86,7 +93,8 @@ public class KatakanaEndHyphenValidatorTest {
     KatakanaEndHyphenValidator validator
       = new KatakanaEndHyphenValidator();
     Sentence str = new Sentence("コンピューターが壊れた。", 0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(str.toString(), 1, errors.size());
   }
 
@@ -95,7 +103,8 @@ public class KatakanaEndHyphenValidatorTest {
     KatakanaEndHyphenValidator validator
       = new KatakanaEndHyphenValidator();
     Sentence str = new Sentence("コンピュータが壊れた。", 0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(str.toString(), 0, errors.size());
   }
 
@@ -104,7 +113,8 @@ public class KatakanaEndHyphenValidatorTest {
     KatakanaEndHyphenValidator validator
       = new KatakanaEndHyphenValidator();
     Sentence str = new Sentence("僕のコンピューターが壊れた。", 0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(str.toString(), 1, errors.size());
   }
 
@@ -113,7 +123,8 @@ public class KatakanaEndHyphenValidatorTest {
     KatakanaEndHyphenValidator validator
       = new KatakanaEndHyphenValidator();
     Sentence str = new Sentence("僕のコンピュータが壊れた。", 0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(str.toString(), 0, errors.size());
   }
 
@@ -122,7 +133,8 @@ public class KatakanaEndHyphenValidatorTest {
     KatakanaEndHyphenValidator validator
       = new KatakanaEndHyphenValidator();
     Sentence str = new Sentence("僕のコンピューター", 0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(str.toString(), 1, errors.size());
   }
 
@@ -131,7 +143,8 @@ public class KatakanaEndHyphenValidatorTest {
     KatakanaEndHyphenValidator validator
       = new KatakanaEndHyphenValidator();
     Sentence str = new Sentence("僕のコンピュータ", 0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(str.toString(), 0, errors.size());
   }
 
@@ -140,7 +153,8 @@ public class KatakanaEndHyphenValidatorTest {
     KatakanaEndHyphenValidator validator
       = new KatakanaEndHyphenValidator();
     Sentence str = new Sentence("コーヒー・コンピューター", 0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(str.toString(), 2, errors.size());
   }
 }
@@ -26,6 +26,7 @@ import org.bigram.docvalidator.validator.sentence.KatakanaSpellCheckValidator;
 import org.junit.Test;
 import org.bigram.docvalidator.model.Sentence;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 public class KatakanaSpellCheckValidatorTest {
   @Test
@@ -35,7 +36,8 @@ public class KatakanaSpellCheckValidatorTest {
     Sentence st = new Sentence("ハロー、ハロ。"
       + "あのインデクスとこのインデックス"
       , 0); 
-    List<ValidationError> errors = validator.validate(st);
+    List<ValidationError> errors =
+        validator.validate(st, new ValidationContext());
     // We do not detect "ハロー" and "ハロ" as a similar pair,
     // but "インデクス" and "インデックス".
     assertEquals(st.toString(), 1, errors.size());
@@ -45,15 +47,33 @@ public class KatakanaSpellCheckValidatorTest {
   public void testMultiSentence() {
     KatakanaSpellCheckValidator validator
       = new KatakanaSpellCheckValidator();
+    ValidationContext context = new ValidationContext();
     List<ValidationError> errors = new ArrayList<ValidationError>();
     Sentence st;
     st = new Sentence("フレーズ・アナライズにバグがある", 0);
-    errors.addAll(validator.validate(st));
+    errors.addAll(validator.validate(st, context));
     assertEquals(st.toString(), 0, errors.size());
     st = new Sentence("バグのあるフェーズ・アナライシス", 1);
-    errors.addAll(validator.validate(st));
+    errors.addAll(validator.validate(st, context));
     // We detect a similar pair of "フレーズ・アナライズ"
     // and "フェーズ・アナライシス".   
     assertEquals(st.toString(), 1, errors.size());
   }
+
+  @Test
+  public void testSeparateContexts() {
+    KatakanaSpellCheckValidator validator
+      = new KatakanaSpellCheckValidator();
+    Sentence first = new Sentence("あのインデクス", 0);
+    Sentence second = new Sentence("このインデックス", 1);
+    // the words in a context are not seen from the other contexts
+    assertEquals(0,
+        validator.validate(first, new ValidationContext()).size());
+    assertEquals(0,
+        validator.validate(second, new ValidationContext()).size());
+
+    ValidationContext context = new ValidationContext();
+    assertEquals(0, validator.validate(first, context).size());
+    assertEquals(1, validator.validate(second, context).size());
+  }
 }
@@ -25,6 +25,7 @@ import org.bigram.docvalidator.validator.sentence.QuotationValidator;
 import org.junit.Test;
 import org.bigram.docvalidator.model.Sentence;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 public class QuotationValidatorTest {
   @Test
@@ -32,7 +33,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said “That is true”.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -42,7 +44,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said ‘that is true’.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -52,7 +55,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said “That is true.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -62,7 +66,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said ‘that is true.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -72,7 +77,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said That is true”.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -82,7 +88,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said that is true’.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -92,7 +99,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I’m a jedi knight.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -102,7 +110,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("he said ‘I’m a jedi knight’.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -112,7 +121,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said ‘that is true‘.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -122,7 +132,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said “that is true.“",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -132,7 +143,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said ’that is true’.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -142,7 +154,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said ”that is true”.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -152,7 +165,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator(true);
     Sentence str = new Sentence("I'm a jedi knight.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -162,7 +176,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator(true);
     Sentence str = new Sentence("I said \"that is true\".",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -172,7 +187,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator(true);
     Sentence str = new Sentence("I said that is true.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -182,7 +198,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator(true);
     Sentence str = new Sentence("",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -192,7 +209,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said ‘that is true’ and not said ‘that is false’",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -202,7 +220,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said ‘that is true and not said ‘that is false’",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -212,7 +231,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said“that is true”.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -222,7 +242,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator(true);
     Sentence str = new Sentence("I said\"that is true\".",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -232,7 +253,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator();
     Sentence str = new Sentence("I said “that is true”is true.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -242,7 +264,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator(true);
     Sentence str = new Sentence("I said \"that is true\"is true.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -252,7 +275,8 @@ public class QuotationValidatorTest {
     QuotationValidator validator =
         new QuotationValidator(true, '。');
     Sentence str = new Sentence("I said \"that is true\"。",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
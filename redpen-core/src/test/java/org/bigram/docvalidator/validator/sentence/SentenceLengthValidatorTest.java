@@ -24,6 +24,7 @@ import java.util.List;
 import org.junit.Test;
 import org.bigram.docvalidator.model.Sentence;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 class SentenceLengthValidatorForTest extends SentenceLengthValidator {
   protected void setLengthLimit(int maxLength) {
@@ -38,7 +39,8 @@ public class SentenceLengthValidatorTest {
     validator.setLengthLimit(30);
     Sentence str = new Sentence("this is a very long long long long long long"
         + "long long long long long long sentence.",0);
-    List<ValidationError> error = validator.validate(str);
+    List<ValidationError> error =
+        validator.validate(str, new ValidationContext());
     assertNotNull(error);
     assertEquals(1, error.size());
   }
@@ -48,7 +50,8 @@ public class SentenceLengthValidatorTest {
     SentenceLengthValidatorForTest validator = new SentenceLengthValidatorForTest();
     validator.setLengthLimit(30);
     Sentence str = new Sentence("this is a sentence.",0);
-    List<ValidationError> error = validator.validate(str);
+    List<ValidationError> error =
+        validator.validate(str, new ValidationContext());
     assertNotNull(error);
     assertEquals(0, error.size());
   }
@@ -58,7 +61,8 @@ public class SentenceLengthValidatorTest {
     SentenceLengthValidatorForTest validator = new SentenceLengthValidatorForTest();
     validator.setLengthLimit(30);
     Sentence str = new Sentence("",0);
-    List<ValidationError> error = validator.validate(str);
+    List<ValidationError> error =
+        validator.validate(str, new ValidationContext());
     assertNotNull(error);
     assertEquals(0, error.size());
   }
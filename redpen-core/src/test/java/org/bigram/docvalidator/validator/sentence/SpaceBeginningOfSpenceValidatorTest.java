@@ -25,6 +25,7 @@ import org.bigram.docvalidator.validator.sentence.SpaceBeginningOfSentenceValida
 import org.junit.Test;
 import org.bigram.docvalidator.model.Sentence;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 public class SpaceBeginningOfSpenceValidatorTest {
 
@@ -33,7 +34,8 @@ public class SpaceBeginningOfSpenceValidatorTest {
     SpaceBeginningOfSentenceValidator spaceValidator =
         new SpaceBeginningOfSentenceValidator();
     Sentence str = new Sentence("That is true.",0);
-    List<ValidationError> errors = spaceValidator.validate(str);
+    List<ValidationError> errors =
+        spaceValidator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(1, errors.size());
   }
@@ -43,7 +45,8 @@ public class SpaceBeginningOfSpenceValidatorTest {
     SpaceBeginningOfSentenceValidator spaceValidator =
         new SpaceBeginningOfSentenceValidator();
     Sentence str = new Sentence(" That is true.",0);
-    List<ValidationError> errors = spaceValidator.validate(str);
+    List<ValidationError> errors =
+        spaceValidator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -54,7 +57,8 @@ public class SpaceBeginningOfSpenceValidatorTest {
         new SpaceBeginningOfSentenceValidator();
     Sentence str = new Sentence("That is true.",0);
     str.isFirstSentence = true;
-    List<ValidationError> errors = spaceValidator.validate(str);
+    List<ValidationError> errors =
+        spaceValidator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -65,7 +69,8 @@ public class SpaceBeginningOfSpenceValidatorTest {
         new SpaceBeginningOfSentenceValidator();
     Sentence str = new Sentence("",0);
     str.isFirstSentence = true;
-    List<ValidationError> errors = spaceValidator.validate(str);
+    List<ValidationError> errors =
+        spaceValidator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -28,6 +28,7 @@ import org.bigram.docvalidator.model.Sentence;
 import org.bigram.docvalidator.config.CharacterTable;
 import org.bigram.docvalidator.config.CharacterTableLoader;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 class SpaceWithSymbolValidatorForTest extends SymbolWithSpaceValidator {
   void loadCharacterTable (CharacterTable characterTable) {
@@ -48,7 +49,8 @@ public class SpaceWithSymbolValidatorTest {
     CharacterTable characterTable = CharacterTableLoader.load(stream);
     validator.loadCharacterTable(characterTable);
     Sentence str = new Sentence("I like apple/orange",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(0, errors.size());
   }
 
@@ -64,7 +66,8 @@ public class SpaceWithSymbolValidatorTest {
     CharacterTable characterTable = CharacterTableLoader.load(stream);
     validator.loadCharacterTable(characterTable);
     Sentence str = new Sentence("I like her:yes it is.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(1, errors.size());
   }
 
@@ -80,7 +83,8 @@ public class SpaceWithSymbolValidatorTest {
     CharacterTable characterTable = CharacterTableLoader.load(stream);
     validator.loadCharacterTable(characterTable);
     Sentence str = new Sentence("I like her(Nancy)very much.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(1, errors.size());
   }
 
@@ -97,7 +101,8 @@ public class SpaceWithSymbolValidatorTest {
     CharacterTable characterTable = CharacterTableLoader.load(stream);
     validator.loadCharacterTable(characterTable);
     Sentence str = new Sentence("I like her(Nancy)very much.",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(2, errors.size());
   }
 
@@ -113,7 +118,8 @@ public class SpaceWithSymbolValidatorTest {
     CharacterTable characterTable = CharacterTableLoader.load(stream);
     validator.loadCharacterTable(characterTable);
     Sentence str = new Sentence("I like 1*10",0);
-    List<ValidationError> errors = validator.validate(str);
+    List<ValidationError> errors =
+        validator.validate(str, new ValidationContext());
     assertEquals(1, errors.size());
   }
 }
@@ -26,6 +26,7 @@ import java.util.Map;
 import org.junit.Test;
 import org.bigram.docvalidator.model.Sentence;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 
 class SuggestExpressionValidatorForTest extends SuggestExpressionValidator {
@@ -43,7 +44,8 @@ public class SuggestExpressionValidatorTest {
     SuggestExpressionValidatorForTest synonymValidator = new SuggestExpressionValidatorForTest();
     synonymValidator.loadSynonyms();
     Sentence str = new Sentence("it like a piece of a cake.",0);
-    List<ValidationError> error = synonymValidator.validate(str);
+    List<ValidationError> error =
+        synonymValidator.validate(str, new ValidationContext());
     assertNotNull(error);
     assertEquals(1, error.size());
   }
@@ -53,7 +55,8 @@ public class SuggestExpressionValidatorTest {
     SuggestExpressionValidatorForTest synonymValidator = new SuggestExpressionValidatorForTest();
     synonymValidator.loadSynonyms();
     Sentence str = new Sentence("it love a piece of a cake.",0);
-    List<ValidationError> error = synonymValidator.validate(str);
+    List<ValidationError> error =
+        synonymValidator.validate(str, new ValidationContext());
     assertNotNull(error);
     assertEquals(0, error.size());
   }
@@ -63,7 +66,8 @@ public class SuggestExpressionValidatorTest {
     SuggestExpressionValidatorForTest synonymValidator = new SuggestExpressionValidatorForTest();
     synonymValidator.loadSynonyms();
     Sentence str = new Sentence("it like a the info.",0);
-    List<ValidationError> error = synonymValidator.validate(str);
+    List<ValidationError> error =
+        synonymValidator.validate(str, new ValidationContext());
     assertNotNull(error);
     assertEquals(2, error.size());
   }
@@ -73,8 +77,23 @@ public class SuggestExpressionValidatorTest {
     SuggestExpressionValidatorForTest synonymValidator = new SuggestExpressionValidatorForTest();
     synonymValidator.loadSynonyms();
     Sentence str = new Sentence("",0);
-    List<ValidationError> error = synonymValidator.validate(str);
+    List<ValidationError> error =
+        synonymValidator.validate(str, new ValidationContext());
     assertNotNull(error);
     assertEquals(0, error.size());
   }
+
+  @Test
+  public void testErrorPosition() {
+    SuggestExpressionValidatorForTest synonymValidator = new SuggestExpressionValidatorForTest();
+    synonymValidator.loadSynonyms();
+    Sentence str = new Sentence("the info is like the info.",0);
+    List<ValidationError> error =
+        synonymValidator.validate(str, new ValidationContext());
+    assertEquals(2, error.size());
+    assertEquals(4, error.get(0).getStartPosition());
+    assertEquals(8, error.get(0).getEndPosition());
+    assertEquals(12, error.get(1).getStartPosition());
+    assertEquals(16, error.get(1).getEndPosition());
+  }
 }
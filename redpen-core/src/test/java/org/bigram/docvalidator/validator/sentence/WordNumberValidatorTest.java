@@ -25,6 +25,7 @@ import org.bigram.docvalidator.validator.sentence.WordNumberValidator;
 import org.junit.Test;
 import org.bigram.docvalidator.model.Sentence;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.validator.ValidationContext;
 
 public class WordNumberValidatorTest {
 
@@ -33,7 +34,8 @@ public class WordNumberValidatorTest {
     WordNumberValidator maxWordNumberValidator = new WordNumberValidator();
     Sentence str = new Sentence(
         "this sentence is short.",0);
-    List<ValidationError> errors = maxWordNumberValidator.validate(str);
+    List<ValidationError> errors =
+        maxWordNumberValidator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -44,7 +46,8 @@ public class WordNumberValidatorTest {
     Sentence str = new Sentence(
         "this sentence is very very very very very very very very very very" +
         " very very very very very very very very very very very very very very long",0);
-    List<ValidationError> errors = maxWordNumberValidator.validate(str);
+    List<ValidationError> errors =
+        maxWordNumberValidator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -53,7 +56,8 @@ public class WordNumberValidatorTest {
   public void testWithZeroLengthSentence() {
     WordNumberValidator maxWordNumberValidator = new WordNumberValidator();
     Sentence str = new Sentence("", 0);
-    List<ValidationError> errors = maxWordNumberValidator.validate(str);
+    List<ValidationError> errors =
+        maxWordNumberValidator.validate(str, new ValidationContext());
     assertNotNull(errors);
     assertEquals(0, errors.size());
   }
@@ -0,0 +1,222 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.server;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bigram.docvalidator.DocumentValidator;
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.model.Document;
+import org.bigram.docvalidator.parser.Parser;
+import org.bigram.docvalidator.parser.ParserPool;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Validator of many documents sent in a request.
+ *
+ * The documents of a batch are parsed and validated in parallel on a pool
+ * shared by the requests. The threads of the pool reuse their parsers for
+ * all the batches.
+ */
+public class BatchValidator {
+
+  private static Logger log = LogManager.getLogger(BatchValidator.class);
+
+  /**
+   * Constructor.
+   *
+   * @param documentValidator validator shared by the batches
+   * @param parserPool        parsers of the documents
+   * @param threads           number of threads of the pool
+   */
+  public BatchValidator(DocumentValidator documentValidator,
+      ParserPool parserPool, int threads) {
+    this.validator = documentValidator;
+    this.parsers = parserPool;
+    this.parallelism = threads;
+    this.pool = Executors.newFixedThreadPool(threads);
+  }
+
+  /**
+   * Validate the documents.
+   *
+   * @param inputs documents to validate
+   * @return results in the same order as the inputs
+   * @throws DocumentValidatorException when interrupted
+   */
+  public List<Result> validate(List<Input> inputs)
+      throws DocumentValidatorException {
+    final List<Input> batch = inputs;
+    final Result[] results = new Result[batch.size()];
+    final AtomicInteger next = new AtomicInteger(0);
+    int workers = Math.min(parallelism, batch.size());
+    List<Future<?>> futures = new ArrayList<Future<?>>();
+    for (int i = 0; i < workers; i++) {
+      futures.add(pool.submit(new Callable<Void>() {
+        @Override
+        public Void call() {
+          int index;
+          while ((index = next.getAndIncrement()) < batch.size()) {
+            results[index] = validate(batch.get(index));
+          }
+          return null;
+        }
+      }));
+    }
+    boolean completed = false;
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      completed = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DocumentValidatorException("Interrupted in validation", e);
+    } catch (ExecutionException e) {
+      throw new DocumentValidatorException("Failed to validate", e.getCause());
+    } finally {
+      if (!completed) {
+        // stop the workers of the aborted batch, leaving the pool to others
+        next.set(batch.size());
+        for (Future<?> future : futures) {
+          future.cancel(true);
+        }
+      }
+    }
+
+    List<Result> resultList = new ArrayList<Result>(results.length);
+    for (Result result : results) {
+      resultList.add(result);
+    }
+    return resultList;
+  }
+
+  private Result validate(Input input) {
+    try {
+      Document document = parsers.parse(input.format,
+          new ByteArrayInputStream(input.text.getBytes("UTF-8")));
+      document.setFileName(input.name);
+      return new Result(input.name, validator.validate(document), null);
+    } catch (DocumentValidatorException e) {
+      log.warn("Failed to parse " + input.name + ": " + e.getMessage());
+      return new Result(input.name, null, e.getMessage());
+    } catch (UnsupportedEncodingException e) {
+      return new Result(input.name, null, e.getMessage());
+    } catch (RuntimeException e) {
+      // NOTE: a failure of a document does not fail the others
+      log.error("Failed to validate " + input.name, e);
+      return new Result(input.name, null, "Failed to validate: " + e);
+    }
+  }
+
+  /**
+   * Stop the pool.
+   */
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  /**
+   * Document in a batch.
+   */
+  public static final class Input {
+    /**
+     * Constructor.
+     *
+     * @param documentName name of the document
+     * @param documentFormat format of the document
+     * @param documentText text of the document
+     */
+    public Input(String documentName, Parser.Type documentFormat,
+        String documentText) {
+      this.name = documentName;
+      this.format = documentFormat;
+      this.text = documentText;
+    }
+
+    private final String name;
+
+    private final Parser.Type format;
+
+    private final String text;
+  }
+
+  /**
+   * Result of a document in a batch.
+   */
+  public static final class Result {
+    private Result(String documentName, List<ValidationError> errorList,
+        String failureMessage) {
+      this.name = documentName;
+      this.errors = errorList;
+      this.failure = failureMessage;
+    }
+
+    /**
+     * Get the name of the document.
+     *
+     * @return document name
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Get the errors of the document.
+     *
+     * @return errors, or null when the document was not validated
+     */
+    public List<ValidationError> getErrors() {
+      return errors;
+    }
+
+    /**
+     * Get the message of the failure to parse or validate the document.
+     *
+     * @return failure message, or null when the document was validated
+     */
+    public String getFailure() {
+      return failure;
+    }
+
+    private final String name;
+
+    private final List<ValidationError> errors;
+
+    private final String failure;
+  }
+
+  private final DocumentValidator validator;
+
+  private final ParserPool parsers;
+
+  private final int parallelism;
+
+  private final ExecutorService pool;
+}
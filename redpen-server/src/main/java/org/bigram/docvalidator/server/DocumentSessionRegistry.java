@@ -0,0 +1,186 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.server;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bigram.docvalidator.DocumentValidator;
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.bigram.docvalidator.EditableDocument;
+import org.bigram.docvalidator.config.Configuration;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Documents opened by the clients to validate them incrementally.
+ *
+ * Sessions not accessed for a while are closed when a new session is
+ * opened, and the oldest session is closed when the number of sessions
+ * reaches the limit.
+ */
+public class DocumentSessionRegistry {
+
+  private static Logger log = LogManager.getLogger(
+      DocumentSessionRegistry.class
+  );
+
+  /**
+   * Constructor.
+   *
+   * @param documentValidator validator shared by the sessions
+   * @param configuration     configuration used to parse the documents
+   * @param maxSessionNumber  maximum number of open sessions
+   * @param timeoutMillis     time to close an idle session
+   */
+  public DocumentSessionRegistry(DocumentValidator documentValidator,
+      Configuration configuration, int maxSessionNumber, long timeoutMillis) {
+    this.validator = documentValidator;
+    this.configuration = configuration;
+    this.maxSessions = maxSessionNumber;
+    this.sessionTimeout = timeoutMillis;
+    this.sessions = new ConcurrentHashMap<String, Session>();
+  }
+
+  /**
+   * Open a session for the given text.
+   *
+   * @param text initial text of the document
+   * @return opened session, with the document even when the session is
+   * closed afterwards
+   * @throws DocumentValidatorException when failed to parse the text
+   */
+  public Session open(String text) throws DocumentValidatorException {
+    EditableDocument document =
+        new EditableDocument(validator, configuration, text);
+    Session session =
+        new Session(UUID.randomUUID().toString(), document);
+    // NOTE: the sessions are closed and added together not to exceed the
+    // limit with the concurrent requests
+    synchronized (sessions) {
+      closeIdleSessions();
+      sessions.put(session.getId(), session);
+    }
+    log.info("Opened document session " + session.getId());
+    return session;
+  }
+
+  /**
+   * Get the document of a session.
+   *
+   * @param id session id
+   * @return document, or null when the session does not exist
+   */
+  public EditableDocument get(String id) {
+    Session session = sessions.get(id);
+    if (session == null) {
+      return null;
+    }
+    session.lastAccess = System.currentTimeMillis();
+    return session.document;
+  }
+
+  /**
+   * Close a session.
+   *
+   * @param id session id
+   * @return true when the session existed
+   */
+  public boolean close(String id) {
+    return sessions.remove(id) != null;
+  }
+
+  /**
+   * Get the number of open sessions.
+   *
+   * @return number of sessions
+   */
+  public int size() {
+    return sessions.size();
+  }
+
+  private void closeIdleSessions() {
+    long now = System.currentTimeMillis();
+    String oldestId = null;
+    long oldestAccess = Long.MAX_VALUE;
+    Iterator<Map.Entry<String, Session>> iterator =
+        sessions.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Session> entry = iterator.next();
+      long lastAccess = entry.getValue().lastAccess;
+      if (now - lastAccess > sessionTimeout) {
+        iterator.remove();
+        log.info("Closed idle document session " + entry.getKey());
+      } else if (lastAccess < oldestAccess) {
+        oldestAccess = lastAccess;
+        oldestId = entry.getKey();
+      }
+    }
+    if (sessions.size() >= maxSessions && oldestId != null) {
+      sessions.remove(oldestId);
+      log.info("Closed the oldest document session " + oldestId);
+    }
+  }
+
+  /**
+   * Document of a session and the time it was accessed.
+   */
+  public static final class Session {
+    private Session(String sessionId, EditableDocument editableDocument) {
+      this.id = sessionId;
+      this.document = editableDocument;
+      this.lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Get the id of the session.
+     *
+     * @return session id
+     */
+    public String getId() {
+      return id;
+    }
+
+    /**
+     * Get the document of the session.
+     *
+     * @return document
+     */
+    public EditableDocument getDocument() {
+      return document;
+    }
+
+    private final String id;
+
+    private final EditableDocument document;
+
+    private volatile long lastAccess;
+  }
+
+  private final DocumentValidator validator;
+
+  private final Configuration configuration;
+
+  private final int maxSessions;
+
+  private final long sessionTimeout;
+
+  private final Map<String, Session> sessions;
+}
@@ -48,5 +48,6 @@ public class DocumentValidatorInitServlet extends HttpServlet {
   @Override
   public void destroy() {
     log.info("Stopping Document Validator Server.");
+    DocumentValidatorServer.terminate();
   }
 }
@@ -22,9 +22,11 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bigram.docvalidator.ConfigurationLoader;
 import org.bigram.docvalidator.config.Configuration;
+import org.bigram.docvalidator.parser.ParserPool;
 import org.bigram.docvalidator.server.util.ServerConfigurationLoader;
 import org.bigram.docvalidator.DocumentValidatorException;
 import org.bigram.docvalidator.DocumentValidator;
+import org.bigram.docvalidator.ValidationResultCache;
 
 /**
  * Document validator server.
@@ -41,6 +43,27 @@ public class DocumentValidatorServer {
 
   private Configuration documentValidatorConfig;
 
+  /**
+   * Maximum number of the sentence and section results kept in the cache.
+   */
+  private static final int RESULT_CACHE_SIZE = 100000;
+
+  private DocumentSessionRegistry sessions;
+
+  private ParserPool parserPool;
+
+  private BatchValidator batchValidator;
+
+  /**
+   * Maximum number of documents opened for incremental validation.
+   */
+  private static final int MAX_SESSIONS = 1000;
+
+  /**
+   * Time to close the document sessions not accessed.
+   */
+  private static final long SESSION_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
   private DocumentValidatorServer() throws DocumentValidatorException {
     ConfigurationLoader configLoader = new ServerConfigurationLoader();
     documentValidatorConfig = configLoader.loadConfiguration(
@@ -51,10 +74,18 @@ public class DocumentValidatorServer {
 
 //    ResultDistributor distributor = ResultDistributorFactory
 //        .createDistributor("plain", System.out);
+    // documents edited in the browser are validated repeatedly with
+    // small changes, so the results of unchanged sentences are reused
     validator = new DocumentValidator.Builder()
         .setConfiguration(documentValidatorConfig)
 //        .setResultDistributor(distributor)
+        .setResultCache(new ValidationResultCache(RESULT_CACHE_SIZE))
         .build();
+    sessions = new DocumentSessionRegistry(validator, documentValidatorConfig,
+        MAX_SESSIONS, SESSION_TIMEOUT_MILLIS);
+    parserPool = new ParserPool(documentValidatorConfig);
+    batchValidator = new BatchValidator(validator, parserPool,
+        Runtime.getRuntime().availableProcessors());
   }
 
   public DocumentValidator getValidator() {
@@ -65,6 +96,18 @@ public class DocumentValidatorServer {
     return documentValidatorConfig;
   }
 
+  public DocumentSessionRegistry getSessions() {
+    return sessions;
+  }
+
+  public ParserPool getParserPool() {
+    return parserPool;
+  }
+
+  public BatchValidator getBatchValidator() {
+    return batchValidator;
+  }
+
   public static DocumentValidatorServer getInstance() throws
       DocumentValidatorException {
     if (documentValidatorServer == null) {
@@ -77,4 +120,13 @@ public class DocumentValidatorServer {
     log.info("Initializing Document Validator");
     documentValidatorServer = new DocumentValidatorServer();
   }
+
+  public static void terminate() {
+    if (documentValidatorServer != null) {
+      log.info("Terminating Document Validator");
+      documentValidatorServer.batchValidator.shutdown();
+      documentValidatorServer.validator.close();
+      documentValidatorServer = null;
+    }
+  }
 }
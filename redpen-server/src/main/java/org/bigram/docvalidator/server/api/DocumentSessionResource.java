@@ -0,0 +1,142 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.server.api;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bigram.docvalidator.DocumentValidatorException;
+import org.bigram.docvalidator.EditableDocument;
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.server.DocumentSessionRegistry;
+import org.bigram.docvalidator.server.DocumentValidatorServer;
+import org.bigram.docvalidator.util.JsonWriter;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.FormParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Resource to validate documents incrementally.
+ *
+ * A client opens a session with the whole text, and then sends the edits
+ * as patches replacing a range of lines. The server keeps the parsed
+ * document, parses only the changed paragraphs and returns the errors
+ * added and removed by each patch. The line numbers of the errors not
+ * reported by a patch move with the lines the client has edited.
+ */
+@Path("/document/session")
+public class DocumentSessionResource {
+
+  private static final Logger LOG = LogManager.getLogger(
+    DocumentSessionResource.class
+  );
+
+  @POST
+  @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response openSession(@FormParam("doc") @DefaultValue("")
+                                String document)
+    throws JSONException, DocumentValidatorException {
+
+    LOG.info("Opening document session");
+
+    DocumentSessionRegistry sessions =
+      DocumentValidatorServer.getInstance().getSessions();
+    DocumentSessionRegistry.Session session = sessions.open(document);
+    final String id = session.getId();
+    final List<ValidationError> errors = session.getDocument().getErrors();
+
+    // NOTE: converted here since the errors change with the next patch
+    String json = new ErrorJson.Body() {
+      @Override
+      protected void writeMembers(JsonWriter writer) throws IOException {
+        writer.name("session").value(id);
+        writer.name("errors");
+        ErrorJson.writeErrors(writer, errors);
+      }
+    }.toJson();
+    return Response.ok().entity(json).type(MediaType.APPLICATION_JSON)
+      .build();
+  }
+
+  @Path("/{id}/patch")
+  @POST
+  @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response applyPatch(@PathParam("id") String id,
+                             @FormParam("start") int startLine,
+                             @FormParam("end") int endLine,
+                             @FormParam("text") @DefaultValue("")
+                               String text)
+    throws JSONException, DocumentValidatorException {
+
+    EditableDocument document =
+      DocumentValidatorServer.getInstance().getSessions().get(id);
+    if (document == null) {
+      return error(Response.Status.NOT_FOUND, "No such session: " + id);
+    }
+
+    final EditableDocument.ErrorDiff diff;
+    try {
+      diff = document.applyPatch(startLine, endLine, text);
+    } catch (IllegalArgumentException e) {
+      return error(Response.Status.BAD_REQUEST, e.getMessage());
+    }
+
+    String json = new ErrorJson.Body() {
+      @Override
+      protected void writeMembers(JsonWriter writer) throws IOException {
+        writer.name("added");
+        ErrorJson.writeErrors(writer, diff.getAddedErrors());
+        writer.name("removed");
+        ErrorJson.writeErrors(writer, diff.getRemovedErrors());
+      }
+    }.toJson();
+    return Response.ok().entity(json).type(MediaType.APPLICATION_JSON)
+      .build();
+  }
+
+  @Path("/{id}")
+  @DELETE
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response closeSession(@PathParam("id") String id)
+    throws JSONException, DocumentValidatorException {
+    if (!DocumentValidatorServer.getInstance().getSessions().close(id)) {
+      return error(Response.Status.NOT_FOUND, "No such session: " + id);
+    }
+    return Response.ok().entity(new JSONObject()).build();
+  }
+
+  private static Response error(Response.Status status, String message)
+    throws JSONException {
+    JSONObject json = new JSONObject();
+    json.put("error", message);
+    return Response.status(status).entity(json).build();
+  }
+}
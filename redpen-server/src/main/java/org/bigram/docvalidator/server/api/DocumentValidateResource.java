@@ -20,27 +20,37 @@ package org.bigram.docvalidator.server.api;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.bigram.docvalidator.server.BatchValidator;
 import org.bigram.docvalidator.server.DocumentValidatorServer;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
-import org.bigram.docvalidator.parser.DocumentParserFactory;
 import org.bigram.docvalidator.parser.Parser;
 import org.bigram.docvalidator.model.Document;
-import org.bigram.docvalidator.model.DocumentCollection;
+import org.bigram.docvalidator.DocumentValidator;
 import org.bigram.docvalidator.DocumentValidatorException;
 import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.distributor.JSONResultDistributor;
+import org.bigram.docvalidator.util.JsonWriter;
 
+import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Resource to validate documents.
@@ -57,36 +67,171 @@ public class DocumentValidateResource {
   @Produces(MediaType.APPLICATION_JSON)
   public Response validateDocument(@QueryParam("doc") @DefaultValue("")
                                      String document) throws
-    JSONException, DocumentValidatorException, UnsupportedEncodingException {
+    DocumentValidatorException, UnsupportedEncodingException {
 
     LOG.info("Validating document");
 
     DocumentValidatorServer server = DocumentValidatorServer.getInstance();
-    JSONObject json = new JSONObject();
-
-    json.put("document", document);
-
-    Parser parser = DocumentParserFactory.generate(
-        Parser.Type.PLAIN, server.getDocumentValidatorConfig(), new DocumentCollection.Builder());
-    Document fileContent = parser.generateDocument(new
-        ByteArrayInputStream(document.getBytes("UTF-8")));
 
-    DocumentCollection d = new DocumentCollection();
-    d.addDocument(fileContent);
+    Document fileContent = server.getParserPool().parse(Parser.Type.PLAIN,
+        new ByteArrayInputStream(document.getBytes("UTF-8")));
+
+    // NOTE: the validator is shared among the requests, so the errors are
+    // not flushed to its ResultDistributor
+    final List<ValidationError> errors =
+        server.getValidator().validate(fileContent);
+
+    final String text = document;
+    ErrorJson.Body json = new ErrorJson.Body() {
+      @Override
+      protected void writeMembers(JsonWriter writer) throws IOException {
+        writer.name("document").value(text);
+        writer.name("errors");
+        ErrorJson.writeErrors(writer, errors);
+      }
+    };
+    return Response.ok(json, MediaType.APPLICATION_JSON).build();
+  }
 
-    List<ValidationError> errors = server.getValidator().check(d);
+  /**
+   * Validate the document sent as the request body, and write the errors
+   * as newline-delimited JSON while the sections are validated. Unlike
+   * validateDocument, the size of the document is not limited by the URL
+   * length and the response is not buffered.
+   *
+   * NOTE: only the response is streamed. The whole request body is read
+   * and parsed into a Document before the first error is written, since
+   * the parsers (in particular MarkdownParser) need the complete input.
+   *
+   * @param body   document text in UTF-8
+   * @param format format of the document: plain, wiki or markdown
+   * @return errors streamed section by section
+   * @throws DocumentValidatorException when failed to parse the document
+   */
+  @Path("/validate/ndjson")
+  @POST
+  @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+  @Produces(NDJSON)
+  public Response validateDocumentWithStreamedErrors(
+    InputStream body,
+    @QueryParam("format") @DefaultValue("plain") String format)
+    throws DocumentValidatorException {
+
+    LOG.info("Validating document with streamed errors");
+
+    Parser.Type type;
+    try {
+      type = Parser.Type.valueOf(format.toUpperCase(Locale.ENGLISH));
+    } catch (IllegalArgumentException e) {
+      return Response.status(Response.Status.BAD_REQUEST)
+        .entity("Unknown format: " + format).type(MediaType.TEXT_PLAIN)
+        .build();
+    }
 
-    JSONArray jsonErrors = new JSONArray();
+    DocumentValidatorServer server = DocumentValidatorServer.getInstance();
+    final Document document = server.getParserPool().parse(type, body);
+    final DocumentValidator validator = server.getValidator();
+
+    StreamingOutput output = new StreamingOutput() {
+      @Override
+      public void write(OutputStream os) throws IOException {
+        JSONResultDistributor distributor =
+            new JSONResultDistributor(os, true, true);
+        try {
+          validator.validate(document, distributor);
+          distributor.flushFooter();
+        } catch (IllegalStateException e) {
+          if (e.getCause() instanceof IOException) {
+            throw (IOException) e.getCause();
+          }
+          throw e;
+        }
+      }
+    };
+    return Response.ok(output, NDJSON).build();
+  }
 
-    for (ValidationError error : errors) {
-      JSONObject jsonError = new JSONObject();
-      jsonError.put("sentence", error.getSentence().content);
-      jsonError.put("message", error.getMessage());
-      jsonErrors.put(jsonError);
+  /**
+   * Validate many documents in a request. The request body is a JSON
+   * array of objects with "name", "format" (plain, wiki or markdown,
+   * default plain) and "document". The documents are validated in
+   * parallel, and the response has the errors of each document in the
+   * same order as the request, or the failure to parse or validate
+   * the document.
+   *
+   * @param body JSON array of documents
+   * @return results of the documents
+   * @throws JSONException when failed to create the response
+   * @throws DocumentValidatorException when interrupted
+   */
+  @Path("/validate/batch")
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response validateDocuments(String body)
+    throws JSONException, DocumentValidatorException {
+
+    List<BatchValidator.Input> inputs = new ArrayList<BatchValidator.Input>();
+    try {
+      JSONArray documents = new JSONArray(body);
+      if (documents.length() > MAX_BATCH_SIZE) {
+        return badRequest("Too many documents: " + documents.length()
+          + " (max " + MAX_BATCH_SIZE + ")");
+      }
+      for (int i = 0; i < documents.length(); i++) {
+        JSONObject document = documents.getJSONObject(i);
+        String format = document.optString("format", "plain");
+        inputs.add(new BatchValidator.Input(
+          document.optString("name", String.valueOf(i)),
+          Parser.Type.valueOf(format.toUpperCase(Locale.ENGLISH)),
+          document.getString("document")));
+      }
+    } catch (JSONException e) {
+      return badRequest("Invalid request: " + e.getMessage());
+    } catch (IllegalArgumentException e) {
+      return badRequest("Unknown format: " + e.getMessage());
     }
 
-    json.put("errors", jsonErrors);
+    LOG.info("Validating " + inputs.size() + " documents");
+
+    final List<BatchValidator.Result> results = DocumentValidatorServer
+      .getInstance().getBatchValidator().validate(inputs);
+
+    ErrorJson.Body json = new ErrorJson.Body() {
+      @Override
+      protected void writeMembers(JsonWriter writer) throws IOException {
+        writer.name("documents").beginArray();
+        for (BatchValidator.Result result : results) {
+          writer.beginObject();
+          writer.name("name").value(result.getName());
+          if (result.getFailure() != null) {
+            writer.name("error").value(result.getFailure());
+          } else {
+            writer.name("errors");
+            ErrorJson.writeErrors(writer, result.getErrors());
+          }
+          writer.endObject();
+        }
+        writer.endArray();
+      }
+    };
+    return Response.ok(json, MediaType.APPLICATION_JSON).build();
+  }
 
-    return Response.ok().entity(json).build();
+  private static Response badRequest(String message) throws JSONException {
+    JSONObject json = new JSONObject();
+    json.put("error", message);
+    return Response.status(Response.Status.BAD_REQUEST).entity(json)
+      .type(MediaType.APPLICATION_JSON).build();
   }
+
+  /**
+   * Maximum number of documents in a batch.
+   */
+  static final int MAX_BATCH_SIZE = 1000;
+
+  /**
+   * Media type of newline-delimited JSON.
+   */
+  static final String NDJSON = "application/x-ndjson";
 }
@@ -0,0 +1,107 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigram.docvalidator.server.api;
+
+import org.bigram.docvalidator.ValidationError;
+import org.bigram.docvalidator.formatter.JSONFormatter;
+import org.bigram.docvalidator.util.JsonWriter;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * JSON responses containing validation errors returned by the api.
+ *
+ * The responses are written with JsonWriter, and the errors are written
+ * with JSONFormatter, so the api and the command line tool share the
+ * same serialization.
+ */
+final class ErrorJson {
+  /**
+   * Write errors as a JSON array.
+   *
+   * @param writer destination
+   * @param errors validation errors
+   * @throws IOException when failed to write the errors
+   */
+  static void writeErrors(JsonWriter writer, List<ValidationError> errors)
+    throws IOException {
+    writer.beginArray();
+    for (ValidationError error : errors) {
+      JSONFormatter.writeError(writer, error);
+    }
+    writer.endArray();
+  }
+
+  /**
+   * Response body of a JSON object, streamed into the response or
+   * converted into a string.
+   */
+  abstract static class Body implements StreamingOutput {
+    @Override
+    public void write(OutputStream os) throws IOException {
+      Writer writer = new BufferedWriter(
+        new OutputStreamWriter(os, Charset.forName("UTF-8")));
+      writeObject(writer);
+      writer.flush();
+    }
+
+    /**
+     * Convert the body into a string, used to write the body before
+     * returning the response.
+     *
+     * @return JSON text
+     */
+    String toJson() {
+      StringWriter writer = new StringWriter();
+      try {
+        writeObject(writer);
+      } catch (IOException e) {
+        throw new IllegalStateException("Failed to convert errors", e);
+      }
+      return writer.toString();
+    }
+
+    /**
+     * Write the members of the object.
+     *
+     * @param writer destination
+     * @throws IOException when failed to write
+     */
+    protected abstract void writeMembers(JsonWriter writer)
+      throws IOException;
+
+    private void writeObject(Writer writer) throws IOException {
+      JsonWriter json = new JsonWriter(writer);
+      json.beginObject();
+      writeMembers(json);
+      json.endObject();
+    }
+  }
+
+  private ErrorJson() {
+    super();
+  }
+}